@@ -0,0 +1,111 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+
+import com.google.common.base.Objects;
+
+/**
+ * Reuses cells while one table is being created, so repeated values do not
+ * create identical cell instances for each row.
+ * <ul>
+ * <li>string cells of low cardinality columns (e.g. authors) are interned for
+ * the whole table, up to {@link #DEFAULT_MAX_INTERNED} distinct values</li>
+ * <li>group cells are shared by consecutive rows with the same group key, e.g.
+ * message, date and id of all files changed in one commit</li>
+ * </ul>
+ * A pool is meant for a single transformation and is not thread safe.
+ */
+public class CellPool {
+
+    public static final int DEFAULT_MAX_INTERNED = 10000;
+
+    private final Map<String, DataCell> strings = new HashMap<String, DataCell>();
+    private final int maxInterned;
+    private final DataCell[] groupCells;
+    private Object groupKey;
+
+    /**
+     * @param groupColumns
+     *            number of cells shared within a group
+     */
+    public CellPool(final int groupColumns) {
+        this(groupColumns, DEFAULT_MAX_INTERNED);
+    }
+
+    public CellPool(final int groupColumns, final int maxInterned) {
+        this.groupCells = new DataCell[groupColumns];
+        this.maxInterned = maxInterned;
+    }
+
+    public DataCell stringCell(final String value) {
+        DataCell cell = strings.get(value);
+        if (cell == null) {
+            cell = Cells.stringCell(value);
+            if (strings.size() < maxInterned) {
+                strings.put(value, cell);
+            }
+        }
+        return cell;
+    }
+
+    public DataCell stringCell(final Enum<?> enumValue) {
+        return stringCell(enumValue.name());
+    }
+
+    public DataCell stringOrMissingCell(final String value) {
+        return value == null ? DataType.getMissingCell() : stringCell(value);
+    }
+
+    /**
+     * Starts a group of rows. Group cells are cleared when the key differs
+     * from the key of the current group.
+     * 
+     * @return true if a new group was started and group cells have to be set
+     */
+    public boolean startGroup(final Object key) {
+        if (groupKey != null && Objects.equal(groupKey, key)) {
+            return false;
+        }
+        groupKey = key;
+        Arrays.fill(groupCells, null);
+        return true;
+    }
+
+    public DataCell setGroupCell(final int column, final DataCell cell) {
+        checkElementIndex(column, groupCells.length);
+        groupCells[column] = cell;
+        return cell;
+    }
+
+    public DataCell getGroupCell(final int column) {
+        checkElementIndex(column, groupCells.length);
+        DataCell cell = groupCells[column];
+        checkState(cell != null, "Group cell %s is not set", column);
+        return cell;
+    }
+}
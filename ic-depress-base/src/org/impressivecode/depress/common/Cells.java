@@ -19,12 +19,9 @@ package org.impressivecode.depress.common;
 
 import static com.google.common.collect.Sets.newHashSet;
 
-import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Set;
-import java.util.TimeZone;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataType;
@@ -121,13 +118,15 @@ public class Cells {
     }
 
     public static DataCell dateTimeCell(final Date date) {
-        Calendar calendar = GregorianCalendar.getInstance();
-        // FIXME: check if time zone assumption is correct
-        calendar.setTimeZone(TimeZone.getTimeZone("GMT+0"));
-        calendar.setTime(date);
-        return new DateAndTimeCell(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
-                calendar.get(Calendar.DAY_OF_MONTH), calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
-                calendar.get(Calendar.SECOND), calendar.get(Calendar.MILLISECOND));
+        return dateTimeCell(date.getTime());
+    }
+
+    /**
+     * Creates cell with date, time and millis of given UTC time. Same cell as
+     * created from the UTC calendar fields, without creating the calendar.
+     */
+    public static DataCell dateTimeCell(final long utcMillis) {
+        return new DateAndTimeCell(utcMillis, true, true, true);
     }
 
     public static DataCell booleanCell(final boolean value) {
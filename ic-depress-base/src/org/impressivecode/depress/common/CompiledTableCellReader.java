@@ -0,0 +1,146 @@
+/*
+ ImpressiveCode Depress Framework
+ Copyright (C) 2013  ImpressiveCode contributors
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.collection.ListCell;
+import org.knime.core.data.collection.SetCell;
+import org.knime.core.data.date.DateAndTimeCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * {@link TableCellReader} with column indices resolved once for a table spec.
+ * Columns are addressed by their position in the list of names given to
+ * {@link #compile(DataTableSpec, String...)}, so reading a cell does not look
+ * up the spec and no reader has to be created for each row.
+ * 
+ * <pre>
+ * CompiledTableCellReader reader = compile(spec, RESOURCE_NAME, AUTHOR_COLNAME);
+ * String author = reader.stringOptional(row, 1);
+ * </pre>
+ * 
+ * Columns absent in the spec are allowed, optional reads return no value for
+ * them.
+ */
+public final class CompiledTableCellReader {
+
+    private static final int ABSENT = -1;
+
+    private final DataTableSpec spec;
+    private final String[] colNames;
+    private final int[] indices;
+
+    private CompiledTableCellReader(final DataTableSpec spec, final String[] colNames) {
+        this.spec = checkNotNull(spec, "Spec have to be set");
+        this.colNames = colNames.clone();
+        this.indices = new int[colNames.length];
+        for (int i = 0; i < colNames.length; i++) {
+            indices[i] = spec.containsName(colNames[i]) ? spec.findColumnIndex(colNames[i]) : ABSENT;
+        }
+    }
+
+    public static CompiledTableCellReader compile(final DataTableSpec spec, final String... colNames) {
+        return new CompiledTableCellReader(spec, colNames);
+    }
+
+    /**
+     * @return true if the reader was compiled for given spec instance
+     */
+    public boolean isCompiledFor(final DataTableSpec spec) {
+        return this.spec == spec;
+    }
+
+    public boolean hasColumn(final int column) {
+        return indices[column] != ABSENT;
+    }
+
+    public String key(final DataRow row) {
+        return row.getKey().getString();
+    }
+
+    public String string(final DataRow row, final int column) {
+        return ((StringCell) cell(row, column)).getStringValue();
+    }
+
+    public String stringOptional(final DataRow row, final int column) {
+        DataCell cell = optionalCell(row, column);
+        return cell == null ? null : ((StringCell) cell).getStringValue();
+    }
+
+    public Date date(final DataRow row, final int column) {
+        return new Date(((DateAndTimeCell) cell(row, column)).getUTCTimeInMillis());
+    }
+
+    public Date dateOptional(final DataRow row, final int column) {
+        DataCell cell = optionalCell(row, column);
+        return cell == null ? null : new Date(((DateAndTimeCell) cell).getUTCTimeInMillis());
+    }
+
+    public Set<String> stringSetOptional(final DataRow row, final int column) {
+        DataCell cell = optionalCell(row, column);
+        return cell == null ? Collections.<String> emptySet() : toSet((SetCell) cell);
+    }
+
+    public List<String> stringListOptional(final DataRow row, final int column) {
+        DataCell cell = optionalCell(row, column);
+        return cell == null ? Collections.<String> emptyList() : toList((ListCell) cell);
+    }
+
+    private DataCell cell(final DataRow row, final int column) {
+        int index = indices[column];
+        checkState(index != ABSENT, "Column %s does not exist", colNames[column]);
+        return row.getCell(index);
+    }
+
+    private DataCell optionalCell(final DataRow row, final int column) {
+        int index = indices[column];
+        if (index == ABSENT) {
+            return null;
+        }
+        DataCell cell = row.getCell(index);
+        return cell.isMissing() ? null : cell;
+    }
+
+    private static Set<String> toSet(final SetCell set) {
+        Set<String> values = new HashSet<String>(Math.max(16, set.size() * 2));
+        for (DataCell cell : set) {
+            values.add(((StringCell) cell).getStringValue());
+        }
+        return values;
+    }
+
+    private static List<String> toList(final ListCell list) {
+        List<String> values = new ArrayList<String>(list.size());
+        for (DataCell cell : list) {
+            values.add(((StringCell) cell).getStringValue());
+        }
+        return values;
+    }
+}
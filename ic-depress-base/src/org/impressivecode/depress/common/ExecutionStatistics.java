@@ -0,0 +1,176 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Collects {@link ExecutionTelemetry} of one node type. One instance per node
+ * class is registered in the platform MBean server on first use, so the
+ * statistics can be watched with JConsole or any JMX client.
+ */
+public class ExecutionStatistics implements ExecutionStatisticsMXBean {
+
+    static final String DOMAIN = "org.impressivecode.depress";
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExecutionStatistics.class);
+    private static final ConcurrentMap<String, ExecutionStatistics> STATISTICS = new ConcurrentHashMap<String, ExecutionStatistics>();
+
+    private long executionCount;
+    private long lastDurationMillis;
+    private final long[] lastPhaseMillis = new long[Phase.values().length];
+    private long lastRowCount;
+    private double lastRowsPerSecond;
+    private long lastBytesRead;
+    private long lastPeakHeapBytes;
+    private long totalDurationMillis;
+    private long totalRowCount;
+    private long maxPeakHeapBytes;
+
+    ExecutionStatistics() {
+    }
+
+    /**
+     * @return statistics of given node type, registered over JMX
+     */
+    public static ExecutionStatistics forNode(final Class<?> node) {
+        String name = node.getSimpleName();
+        ExecutionStatistics statistics = STATISTICS.get(name);
+        if (statistics == null) {
+            ExecutionStatistics created = new ExecutionStatistics();
+            statistics = STATISTICS.putIfAbsent(name, created);
+            if (statistics == null) {
+                statistics = created;
+                register(name, created);
+            }
+        }
+        return statistics;
+    }
+
+    private static void register(final String name, final ExecutionStatistics statistics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=NodeTelemetry,name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(statistics, objectName);
+            }
+        } catch (JMException e) {
+            LOGGER.warn("Unable to register telemetry of " + name, e);
+        }
+    }
+
+    synchronized void record(final ExecutionTelemetry telemetry) {
+        executionCount++;
+        lastDurationMillis = telemetry.getDurationMillis();
+        for (Phase phase : Phase.values()) {
+            lastPhaseMillis[phase.ordinal()] = telemetry.getPhaseMillis(phase);
+        }
+        lastRowCount = telemetry.getRowCount();
+        lastRowsPerSecond = telemetry.getRowsPerSecond();
+        lastBytesRead = telemetry.getBytesRead();
+        lastPeakHeapBytes = telemetry.getPeakHeapBytes();
+        totalDurationMillis += lastDurationMillis;
+        totalRowCount += lastRowCount;
+        maxPeakHeapBytes = Math.max(maxPeakHeapBytes, lastPeakHeapBytes);
+    }
+
+    @Override
+    public synchronized long getExecutionCount() {
+        return executionCount;
+    }
+
+    @Override
+    public synchronized long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    @Override
+    public synchronized long getLastParseMillis() {
+        return lastPhaseMillis[Phase.PARSE.ordinal()];
+    }
+
+    @Override
+    public synchronized long getLastTransformMillis() {
+        return lastPhaseMillis[Phase.TRANSFORM.ordinal()];
+    }
+
+    @Override
+    public synchronized long getLastWriteMillis() {
+        return lastPhaseMillis[Phase.WRITE.ordinal()];
+    }
+
+    @Override
+    public synchronized long getLastRowCount() {
+        return lastRowCount;
+    }
+
+    @Override
+    public synchronized double getLastRowsPerSecond() {
+        return lastRowsPerSecond;
+    }
+
+    @Override
+    public synchronized long getLastBytesRead() {
+        return lastBytesRead;
+    }
+
+    @Override
+    public synchronized long getLastPeakHeapBytes() {
+        return lastPeakHeapBytes;
+    }
+
+    @Override
+    public synchronized long getTotalDurationMillis() {
+        return totalDurationMillis;
+    }
+
+    @Override
+    public synchronized long getTotalRowCount() {
+        return totalRowCount;
+    }
+
+    @Override
+    public synchronized long getMaxPeakHeapBytes() {
+        return maxPeakHeapBytes;
+    }
+
+    @Override
+    public synchronized void reset() {
+        executionCount = 0;
+        lastDurationMillis = 0;
+        for (int i = 0; i < lastPhaseMillis.length; i++) {
+            lastPhaseMillis[i] = 0;
+        }
+        lastRowCount = 0;
+        lastRowsPerSecond = 0;
+        lastBytesRead = 0;
+        lastPeakHeapBytes = 0;
+        totalDurationMillis = 0;
+        totalRowCount = 0;
+        maxPeakHeapBytes = 0;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+/**
+ * Statistics of the executions of one node type, published over JMX as
+ * <code>org.impressivecode.depress:type=NodeTelemetry,name=&lt;node&gt;</code>.
+ * Durations are given in milliseconds, all "last" values describe the latest
+ * successful execution.
+ */
+public interface ExecutionStatisticsMXBean {
+
+    long getExecutionCount();
+
+    long getLastDurationMillis();
+
+    long getLastParseMillis();
+
+    long getLastTransformMillis();
+
+    long getLastWriteMillis();
+
+    long getLastRowCount();
+
+    double getLastRowsPerSecond();
+
+    long getLastBytesRead();
+
+    long getLastPeakHeapBytes();
+
+    long getTotalDurationMillis();
+
+    long getTotalRowCount();
+
+    long getMaxPeakHeapBytes();
+
+    void reset();
+}
@@ -0,0 +1,198 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Measures one execution of a node: durations of its parse, transform and
+ * write phases, rows written, bytes read and peak heap usage. Usage:
+ * 
+ * <pre>
+ * ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
+ * List&lt;Entry&gt; entries = parseEntries(path);
+ * telemetry.addBytesRead(new File(path));
+ * telemetry.phase(Phase.WRITE);
+ * BufferedDataTable out = transform(entries, exec);
+ * telemetry.finish(out);
+ * </pre>
+ * 
+ * Execution starts in the {@link Phase#PARSE} phase. Finished executions are
+ * logged on the info level and added to the {@link ExecutionStatistics} of
+ * the node, failed ones are not recorded.
+ * 
+ * Peak heap is the highest used heap sampled when the execution starts, at
+ * every phase change and when it finishes. Heap used between the samples is
+ * not seen, and the samples include memory of other nodes executed at the
+ * same time. The JVM wide peaks of the memory pools are not reset.
+ * Telemetry is not thread safe, it is meant to be used by the thread
+ * executing the node.
+ */
+public final class ExecutionTelemetry {
+
+    public enum Phase {
+        /**
+         * reading files, remote systems or input tables
+         */
+        PARSE,
+        /**
+         * computing results of the read data
+         */
+        TRANSFORM,
+        /**
+         * creating output tables
+         */
+        WRITE
+    }
+
+    private final Class<?> node;
+    private final long start;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private Phase phase;
+    private long phaseStart;
+    private long end;
+    private boolean finished;
+    private long rowCount;
+    private long bytesRead;
+    private long peakHeapBytes;
+
+    private ExecutionTelemetry(final Class<?> node) {
+        this.node = checkNotNull(node, "Node has to be set");
+        sampleHeap();
+        this.start = System.nanoTime();
+        this.phase = Phase.PARSE;
+        this.phaseStart = start;
+    }
+
+    public static ExecutionTelemetry start(final Class<?> node) {
+        return new ExecutionTelemetry(node);
+    }
+
+    /**
+     * Ends the current phase and starts the given one. A phase can be entered
+     * more than once, its durations are added.
+     */
+    public ExecutionTelemetry phase(final Phase next) {
+        checkState(!isFinished(), "Execution already finished");
+        long now = System.nanoTime();
+        sampleHeap();
+        phaseNanos[phase.ordinal()] += now - phaseStart;
+        phase = checkNotNull(next, "Phase has to be set");
+        phaseStart = now;
+        return this;
+    }
+
+    public ExecutionTelemetry addBytesRead(final long bytes) {
+        bytesRead += bytes;
+        return this;
+    }
+
+    /**
+     * Adds size of the file or of all files in the directory tree.
+     */
+    public ExecutionTelemetry addBytesRead(final File file) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    addBytesRead(child);
+                }
+            }
+        } else {
+            bytesRead += file.length();
+        }
+        return this;
+    }
+
+    /**
+     * Adds rows written other than to the tables passed to
+     * {@link #finish(BufferedDataTable...)}.
+     */
+    public ExecutionTelemetry addRows(final long rows) {
+        rowCount += rows;
+        return this;
+    }
+
+    /**
+     * Ends the execution, counts rows of the output tables and reports the
+     * measurements.
+     */
+    public void finish(final BufferedDataTable... outputs) {
+        phase(phase);
+        end = phaseStart;
+        finished = true;
+        for (BufferedDataTable output : outputs) {
+            if (output != null) {
+                rowCount += output.getRowCount();
+            }
+        }
+        NodeLogger.getLogger(node).info(toString());
+        ExecutionStatistics.forNode(node).record(this);
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis((isFinished() ? end : System.nanoTime()) - start);
+    }
+
+    public long getPhaseMillis(final Phase measured) {
+        return TimeUnit.NANOSECONDS.toMillis(phaseNanos[measured.ordinal()]);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public double getRowsPerSecond() {
+        long nanos = (isFinished() ? end : System.nanoTime()) - start;
+        return nanos == 0 ? 0 : rowCount * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s executed in %d ms (parse %d ms, transform %d ms, write %d ms), %d rows, "
+                + "%.0f rows/s, %d bytes read, peak heap %d MB", node.getSimpleName(), getDurationMillis(),
+                getPhaseMillis(Phase.PARSE), getPhaseMillis(Phase.TRANSFORM), getPhaseMillis(Phase.WRITE), rowCount,
+                getRowsPerSecond(), bytesRead, peakHeapBytes / (1024 * 1024));
+    }
+
+    private void sampleHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ ImpressiveCode Depress Framework
+ Copyright (C) 2013  ImpressiveCode contributors
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+/**
+ * Receives values transformed from input rows one by one, see
+ * {@link InputTransformer#forEach(org.knime.core.data.DataTable, org.knime.core.node.ExecutionMonitor, InputHandler)}
+ * .
+ * 
+ * @param <T>
+ *            transformed value type
+ */
+public interface InputHandler<T> {
+
+    /**
+     * @return true to continue with the next row, false to stop
+     */
+    boolean handle(T value);
+}
@@ -23,6 +23,8 @@ import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 
 /**
@@ -34,6 +36,16 @@ public interface InputTransformer<T> {
 
     List<T> transform(final DataTable inTable);
 
+    /**
+     * Transforms rows one by one and passes them to the handler, without
+     * keeping them. Use it for single pass processing of large tables.
+     * 
+     * @param exec
+     *            checked for cancellation before each row, may be null
+     */
+    void forEach(final DataTable inTable, final ExecutionMonitor exec, final InputHandler<T> handler)
+            throws CanceledExecutionException;
+
     InputTransformer<T> validate() throws InvalidSettingsException;
 
     InputTransformer<T> setMinimalSpec(DataTableSpec spec);
@@ -0,0 +1,62 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.knime.core.data.DataTable;
+import org.knime.core.data.RowIterator;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Row loop shared by the {@link InputTransformer#forEach(DataTable, ExecutionMonitor, InputHandler)}
+ * implementations, transformers only supply the row conversion.
+ */
+public class InputTransformerUtils {
+
+    /**
+     * Converts rows with {@link InputTransformer#transformRow(org.knime.core.data.DataRow)} and passes them to the
+     * handler until the table ends or the handler stops. The row iterator is closed when the loop ends.
+     * 
+     * @param exec
+     *            checked for cancellation before each row, may be null
+     */
+    public static <T> void forEach(final InputTransformer<T> transformer, final DataTable inTable,
+            final ExecutionMonitor exec, final InputHandler<T> handler) throws CanceledExecutionException {
+        checkNotNull(transformer, "Transformer has to be set");
+        checkNotNull(inTable, "InTable has to be set");
+        checkNotNull(handler, "Handler has to be set");
+        RowIterator iterator = inTable.iterator();
+        try {
+            while (iterator.hasNext()) {
+                if (exec != null) {
+                    exec.checkCanceled();
+                }
+                if (!handler.handle(transformer.transformRow(iterator.next()))) {
+                    break;
+                }
+            }
+        } finally {
+            if (iterator instanceof CloseableRowIterator) {
+                ((CloseableRowIterator) iterator).close();
+            }
+        }
+    }
+}
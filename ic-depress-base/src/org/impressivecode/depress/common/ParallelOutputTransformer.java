@@ -0,0 +1,239 @@
+/*
+ ImpressiveCode Depress Framework
+ Copyright (C) 2013  ImpressiveCode contributors
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Base of output transformers which create table rows independently of each
+ * other. The input list is split into chunks which are converted to rows on a
+ * shared fork-join pool, while the calling thread writes finished chunks to
+ * the container in input order. Only a limited number of chunks is converted
+ * ahead of the writer, so the rows are not all kept in memory at once.
+ * 
+ * Cancellation is checked by the writer before each chunk and stops all
+ * conversions still running. Inputs not larger than one chunk are converted on
+ * the calling thread. Numbered row keys are created by a key segment per
+ * chunk, by default "0", "1", ... by position in the input list. Input lists
+ * without fast random access are copied first.
+ * 
+ * Subclasses implement {@link #createTableRow(Segment, Object)}. Rows of a
+ * chunk can share state, for example a {@link CellPool}, created by
+ * {@link #createChunkState()} and passed to
+ * {@link #createTableRow(Segment, Object, Object)}.
+ * 
+ * @param <T>
+ *            transformed value type
+ */
+public abstract class ParallelOutputTransformer<T> implements OutputTransformer<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 2048;
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ParallelOutputTransformer.class);
+
+    private static ForkJoinPool pool;
+
+    private final DataTableSpec tableSpec;
+    private final int chunkSize;
+    private final RowKeyGenerator rowKeys;
+
+    protected ParallelOutputTransformer(final DataTableSpec tableSpec) {
+        this(tableSpec, DEFAULT_CHUNK_SIZE, RowKeyGenerator.numbered());
+    }
+
+    protected ParallelOutputTransformer(final DataTableSpec tableSpec, final RowKeyGenerator rowKeys) {
+        this(tableSpec, DEFAULT_CHUNK_SIZE, rowKeys);
+    }
+
+    protected ParallelOutputTransformer(final DataTableSpec tableSpec, final int chunkSize,
+            final RowKeyGenerator rowKeys) {
+        checkArgument(chunkSize > 0, "Chunk size has to be positive");
+        this.tableSpec = checkNotNull(tableSpec, "table specifikation can not be null.");
+        this.chunkSize = chunkSize;
+        this.rowKeys = checkNotNull(rowKeys, "Row key generator has to be set");
+    }
+
+    /**
+     * Creates row of the given input value. Called concurrently for values of
+     * different chunks.
+     * 
+     * @param keys
+     *            {@link Segment#next()} returns key of this row, call it at
+     *            most once; rows with keys of their own do not have to use it
+     */
+    protected abstract DataRow createTableRow(final Segment keys, final T value);
+
+    /**
+     * Creates row of the given input value with state shared by rows of its
+     * chunk. Calls {@link #createTableRow(Segment, Object)} by default.
+     * 
+     * @param chunkState
+     *            value of {@link #createChunkState()} for the chunk
+     */
+    protected DataRow createTableRow(final Segment keys, final T value, final Object chunkState) {
+        return createTableRow(keys, value);
+    }
+
+    /**
+     * Creates state shared by rows of one chunk, which must not be shared
+     * between chunks. Returns null by default.
+     */
+    protected Object createChunkState() {
+        return null;
+    }
+
+    private DataRow[] createTableRows(final List<T> chunk, final int offset) {
+        Object state = createChunkState();
+        Segment keys = rowKeys.segment(offset);
+        long first = keys.position();
+        DataRow[] rows = new DataRow[chunk.size()];
+        for (int i = 0; i < rows.length; i++) {
+            keys.seek(first + i);
+            rows[i] = createTableRow(keys, chunk.get(i), state);
+        }
+        return rows;
+    }
+
+    @Override
+    public BufferedDataTable transform(final List<T> data, final ExecutionContext exec)
+            throws CanceledExecutionException {
+        checkNotNull(data, "Output data can not be null.");
+        checkNotNull(exec, "ExecutionContext can not be null.");
+        BufferedDataContainer container = exec.createDataContainer(tableSpec);
+        if (data.size() <= chunkSize) {
+            exec.checkCanceled();
+            addRows(container, createTableRows(data, 0));
+        } else if (data instanceof RandomAccess) {
+            transformParallel(data, exec, container);
+        } else {
+            transformParallel(new ArrayList<T>(data), exec, container);
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private void transformParallel(final List<T> data, final ExecutionContext exec,
+            final BufferedDataContainer container) throws CanceledExecutionException {
+        ForkJoinPool pool = pool();
+        int ahead = pool.getParallelism() * 2;
+        AtomicBoolean canceled = new AtomicBoolean();
+        Deque<Future<DataRow[]>> chunks = new ArrayDeque<Future<DataRow[]>>(ahead);
+        int next = 0;
+        int written = 0;
+        LOGGER.debug("Transforming " + data.size() + " entries in chunks of " + chunkSize);
+        try {
+            while (written < data.size()) {
+                while (next < data.size() && chunks.size() < ahead) {
+                    int end = Math.min(next + chunkSize, data.size());
+                    chunks.add(pool.submit(new ChunkTask(data.subList(next, end), next, canceled)));
+                    next = end;
+                }
+                exec.checkCanceled();
+                DataRow[] rows = get(chunks.poll());
+                addRows(container, rows);
+                written += rows.length;
+                exec.setProgress((double) written / data.size());
+            }
+        } finally {
+            canceled.set(true);
+            for (Future<DataRow[]> chunk : chunks) {
+                chunk.cancel(false);
+            }
+        }
+    }
+
+    private static DataRow[] get(final Future<DataRow[]> chunk) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return chunk.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException("Unable to transform data", cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void addRows(final BufferedDataContainer container, final DataRow[] rows) {
+        for (DataRow row : rows) {
+            container.addRowToTable(row);
+        }
+    }
+
+    private static synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+
+    private final class ChunkTask implements Callable<DataRow[]> {
+        private final List<T> chunk;
+        private final int offset;
+        private final AtomicBoolean canceled;
+
+        ChunkTask(final List<T> chunk, final int offset, final AtomicBoolean canceled) {
+            this.chunk = chunk;
+            this.offset = offset;
+            this.canceled = canceled;
+        }
+
+        @Override
+        public DataRow[] call() {
+            if (canceled.get()) {
+                return new DataRow[0];
+            }
+            return createTableRows(chunk, offset);
+        }
+    }
+}
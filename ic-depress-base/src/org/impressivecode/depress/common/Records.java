@@ -0,0 +1,155 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Field encoders for {@link RecordCodec}s. Lengths and counts are written as
+ * variable length integers, -1 stands for null, so short strings and small
+ * collections take a single byte of overhead.
+ */
+public final class Records {
+
+    public static final RecordCodec<String> STRING = new RecordCodec<String>() {
+        @Override
+        public void write(final DataOutput out, final String value) throws IOException {
+            writeString(out, value);
+        }
+
+        @Override
+        public String read(final DataInput in) throws IOException {
+            return readString(in);
+        }
+    };
+
+    private Records() {
+    }
+
+    /**
+     * Writes a value not smaller than -1, -1 is used for null lengths.
+     */
+    public static void writeVarInt(final DataOutput out, final int value) throws IOException {
+        int rest = value + 1;
+        while ((rest & ~0x7F) != 0) {
+            out.writeByte((rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        out.writeByte(rest);
+    }
+
+    public static int readVarInt(final DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0;; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value - 1;
+            }
+        }
+    }
+
+    public static void writeString(final DataOutput out, final String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, -1);
+        } else {
+            byte[] bytes = value.getBytes(Charsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    public static String readString(final DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+
+    public static void writeStrings(final DataOutput out, final Collection<String> values) throws IOException {
+        if (values == null) {
+            writeVarInt(out, -1);
+        } else {
+            writeVarInt(out, values.size());
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    public static List<String> readStringList(final DataInput in) throws IOException {
+        int size = readVarInt(in);
+        if (size < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    public static Set<String> readStringSet(final DataInput in) throws IOException {
+        List<String> values = readStringList(in);
+        return values == null ? null : new HashSet<String>(values);
+    }
+
+    public static void writeInteger(final DataOutput out, final Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    public static Integer readInteger(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    public static void writeDate(final DataOutput out, final Date value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getTime());
+        }
+    }
+
+    public static Date readDate(final DataInput in) throws IOException {
+        return in.readBoolean() ? new Date(in.readLong()) : null;
+    }
+
+    public static void writeEnum(final DataOutput out, final Enum<?> value) throws IOException {
+        writeVarInt(out, value == null ? -1 : value.ordinal());
+    }
+
+    public static <E extends Enum<E>> E readEnum(final DataInput in, final Class<E> type) throws IOException {
+        int ordinal = readVarInt(in);
+        return ordinal < 0 ? null : type.getEnumConstants()[ordinal];
+    }
+}
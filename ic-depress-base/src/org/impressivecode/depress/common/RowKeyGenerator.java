@@ -0,0 +1,147 @@
+/*
+ ImpressiveCode Depress Framework
+ Copyright (C) 2013  ImpressiveCode contributors
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.knime.core.data.RowKey;
+
+/**
+ * Creates numbered row keys, e.g. "0", "1", "2" or "Row0", "Row1", "Row2".
+ * The generator is immutable and can be shared between threads. Keys are
+ * created by segments, one per writer, each numbering rows from its own first
+ * index:
+ * 
+ * <pre>
+ * RowKeyGenerator.Segment keys = RowKeyGenerator.numbered().segment(offset);
+ * new DefaultRow(keys.next(), cells);
+ * </pre>
+ * 
+ * A segment keeps the digits of the next key in a buffer and increments them
+ * in place, so creating a key only copies the buffer into the key string.
+ */
+public final class RowKeyGenerator {
+
+    private static final RowKeyGenerator NUMBERED = new RowKeyGenerator("", 0);
+
+    // Long.MAX_VALUE has 19 digits
+    private static final int MAX_DIGITS = 19;
+
+    private final String prefix;
+    private final long first;
+
+    private RowKeyGenerator(final String prefix, final long first) {
+        this.prefix = checkNotNull(prefix, "Prefix has to be set");
+        checkArgument(first >= 0, "First index can not be negative");
+        this.first = first;
+    }
+
+    /**
+     * @return generator of keys "0", "1", ... as created with
+     *         String.valueOf(index)
+     */
+    public static RowKeyGenerator numbered() {
+        return NUMBERED;
+    }
+
+    public static RowKeyGenerator numbered(final long first) {
+        return new RowKeyGenerator("", first);
+    }
+
+    public static RowKeyGenerator prefixed(final String prefix, final long first) {
+        return new RowKeyGenerator(prefix, first);
+    }
+
+    /**
+     * @return key of the row at given index, for single keys
+     */
+    public RowKey key(final long index) {
+        return new RowKey(prefix + (first + index));
+    }
+
+    /**
+     * @param index
+     *            index of the first row of the segment
+     */
+    public Segment segment(final long index) {
+        return new Segment(prefix, first + index);
+    }
+
+    /**
+     * Consecutive keys of one writer. Not thread safe.
+     */
+    public static final class Segment {
+        private final int start;
+        private final char[] buffer;
+        private int end;
+        private long next;
+
+        private Segment(final String prefix, final long next) {
+            this.start = prefix.length();
+            this.buffer = new char[start + MAX_DIGITS];
+            prefix.getChars(0, start, buffer, 0);
+            seek(next);
+        }
+
+        /**
+         * @return key with the next number
+         */
+        public RowKey next() {
+            RowKey key = new RowKey(new String(buffer, 0, end));
+            increment();
+            return key;
+        }
+
+        /**
+         * @return number of the key returned by the next call of
+         *         {@link #next()}
+         */
+        public long position() {
+            return next;
+        }
+
+        /**
+         * Moves to the given number, cheap when it is already the next one.
+         */
+        public void seek(final long number) {
+            checkArgument(number >= 0, "Number can not be negative");
+            if (number == next && end > 0) {
+                return;
+            }
+            String digits = Long.toString(number);
+            digits.getChars(0, digits.length(), buffer, start);
+            end = start + digits.length();
+            next = number;
+        }
+
+        private void increment() {
+            next++;
+            for (int i = end - 1; i >= start; i--) {
+                if (buffer[i] != '9') {
+                    buffer[i]++;
+                    return;
+                }
+                buffer[i] = '0';
+            }
+            // all digits were 9, e.g. 999 -> 1000
+            buffer[start] = '1';
+            buffer[end++] = '0';
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only file of binary records, used by the spillable collections. The
+ * file is mapped into memory in regions of fixed size, so records are written
+ * and read without any system calls once a region is mapped. A record is its
+ * length as a variable length integer followed by its bytes and may span two
+ * or more regions.
+ * 
+ * The file is created in the temporary directory and deleted on
+ * {@link #close()}. Mapped regions are released by the garbage collector, on
+ * platforms which do not allow deleting mapped files the file is deleted on
+ * exit.
+ * 
+ * Methods are synchronized, so records can be read by concurrent writers of
+ * the output table.
+ */
+final class SpillFile implements Closeable {
+
+    /**
+     * Number of in-memory entries after which spillable collections move to
+     * disk, set with -Ddepress.spill.threshold in knime.ini.
+     */
+    static final int DEFAULT_MEMORY_LIMIT = Integer.getInteger("depress.spill.threshold", 250000);
+
+    static final int DEFAULT_REGION_SIZE = 1 << 26;
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private final int regionSize;
+    private final List<MappedByteBuffer> regions = new ArrayList<MappedByteBuffer>();
+    private long size;
+
+    SpillFile() throws IOException {
+        this(DEFAULT_REGION_SIZE);
+    }
+
+    SpillFile(final int regionSize) throws IOException {
+        checkArgument(regionSize > 0, "Region size has to be positive");
+        this.regionSize = regionSize;
+        this.file = File.createTempFile("depress-spill-", ".bin");
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+    }
+
+    /**
+     * Appends the record written to the buffer and resets the buffer.
+     * 
+     * @return offset of the record, used to read it
+     */
+    synchronized long append(final RecordBuffer buffer) throws IOException {
+        long offset = append(buffer.bytes(), buffer.size());
+        buffer.reset();
+        return offset;
+    }
+
+    private long append(final byte[] record, final int length) throws IOException {
+        long offset = size;
+        int header = length;
+        while ((header & ~0x7F) != 0) {
+            put((byte) ((header & 0x7F) | 0x80));
+            header >>>= 7;
+        }
+        put((byte) header);
+        put(record, length);
+        return offset;
+    }
+
+    synchronized byte[] read(final long offset) throws IOException {
+        checkArgument(offset >= 0 && offset < size, "Record offset out of range: %s", offset);
+        long position = offset;
+        int length = 0;
+        for (int shift = 0;; shift += 7) {
+            byte b = region(position).get(index(position));
+            position++;
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        byte[] record = new byte[length];
+        int done = 0;
+        while (done < length) {
+            MappedByteBuffer region = region(position);
+            int index = index(position);
+            int count = Math.min(length - done, regionSize - index);
+            region.position(index);
+            region.get(record, done, count);
+            done += count;
+            position += count;
+        }
+        return record;
+    }
+
+    /**
+     * @return number of bytes written
+     */
+    synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        regions.clear();
+        try {
+            channel.close();
+            raf.close();
+        } finally {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    private void put(final byte b) throws IOException {
+        region(size).put(index(size), b);
+        size++;
+    }
+
+    private void put(final byte[] bytes, final int length) throws IOException {
+        int done = 0;
+        while (done < length) {
+            MappedByteBuffer region = region(size);
+            int index = index(size);
+            int count = Math.min(length - done, regionSize - index);
+            region.position(index);
+            region.put(bytes, done, count);
+            done += count;
+            size += count;
+        }
+    }
+
+    private MappedByteBuffer region(final long position) throws IOException {
+        int region = (int) (position / regionSize);
+        while (regions.size() <= region) {
+            long start = (long) regions.size() * regionSize;
+            regions.add(channel.map(MapMode.READ_WRITE, start, regionSize));
+        }
+        return regions.get(region);
+    }
+
+    private int index(final long position) {
+        return (int) (position % regionSize);
+    }
+
+    /**
+     * Reusable buffer for encoding records.
+     */
+    static final class RecordBuffer extends ByteArrayOutputStream {
+        private final DataOutputStream out = new DataOutputStream(this);
+
+        DataOutput output() {
+            return out;
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.impressivecode.depress.common.SpillFile.RecordBuffer;
+
+/**
+ * Append-only list keeping its elements on the heap until their number passes
+ * the memory limit, then in a {@link SpillFile}. Spilled elements are decoded
+ * on each {@link #get(int)}, only their offsets stay on the heap.
+ * 
+ * Elements can be read concurrently, e.g. by the chunk tasks of
+ * {@link ParallelOutputTransformer}, when nothing is added at the same time. The list has to be closed to
+ * delete its file.
+ * 
+ * @param <T>
+ *            element type
+ */
+public class SpillableList<T> extends AbstractList<T> implements RandomAccess, Closeable {
+
+    private final RecordCodec<T> codec;
+    private final int memoryLimit;
+    private final RecordBuffer buffer = new RecordBuffer();
+    private List<T> memory = new ArrayList<T>();
+    private SpillFile file;
+    private long[] offsets;
+    private int size;
+
+    public SpillableList(final RecordCodec<T> codec, final int memoryLimit) {
+        checkArgument(memoryLimit > 0, "Memory limit has to be positive");
+        this.codec = checkNotNull(codec, "Codec has to be set");
+        this.memoryLimit = memoryLimit;
+    }
+
+    /**
+     * @return list spilling after {@link SpillFile#DEFAULT_MEMORY_LIMIT}
+     *         elements
+     */
+    public static <T> SpillableList<T> create(final RecordCodec<T> codec) {
+        return new SpillableList<T>(codec, SpillFile.DEFAULT_MEMORY_LIMIT);
+    }
+
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(final T element) {
+        checkNotNull(element, "Element has to be set");
+        if (isSpilled()) {
+            write(element);
+        } else {
+            memory.add(element);
+            size++;
+            if (size > memoryLimit) {
+                spill();
+            }
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public T get(final int index) {
+        checkElementIndex(index, size);
+        if (!isSpilled()) {
+            return memory.get(index);
+        }
+        try {
+            return codec.read(new DataInputStream(new ByteArrayInputStream(file.read(offsets[index]))));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read spill file", e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        memory = new ArrayList<T>();
+        offsets = null;
+        size = 0;
+        modCount++;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to delete spill file", e);
+            } finally {
+                file = null;
+            }
+        }
+    }
+
+    /**
+     * Deletes the elements and their file.
+     */
+    @Override
+    public void close() {
+        clear();
+    }
+
+    private void spill() {
+        List<T> elements = memory;
+        memory = null;
+        size = 0;
+        try {
+            file = new SpillFile();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create spill file", e);
+        }
+        offsets = new long[elements.size() * 2];
+        for (T element : elements) {
+            write(element);
+        }
+    }
+
+    private void write(final T element) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        try {
+            codec.write(buffer.output(), element);
+            offsets[size] = file.append(buffer);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write spill file", e);
+        }
+        size++;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.impressivecode.depress.common.SpillFile.RecordBuffer;
+
+/**
+ * Map keeping its entries on the heap until their number passes the memory
+ * limit, then in a {@link SpillFile}. After spilling only the index of the
+ * file stays on the heap: a hash table of key hashes and record offsets, 12
+ * bytes per slot. Entries put later are kept in memory and written out
+ * together each time the memory limit is reached again, so values updated
+ * many times in a row are written once.
+ * 
+ * Values read from the spilled part are decoded on each call, changes of a
+ * value have to be stored with {@link #put(Object, Object)}. Neither keys nor
+ * values can be null and entries can not be removed. The map is not thread
+ * safe and has to be closed to delete its file.
+ * 
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ */
+public class SpillableMap<K, V> extends AbstractMap<K, V> implements Closeable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final RecordCodec<K> keyCodec;
+    private final RecordCodec<V> valueCodec;
+    private final int memoryLimit;
+    private final Map<K, V> memory = new HashMap<K, V>();
+    private final RecordBuffer buffer = new RecordBuffer();
+    private SpillFile file;
+    private int[] hashes;
+    // record offsets + 1, 0 marks free slots
+    private long[] offsets;
+    private int spilled;
+    private int size;
+
+    public SpillableMap(final RecordCodec<K> keyCodec, final RecordCodec<V> valueCodec, final int memoryLimit) {
+        checkArgument(memoryLimit > 0, "Memory limit has to be positive");
+        this.keyCodec = checkNotNull(keyCodec, "Key codec has to be set");
+        this.valueCodec = checkNotNull(valueCodec, "Value codec has to be set");
+        this.memoryLimit = memoryLimit;
+    }
+
+    /**
+     * @return map spilling after {@link SpillFile#DEFAULT_MEMORY_LIMIT} entries
+     */
+    public static <K, V> SpillableMap<K, V> create(final RecordCodec<K> keyCodec, final RecordCodec<V> valueCodec) {
+        return new SpillableMap<K, V>(keyCodec, valueCodec, SpillFile.DEFAULT_MEMORY_LIMIT);
+    }
+
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return memory.containsKey(key) || (isSpilled() && key != null && find(key, hash(key)) >= 0);
+    }
+
+    @Override
+    public V get(final Object key) {
+        V value = memory.get(key);
+        if (value != null || !isSpilled() || key == null) {
+            return value;
+        }
+        int slot = find(key, hash(key));
+        return slot < 0 ? null : readEntry(slot).getValue();
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        checkNotNull(key, "Key has to be set");
+        checkNotNull(value, "Value has to be set");
+        V old = memory.put(key, value);
+        if (old == null && isSpilled()) {
+            int slot = find(key, hash(key));
+            old = slot < 0 ? null : readEntry(slot).getValue();
+        }
+        if (old == null) {
+            size++;
+        }
+        if (memory.size() > memoryLimit) {
+            spill();
+        }
+        return old;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        throw new UnsupportedOperationException("Entries of spillable map can not be removed");
+    }
+
+    /**
+     * Iterates spilled entries in hash order, entries kept in memory are
+     * written out first.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (!isSpilled()) {
+            return Collections.unmodifiableMap(memory).entrySet();
+        }
+        spill();
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new SpilledIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        hashes = null;
+        offsets = null;
+        spilled = 0;
+        size = 0;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to delete spill file", e);
+            } finally {
+                file = null;
+            }
+        }
+    }
+
+    /**
+     * Deletes the entries and their file.
+     */
+    @Override
+    public void close() {
+        clear();
+    }
+
+    private void spill() {
+        try {
+            if (file == null) {
+                file = new SpillFile();
+                hashes = new int[INITIAL_CAPACITY];
+                offsets = new long[INITIAL_CAPACITY];
+            }
+            for (Entry<K, V> entry : memory.entrySet()) {
+                keyCodec.write(buffer.output(), entry.getKey());
+                valueCodec.write(buffer.output(), entry.getValue());
+                long offset = file.append(buffer);
+                int hash = hash(entry.getKey());
+                int slot = find(entry.getKey(), hash);
+                if (slot < 0) {
+                    slot = -slot - 1;
+                    hashes[slot] = hash;
+                    spilled++;
+                }
+                offsets[slot] = offset + 1;
+                if (spilled * 2 > offsets.length) {
+                    rehash();
+                }
+            }
+            memory.clear();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write spill file", e);
+        }
+    }
+
+    /**
+     * @return slot of the key or -(free slot + 1) if it is not spilled
+     */
+    private int find(final Object key, final int hash) {
+        int mask = offsets.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            if (offsets[slot] == 0) {
+                return -slot - 1;
+            }
+            if (hashes[slot] == hash && key.equals(readKey(slot))) {
+                return slot;
+            }
+        }
+    }
+
+    private void rehash() {
+        int[] oldHashes = hashes;
+        long[] oldOffsets = offsets;
+        hashes = new int[oldHashes.length * 2];
+        offsets = new long[oldOffsets.length * 2];
+        int mask = offsets.length - 1;
+        for (int i = 0; i < oldOffsets.length; i++) {
+            if (oldOffsets[i] != 0) {
+                int slot = oldHashes[i] & mask;
+                while (offsets[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                offsets[slot] = oldOffsets[i];
+            }
+        }
+    }
+
+    private K readKey(final int slot) {
+        try {
+            return keyCodec.read(open(slot));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read spill file", e);
+        }
+    }
+
+    private Entry<K, V> readEntry(final int slot) {
+        try {
+            DataInputStream in = open(slot);
+            K key = keyCodec.read(in);
+            return new SimpleImmutableEntry<K, V>(key, valueCodec.read(in));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read spill file", e);
+        }
+    }
+
+    private DataInputStream open(final int slot) throws IOException {
+        return new DataInputStream(new ByteArrayInputStream(file.read(offsets[slot] - 1)));
+    }
+
+    private static int hash(final Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private class SpilledIterator implements Iterator<Entry<K, V>> {
+        private int slot = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return slot < offsets.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = readEntry(slot);
+            slot = advance(slot + 1);
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Entries of spillable map can not be removed");
+        }
+
+        private int advance(final int from) {
+            int next = from;
+            while (next < offsets.length && offsets[next] == 0) {
+                next++;
+            }
+            return next;
+        }
+    }
+}
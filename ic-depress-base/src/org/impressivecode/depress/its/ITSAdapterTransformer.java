@@ -17,64 +17,24 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.its;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-import static org.impressivecode.depress.its.ITSAdapterTableFactory.createTableRow;
-
-import java.util.List;
-
-import org.impressivecode.depress.common.OutputTransformer;
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
-import org.knime.core.node.CanceledExecutionException;
-import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.NodeLogger;
-import org.knime.core.node.NodeLogger.LEVEL;
 
 /**
  * 
  * @author Marek Majchrzak, ImpressiveCode
  * 
  */
-public class ITSAdapterTransformer implements OutputTransformer<ITSDataType> {
-
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(ITSAdapterTransformer.class);
-
-    private final DataTableSpec tableSpec;
+public class ITSAdapterTransformer extends ParallelOutputTransformer<ITSDataType> {
 
     public ITSAdapterTransformer(final DataTableSpec tableSpec) {
-        checkNotNull(tableSpec, "table specifikation can not be null.");
-        this.tableSpec = tableSpec;
+        super(tableSpec);
     }
 
     @Override
-    public BufferedDataTable transform(final List<ITSDataType> entries, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        for (ITSDataType entry : entries) {
-            progress(exec);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Transforming issue entry, issueId: " + entry.getIssueId());
-            }
-
-            if (LOGGER.isEnabledFor(LEVEL.ALL)) {
-                LOGGER.debug("Transforming issue entry:" + entry.toString());
-            }
-            DataRow row = createTableRow(entry);
-            container.addRowToTable(row);
-        }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
-    }
-
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
-    }
-
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
+    protected DataRow createTableRow(final Segment keys, final ITSDataType entry) {
+        return ITSAdapterTableFactory.createTableRow(entry);
     }
 }
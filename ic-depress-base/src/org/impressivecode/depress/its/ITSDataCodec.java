@@ -0,0 +1,90 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its;
+
+import static org.impressivecode.depress.common.Records.readDate;
+import static org.impressivecode.depress.common.Records.readEnum;
+import static org.impressivecode.depress.common.Records.readInteger;
+import static org.impressivecode.depress.common.Records.readString;
+import static org.impressivecode.depress.common.Records.readStringList;
+import static org.impressivecode.depress.common.Records.readStringSet;
+import static org.impressivecode.depress.common.Records.writeDate;
+import static org.impressivecode.depress.common.Records.writeEnum;
+import static org.impressivecode.depress.common.Records.writeInteger;
+import static org.impressivecode.depress.common.Records.writeString;
+import static org.impressivecode.depress.common.Records.writeStrings;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.impressivecode.depress.common.RecordCodec;
+
+/**
+ * Binary format of issues kept by spillable collections.
+ */
+public class ITSDataCodec implements RecordCodec<ITSDataType> {
+
+    @Override
+    public void write(final DataOutput out, final ITSDataType value) throws IOException {
+        writeString(out, value.getIssueId());
+        writeDate(out, value.getCreated());
+        writeDate(out, value.getUpdated());
+        writeDate(out, value.getResolved());
+        writeEnum(out, value.getStatus());
+        writeEnum(out, value.getType());
+        writeStrings(out, value.getVersion());
+        writeStrings(out, value.getFixVersion());
+        writeEnum(out, value.getPriority());
+        writeString(out, value.getSummary());
+        writeString(out, value.getLink());
+        writeString(out, value.getDescription());
+        writeStrings(out, value.getComments());
+        writeEnum(out, value.getResolution());
+        writeString(out, value.getReporter());
+        writeInteger(out, value.getTimeEstimate());
+        writeInteger(out, value.getTimeSpent());
+        writeStrings(out, value.getAssignees());
+        writeStrings(out, value.getCommentAuthors());
+    }
+
+    @Override
+    public ITSDataType read(final DataInput in) throws IOException {
+        ITSDataType value = new ITSDataType();
+        value.setIssueId(readString(in));
+        value.setCreated(readDate(in));
+        value.setUpdated(readDate(in));
+        value.setResolved(readDate(in));
+        value.setStatus(readEnum(in, ITSStatus.class));
+        value.setType(readEnum(in, ITSType.class));
+        value.setVersion(readStringList(in));
+        value.setFixVersion(readStringList(in));
+        value.setPriority(readEnum(in, ITSPriority.class));
+        value.setSummary(readString(in));
+        value.setLink(readString(in));
+        value.setDescription(readString(in));
+        value.setComments(readStringList(in));
+        value.setResolution(readEnum(in, ITSResolution.class));
+        value.setReporter(readString(in));
+        value.setTimeEstimate(readInteger(in));
+        value.setTimeSpent(readInteger(in));
+        value.setAssignees(readStringSet(in));
+        value.setCommentAuthors(readStringSet(in));
+        return value;
+    }
+}
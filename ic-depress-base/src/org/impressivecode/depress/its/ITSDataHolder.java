@@ -17,13 +17,12 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.its;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.HashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import com.google.common.base.Function;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /**
@@ -31,17 +30,17 @@ import com.google.common.collect.Sets;
  * @author Marek Majchrzak, ImpressiveCode
  * 
  */
-public class ITSDataHolder {
+public class ITSDataHolder implements Closeable {
 
-    private final ImmutableMap<String, ITSDataType> issues;
+    private final Map<String, ITSDataType> issues;
 
-    ITSDataHolder(final List<ITSDataType> issueData) {
-        this.issues = Maps.uniqueIndex(issueData, new Function<ITSDataType, String>() {
-            @Override
-            public String apply(final ITSDataType from) {
-                return from.getIssueId();
-            }
-        });
+    /**
+     * @param issues
+     *            issues by id, closed together with the holder if they are
+     *            {@link Closeable}
+     */
+    ITSDataHolder(final Map<String, ITSDataType> issues) {
+        this.issues = issues;
     }
 
     public Set<ITSDataType> issues(final Set<String> ids) {
@@ -55,4 +54,10 @@ public class ITSDataHolder {
         return items;
     }
 
+    @Override
+    public void close() throws IOException {
+        if (issues instanceof Closeable) {
+            ((Closeable) issues).close();
+        }
+    }
 }
@@ -232,8 +232,8 @@ public class ITSDataType {
         result = prime * result + ((type == null) ? 0 : type.hashCode());
         result = prime * result + ((updated == null) ? 0 : updated.hashCode());
         result = prime * result + ((version == null) ? 0 : version.hashCode());
-        result = prime * result + ((version == null) ? 0 : timeEstimate.hashCode());
-        result = prime * result + ((version == null) ? 0 : timeSpent.hashCode());
+        result = prime * result + ((timeEstimate == null) ? 0 : timeEstimate.hashCode());
+        result = prime * result + ((timeSpent == null) ? 0 : timeSpent.hashCode());
         return result;
     }
 
@@ -17,20 +17,37 @@
  */
 package org.impressivecode.depress.its;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Lists.newArrayListWithExpectedSize;
+import static org.impressivecode.depress.common.CompiledTableCellReader.compile;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.ASSIGNEES;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.COMMENTS;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.COMMENT_AUTHORS;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.DESCRIPTION;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.ISSUE_ID;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.REPORTER;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.RESOLUTION;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.RESOLVED_DATE;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.SUMMARY;
 
 import java.util.List;
 import java.util.Set;
 
+import org.impressivecode.depress.common.CompiledTableCellReader;
 import org.impressivecode.depress.common.DataTableSpecUtils;
+import org.impressivecode.depress.common.InputHandler;
 import org.impressivecode.depress.common.InputTransformer;
-import org.impressivecode.depress.common.TableCellReader;
+import org.impressivecode.depress.common.InputTransformerUtils;
+import org.impressivecode.depress.common.Records;
+import org.impressivecode.depress.common.SpillableMap;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowIterator;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 
 import com.google.common.collect.Iterables;
@@ -41,8 +58,21 @@ import com.google.common.collect.Iterables;
  */
 public class ITSInputTransformer implements InputTransformer<ITSDataType> {
 
+    private static final String[] COLUMNS = { ISSUE_ID, RESOLVED_DATE, ASSIGNEES, REPORTER, COMMENT_AUTHORS,
+            RESOLUTION, DESCRIPTION, SUMMARY, COMMENTS };
+    private static final int ISSUE_ID_COLUMN = 0;
+    private static final int RESOLVED_DATE_COLUMN = 1;
+    private static final int ASSIGNEES_COLUMN = 2;
+    private static final int REPORTER_COLUMN = 3;
+    private static final int COMMENT_AUTHORS_COLUMN = 4;
+    private static final int RESOLUTION_COLUMN = 5;
+    private static final int DESCRIPTION_COLUMN = 6;
+    private static final int SUMMARY_COLUMN = 7;
+    private static final int COMMENTS_COLUMN = 8;
+
     private DataTableSpec minimalTableSpec;
     private DataTableSpec inputTableSpec;
+    private CompiledTableCellReader reader;
 
     public ITSInputTransformer() {
     }
@@ -60,31 +90,65 @@ public class ITSInputTransformer implements InputTransformer<ITSDataType> {
         return issueData;
     }
 
-    public ITSDataHolder transformToDataHolder(final DataTable inTable) {
-        return new ITSDataHolder(transform(inTable));
+    @Override
+    public void forEach(final DataTable inTable, final ExecutionMonitor exec, final InputHandler<ITSDataType> handler)
+            throws CanceledExecutionException {
+        checkNotNull(this.inputTableSpec, "Input DataTableSpec hat to be set");
+        InputTransformerUtils.forEach(this, inTable, exec, handler);
+    }
+
+    /**
+     * Indexes issues by id in a {@link SpillableMap}, so large issue tables
+     * are moved to disk. The holder has to be closed after use.
+     */
+    public ITSDataHolder transformToDataHolder(final DataTable inTable, final ExecutionMonitor exec)
+            throws CanceledExecutionException {
+        final SpillableMap<String, ITSDataType> issues = SpillableMap.create(Records.STRING, new ITSDataCodec());
+        try {
+            forEach(inTable, exec, new InputHandler<ITSDataType>() {
+                @Override
+                public boolean handle(final ITSDataType its) {
+                    checkArgument(issues.put(its.getIssueId(), its) == null, "Duplicate issue id: %s",
+                            its.getIssueId());
+                    return true;
+                }
+            });
+        } catch (RuntimeException | CanceledExecutionException e) {
+            issues.close();
+            throw e;
+        }
+        return new ITSDataHolder(issues);
     }
 
     @Override
     public ITSDataType transformRow(final DataRow row) {
-        TableCellReader reader = new TableCellReader(this.inputTableSpec, row);
+        CompiledTableCellReader reader = reader();
         ITSDataType its = new ITSDataType();
         //add additional if required
-        its.setIssueId(reader.stringOptional(ITSAdapterTableFactory.ISSUE_ID));
-        its.setResolved(reader.dateOptional(ITSAdapterTableFactory.RESOLVED_DATE));
-        its.setAssignees(reader.stringSetOptional(ITSAdapterTableFactory.ASSIGNEES));
-        its.setReporter(reader.stringOptional(ITSAdapterTableFactory.REPORTER));
-        its.setCommentAuthors(reader.stringSetOptional(ITSAdapterTableFactory.COMMENT_AUTHORS));
-        its.setResolution(readResolution(reader));
-        its.setDescription(reader.stringOptional(ITSAdapterTableFactory.DESCRIPTION));
-        its.setSummary(reader.stringOptional(ITSAdapterTableFactory.SUMMARY));
-        its.setComments(reader.stringListOptional(ITSAdapterTableFactory.COMMENTS));
+        its.setIssueId(reader.stringOptional(row, ISSUE_ID_COLUMN));
+        its.setResolved(reader.dateOptional(row, RESOLVED_DATE_COLUMN));
+        its.setAssignees(reader.stringSetOptional(row, ASSIGNEES_COLUMN));
+        its.setReporter(reader.stringOptional(row, REPORTER_COLUMN));
+        its.setCommentAuthors(reader.stringSetOptional(row, COMMENT_AUTHORS_COLUMN));
+        its.setResolution(readResolution(reader, row));
+        its.setDescription(reader.stringOptional(row, DESCRIPTION_COLUMN));
+        its.setSummary(reader.stringOptional(row, SUMMARY_COLUMN));
+        its.setComments(reader.stringListOptional(row, COMMENTS_COLUMN));
 
         //add check if minimaldata set requires column for large data e.g. comments or description
         return its;
     }
 
-    private ITSResolution readResolution(final TableCellReader reader) {
-        String resolution = reader.stringOptional(ITSAdapterTableFactory.RESOLUTION);
+    private CompiledTableCellReader reader() {
+        if (reader == null || !reader.isCompiledFor(this.inputTableSpec)) {
+            checkNotNull(this.inputTableSpec, "Input DataTableSpec hat to be set");
+            reader = compile(this.inputTableSpec, COLUMNS);
+        }
+        return reader;
+    }
+
+    private ITSResolution readResolution(final CompiledTableCellReader reader, final DataRow row) {
+        String resolution = reader.stringOptional(row, RESOLUTION_COLUMN);
         if(resolution == null){
             return null;
         }else {
@@ -19,18 +19,24 @@ package org.impressivecode.depress.scm;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.impressivecode.depress.common.Cells.dateTimeCell;
+import static org.impressivecode.depress.common.Cells.integerOrMissingCell;
 import static org.impressivecode.depress.common.Cells.stringCell;
 import static org.impressivecode.depress.common.Cells.stringOrMissingCell;
 
+import org.impressivecode.depress.common.CellPool;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
 import org.knime.core.data.date.DateAndTimeCell;
 import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
 
+import com.google.common.collect.ObjectArrays;
+
 /**
  * 
  * @author Marek Majchrzak, ImpressiveCode
@@ -51,6 +57,13 @@ public class SCMAdapterTableFactory {
     public final static String PATH_COLNAME = "Path";
     public final static String DATE_COLNAME = "Date";
     public final static String UID_COLNAME = "CommitID";
+    public final static String LINES_ADDED_COLNAME = "LinesAdded";
+    public final static String LINES_DELETED_COLNAME = "LinesDeleted";
+
+    private static final int MESSAGE_GROUP_CELL = 0;
+    private static final int DATE_GROUP_CELL = 1;
+    private static final int UID_GROUP_CELL = 2;
+    private static final int GROUP_COLUMNS = 3;
     
     public static final String EXTENSION_COLNAME = "Extension";
     public static final DataColumnSpec EXTENSION_COLSPEC = new DataColumnSpecCreator(EXTENSION_COLNAME, StringCell.TYPE)
@@ -62,25 +75,99 @@ public class SCMAdapterTableFactory {
     public static final DataColumnSpec MESSAGE_COLSPEC = new DataColumnSpecCreator(MESSAGE_COLNAME, StringCell.TYPE)
     .createSpec();
 
+    public static final DataColumnSpec LINES_ADDED_COLSPEC = new DataColumnSpecCreator(LINES_ADDED_COLNAME,
+            IntCell.TYPE).createSpec();
+
+    public static final DataColumnSpec LINES_DELETED_COLSPEC = new DataColumnSpecCreator(LINES_DELETED_COLNAME,
+            IntCell.TYPE).createSpec();
+
     public static DataTableSpec[] createTableSpec() {
         return new DataTableSpec[] { SCMAdapterTableFactory.createDataColumnSpec() };
     }
 
+    public static DataTableSpec[] createTableSpec(final boolean churn) {
+        return new DataTableSpec[] { SCMAdapterTableFactory.createDataColumnSpec(churn) };
+    }
+
     public static DataTableSpec createDataColumnSpec() {
+        return createDataColumnSpec(false);
+    }
+
+    /**
+     * @param churn
+     *            true to append {@value #LINES_ADDED_COLNAME} and
+     *            {@value #LINES_DELETED_COLNAME} columns
+     */
+    public static DataTableSpec createDataColumnSpec(final boolean churn) {
         DataColumnSpec[] allColSpecs = { RESOURCE_COLSPEC, EXTENSION_COLSPEC, AUTHOR_COLSPEC,
                 new DataColumnSpecCreator(ACTION_COLNAME, StringCell.TYPE).createSpec(), MESSAGE_COLSPEC,
                 new DataColumnSpecCreator(PATH_COLNAME, StringCell.TYPE).createSpec(), DATE_COLSPEC,
                 new DataColumnSpecCreator(UID_COLNAME, StringCell.TYPE).createSpec() };
+        if (churn) {
+            allColSpecs = ObjectArrays.concat(allColSpecs, new DataColumnSpec[] { LINES_ADDED_COLSPEC,
+                    LINES_DELETED_COLSPEC }, DataColumnSpec.class);
+        }
         return new DataTableSpec(allColSpecs);
     }
 
+    public static boolean hasChurn(final DataTableSpec spec) {
+        return spec.containsName(LINES_ADDED_COLNAME);
+    }
+
     public static DataRow createTableRow(final String rowId, final SCMDataType scmData) {
+        return createTableRow(rowId, scmData, false);
+    }
+
+    public static DataRow createTableRow(final String rowId, final SCMDataType scmData, final boolean churn) {
         assertData(scmData);
         DataCell[] cells = { stringCell(scmData.getResourceName()), stringCell(scmData.getExtension()), stringOrMissingCell(scmData.getAuthor()),
                 stringCell(scmData.getOperation()), stringOrMissingCell(scmData.getMessage()),
                 stringCell(scmData.getPath()), dateTimeCell(scmData.getCommitDate()),
                 stringCell(scmData.getCommitID()), };
-        DataRow row = new DefaultRow(rowId, cells);
+        return createTableRow(new RowKey(rowId), scmData, churn, cells);
+    }
+
+    /**
+     * @return pool for {@link #createTableRow(String, SCMDataType, boolean, CellPool)}
+     *         calls creating one table
+     */
+    public static CellPool createCellPool() {
+        return new CellPool(GROUP_COLUMNS);
+    }
+
+    /**
+     * Creates a row reusing cells of the pool: author, extension and action
+     * cells are shared by the whole table, message, date and commit id cells
+     * by consecutive rows of the same commit.
+     */
+    public static DataRow createTableRow(final String rowId, final SCMDataType scmData, final boolean churn,
+            final CellPool pool) {
+        return createTableRow(new RowKey(rowId), scmData, churn, pool);
+    }
+
+    public static DataRow createTableRow(final RowKey rowKey, final SCMDataType scmData, final boolean churn,
+            final CellPool pool) {
+        assertData(scmData);
+        if (pool.startGroup(scmData.getCommitID())) {
+            pool.setGroupCell(MESSAGE_GROUP_CELL, stringOrMissingCell(scmData.getMessage()));
+            pool.setGroupCell(DATE_GROUP_CELL, dateTimeCell(scmData.getCommitDate()));
+            pool.setGroupCell(UID_GROUP_CELL, stringCell(scmData.getCommitID()));
+        }
+        DataCell[] cells = { stringCell(scmData.getResourceName()), pool.stringCell(scmData.getExtension()),
+                pool.stringOrMissingCell(scmData.getAuthor()), pool.stringCell(scmData.getOperation()),
+                pool.getGroupCell(MESSAGE_GROUP_CELL), stringCell(scmData.getPath()),
+                pool.getGroupCell(DATE_GROUP_CELL), pool.getGroupCell(UID_GROUP_CELL), };
+        return createTableRow(rowKey, scmData, churn, cells);
+    }
+
+    private static DataRow createTableRow(final RowKey rowKey, final SCMDataType scmData, final boolean churn,
+            final DataCell[] cells) {
+        DataCell[] rowCells = cells;
+        if (churn) {
+            rowCells = ObjectArrays.concat(cells, new DataCell[] { integerOrMissingCell(scmData.getLinesAdded()),
+                    integerOrMissingCell(scmData.getLinesDeleted()) }, DataCell.class);
+        }
+        DataRow row = new DefaultRow(rowKey, rowCells);
         return row;
     }
 
@@ -17,63 +17,44 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.scm;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createTableRow;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createCellPool;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.hasChurn;
 
-import java.util.List;
-
-import org.impressivecode.depress.common.OutputTransformer;
+import org.impressivecode.depress.common.CellPool;
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
-import org.knime.core.node.CanceledExecutionException;
-import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.NodeLogger;
-import org.knime.core.node.NodeLogger.LEVEL;
+
 /**
  * 
  * @author Marek Majchrzak, ImpressiveCode
  * 
  */
-public class SCMAdapterTransformer implements OutputTransformer<SCMDataType>{
+public class SCMAdapterTransformer extends ParallelOutputTransformer<SCMDataType> {
 
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(SCMAdapterTransformer.class);
-
-    private final DataTableSpec tableSpec;
+    private final boolean churn;
 
     public SCMAdapterTransformer(final DataTableSpec tableSpec) {
-        checkNotNull(tableSpec, "table specifikation can not be null.");
-        this.tableSpec = tableSpec;
+        super(tableSpec);
+        this.churn = hasChurn(tableSpec);
     }
 
     @Override
-    public BufferedDataTable transform(final List<SCMDataType> data, final ExecutionContext exec) throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        Long counter = 0l;
-        for (SCMDataType entry : data) {
-            progress(exec);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Transforming scm entry, id: " + entry.getCommitID());
-            }
-
-            if (LOGGER.isEnabledFor(LEVEL.ALL)) {
-                LOGGER.debug("Transforming issue entry:" + entry.toString());
-            }
-            DataRow row = createTableRow(String.valueOf(counter++),entry);
-            container.addRowToTable(row);
-        }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
+    protected DataRow createTableRow(final Segment keys, final SCMDataType entry) {
+        return createTableRow(keys, entry, createChunkState());
     }
 
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
+    /**
+     * Rows of a chunk share repeated cells, pools are not thread safe.
+     */
+    @Override
+    protected DataRow createTableRow(final Segment keys, final SCMDataType entry, final Object chunkState) {
+        return SCMAdapterTableFactory.createTableRow(keys.next(), entry, churn, (CellPool) chunkState);
     }
 
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
+    @Override
+    protected Object createChunkState() {
+        return createCellPool();
     }
 }
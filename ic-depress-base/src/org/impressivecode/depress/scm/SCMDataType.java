@@ -34,6 +34,8 @@ public class SCMDataType implements Cloneable{
     private Date commitDate;
     private String commitID;
     private String extension;
+    private Integer linesAdded;
+    private Integer linesDeleted;
     
     public String getAuthor() {
         return author;
@@ -99,11 +101,35 @@ public class SCMDataType implements Cloneable{
         this.extension = extension;
     }
 
+    /**
+     * @return number of added lines or null if it was not computed, e.g. for
+     *         binary files
+     */
+    public Integer getLinesAdded() {
+        return linesAdded;
+    }
+
+    public void setLinesAdded(final Integer linesAdded) {
+        this.linesAdded = linesAdded;
+    }
+
+    /**
+     * @return number of deleted lines or null if it was not computed
+     */
+    public Integer getLinesDeleted() {
+        return linesDeleted;
+    }
+
+    public void setLinesDeleted(final Integer linesDeleted) {
+        this.linesDeleted = linesDeleted;
+    }
+
     @Override
     public String toString() {
         return String
-                .format("SCMDataType [resourceName=%s, extension=%s, author=%s, operation=%s, message=%s, path=%s, commitDate=%s, commitID=%s]",
-                        resourceName, extension, author, operation, message, path, commitDate, commitID);
+                .format("SCMDataType [resourceName=%s, extension=%s, author=%s, operation=%s, message=%s, path=%s, commitDate=%s, commitID=%s, linesAdded=%s, linesDeleted=%s]",
+                        resourceName, extension, author, operation, message, path, commitDate, commitID,
+                        linesAdded, linesDeleted);
     }
 
     @Override
@@ -18,9 +18,6 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 package org.impressivecode.depress.scm;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
 * @author Maciej Borkowski, Capgemini Poland
@@ -40,24 +37,5 @@ public class SCMExtensionsParser {
   		}
   		return arr;
   	}
-	
-	public static boolean extensionFits(final String str, final List<String> extensions){
-		for (String extension : extensions) {
-			int idx = str.lastIndexOf(".");
-			if(idx == -1 && extension.equals(""))
-				return true;
-			if(idx == -1 || extension.equals(""))
-				continue;
-			if((extension.equals("*") || str.endsWith(extension)))
-				return true;
-			
-    		Pattern pattern = Pattern.compile(extension, Pattern.CASE_INSENSITIVE);
-    	    Matcher matcher = pattern.matcher(str.substring(idx));
-
-    		if(matcher.matches())
-    			return 	true;
-    	}
-		return false;
-	}
 
 }
\ No newline at end of file
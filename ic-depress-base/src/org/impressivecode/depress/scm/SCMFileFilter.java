@@ -0,0 +1,189 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Extension and package filter shared by the SCM parsers. Extensions are
+ * normalized and wildcard entries compiled once, so checking a path does not
+ * create any intermediate strings.
+ *
+ * Paths are given as stored in the repository, with '/' as separator. Package
+ * prefix is matched against the path with separators treated as dots.
+ *
+ * Supported extension entries:
+ * <ul>
+ * <li><code>*</code> - any file</li>
+ * <li>empty - files without extension</li>
+ * <li><code>java</code> or <code>.java</code> - files with given extension</li>
+ * <li><code>*.java</code>, <code>.j?va</code> - wildcards, <code>*</code> for
+ * any number of characters and <code>?</code> for exactly one</li>
+ * </ul>
+ * Empty or null list of extensions means no filtering by extension. Matching
+ * of extensions is case insensitive.
+ */
+public final class SCMFileFilter {
+
+    private static final String JAVA_EXTENSION = ".java";
+    private static final char SEPARATOR = '/';
+
+    private final String packagePrefix;
+    private final boolean anyExtension;
+    private final boolean noExtension;
+    private final String[] suffixes;
+    private final Pattern[] patterns;
+
+    private SCMFileFilter(final String packagePrefix, final boolean anyExtension, final boolean noExtension,
+            final List<String> suffixes, final List<Pattern> patterns) {
+        this.packagePrefix = packagePrefix;
+        this.anyExtension = anyExtension;
+        this.noExtension = noExtension;
+        this.suffixes = suffixes.toArray(new String[suffixes.size()]);
+        this.patterns = patterns.toArray(new Pattern[patterns.size()]);
+    }
+
+    public static SCMFileFilter create(final SCMParserOptions options) {
+        return create(options.getPackagePrefix(), options.getExtensionsNamesToFilter());
+    }
+
+    public static SCMFileFilter create(final String packagePrefix, final List<String> extensions) {
+        boolean anyExtension = extensions == null || extensions.isEmpty();
+        boolean noExtension = false;
+        List<String> suffixes = new ArrayList<String>();
+        List<Pattern> patterns = new ArrayList<Pattern>();
+        if (!anyExtension) {
+            for (String extension : extensions) {
+                String trimmed = extension.trim();
+                if (trimmed.equals("*")) {
+                    anyExtension = true;
+                } else if (trimmed.isEmpty()) {
+                    noExtension = true;
+                } else if (trimmed.indexOf('*') != -1 || trimmed.indexOf('?') != -1) {
+                    patterns.add(compile(trimmed));
+                } else {
+                    suffixes.add(trimmed.charAt(0) == '.' ? trimmed : "." + trimmed);
+                }
+            }
+        }
+        return new SCMFileFilter(packagePrefix, anyExtension, noExtension, suffixes, patterns);
+    }
+
+    private static Pattern compile(final String glob) {
+        StringBuilder regex = new StringBuilder(".*");
+        if (glob.charAt(0) != '.' && glob.charAt(0) != '*') {
+            regex.append("\\.");
+        }
+        int start = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (i > start) {
+                    regex.append(Pattern.quote(glob.substring(start, i)));
+                }
+                regex.append(c == '*' ? ".*" : ".");
+                start = i + 1;
+            }
+        }
+        if (start < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(start)));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Default inclusion rule: extension has to fit and .java files have to
+     * contain the package prefix, if it is set.
+     */
+    public boolean accept(final String path) {
+        return extensionFits(path) && (!isJavaFile(path) || !hasPackagePrefix() || packageFits(path));
+    }
+
+    public boolean extensionFits(final String path) {
+        if (anyExtension) {
+            return true;
+        }
+        int nameStart = path.lastIndexOf(SEPARATOR) + 1;
+        if (path.indexOf('.', nameStart) == -1) {
+            return noExtension;
+        }
+        for (String suffix : suffixes) {
+            int offset = path.length() - suffix.length();
+            if (offset >= nameStart && path.regionMatches(true, offset, suffix, 0, suffix.length())) {
+                return true;
+            }
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(path).region(nameStart, path.length()).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isJavaFile(final String path) {
+        return path.endsWith(JAVA_EXTENSION);
+    }
+
+    public boolean hasPackagePrefix() {
+        return packagePrefix != null;
+    }
+
+    /**
+     * @return true if the path contains package prefix, false if it does not or
+     *         prefix is not set
+     */
+    public boolean packageFits(final String path) {
+        return hasPackagePrefix() && packageIndex(path) != -1;
+    }
+
+    /**
+     * @return dotted class name of a .java file, starting with the package
+     *         prefix if it is set and present in the path
+     */
+    public String javaClass(final String path) {
+        int end = isJavaFile(path) ? path.length() - JAVA_EXTENSION.length() : path.length();
+        int start = hasPackagePrefix() ? Math.max(packageIndex(path), 0) : 0;
+        if (start > end) {
+            start = 0;
+        }
+        return path.substring(start, end).replace(SEPARATOR, '.');
+    }
+
+    private int packageIndex(final String path) {
+        int length = packagePrefix.length();
+        for (int offset = 0; offset <= path.length() - length; offset++) {
+            if (packageMatchesAt(path, offset, length)) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private boolean packageMatchesAt(final String path, final int offset, final int length) {
+        for (int i = 0; i < length; i++) {
+            char c = path.charAt(offset + i);
+            if ((c == SEPARATOR ? '.' : c) != packagePrefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
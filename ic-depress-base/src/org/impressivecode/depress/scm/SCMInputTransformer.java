@@ -18,19 +18,26 @@
 package org.impressivecode.depress.scm;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.impressivecode.depress.common.CompiledTableCellReader.compile;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.AUTHOR_COLNAME;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.MESSAGE_COLNAME;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.RESOURCE_NAME;
 
 import java.util.List;
 import java.util.Set;
 
+import org.impressivecode.depress.common.CompiledTableCellReader;
 import org.impressivecode.depress.common.DataTableSpecUtils;
+import org.impressivecode.depress.common.InputHandler;
 import org.impressivecode.depress.common.InputTransformer;
-import org.impressivecode.depress.common.TableCellReader;
+import org.impressivecode.depress.common.InputTransformerUtils;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowIterator;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 
 import com.google.common.collect.Iterables;
@@ -43,8 +50,14 @@ import com.google.common.collect.Lists;
  */
 public class SCMInputTransformer implements InputTransformer<SCMDataType> {
 
+    private static final String[] COLUMNS = { RESOURCE_NAME, AUTHOR_COLNAME, MESSAGE_COLNAME };
+    private static final int RESOURCE_COLUMN = 0;
+    private static final int AUTHOR_COLUMN = 1;
+    private static final int MESSAGE_COLUMN = 2;
+
     private DataTableSpec minimalTableSpec;
     private DataTableSpec inputTableSpec;
+    private CompiledTableCellReader reader;
 
     public SCMInputTransformer() {
     }
@@ -62,16 +75,31 @@ public class SCMInputTransformer implements InputTransformer<SCMDataType> {
         return scmData;
     }
 
+    @Override
+    public void forEach(final DataTable inTable, final ExecutionMonitor exec, final InputHandler<SCMDataType> handler)
+            throws CanceledExecutionException {
+        checkNotNull(this.inputTableSpec, "Input DataTableSpec hat to be set");
+        InputTransformerUtils.forEach(this, inTable, exec, handler);
+    }
+
     @Override
     public SCMDataType transformRow(final DataRow row) {
-        TableCellReader reader = new TableCellReader(this.inputTableSpec, row);
+        CompiledTableCellReader reader = reader();
         SCMDataType scm = new SCMDataType();
-        scm.setResourceName(reader.stringOptional(RESOURCE_NAME));
-        scm.setAuthor(reader.stringOptional(SCMAdapterTableFactory.AUTHOR_COLNAME));
-        scm.setMessage(reader.stringOptional(SCMAdapterTableFactory.MESSAGE_COLNAME));
+        scm.setResourceName(reader.stringOptional(row, RESOURCE_COLUMN));
+        scm.setAuthor(reader.stringOptional(row, AUTHOR_COLUMN));
+        scm.setMessage(reader.stringOptional(row, MESSAGE_COLUMN));
         return scm;
     }
 
+    private CompiledTableCellReader reader() {
+        if (reader == null || !reader.isCompiledFor(this.inputTableSpec)) {
+            checkNotNull(this.inputTableSpec, "Input DataTableSpec hat to be set");
+            reader = compile(this.inputTableSpec, COLUMNS);
+        }
+        return reader;
+    }
+
     @Override
     public InputTransformer<SCMDataType> validate() throws InvalidSettingsException {
         checkNotNull(this.minimalTableSpec, "Minimal DataTableSpec hat to be set");
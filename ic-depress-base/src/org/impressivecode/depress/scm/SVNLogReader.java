@@ -0,0 +1,214 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+
+import javax.xml.bind.DatatypeConverter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.google.common.io.Files;
+
+/**
+ * Streaming reader of <code>svn log --xml -v</code> output. Uses a StAX pull
+ * parser, so only the log entry being read (and its parents for merged logs
+ * generated with <code>-g</code>) is kept in memory. Paths are filtered while
+ * reading and each accepted path is passed to the handler as a separate
+ * {@link SCMDataType}.
+ */
+public class SVNLogReader {
+
+    private static final String LOGENTRY = "logentry";
+    private static final String AUTHOR = "author";
+    private static final String DATE = "date";
+    private static final String PATHS = "paths";
+    private static final String PATH = "path";
+    private static final String MSG = "msg";
+    private static final String REVISION = "revision";
+    private static final String ACTION = "action";
+
+    private final SCMFileFilter filter;
+
+    public SVNLogReader(final SCMFileFilter filter) {
+        this.filter = checkNotNull(filter, "Filter has to be set");
+    }
+
+    public void read(final File file, final SCMDataHandler handler) throws IOException, XMLStreamException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), 64 * 1024);
+        try {
+            read(in, handler);
+        } finally {
+            in.close();
+        }
+    }
+
+    public void read(final InputStream in, final SCMDataHandler handler) throws IOException, XMLStreamException {
+        checkNotNull(handler, "Handler has to be set");
+        XMLStreamReader reader = createInputFactory().createXMLStreamReader(in);
+        try {
+            read(reader, handler);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void read(final XMLStreamReader reader, final SCMDataHandler handler) throws IOException,
+            XMLStreamException {
+        Deque<LogEntry> entries = new ArrayDeque<LogEntry>();
+        // depth of nested entries skipped because their parent has no paths
+        int skipped = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (skipped > 0) {
+                    if (LOGENTRY.equals(name)) {
+                        skipped++;
+                    }
+                    continue;
+                }
+                LogEntry current = entries.peek();
+                if (LOGENTRY.equals(name)) {
+                    if (current != null) {
+                        if (!current.hasPaths) {
+                            skipped = 1;
+                            continue;
+                        }
+                        if (!emit(current, handler)) {
+                            return;
+                        }
+                    }
+                    entries.push(new LogEntry(reader.getAttributeValue(null, REVISION)));
+                } else if (current == null) {
+                    continue;
+                } else if (AUTHOR.equals(name)) {
+                    current.author = reader.getElementText();
+                } else if (DATE.equals(name)) {
+                    current.date = parseDate(reader.getElementText());
+                } else if (MSG.equals(name)) {
+                    current.message = reader.getElementText();
+                } else if (PATHS.equals(name)) {
+                    current.hasPaths = true;
+                } else if (PATH.equals(name)) {
+                    String action = reader.getAttributeValue(null, ACTION);
+                    String path = reader.getElementText();
+                    if (filter.accept(path)) {
+                        current.actions.add(action);
+                        current.paths.add(path);
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && LOGENTRY.equals(reader.getLocalName())) {
+                if (skipped > 0) {
+                    skipped--;
+                    continue;
+                }
+                LogEntry entry = entries.pop();
+                if (entry.hasPaths && !emit(entry, handler)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean emit(final LogEntry entry, final SCMDataHandler handler) throws IOException {
+        if (entry.emitted) {
+            return true;
+        }
+        entry.emitted = true;
+        for (int i = 0; i < entry.paths.size(); i++) {
+            if (!handler.handle(scm(entry, entry.actions.get(i), entry.paths.get(i)))) {
+                return false;
+            }
+        }
+        entry.actions.clear();
+        entry.paths.clear();
+        return true;
+    }
+
+    private SCMDataType scm(final LogEntry entry, final String action, final String path) {
+        SCMDataType scm = new SCMDataType();
+        scm.setCommitID(entry.revision);
+        scm.setAuthor(entry.author);
+        scm.setCommitDate(entry.date);
+        scm.setMessage(entry.message);
+        scm.setOperation(parseOperation(action));
+        scm.setResourceName(filter.isJavaFile(path) ? filter.javaClass(path) : "");
+        scm.setPath(path);
+        scm.setExtension(Files.getFileExtension(path));
+        return scm;
+    }
+
+    private static Date parseDate(final String date) {
+        return DatatypeConverter.parseDateTime(date.trim()).getTime();
+    }
+
+    private static SCMOperation parseOperation(final String action) {
+        if (action == null || action.length() != 1) {
+            return SCMOperation.OTHER;
+        }
+        switch (action.charAt(0)) {
+        case 'R':
+            return SCMOperation.RENAMED;
+        case 'M':
+            return SCMOperation.MODIFIED;
+        case 'A':
+            return SCMOperation.ADDED;
+        case 'D':
+            return SCMOperation.DELETED;
+        default:
+            return SCMOperation.OTHER;
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private static class LogEntry {
+        private final String revision;
+        private final List<String> actions = new ArrayList<String>();
+        private final List<String> paths = new ArrayList<String>();
+        private String author;
+        private Date date;
+        private String message;
+        private boolean hasPaths;
+        private boolean emitted;
+
+        LogEntry(final String revision) {
+            this.revision = revision;
+        }
+    }
+}
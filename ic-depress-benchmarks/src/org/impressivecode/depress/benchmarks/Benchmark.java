@@ -0,0 +1,74 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * One measured hot path. The runner calls {@link #setUp(int)} once per input
+ * size, then {@link #run()} for every warmup and measured iteration and
+ * finally {@link #tearDown()}. Only {@link #run()} is measured, so generating
+ * the input belongs to {@link #setUp(int)}.
+ * 
+ * Benchmarks are run on the calling thread, allocation is measured for it.
+ */
+public abstract class Benchmark {
+
+    private final String name;
+    private final int maxRecords;
+
+    /**
+     * @param maxRecords
+     *            largest input run by default, in-memory parsers cannot
+     *            handle the largest sizes with a usual heap
+     */
+    protected Benchmark(final String name, final int maxRecords) {
+        checkArgument(maxRecords > 0, "Max records has to be positive");
+        this.name = checkNotNull(name, "Name has to be set");
+        this.maxRecords = maxRecords;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxRecords() {
+        return maxRecords;
+    }
+
+    /**
+     * Prepares input with given number of records.
+     */
+    public abstract void setUp(int records) throws Exception;
+
+    /**
+     * Processes the input once.
+     * 
+     * @return value computed from the results, so the work cannot be
+     *         optimized away
+     */
+    public abstract long run() throws Exception;
+
+    /**
+     * Releases the input prepared by {@link #setUp(int)}.
+     */
+    public void tearDown() throws Exception {
+        // nothing to release by default
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+
+/**
+ * Runs the {@link Benchmarks} for growing input sizes and reports time,
+ * throughput and allocation of each of them:
+ * 
+ * <pre>
+ * java BenchmarkRunner [-sizes 10000,100000,1000000,10000000] [-warmup 2] [-iterations 5]
+ *                      [-csv results.csv] [-label name] [-unbounded] [benchmark name filters]
+ * </pre>
+ * 
+ * Filters select benchmarks whose names contain any of them. Sizes above the
+ * limit of a benchmark are skipped, unless <code>-unbounded</code> is given.
+ * Rows appended to the CSV file carry the label, e.g. a release, so results of
+ * several versions can be compared.
+ * 
+ * Allocation is reported for the current thread, as measured by the HotSpot
+ * thread MX bean. Run with a fixed heap, e.g. <code>-Xms4g -Xmx4g</code>, for
+ * comparable results.
+ */
+public class BenchmarkRunner {
+
+    private static final String CSV_HEADER = "label,benchmark,records,iterations,mean ms,records/s,"
+            + "allocated bytes/record,allocation MB/s";
+
+    private final List<Integer> sizes = new ArrayList<Integer>();
+    private int warmup = 2;
+    private int iterations = 5;
+    private File csv;
+    private String label = "current";
+    private boolean unbounded;
+    private final List<String> filters = new ArrayList<String>();
+
+    public static void main(final String[] args) throws Exception {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        runner.parseArguments(args);
+        runner.run(Benchmarks.all());
+    }
+
+    private void parseArguments(final String[] args) {
+        String sizeList = "10000,100000,1000000,10000000";
+        for (int i = 0; i < args.length; i++) {
+            if ("-sizes".equals(args[i])) {
+                sizeList = args[++i];
+            } else if ("-warmup".equals(args[i])) {
+                warmup = Integer.parseInt(args[++i]);
+            } else if ("-iterations".equals(args[i])) {
+                iterations = Integer.parseInt(args[++i]);
+            } else if ("-csv".equals(args[i])) {
+                csv = new File(args[++i]);
+            } else if ("-label".equals(args[i])) {
+                label = args[++i];
+            } else if ("-unbounded".equals(args[i])) {
+                unbounded = true;
+            } else {
+                filters.add(args[i].toLowerCase(Locale.ENGLISH));
+            }
+        }
+        for (String size : Splitter.on(',').trimResults().omitEmptyStrings().split(sizeList)) {
+            sizes.add(Integer.valueOf(size));
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("At least one measured iteration is required");
+        }
+    }
+
+    private void run(final List<Benchmark> benchmarks) throws Exception {
+        for (Benchmark benchmark : benchmarks) {
+            if (!selected(benchmark)) {
+                continue;
+            }
+            for (int records : sizes) {
+                if (records > benchmark.getMaxRecords() && !unbounded) {
+                    System.out.println(String.format("%-28s %,12d records skipped, limit %,d", benchmark.getName(),
+                            records, benchmark.getMaxRecords()));
+                    continue;
+                }
+                measure(benchmark, records);
+            }
+        }
+    }
+
+    private boolean selected(final Benchmark benchmark) {
+        if (filters.isEmpty()) {
+            return true;
+        }
+        String name = benchmark.getName().toLowerCase(Locale.ENGLISH);
+        for (String filter : filters) {
+            if (name.contains(filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void measure(final Benchmark benchmark, final int records) throws Exception {
+        benchmark.setUp(records);
+        try {
+            long checksum = 0;
+            for (int i = 0; i < warmup; i++) {
+                checksum += benchmark.run();
+            }
+            System.gc();
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                checksum += benchmark.run();
+            }
+            long nanos = System.nanoTime() - start;
+            long bytes = allocatedBytes() - allocated;
+            report(benchmark, records, nanos, bytes, checksum);
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    private void report(final Benchmark benchmark, final int records, final long nanos, final long bytes,
+            final long checksum) throws IOException {
+        double meanMillis = nanos / 1e6 / iterations;
+        double recordsPerSecond = records * 1000.0 / meanMillis;
+        long bytesPerRecord = bytes / ((long) records * iterations);
+        double allocationRate = bytes / 1048576.0 / (nanos / 1e9);
+        System.out.println(String.format(Locale.ENGLISH,
+                "%-28s %,12d records %,12.1f ms %,14.0f records/s %,10d B/record %,10.1f MB/s (%d)",
+                benchmark.getName(), records, meanMillis, recordsPerSecond, bytesPerRecord, allocationRate,
+                checksum));
+        if (csv != null) {
+            appendCsv(String.format(Locale.ENGLISH, "%s,%s,%d,%d,%.3f,%.1f,%d,%.1f", label, benchmark.getName(),
+                    records, iterations, meanMillis, recordsPerSecond, bytesPerRecord, allocationRate));
+        }
+    }
+
+    private void appendCsv(final String row) throws IOException {
+        boolean header = !csv.exists() || csv.length() == 0;
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv, true), Charsets.UTF_8));
+        try {
+            if (header) {
+                out.println(CSV_HEADER);
+            }
+            out.println(row);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread
+                .currentThread().getId());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks;
+
+import java.util.List;
+
+import org.impressivecode.depress.benchmarks.common.CellBenchmarks;
+import org.impressivecode.depress.benchmarks.its.ITSParserBenchmarks;
+import org.impressivecode.depress.benchmarks.mg.MetricProcessorBenchmarks;
+import org.impressivecode.depress.benchmarks.mr.MetricReportParserBenchmarks;
+import org.impressivecode.depress.benchmarks.scm.SCMParserBenchmarks;
+import org.impressivecode.depress.benchmarks.support.SemanticAnalysisBenchmark;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * All benchmarks known to the {@link BenchmarkRunner}.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static List<Benchmark> all() {
+        return ImmutableList.of(SCMParserBenchmarks.gitOffline(), SCMParserBenchmarks.gitOfflineRowsPooled(),
+                SCMParserBenchmarks.gitOfflineRowsPlain(), SCMParserBenchmarks.svnLog(),
+                SCMParserBenchmarks.svnLogJaxb(), ITSParserBenchmarks.jira(), ITSParserBenchmarks.bugzilla(),
+                MetricReportParserBenchmarks.pmd(), MetricReportParserBenchmarks.checkStyle(),
+                MetricReportParserBenchmarks.jacoco(), MetricReportParserBenchmarks.ckjm(),
+                MetricReportParserBenchmarks.judy(), MetricReportParserBenchmarks.pitest(),
+                MetricReportParserBenchmarks.eclipseMetrics(), MetricReportParserBenchmarks.googleMetrics(),
+                MetricProcessorBenchmarks.peopleOrganization(), MetricProcessorBenchmarks.issuesMetric(),
+                new SemanticAnalysisBenchmark(), CellBenchmarks.dateCellCalendar(), CellBenchmarks.dateCellMillis(),
+                CellBenchmarks.issueRowsPerRowReader(), CellBenchmarks.issueRowsCompiledReader());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+
+import org.impressivecode.depress.benchmarks.data.DatasetWriter;
+
+/**
+ * Benchmark of a parser reading its input from a file. The file is generated
+ * to a temporary directory during {@link #setUp(int)}, so its size and the
+ * disk cache are the same for every iteration.
+ */
+public abstract class FileBenchmark extends Benchmark {
+
+    private final DatasetWriter writer;
+    private File file;
+
+    protected FileBenchmark(final String name, final int maxRecords, final DatasetWriter writer) {
+        super(name, maxRecords);
+        this.writer = checkNotNull(writer, "Writer has to be set");
+    }
+
+    @Override
+    public void setUp(final int records) throws Exception {
+        file = File.createTempFile("depress-benchmark-", writer.getSuffix());
+        file.deleteOnExit();
+        writer.write(file, records);
+    }
+
+    @Override
+    public long run() throws Exception {
+        return parse(file.getAbsolutePath());
+    }
+
+    /**
+     * @return number of parsed entries
+     */
+    protected abstract long parse(String path) throws Exception;
+
+    @Override
+    public void tearDown() throws Exception {
+        if (file != null) {
+            file.delete();
+            file = null;
+        }
+    }
+}
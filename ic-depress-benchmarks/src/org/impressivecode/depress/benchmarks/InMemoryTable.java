@@ -0,0 +1,64 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowIterator;
+
+/**
+ * Table over rows kept in a list, input of the benchmarks of code reading
+ * KNIME tables without an execution context.
+ */
+public class InMemoryTable implements DataTable {
+
+    private final DataTableSpec spec;
+    private final List<DataRow> rows;
+
+    public InMemoryTable(final DataTableSpec spec, final List<DataRow> rows) {
+        this.spec = checkNotNull(spec, "Spec has to be set");
+        this.rows = checkNotNull(rows, "Rows have to be set");
+    }
+
+    @Override
+    public DataTableSpec getDataTableSpec() {
+        return spec;
+    }
+
+    @Override
+    public RowIterator iterator() {
+        final Iterator<DataRow> iterator = rows.iterator();
+        return new RowIterator() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public DataRow next() {
+                return iterator.next();
+            }
+        };
+    }
+}
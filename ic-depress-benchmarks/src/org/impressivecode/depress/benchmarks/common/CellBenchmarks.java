@@ -0,0 +1,207 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.common;
+
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.ASSIGNEES;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.COMMENTS;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.COMMENT_AUTHORS;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.DESCRIPTION;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.ISSUE_ID;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.REPORTER;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.RESOLUTION;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.RESOLVED_DATE;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.SUMMARY;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.impressivecode.depress.benchmarks.Benchmark;
+import org.impressivecode.depress.common.Cells;
+import org.impressivecode.depress.common.CompiledTableCellReader;
+import org.impressivecode.depress.common.TableCellReader;
+import org.impressivecode.depress.its.ITSAdapterTableFactory;
+import org.impressivecode.depress.its.ITSDataType;
+import org.impressivecode.depress.its.ITSInputTransformer;
+import org.impressivecode.depress.its.ITSResolution;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.date.DateAndTimeCell;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Benchmarks of creating and reading table cells. Each pair compares the way
+ * it was done before with the current one. Inputs cycle over a small set of
+ * distinct values, so records are not limited by the heap.
+ */
+public final class CellBenchmarks {
+
+    private static final int MAX_RECORDS = 10000000;
+    private static final int DISTINCT = 1024;
+
+    private CellBenchmarks() {
+    }
+
+    /**
+     * Date cells created from UTC calendar fields, as done before
+     * {@link Cells#dateTimeCell(Date)}.
+     */
+    public static Benchmark dateCellCalendar() {
+        return new DateCellBenchmark("date-cell-calendar") {
+            @Override
+            protected DataCell create(final Date date) {
+                Calendar calendar = GregorianCalendar.getInstance();
+                calendar.setTimeZone(TimeZone.getTimeZone("GMT+0"));
+                calendar.setTime(date);
+                return new DateAndTimeCell(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
+                        calendar.get(Calendar.DAY_OF_MONTH), calendar.get(Calendar.HOUR_OF_DAY),
+                        calendar.get(Calendar.MINUTE), calendar.get(Calendar.SECOND),
+                        calendar.get(Calendar.MILLISECOND));
+            }
+        };
+    }
+
+    public static Benchmark dateCellMillis() {
+        return new DateCellBenchmark("date-cell-millis") {
+            @Override
+            protected DataCell create(final Date date) {
+                return Cells.dateTimeCell(date);
+            }
+        };
+    }
+
+    /**
+     * Issue rows read with a {@link TableCellReader} created for each row, as
+     * done before the {@link CompiledTableCellReader}.
+     */
+    public static Benchmark issueRowsPerRowReader() {
+        return new IssueRowBenchmark("its-rows-per-row-reader") {
+            @Override
+            protected ITSDataType read(final DataRow row) {
+                TableCellReader reader = new TableCellReader(spec, row);
+                ITSDataType its = new ITSDataType();
+                its.setIssueId(reader.stringOptional(ISSUE_ID));
+                its.setResolved(reader.dateOptional(RESOLVED_DATE));
+                its.setAssignees(reader.stringSetOptional(ASSIGNEES));
+                its.setReporter(reader.stringOptional(REPORTER));
+                its.setCommentAuthors(reader.stringSetOptional(COMMENT_AUTHORS));
+                String resolution = reader.stringOptional(RESOLUTION);
+                its.setResolution(resolution == null ? null : ITSResolution.valueOf(resolution));
+                its.setDescription(reader.stringOptional(DESCRIPTION));
+                its.setSummary(reader.stringOptional(SUMMARY));
+                its.setComments(reader.stringListOptional(COMMENTS));
+                return its;
+            }
+        };
+    }
+
+    /**
+     * Issue rows read by {@link ITSInputTransformer}, which compiles its reader
+     * once per table.
+     */
+    public static Benchmark issueRowsCompiledReader() {
+        return new IssueRowBenchmark("its-rows-compiled-reader") {
+            private ITSInputTransformer transformer;
+
+            @Override
+            protected ITSDataType read(final DataRow row) {
+                if (transformer == null) {
+                    transformer = new ITSInputTransformer();
+                    transformer.setInputSpec(spec);
+                }
+                return transformer.transformRow(row);
+            }
+        };
+    }
+
+    private abstract static class DateCellBenchmark extends Benchmark {
+        private final Date[] dates = new Date[DISTINCT];
+        private int records;
+
+        DateCellBenchmark(final String name) {
+            super(name, MAX_RECORDS);
+            for (int i = 0; i < dates.length; i++) {
+                dates[i] = new Date(1363636154000l + i * 3600123l);
+            }
+        }
+
+        protected abstract DataCell create(Date date);
+
+        @Override
+        public void setUp(final int records) {
+            this.records = records;
+        }
+
+        @Override
+        public long run() {
+            long checksum = 0;
+            for (int i = 0; i < records; i++) {
+                checksum += create(dates[i & (DISTINCT - 1)]).hashCode();
+            }
+            return checksum;
+        }
+    }
+
+    private abstract static class IssueRowBenchmark extends Benchmark {
+        protected final DataTableSpec spec = ITSAdapterTableFactory.createDataColumnSpec();
+        private final DataRow[] rows = new DataRow[DISTINCT];
+        private int records;
+
+        IssueRowBenchmark(final String name) {
+            super(name, MAX_RECORDS);
+        }
+
+        protected abstract ITSDataType read(DataRow row);
+
+        @Override
+        public void setUp(final int records) {
+            this.records = records;
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = ITSAdapterTableFactory.createTableRow(issue(i));
+            }
+        }
+
+        @Override
+        public long run() {
+            long checksum = 0;
+            for (int i = 0; i < records; i++) {
+                checksum += read(rows[i & (DISTINCT - 1)]).getIssueId().length();
+            }
+            return checksum;
+        }
+
+        private static ITSDataType issue(final int i) {
+            ITSDataType issue = new ITSDataType();
+            issue.setIssueId("DEPRESS-" + i);
+            issue.setCreated(new Date(1363636154000l + i * 60000l));
+            issue.setResolved(i % 3 == 0 ? null : new Date(1363636154000l + i * 120000l));
+            issue.setResolution(i % 3 == 0 ? null : ITSResolution.FIXED);
+            issue.setReporter("reporter" + (i % 20));
+            issue.setAssignees(Sets.newHashSet("assignee" + (i % 7)));
+            issue.setCommentAuthors(Sets.newHashSet("author" + (i % 5), "author" + (i % 11)));
+            issue.setSummary("Synthetic issue " + i);
+            issue.setDescription("Description of the synthetic issue " + i);
+            issue.setComments(Arrays.asList("first comment", "second comment"));
+            return issue;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.AUTHORS;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.assignee;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.author;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueCreated;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueSummary;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sentence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Bugzilla bugs in the XML export format (<code>show_bug.cgi?ctype=xml</code>),
+ * one record per bug. The first long description is the bug description, the
+ * following ones are comments. Bug <code>n</code> is the issue written to the
+ * JIRA export as <code>DEPRESS-n</code>.
+ */
+public class BugzillaXmlWriter extends DatasetWriter {
+
+    public static final String[] SEVERITIES = { "Trivial", "Minor", "Major", "Major", "Critical", "Blocker" };
+    public static final String[] STATUSES = { "New", "Resolved", "Resolved", "Closed" };
+    public static final String[] RESOLUTIONS = { "Fixed", "Fixed", "Duplicate", "Invalid" };
+
+    private static final long HOUR = 3600000L;
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss Z", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\" ?>\n");
+        out.write("<bugzilla version=\"4.2.6\" urlbase=\"https://bugzilla.impressivecode.org/\">\n");
+        for (int i = 0; i < records; i++) {
+            String status = STATUSES[pick(i, 2, STATUSES.length)];
+            long created = issueCreated(i);
+            out.write("<bug>\n<bug_id>" + (i + 1) + "</bug_id>\n");
+            out.write("<creation_ts>" + format.format(new Date(created)) + "</creation_ts>\n");
+            out.write("<short_desc>" + issueSummary(i) + "</short_desc>\n");
+            out.write("<delta_ts>" + format.format(new Date(created + 24 * HOUR)) + "</delta_ts>\n");
+            out.write("<product>Synthetic</product>\n<component>Core</component>\n<version>2.0</version>\n");
+            out.write("<bug_status>" + status + "</bug_status>\n");
+            if (!"New".equals(status)) {
+                out.write("<resolution>" + RESOLUTIONS[pick(i, 6, RESOLUTIONS.length)] + "</resolution>\n");
+            }
+            out.write("<priority>--</priority>\n");
+            out.write("<bug_severity>" + SEVERITIES[pick(i, 5, SEVERITIES.length)] + "</bug_severity>\n");
+            out.write("<target_milestone>2.1</target_milestone>\n");
+            String reporter = author(pick(i, 8, AUTHORS));
+            out.write("<reporter name=\"" + reporter + "\">" + reporter + "</reporter>\n");
+            String assignee = assignee(i);
+            out.write("<assigned_to name=\"" + assignee + "\">" + assignee + "</assigned_to>\n");
+            out.write("<estimated_time>2.00</estimated_time>\n");
+            out.write("<actual_time>" + (1 + pick(i, 9, 12)) / 4.0 + "</actual_time>\n");
+            int descriptions = 1 + pick(i, 10, 4);
+            for (int c = 0; c < descriptions; c++) {
+                String who = c == 0 ? reporter : author(pick(i, 11 + c, AUTHORS));
+                out.write("<long_desc isprivate=\"0\">\n<commentid>" + (i * 4L + c) + "</commentid>\n");
+                out.write("<who name=\"" + who + "\">" + who + "</who>\n");
+                out.write("<bug_when>" + format.format(new Date(created + c * HOUR)) + "</bug_when>\n");
+                out.write("<thetext>" + sentence(i, 20 + c, c == 0 ? 40 : 12) + "</thetext>\n</long_desc>\n");
+            }
+            out.write("</bug>\n");
+        }
+        out.write("</bugzilla>\n");
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.className;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sentence;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Checkstyle XML report, one record per error and ten errors per file.
+ */
+public class CheckStyleReportWriter extends DatasetWriter {
+
+    static final int ERRORS_PER_FILE = 10;
+
+    private static final String[] SEVERITIES = { "error", "warning", "info" };
+    private static final String[] SOURCES = { "com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocMethodCheck",
+            "com.puppycrawl.tools.checkstyle.checks.sizes.LineLengthCheck",
+            "com.puppycrawl.tools.checkstyle.checks.whitespace.WhitespaceAroundCheck",
+            "com.puppycrawl.tools.checkstyle.checks.coding.MagicNumberCheck" };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<checkstyle version=\"5.6\">\n");
+        for (int i = 0; i < records; i++) {
+            int classIndex = i / ERRORS_PER_FILE;
+            if (i % ERRORS_PER_FILE == 0) {
+                if (i > 0) {
+                    out.write("</file>\n");
+                }
+                out.write("<file name=\"" + className(classIndex).replace('.', '/') + ".java\">\n");
+            }
+            out.write("<error line=\"" + (1 + pick(i, 1, 500)) + "\" column=\"" + (1 + pick(i, 2, 80))
+                    + "\" severity=\"" + SEVERITIES[pick(i, 3, SEVERITIES.length)] + "\" message=\""
+                    + escape(sentence(i, 4, 6)) + "\" source=\"" + SOURCES[pick(i, 5, SOURCES.length)] + "\"/>\n");
+        }
+        if (records > 0) {
+            out.write("</file>\n");
+        }
+        out.write("</checkstyle>\n");
+    }
+}
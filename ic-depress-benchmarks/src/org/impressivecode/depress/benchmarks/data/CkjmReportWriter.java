@@ -0,0 +1,62 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.className;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CKJM XML report, one record per class. Values are kept small, some of the
+ * metrics are mapped to bytes.
+ */
+public class CkjmReportWriter extends DatasetWriter {
+
+    private static final String[] INTEGER_METRICS = { "wmc", "dit", "noc", "cbo", "rfc", "lcom", "ca", "ce", "npm" };
+    private static final String[] TAIL_METRICS = { "dam", "moa", "mfa", "cam", "ic", "cbm", "amc" };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<ckjm>\n");
+        for (int i = 0; i < records; i++) {
+            out.write("<class>\n<name>" + className(i) + "</name>\n");
+            for (int m = 0; m < INTEGER_METRICS.length; m++) {
+                element(out, INTEGER_METRICS[m], Integer.toString(pick(i, m, 100)));
+            }
+            element(out, "lcom3", fraction(i, 20));
+            element(out, "loc", Integer.toString(pick(i, 21, 5000)));
+            for (int m = 0; m < TAIL_METRICS.length; m++) {
+                element(out, TAIL_METRICS[m], m == 1 || m == 4 || m == 5 ? Integer.toString(pick(i, 30 + m, 10))
+                        : fraction(i, 30 + m));
+            }
+            out.write("<cc>\n<method name=\"public void run()\">" + (1 + pick(i, 40, 10)) + "</method>\n</cc>\n");
+            out.write("</class>\n");
+        }
+        out.write("</ckjm>\n");
+    }
+
+    private static void element(final Writer out, final String name, final String value) throws IOException {
+        out.write("<" + name + ">" + value + "</" + name + ">\n");
+    }
+
+    private static String fraction(final int record, final int salt) {
+        return "0." + pick(record, salt, 1000);
+    }
+}
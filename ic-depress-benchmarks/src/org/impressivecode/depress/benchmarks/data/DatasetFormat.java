@@ -0,0 +1,81 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.classCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueCount;
+
+/**
+ * Formats written by the {@link DatasetGenerator}, with the number of records
+ * each of them needs to cover the project described by given number of
+ * commits.
+ */
+public enum DatasetFormat {
+
+    GIT("git-log.txt", new GitLogWriter(), Unit.COMMIT, 1),
+    SVN("svn-log.xml", new SVNLogWriter(), Unit.COMMIT, 1),
+    JIRA("jira.xml", new JiraRssWriter(), Unit.ISSUE, 1),
+    BUGZILLA("bugzilla.xml", new BugzillaXmlWriter(), Unit.ISSUE, 1),
+    PMD("pmd.xml", new PMDReportWriter(), Unit.CLASS, PMDReportWriter.VIOLATIONS_PER_FILE),
+    CHECKSTYLE("checkstyle.xml", new CheckStyleReportWriter(), Unit.CLASS, CheckStyleReportWriter.ERRORS_PER_FILE),
+    JACOCO("jacoco.xml", new JaCoCoReportWriter(), Unit.CLASS, 1),
+    CKJM("ckjm.xml", new CkjmReportWriter(), Unit.CLASS, 1),
+    JUDY("judy.xml", new JudyReportWriter(), Unit.CLASS, 1),
+    PITEST("pitest.xml", new PitestReportWriter(), Unit.CLASS, PitestReportWriter.MUTATIONS_PER_CLASS),
+    ECLIPSE_METRICS("eclipsemetrics.xml", new EclipseMetricsReportWriter(), Unit.CLASS, 1),
+    GOOGLE_METRICS("googlemetrics.xml", new GoogleMetricsReportWriter(), Unit.CLASS, 1);
+
+    private enum Unit {
+        COMMIT, ISSUE, CLASS
+    }
+
+    private final String fileName;
+    private final DatasetWriter writer;
+    private final Unit unit;
+    private final int recordsPerUnit;
+
+    private DatasetFormat(final String fileName, final DatasetWriter writer, final Unit unit,
+            final int recordsPerUnit) {
+        this.fileName = fileName;
+        this.writer = writer;
+        this.unit = unit;
+        this.recordsPerUnit = recordsPerUnit;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public DatasetWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * @return number of records to write for given number of commits
+     */
+    public int records(final int commits) {
+        switch (unit) {
+        case COMMIT:
+            return commits;
+        case ISSUE:
+            return issueCount(commits) * recordsPerUnit;
+        default:
+            return classCount(commits) * recordsPerUnit;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writes a synthetic project in every format read by the adapters, so
+ * benchmarks and soak tests can run without access to real repositories and
+ * trackers:
+ * 
+ * <pre>
+ * java DatasetGenerator [-commits 100000] [-out dataset] [formats, e.g. git jira pmd]
+ * </pre>
+ * 
+ * The project has one issue per {@value SyntheticData#COMMITS_PER_ISSUE}
+ * commits and one class per {@value SyntheticData#COMMITS_PER_CLASS} commits.
+ * Output depends only on the number of commits, see {@link SyntheticData} for
+ * how the files reference each other. Commits touch classes of the
+ * <code>org.impressivecode.synthetic</code> package and reference issues with
+ * the <code>DEPRESS-</code> prefix.
+ */
+public class DatasetGenerator {
+
+    private final int commits;
+    private final File directory;
+
+    public DatasetGenerator(final int commits, final File directory) {
+        checkArgument(commits > 0, "Number of commits has to be positive");
+        this.commits = commits;
+        this.directory = checkNotNull(directory, "Directory has to be set");
+    }
+
+    public static void main(final String[] args) throws IOException {
+        int commits = 100000;
+        File directory = new File("dataset");
+        Set<DatasetFormat> formats = EnumSet.noneOf(DatasetFormat.class);
+        for (int i = 0; i < args.length; i++) {
+            if ("-commits".equals(args[i])) {
+                commits = Integer.parseInt(args[++i]);
+            } else if ("-out".equals(args[i])) {
+                directory = new File(args[++i]);
+            } else {
+                formats.add(DatasetFormat.valueOf(args[i].toUpperCase(Locale.ENGLISH)));
+            }
+        }
+        if (formats.isEmpty()) {
+            formats = EnumSet.allOf(DatasetFormat.class);
+        }
+        DatasetGenerator generator = new DatasetGenerator(commits, directory);
+        for (DatasetFormat format : formats) {
+            long start = System.nanoTime();
+            File file = generator.write(format);
+            System.out.println(String.format("%-20s %,12d records %,14d bytes in %,d ms", file.getName(),
+                    format.records(commits), file.length(), (System.nanoTime() - start) / 1000000));
+        }
+    }
+
+    /**
+     * Writes all formats.
+     */
+    public void writeAll() throws IOException {
+        for (DatasetFormat format : DatasetFormat.values()) {
+            write(format);
+        }
+    }
+
+    /**
+     * @return written file
+     */
+    public File write(final DatasetFormat format) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory);
+        }
+        File file = file(format);
+        format.getWriter().write(file, format.records(commits));
+        return file;
+    }
+
+    public File file(final DatasetFormat format) {
+        return new File(directory, format.getFileName());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Writes synthetic input of one format read by the adapters. Output depends
+ * only on the number of records, so the same input can be regenerated on any
+ * machine.
+ */
+public abstract class DatasetWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes given number of records to the file, in UTF-8.
+     */
+    public void write(final File file, final int records) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charsets.UTF_8),
+                BUFFER_SIZE);
+        try {
+            write(out, records);
+        } finally {
+            out.close();
+        }
+    }
+
+    public abstract void write(Writer out, int records) throws IOException;
+
+    /**
+     * @return file name suffix of the format, e.g. <code>.xml</code>
+     */
+    public String getSuffix() {
+        return ".xml";
+    }
+
+    protected static String escape(final String text) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            String replacement = replacement(text.charAt(i));
+            if (replacement != null) {
+                if (escaped == null) {
+                    escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+                }
+                escaped.append(replacement);
+            } else if (escaped != null) {
+                escaped.append(text.charAt(i));
+            }
+        }
+        return escaped == null ? text : escaped.toString();
+    }
+
+    private static String replacement(final char c) {
+        switch (c) {
+        case '<':
+            return "&lt;";
+        case '>':
+            return "&gt;";
+        case '&':
+            return "&amp;";
+        case '"':
+            return "&quot;";
+        default:
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.packageName;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.simpleClassName;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Eclipse Metrics XML export, one record per type with three methods each.
+ * Types are identified by the JDT handles the parser reads package and class
+ * names from.
+ */
+public class EclipseMetricsReportWriter extends DatasetWriter {
+
+    static final int METHODS_PER_TYPE = 3;
+
+    private static final String[] TYPE_METRICS = { "NORM", "NOF", "NSC", "NOM", "DIT", "LCOM", "NSM", "SIX",
+            "WMC", "NSF" };
+    private static final String[] METHOD_METRICS = { "MLOC", "NBD", "VG", "PAR" };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<Metrics scope=\"synthetic\" type=\"Project\">\n");
+        for (int i = 0; i < records; i++) {
+            String handle = "=synthetic/src&lt;" + packageName(i) + "{" + simpleClassName(i) + ".java["
+                    + simpleClassName(i);
+            out.write("<Type handle=\"" + handle + "\">\n");
+            for (int m = 0; m < TYPE_METRICS.length; m++) {
+                metric(out, TYPE_METRICS[m], pick(i, m, 50));
+            }
+            out.write("</Type>\n");
+            for (int k = 0; k < METHODS_PER_TYPE; k++) {
+                out.write("<Method handle=\"" + handle + "~method" + k + "\">\n");
+                for (int m = 0; m < METHOD_METRICS.length; m++) {
+                    metric(out, METHOD_METRICS[m], pick(i, 100 + k * 10 + m, 30));
+                }
+                out.write("</Method>\n");
+            }
+        }
+        out.write("</Metrics>\n");
+    }
+
+    private static void metric(final Writer out, final String id, final int value) throws IOException {
+        out.write("<Metric id=\"" + id + "\" value=\"" + value + "\"/>\n");
+    }
+}
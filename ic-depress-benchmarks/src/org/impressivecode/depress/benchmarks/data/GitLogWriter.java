@@ -0,0 +1,74 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.classCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.committer;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueKey;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueSummary;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.millis;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.referencedIssue;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sha;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sourcePath;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Git log in the raw format read by the git offline adapter, one record per
+ * commit with one to three changed files. Commit message starts with the key
+ * of the referenced issue.
+ */
+public class GitLogWriter extends DatasetWriter {
+
+    private static final char[] OPERATIONS = { 'M', 'M', 'M', 'A', 'D' };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        int classes = classCount(records);
+        int issues = issueCount(records);
+        for (int i = 0; i < records; i++) {
+            String id = sha(i, 0);
+            out.write(id);
+            out.write('\n');
+            out.write(Long.toString(millis(i) / 1000));
+            out.write('\n');
+            int issue = referencedIssue(i, issues);
+            out.write(committer(i, issue));
+            out.write('\n');
+            out.write(issueKey(issue) + " " + issueSummary(issue));
+            out.write("\n\n");
+            out.write(id);
+            out.write('\n');
+            int files = 1 + pick(i, 4, 3);
+            for (int f = 0; f < files; f++) {
+                out.write(":100644 100644 " + sha(i, 10 + f) + " " + sha(i, 20 + f) + " "
+                        + OPERATIONS[pick(i, 30 + f, OPERATIONS.length)] + "\t" + sourcePath(pick(i, 40 + f, classes)));
+                out.write('\n');
+            }
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public String getSuffix() {
+        return ".txt";
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.className;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CodePro metrics XML export, one record per class scope.
+ */
+public class GoogleMetricsReportWriter extends DatasetWriter {
+
+    private static final String[] METRICS = { "Abstractness", "Average Block Depth",
+            "Average Cyclomatic Complexity", "Average Lines Of Code Per Method", "Average Number of Parameters",
+            "Comments Ratio", "Efferent Couplings", "Lines of Code", "Number of Comments", "Number of Fields",
+            "Number of Lines", "Number of Methods", "Number of Semicolons", "Weighted Methods" };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<metric-result-set title=\"synthetic\">\n");
+        for (int i = 0; i < records; i++) {
+            out.write("<metric-result-scope scope=\"" + className(i) + "\">\n");
+            for (int m = 0; m < METRICS.length; m++) {
+                out.write("<metric-result name=\"" + METRICS[m] + "\" value=\"" + pick(i, m, 100) + "\"/>\n");
+            }
+            out.write("</metric-result-scope>\n");
+        }
+        out.write("</metric-result-set>\n");
+    }
+}
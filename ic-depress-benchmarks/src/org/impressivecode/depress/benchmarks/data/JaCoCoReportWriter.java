@@ -0,0 +1,53 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.PACKAGES;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.packageName;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.simpleClassName;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JaCoCo XML report, one record per source file. Classes are grouped by
+ * package like in a real report.
+ */
+public class JaCoCoReportWriter extends DatasetWriter {
+
+    private static final String[] COUNTERS = { "INSTRUCTION", "BRANCH", "LINE", "COMPLEXITY", "METHOD", "CLASS" };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n<report name=\"synthetic\">\n");
+        for (int p = 0; p < Math.min(PACKAGES, records); p++) {
+            out.write("<package name=\"" + packageName(p).replace('.', '/') + "\">\n");
+            for (int i = p; i < records; i += PACKAGES) {
+                out.write("<sourcefile name=\"" + simpleClassName(i) + ".java\">\n");
+                for (int c = 0; c < COUNTERS.length; c++) {
+                    out.write("<counter type=\"" + COUNTERS[c] + "\" missed=\"" + pick(i, 2 * c, 200)
+                            + "\" covered=\"" + pick(i, 2 * c + 1, 200) + "\"/>\n");
+                }
+                out.write("</sourcefile>\n");
+            }
+            out.write("</package>\n");
+        }
+        out.write("</report>\n");
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.AUTHORS;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.assignee;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.author;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueKey;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueCreated;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueSummary;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sentence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * JIRA issues in the RSS (XML) export format, one record per issue. Type,
+ * priority, status and resolution use the labels of the ITS enums, so they are
+ * mapped by identity settings.
+ */
+public class JiraRssWriter extends DatasetWriter {
+
+    public static final String[] TYPES = { "Bug", "Bug", "Enhancement", "Test" };
+    public static final String[] PRIORITIES = { "Trivial", "Minor", "Major", "Major", "Critical", "Blocker" };
+    public static final String[] STATUSES = { "New", "In progress", "Resolved", "Closed", "Closed" };
+    public static final String[] RESOLUTIONS = { "Fixed", "Fixed", "Fixed", "Duplicate", "Invalid" };
+
+    private static final long HOUR = 3600000L;
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, d MMM yyyy HH:mm:ss Z", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<rss version=\"0.92\">\n<channel>\n");
+        out.write("<title>Synthetic JIRA</title>\n");
+        for (int i = 0; i < records; i++) {
+            String key = issueKey(i);
+            String summary = issueSummary(i);
+            String status = STATUSES[pick(i, 2, STATUSES.length)];
+            boolean resolved = "Resolved".equals(status) || "Closed".equals(status);
+            long created = issueCreated(i);
+            out.write("<item>\n<title>[" + key + "] " + summary + "</title>\n");
+            out.write("<link>https://issues.impressivecode.org/browse/" + key + "</link>\n");
+            out.write("<description>&lt;p&gt;" + sentence(i, 3, 40) + "&lt;/p&gt;</description>\n");
+            out.write("<key id=\"" + (i + 1) + "\">" + key + "</key>\n");
+            out.write("<summary>" + summary + "</summary>\n");
+            out.write("<type id=\"1\">" + TYPES[pick(i, 4, TYPES.length)] + "</type>\n");
+            out.write("<priority id=\"3\">" + PRIORITIES[pick(i, 5, PRIORITIES.length)] + "</priority>\n");
+            out.write("<status id=\"1\">" + status + "</status>\n");
+            out.write("<resolution id=\"1\">" + (resolved ? RESOLUTIONS[pick(i, 6, RESOLUTIONS.length)] : "Unresolved")
+                    + "</resolution>\n");
+            String assignee = assignee(i);
+            out.write("<assignee username=\"" + assignee + "\">" + assignee + "</assignee>\n");
+            String reporter = author(pick(i, 8, AUTHORS));
+            out.write("<reporter username=\"" + reporter + "\">" + reporter + "</reporter>\n");
+            out.write("<created>" + format.format(new Date(created)) + "</created>\n");
+            out.write("<updated>" + format.format(new Date(created + 48 * HOUR)) + "</updated>\n");
+            if (resolved) {
+                out.write("<resolved>" + format.format(new Date(created + 24 * HOUR)) + "</resolved>\n");
+            }
+            out.write("<version>2.0</version>\n<fixVersion>2.1</fixVersion>\n");
+            out.write("<timeoriginalestimate seconds=\"7200\">2 hours</timeoriginalestimate>\n");
+            out.write("<timespent seconds=\"" + 600 * (1 + pick(i, 9, 12)) + "\">spent</timespent>\n");
+            int comments = pick(i, 10, 4);
+            if (comments > 0) {
+                out.write("<comments>\n");
+                for (int c = 0; c < comments; c++) {
+                    out.write("<comment id=\"" + (i * 4L + c) + "\" author=\"" + author(pick(i, 11 + c, AUTHORS))
+                            + "\" created=\"" + format.format(new Date(created + (c + 1) * HOUR)) + "\">"
+                            + sentence(i, 20 + c, 12) + "</comment>\n");
+                }
+                out.write("</comments>\n");
+            }
+            out.write("</item>\n");
+        }
+        out.write("</channel>\n</rss>\n");
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.className;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Judy XML report, one record per mutated class.
+ */
+public class JudyReportWriter extends DatasetWriter {
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<result>\n<classes>\n");
+        for (int i = 0; i < records; i++) {
+            int mutants = 1 + pick(i, 1, 200);
+            int killed = pick(i, 2, mutants + 1);
+            out.write("<class>\n<name>" + className(i) + "</name>\n<type>CLASS</type>\n<score>"
+                    + (killed * 100 / mutants) / 100.0 + "</score>\n<mutantsCount>" + mutants
+                    + "</mutantsCount>\n<mutantsKilledCount>" + killed + "</mutantsKilledCount>\n</class>\n");
+        }
+        out.write("</classes>\n</result>\n");
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.packageName;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sentence;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.simpleClassName;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sourcePath;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * PMD XML report, one record per violation and ten violations per file.
+ */
+public class PMDReportWriter extends DatasetWriter {
+
+    static final int VIOLATIONS_PER_FILE = 10;
+
+    private static final String[] RULES = { "UnusedPrivateField", "EmptyCatchBlock", "AvoidDuplicateLiterals",
+            "GodClass", "CyclomaticComplexity" };
+    private static final String[] RULESETS = { "Unused Code", "Empty Code", "Strict Strings", "Design",
+            "Code Size" };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<pmd version=\"5.0.2\">\n");
+        for (int i = 0; i < records; i++) {
+            int classIndex = i / VIOLATIONS_PER_FILE;
+            if (i % VIOLATIONS_PER_FILE == 0) {
+                if (i > 0) {
+                    out.write("</file>\n");
+                }
+                out.write("<file name=\"/workspace/" + sourcePath(classIndex) + "\">\n");
+            }
+            int rule = pick(i, 1, RULES.length);
+            int line = 1 + pick(i, 2, 500);
+            out.write("<violation beginline=\"" + line + "\" endline=\"" + (line + pick(i, 3, 20))
+                    + "\" begincolumn=\"" + (1 + pick(i, 4, 40)) + "\" endcolumn=\"" + (41 + pick(i, 5, 40))
+                    + "\" rule=\"" + RULES[rule] + "\" ruleset=\"" + RULESETS[rule] + "\" package=\""
+                    + packageName(classIndex) + "\" class=\"" + simpleClassName(classIndex)
+                    + "\" externalInfoUrl=\"http://pmd.sourceforge.net/rules/" + RULES[rule] + ".html\" priority=\""
+                    + (1 + pick(i, 6, 5)) + "\">\n");
+            out.write(escape(sentence(i, 7, 8)));
+            out.write("\n</violation>\n");
+        }
+        if (records > 0) {
+            out.write("</file>\n");
+        }
+        out.write("</pmd>\n");
+    }
+}
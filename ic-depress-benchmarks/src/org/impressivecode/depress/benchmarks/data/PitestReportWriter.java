@@ -0,0 +1,56 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.className;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.simpleClassName;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * PIT XML report, one record per mutation and ten mutations per class.
+ */
+public class PitestReportWriter extends DatasetWriter {
+
+    static final int MUTATIONS_PER_CLASS = 10;
+
+    private static final String[] MUTATORS = {
+            "org.pitest.mutationtest.engine.gregor.mutators.ConditionalsBoundaryMutator",
+            "org.pitest.mutationtest.engine.gregor.mutators.NegateConditionalsMutator",
+            "org.pitest.mutationtest.engine.gregor.mutators.ReturnValsMutator",
+            "org.pitest.mutationtest.engine.gregor.mutators.VoidMethodCallMutator" };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<mutations>\n");
+        for (int i = 0; i < records; i++) {
+            int classIndex = i / MUTATIONS_PER_CLASS;
+            boolean detected = pick(i, 1, 4) != 0;
+            out.write("<mutation detected='" + detected + "' status='" + (detected ? "KILLED" : "SURVIVED")
+                    + "'><sourceFile>" + simpleClassName(classIndex) + ".java</sourceFile><mutatedClass>"
+                    + className(classIndex) + "</mutatedClass><mutatedMethod>method" + pick(i, 2, 10)
+                    + "</mutatedMethod><methodDescription>()V</methodDescription><lineNumber>"
+                    + (1 + pick(i, 3, 500)) + "</lineNumber><mutator>" + MUTATORS[pick(i, 4, MUTATORS.length)]
+                    + "</mutator><index>" + pick(i, 5, 8) + "</index><killingTest>"
+                    + (detected ? className(classIndex) + "Test.shouldWork" : "") + "</killingTest></mutation>\n");
+        }
+        out.write("</mutations>\n");
+    }
+}
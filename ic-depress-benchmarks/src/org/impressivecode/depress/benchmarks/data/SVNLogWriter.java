@@ -0,0 +1,65 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.classCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.committer;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueKey;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueSummary;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.millis;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.referencedIssue;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sourcePath;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * SVN log in the <code>svn log --xml -v</code> format, one record per
+ * revision with one to three changed paths.
+ */
+public class SVNLogWriter extends DatasetWriter {
+
+    private static final char[] ACTIONS = { 'M', 'M', 'M', 'A', 'D' };
+
+    @Override
+    public void write(final Writer out, final int records) throws IOException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'000Z'");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        int classes = classCount(records);
+        int issues = issueCount(records);
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<log>\n");
+        for (int i = 0; i < records; i++) {
+            out.write("<logentry\n   revision=\"" + (i + 1) + "\">\n");
+            int issue = referencedIssue(i, issues);
+            out.write("<author>" + committer(i, issue) + "</author>\n");
+            out.write("<date>" + format.format(new Date(millis(i))) + "</date>\n<paths>\n");
+            int paths = 1 + pick(i, 4, 3);
+            for (int p = 0; p < paths; p++) {
+                out.write("<path\n   kind=\"file\"\n   action=\"" + ACTIONS[pick(i, 30 + p, ACTIONS.length)]
+                        + "\">/trunk/" + sourcePath(pick(i, 40 + p, classes)) + "</path>\n");
+            }
+            out.write("</paths>\n<msg>" + issueKey(issue) + " " + issueSummary(issue) + "</msg>\n</logentry>\n");
+        }
+        out.write("</log>\n");
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.HashMap;
+
+/**
+ * Names and values shared by the synthetic datasets. Every value is a pure
+ * function of the record index, so writers need no state and any record can
+ * be regenerated on its own.
+ * 
+ * Datasets written for the same number of commits describe one project: a
+ * commit references an issue created before it, is usually made by the
+ * assignee of that issue and repeats its summary. Changed classes are the ones
+ * listed in the metric reports of {@link #classCount(int)} classes.
+ */
+public final class SyntheticData {
+
+    public static final String PACKAGE_PREFIX = "org.impressivecode.synthetic";
+    public static final String ISSUE_PREFIX = "DEPRESS-";
+    public static final int PACKAGES = 100;
+    public static final int AUTHORS = 200;
+    public static final int COMMITS_PER_CLASS = 10;
+    public static final int COMMITS_PER_ISSUE = 5;
+    /**
+     * 2013-01-01T00:00:00Z
+     */
+    public static final long START_MILLIS = 1356998400000L;
+
+    private static final String[] WORDS = { "fix", "parser", "table", "null", "pointer", "exception", "when",
+            "reading", "empty", "log", "add", "support", "for", "large", "history", "remove", "unused", "column",
+            "metric", "wrong", "value", "in", "report", "cache", "issue", "marker", "commit", "class", "node",
+            "settings" };
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private SyntheticData() {
+    }
+
+    /**
+     * @return number of classes changed by given number of commits
+     */
+    public static int classCount(final int commits) {
+        return Math.max(commits / COMMITS_PER_CLASS, 1);
+    }
+
+    /**
+     * @return number of issues referenced by given number of commits
+     */
+    public static int issueCount(final int commits) {
+        return Math.max(commits / COMMITS_PER_ISSUE, 1);
+    }
+
+    public static String packageName(final int classIndex) {
+        return PACKAGE_PREFIX + ".module" + (classIndex % PACKAGES);
+    }
+
+    public static String simpleClassName(final int classIndex) {
+        return "Class" + classIndex;
+    }
+
+    public static String className(final int classIndex) {
+        return packageName(classIndex) + "." + simpleClassName(classIndex);
+    }
+
+    /**
+     * @return repository path of the class source file
+     */
+    public static String sourcePath(final int classIndex) {
+        return "src/" + className(classIndex).replace('.', '/') + ".java";
+    }
+
+    public static String issueKey(final int issueIndex) {
+        return ISSUE_PREFIX + (issueIndex + 1);
+    }
+
+    /**
+     * @return issue referenced by the commit, one of the issues created
+     *         before it
+     */
+    public static int referencedIssue(final int commit, final int issues) {
+        return pick(commit, 2, Math.min(commit / COMMITS_PER_ISSUE + 1, issues));
+    }
+
+    /**
+     * @return time of the issue creation, issues are created at the same pace
+     *         as they are referenced
+     */
+    public static long issueCreated(final int issueIndex) {
+        return millis(issueIndex * COMMITS_PER_ISSUE);
+    }
+
+    public static String issueSummary(final int issueIndex) {
+        return sentence(issueIndex, 1, 8);
+    }
+
+    public static String assignee(final int issueIndex) {
+        return author(pick(issueIndex, 7, AUTHORS));
+    }
+
+    /**
+     * @return author of the commit, the assignee of the referenced issue for
+     *         three of four commits
+     */
+    public static String committer(final int commit, final int issueIndex) {
+        return pick(commit, 1, 4) == 0 ? author(pick(commit, 5, AUTHORS)) : assignee(issueIndex);
+    }
+
+    public static String author(final int authorIndex) {
+        return "developer" + (authorIndex % AUTHORS);
+    }
+
+    /**
+     * @return time of the record, records are one minute apart
+     */
+    public static long millis(final int record) {
+        return START_MILLIS + record * 60000L;
+    }
+
+    /**
+     * @return settings of the ITS parsers mapping every label onto itself
+     */
+    public static HashMap<String, String[]> labelSettings(final String... labels) {
+        HashMap<String, String[]> settings = new HashMap<String, String[]>();
+        for (String label : labels) {
+            settings.put(label, new String[] { label });
+        }
+        return settings;
+    }
+
+    /**
+     * @return pseudo random value from 0 (inclusive) to bound (exclusive),
+     *         always the same for given record and salt
+     */
+    public static int pick(final int record, final int salt, final int bound) {
+        checkArgument(bound > 0, "Bound has to be positive");
+        return (int) ((mix(record, salt) >>> 1) % bound);
+    }
+
+    /**
+     * @return 40 hex digits, like a git object id
+     */
+    public static String sha(final int record, final int salt) {
+        char[] sha = new char[40];
+        long bits = 0;
+        for (int i = 0; i < sha.length; i++) {
+            if (i % 16 == 0) {
+                bits = mix(record, salt * 3 + i / 16);
+            }
+            sha[i] = HEX[(int) (bits & 0xf)];
+            bits >>>= 4;
+        }
+        return new String(sha);
+    }
+
+    /**
+     * @return text of given number of words
+     */
+    public static String sentence(final int record, final int salt, final int words) {
+        StringBuilder sentence = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[pick(record, salt * 31 + i, WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    // finalizer of the 64 bit murmur hash
+    private static long mix(final int record, final int salt) {
+        long h = record * 0x9E3779B97F4A7C15L + salt;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93e185a0e53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
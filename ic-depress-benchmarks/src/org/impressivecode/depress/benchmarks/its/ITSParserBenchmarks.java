@@ -0,0 +1,62 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.its;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.labelSettings;
+
+import org.impressivecode.depress.benchmarks.Benchmark;
+import org.impressivecode.depress.benchmarks.FileBenchmark;
+import org.impressivecode.depress.benchmarks.data.BugzillaXmlWriter;
+import org.impressivecode.depress.benchmarks.data.JiraRssWriter;
+import org.impressivecode.depress.its.bugzilla.BugzillaEntriesParser;
+import org.impressivecode.depress.its.jira.JiraEntriesParser;
+
+/**
+ * Benchmarks of the issue tracker export parsers. Both parsers build a DOM of
+ * the whole export, so they are capped at 100k issues by default.
+ */
+public final class ITSParserBenchmarks {
+
+    private static final int MAX_RECORDS = 100000;
+
+    private ITSParserBenchmarks() {
+    }
+
+    public static Benchmark jira() {
+        return new FileBenchmark("jira-rss", MAX_RECORDS, new JiraRssWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                JiraEntriesParser parser = new JiraEntriesParser(labelSettings(JiraRssWriter.PRIORITIES),
+                        labelSettings(JiraRssWriter.TYPES), labelSettings(JiraRssWriter.RESOLUTIONS),
+                        labelSettings(JiraRssWriter.STATUSES));
+                return parser.parseEntries(path).size();
+            }
+        };
+    }
+
+    public static Benchmark bugzilla() {
+        return new FileBenchmark("bugzilla-xml", MAX_RECORDS, new BugzillaXmlWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                BugzillaEntriesParser parser = new BugzillaEntriesParser(labelSettings(BugzillaXmlWriter.SEVERITIES),
+                        labelSettings(BugzillaXmlWriter.RESOLUTIONS), labelSettings(BugzillaXmlWriter.STATUSES));
+                return parser.parseEntries(path).size();
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.mg;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.AUTHORS;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.author;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.classCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.className;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueKey;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.impressivecode.depress.benchmarks.Benchmark;
+import org.impressivecode.depress.its.ITSDataType;
+import org.impressivecode.depress.mg.ipa.IssuesMetricMetricProcessor;
+import org.impressivecode.depress.mg.po.ChangeData;
+import org.impressivecode.depress.mg.po.PeopleOrganizationMetricProcessor;
+import org.impressivecode.depress.mg.po.TeamMemberData;
+import org.impressivecode.depress.support.commonmarker.MarkerDataType;
+
+/**
+ * Benchmarks of the metric processors, fed with in-memory input built during
+ * set up. A record is one change of a class, ten changes per class.
+ */
+public final class MetricProcessorBenchmarks {
+
+    private static final int MAX_RECORDS = 1000000;
+    private static final String[] ORGANIZATIONS = { "A;AB;ABC", "A;AB;ABD", "A;AC", "B;BA", "B;BB;BBA", "C" };
+
+    private MetricProcessorBenchmarks() {
+    }
+
+    public static Benchmark peopleOrganization() {
+        return new Benchmark("people-organization-metric", MAX_RECORDS) {
+            private Map<String, ChangeData> changes;
+            private Map<String, TeamMemberData> team;
+
+            @Override
+            public void setUp(final int records) {
+                List<List<String>> engineers = new ArrayList<List<String>>();
+                for (int c = 0; c < classCount(records); c++) {
+                    engineers.add(new ArrayList<String>());
+                }
+                for (int i = 0; i < records; i++) {
+                    engineers.get(i % engineers.size()).add(author(pick(i, 1, AUTHORS)));
+                }
+                changes = new HashMap<String, ChangeData>();
+                for (int c = 0; c < engineers.size(); c++) {
+                    ChangeData change = new ChangeData();
+                    change.setClassName(className(c));
+                    change.setInvolvedEngineers(engineers.get(c));
+                    changes.put(change.getClassName(), change);
+                }
+                team = new HashMap<String, TeamMemberData>();
+                for (int a = 0; a < AUTHORS; a++) {
+                    TeamMemberData member = new TeamMemberData();
+                    member.setName(author(a));
+                    member.setOrganizationPath(ORGANIZATIONS[pick(a, 2, ORGANIZATIONS.length)]);
+                    member.setExEngineer(pick(a, 3, 10) == 0);
+                    member.setExLevel(1 + pick(a, 4, 5));
+                    team.put(member.getName(), member);
+                }
+            }
+
+            @Override
+            public long run() {
+                return new PeopleOrganizationMetricProcessor(changes, team).buildMetric().size();
+            }
+
+            @Override
+            public void tearDown() {
+                changes = null;
+                team = null;
+            }
+        };
+    }
+
+    public static Benchmark issuesMetric() {
+        return new Benchmark("issues-metric", MAX_RECORDS) {
+            private List<ITSDataType> issues;
+            private List<MarkerDataType> markers;
+
+            @Override
+            public void setUp(final int records) {
+                int issueCount = issueCount(records);
+                issues = new ArrayList<ITSDataType>(issueCount);
+                for (int i = 0; i < issueCount; i++) {
+                    ITSDataType issue = new ITSDataType();
+                    issue.setIssueId(issueKey(i));
+                    issues.add(issue);
+                }
+                int classes = classCount(records);
+                markers = new ArrayList<MarkerDataType>(records);
+                for (int i = 0; i < records; i++) {
+                    MarkerDataType marker = new MarkerDataType();
+                    marker.setResourceName(className(i % classes));
+                    // a few markers point to issues missing in the tracker
+                    marker.setMarkers(Collections.singleton(issueKey(pick(i, 1, issueCount + issueCount / 10))));
+                    markers.add(marker);
+                }
+            }
+
+            @Override
+            public long run() {
+                return new IssuesMetricMetricProcessor(issues, markers).computeMetric().size();
+            }
+
+            @Override
+            public void tearDown() {
+                issues = null;
+                markers = null;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.mr;
+
+import org.impressivecode.depress.benchmarks.Benchmark;
+import org.impressivecode.depress.benchmarks.FileBenchmark;
+import org.impressivecode.depress.benchmarks.data.CheckStyleReportWriter;
+import org.impressivecode.depress.benchmarks.data.CkjmReportWriter;
+import org.impressivecode.depress.benchmarks.data.EclipseMetricsReportWriter;
+import org.impressivecode.depress.benchmarks.data.GoogleMetricsReportWriter;
+import org.impressivecode.depress.benchmarks.data.JaCoCoReportWriter;
+import org.impressivecode.depress.benchmarks.data.JudyReportWriter;
+import org.impressivecode.depress.benchmarks.data.PMDReportWriter;
+import org.impressivecode.depress.benchmarks.data.PitestReportWriter;
+import org.impressivecode.depress.mr.checkstyle.CheckStyleEntriesParser;
+import org.impressivecode.depress.mr.ckjm.ChidamberKemererJavaMetricsEntriesParser;
+import org.impressivecode.depress.mr.eclipsemetrics.EclipseMetricsEntriesParser;
+import org.impressivecode.depress.mr.googlemetrics.GoogleMetricsEntriesParser;
+import org.impressivecode.depress.mr.jacoco.JaCoCoEntriesParser;
+import org.impressivecode.depress.mr.judy.JudyEntriesParser;
+import org.impressivecode.depress.mr.pitest.PitestEntriesParser;
+import org.impressivecode.depress.mr.pmd.PMDEntriesParser;
+
+/**
+ * Benchmarks of the metric report parsers. All of them keep the whole report
+ * in memory, DOM or JAXB, so they are capped at 1M records by default.
+ */
+public final class MetricReportParserBenchmarks {
+
+    private static final int MAX_RECORDS = 1000000;
+    /**
+     * Mutations of a class are aggregated with a nested loop over all of
+     * them, larger reports take minutes.
+     */
+    private static final int MAX_PITEST_RECORDS = 10000;
+
+    private MetricReportParserBenchmarks() {
+    }
+
+    public static Benchmark pmd() {
+        return new FileBenchmark("pmd-report", MAX_RECORDS, new PMDReportWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                return new PMDEntriesParser().parseEntries(path).size();
+            }
+        };
+    }
+
+    public static Benchmark checkStyle() {
+        return new FileBenchmark("checkstyle-report", MAX_RECORDS, new CheckStyleReportWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                return new CheckStyleEntriesParser().parseEntries(path).size();
+            }
+        };
+    }
+
+    public static Benchmark jacoco() {
+        return new FileBenchmark("jacoco-report", MAX_RECORDS, new JaCoCoReportWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                return new JaCoCoEntriesParser().parseEntries(path).size();
+            }
+        };
+    }
+
+    public static Benchmark ckjm() {
+        return new FileBenchmark("ckjm-report", MAX_RECORDS, new CkjmReportWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                return ChidamberKemererJavaMetricsEntriesParser.unmarshalResults(path).size();
+            }
+        };
+    }
+
+    public static Benchmark judy() {
+        return new FileBenchmark("judy-report", MAX_RECORDS, new JudyReportWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                return JudyEntriesParser.unmarshalResults(path).size();
+            }
+        };
+    }
+
+    public static Benchmark pitest() {
+        return new FileBenchmark("pitest-report", MAX_PITEST_RECORDS, new PitestReportWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                return new PitestEntriesParser().parseEntries(path).size();
+            }
+        };
+    }
+
+    public static Benchmark eclipseMetrics() {
+        return new FileBenchmark("eclipsemetrics-report", MAX_RECORDS, new EclipseMetricsReportWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                EclipseMetricsEntriesParser parser = new EclipseMetricsEntriesParser();
+                return parser.parseEntriesClassLevel(path).size() + parser.parseEntriesMethodLevel(path).size();
+            }
+        };
+    }
+
+    public static Benchmark googleMetrics() {
+        return new FileBenchmark("googlemetrics-report", MAX_RECORDS, new GoogleMetricsReportWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                return GoogleMetricsEntriesParser.unmarshalResults(path).size();
+            }
+        };
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.scm;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.PACKAGE_PREFIX;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createCellPool;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createTableRow;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlValue;
+
+import org.impressivecode.depress.benchmarks.Benchmark;
+import org.impressivecode.depress.benchmarks.FileBenchmark;
+import org.impressivecode.depress.benchmarks.data.GitLogWriter;
+import org.impressivecode.depress.benchmarks.data.SVNLogWriter;
+import org.impressivecode.depress.common.CellPool;
+import org.impressivecode.depress.scm.SCMDataHandler;
+import org.impressivecode.depress.scm.SCMDataType;
+import org.impressivecode.depress.scm.SCMExtensionParser;
+import org.impressivecode.depress.scm.SCMParserOptions;
+import org.impressivecode.depress.scm.git.GitCommit;
+import org.impressivecode.depress.scm.git.GitCommitFile;
+import org.impressivecode.depress.scm.git.GitCommitHandler;
+import org.impressivecode.depress.scm.git.GitOfflineLogParser;
+import org.knime.core.data.DataRow;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Benchmarks of the SCM log parsers. Both parsers stream the log, entries are
+ * only counted, so the largest inputs fit in any heap. Benchmarks which keep
+ * rows or the whole log in memory are capped at 1M commits by default.
+ */
+public final class SCMParserBenchmarks {
+
+    private static final int MAX_RECORDS = 10000000;
+    private static final int MAX_IN_MEMORY_RECORDS = 1000000;
+
+    private SCMParserBenchmarks() {
+    }
+
+    public static Benchmark gitOffline() {
+        return new FileBenchmark("git-offline-log", MAX_RECORDS, new GitLogWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                final long[] files = new long[1];
+                new GitOfflineLogParser(options()).parseEntries(path, new GitCommitHandler() {
+                    @Override
+                    public boolean handle(final GitCommit commit) {
+                        files[0] += commit.getFiles().size();
+                        return true;
+                    }
+                });
+                return files[0];
+            }
+        };
+    }
+
+    public static Benchmark svnLog() {
+        return new FileBenchmark("svn-log", MAX_RECORDS, new SVNLogWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                final long[] entries = new long[1];
+                new SCMExtensionParser(options()).parseEntries(path, new SCMDataHandler() {
+                    @Override
+                    public boolean handle(final SCMDataType entry) throws IOException {
+                        entries[0]++;
+                        return true;
+                    }
+                });
+                return entries[0];
+            }
+        };
+    }
+
+    /**
+     * Git log read into SCM table rows, which are kept like in a data
+     * container before it spills to disk. Rows share repeated cells through
+     * a {@link CellPool}.
+     */
+    public static Benchmark gitOfflineRowsPooled() {
+        return gitOfflineRows("git-offline-rows-pooled", true);
+    }
+
+    /**
+     * As {@link #gitOfflineRowsPooled()}, each row with cells of its own.
+     */
+    public static Benchmark gitOfflineRowsPlain() {
+        return gitOfflineRows("git-offline-rows-plain", false);
+    }
+
+    /**
+     * SVN log unmarshalled as a whole with JAXB, the way SVN logs were read
+     * before the streaming reader used by {@link #svnLog()}.
+     */
+    public static Benchmark svnLogJaxb() {
+        return new FileBenchmark("svn-log-jaxb", MAX_IN_MEMORY_RECORDS, new SVNLogWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                Log parsed = (Log) JAXBContext.newInstance(Log.class).createUnmarshaller().unmarshal(new File(path));
+                long entries = 0;
+                for (Log.Entry entry : parsed.logentry) {
+                    entries += entry.paths.path.size();
+                }
+                return entries;
+            }
+        };
+    }
+
+    private static Benchmark gitOfflineRows(final String name, final boolean pooled) {
+        return new FileBenchmark(name, MAX_IN_MEMORY_RECORDS, new GitLogWriter()) {
+            @Override
+            protected long parse(final String path) throws Exception {
+                final List<DataRow> rows = new ArrayList<DataRow>();
+                final CellPool pool = createCellPool();
+                new GitOfflineLogParser(options()).parseEntries(path, new GitCommitHandler() {
+                    @Override
+                    public boolean handle(final GitCommit commit) {
+                        for (GitCommitFile file : commit.getFiles()) {
+                            SCMDataType scm = scm(commit, file);
+                            String rowId = String.valueOf(rows.size());
+                            rows.add(pooled ? createTableRow(rowId, scm, false, pool) : createTableRow(rowId, scm));
+                        }
+                        return true;
+                    }
+                });
+                return rows.size();
+            }
+        };
+    }
+
+    private static SCMDataType scm(final GitCommit commit, final GitCommitFile file) {
+        SCMDataType scm = new SCMDataType();
+        scm.setAuthor(commit.getAuthor());
+        scm.setCommitDate(commit.getDate());
+        scm.setCommitID(commit.getId());
+        scm.setMessage(commit.getMessage());
+        scm.setOperation(file.getOperation());
+        scm.setPath(file.getPath());
+        scm.setResourceName(file.getJavaClass());
+        scm.setExtension(file.getExtension());
+        return scm;
+    }
+
+    private static SCMParserOptions options() {
+        return SCMParserOptions.options(PACKAGE_PREFIX, Lists.newArrayList(".java"));
+    }
+
+    @XmlRootElement(name = "log")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    static class Log {
+        @XmlElement
+        List<Entry> logentry = new ArrayList<Entry>();
+
+        @XmlAccessorType(XmlAccessType.FIELD)
+        static class Entry {
+            @XmlAttribute
+            int revision;
+            @XmlElement
+            String author;
+            @XmlElement
+            String date;
+            @XmlElement
+            Paths paths;
+            @XmlElement
+            String msg;
+        }
+
+        @XmlAccessorType(XmlAccessType.FIELD)
+        static class Paths {
+            @XmlElement
+            List<Path> path = new ArrayList<Path>();
+        }
+
+        @XmlAccessorType(XmlAccessType.FIELD)
+        static class Path {
+            @XmlAttribute
+            String action;
+            @XmlValue
+            String value;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.support;
+
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.AUTHORS;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.author;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.classCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.className;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueCount;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.issueKey;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.millis;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.pick;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sentence;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sha;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.sourcePath;
+import static org.impressivecode.depress.common.Cells.stringSetCell;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.impressivecode.depress.benchmarks.Benchmark;
+import org.impressivecode.depress.benchmarks.InMemoryTable;
+import org.impressivecode.depress.its.ITSAdapterTableFactory;
+import org.impressivecode.depress.its.ITSDataHolder;
+import org.impressivecode.depress.its.ITSDataType;
+import org.impressivecode.depress.its.ITSInputTransformer;
+import org.impressivecode.depress.its.ITSResolution;
+import org.impressivecode.depress.scm.SCMAdapterTableFactory;
+import org.impressivecode.depress.scm.SCMDataType;
+import org.impressivecode.depress.scm.SCMInputTransformer;
+import org.impressivecode.depress.scm.SCMOperation;
+import org.impressivecode.depress.support.commonmarker.MarkerAdapterTableFactory;
+import org.impressivecode.depress.support.commonmarker.MarkerInputTransformer;
+import org.impressivecode.depress.support.sematicanalysis.Configuration;
+import org.impressivecode.depress.support.sematicanalysis.SemanticAnalysisCellFactory;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Confidence computed by the semantic analysis node for every marked commit.
+ * A record is one commit, with a marker of one issue. Issues are read into the
+ * holder during set up, only the cell factory is measured.
+ */
+public class SemanticAnalysisBenchmark extends Benchmark {
+
+    private static final int MAX_RECORDS = 1000000;
+
+    private ITSDataHolder itsData;
+    private List<DataRow> rows;
+    private DataTableSpec spec;
+
+    public SemanticAnalysisBenchmark() {
+        super("semantic-analysis", MAX_RECORDS);
+    }
+
+    @Override
+    public void setUp(final int records) throws Exception {
+        itsData = issues(issueCount(records));
+        DataTableSpec scmSpec = SCMAdapterTableFactory.createDataColumnSpec();
+        spec = new DataTableSpec(scmSpec, new DataTableSpec(MarkerAdapterTableFactory.MARKER_COLSPEC));
+        int classes = classCount(records);
+        int issues = issueCount(records);
+        rows = new ArrayList<DataRow>(records);
+        for (int i = 0; i < records; i++) {
+            SCMDataType scm = new SCMDataType();
+            scm.setResourceName(className(pick(i, 1, classes)));
+            scm.setExtension("java");
+            scm.setAuthor(author(pick(i, 2, AUTHORS)));
+            scm.setOperation(SCMOperation.MODIFIED);
+            scm.setMessage(sentence(i, 3, 6));
+            scm.setPath(sourcePath(pick(i, 1, classes)));
+            scm.setCommitDate(new Date(millis(i)));
+            scm.setCommitID(sha(i, 0));
+            DataRow scmRow = SCMAdapterTableFactory.createTableRow(Integer.toString(i), scm);
+            DataCell[] cells = new DataCell[scmRow.getNumCells() + 1];
+            for (int c = 0; c < scmRow.getNumCells(); c++) {
+                cells[c] = scmRow.getCell(c);
+            }
+            cells[cells.length - 1] = stringSetCell(Collections.singleton(issueKey(pick(i, 4, issues))));
+            rows.add(new DefaultRow(scmRow.getKey(), cells));
+        }
+    }
+
+    private ITSDataHolder issues(final int count) throws Exception {
+        List<DataRow> issueRows = new ArrayList<DataRow>(count);
+        for (int i = 0; i < count; i++) {
+            ITSDataType issue = new ITSDataType();
+            issue.setIssueId(issueKey(i));
+            issue.setCreated(new Date(millis(i)));
+            issue.setSummary(sentence(i, 5, 6));
+            issue.setResolution(pick(i, 6, 4) == 0 ? ITSResolution.INVALID : ITSResolution.FIXED);
+            issue.setAssignees(Collections.singleton(author(pick(i, 7, AUTHORS))));
+            issueRows.add(ITSAdapterTableFactory.createTableRow(issue));
+        }
+        DataTableSpec itsSpec = ITSAdapterTableFactory.createDataColumnSpec();
+        ITSInputTransformer transformer = new ITSInputTransformer();
+        transformer.setInputSpec(itsSpec);
+        return transformer.transformToDataHolder(new InMemoryTable(itsSpec, issueRows), new ExecutionMonitor());
+    }
+
+    @Override
+    public long run() {
+        SCMInputTransformer scmTransformer = new SCMInputTransformer();
+        scmTransformer.setInputSpec(spec);
+        MarkerInputTransformer markerTransformer = new MarkerInputTransformer();
+        markerTransformer.setInputSpec(spec);
+        SemanticAnalysisCellFactory factory = new SemanticAnalysisCellFactory(new Configuration(itsData, 1, 1, 60,
+                Configuration.MSC_DT_SUMMARY, Configuration.LEVENSTHEIN_ALGHORITM, 1), scmTransformer,
+                markerTransformer);
+        long matched = 0;
+        for (DataRow row : rows) {
+            if (factory.getAppendedCell(row) != null) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        if (itsData != null) {
+            itsData.close();
+            itsData = null;
+        }
+        rows = null;
+    }
+}
@@ -22,6 +22,8 @@ package org.impressivecode.depress.data.anonymisation;
 import java.io.File;
 import java.io.IOException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -58,8 +60,10 @@ public abstract class CryptoNodeModel extends NodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] data, final ExecutionContext exec) throws Exception {
         // TODO add validation before of column type before execution
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass()).phase(Phase.TRANSFORM);
         ColumnCryptoTransformer encryptor = createTransformer(data[0].getDataTableSpec());
         BufferedDataTable out = encryptor.transform(data[0], exec);
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
@@ -19,8 +19,11 @@ package org.impressivecode.depress.its.bugzilla;
 
 import static org.impressivecode.depress.its.bugzilla.BugzillaAdapterTableFactory.createTableSpec;
 
+import java.io.File;
 import java.util.List;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.its.ITSAdapterTableFactory;
 import org.impressivecode.depress.its.ITSAdapterTransformer;
 import org.impressivecode.depress.its.ITSDataType;
@@ -46,12 +49,15 @@ public class BugzillaAdapterNodeModel extends ITSOfflineNodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read bugzilla entries.");
         String filePath = fileSettings.getStringValue();
         List<ITSDataType> entries = parseEntries(filePath);
+        telemetry.addBytesRead(new File(filePath)).phase(Phase.WRITE);
         LOGGER.info("Transforming to buzilla entries.");
         BufferedDataTable out = transform(entries, exec);
         LOGGER.info("Bugzilla table created.");
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
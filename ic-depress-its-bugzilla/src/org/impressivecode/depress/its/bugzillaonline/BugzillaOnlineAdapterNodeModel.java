@@ -26,6 +26,8 @@ import static org.impressivecode.depress.its.bugzilla.BugzillaAdapterTableFactor
 import java.util.Date;
 import java.util.List;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.its.ITSAdapterTransformer;
 import org.impressivecode.depress.its.ITSDataType;
 import org.impressivecode.depress.its.ITSOnlineNodeModel;
@@ -76,6 +78,7 @@ public class BugzillaOnlineAdapterNodeModel extends ITSOnlineNodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext context)
             throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read bugzilla entries.");
         BugzillaOnlineClientAdapter clientAdapter = new BugzillaOnlineClientAdapter(getURL(), context);
 
@@ -88,9 +91,11 @@ public class BugzillaOnlineAdapterNodeModel extends ITSOnlineNodeModel {
         List<ITSDataType> entries = clientAdapter.listEntries(getBugzillaOptions());
 
         LOGGER.info("Transforming to bugzilla entries.");
+        telemetry.phase(Phase.WRITE);
         BufferedDataTable out = transform(entries, context);
 
         LOGGER.info("Bugzilla table created.");
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
@@ -29,6 +29,8 @@ import java.util.regex.Pattern;
 
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.its.ITSAdapterTableFactory;
 import org.impressivecode.depress.its.ITSAdapterTransformer;
 import org.impressivecode.depress.its.ITSDataType;
@@ -130,6 +132,7 @@ public class ClearQuestReaderNodeModel extends XLSReaderNodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         BufferedDataTable in = super.execute(inData, exec)[0];
         DataTableSpec newSpec = in.getDataTableSpec();
         BufferedDataTable result = exec.createSpecReplacerTable(in, newSpec);
@@ -137,9 +140,12 @@ public class ClearQuestReaderNodeModel extends XLSReaderNodeModel {
         LOGGER.info("Preparing to read ClearQuest entries.");
         List<ITSDataType> entries = parseEntries(result);
         LOGGER.info("Transforming to ClearQuest entries.");
+        telemetry.phase(Phase.WRITE);
         BufferedDataTable out = transform(entries, exec);
         LOGGER.info("ClearQuest table created.");
-        return new BufferedDataTable[] { out, exec.createSpecReplacerTable(in, getNewSpec(newSpec)) };
+        BufferedDataTable renamed = exec.createSpecReplacerTable(in, getNewSpec(newSpec));
+        telemetry.finish(out, renamed);
+        return new BufferedDataTable[] { out, renamed };
     }
 
     private DataTableSpec getNewSpec(final DataTableSpec in) throws InvalidSettingsException {
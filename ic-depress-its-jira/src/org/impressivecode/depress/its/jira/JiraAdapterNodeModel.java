@@ -17,12 +17,15 @@
  */
 package org.impressivecode.depress.its.jira;
 
+import java.io.File;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.its.ITSAdapterTableFactory;
 import org.impressivecode.depress.its.ITSDataType;
 import org.impressivecode.depress.its.ITSAdapterTransformer;
@@ -49,12 +52,15 @@ public class JiraAdapterNodeModel extends ITSOfflineNodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read jira entries.");
         String filePath = fileSettings.getStringValue();
         List<ITSDataType> entries = parseEntries(filePath);
+        telemetry.addBytesRead(new File(filePath)).phase(Phase.WRITE);
         LOGGER.info("Transforming to jira entries.");
         BufferedDataTable out = transform(entries, exec);
         LOGGER.info("Jira table created.");
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
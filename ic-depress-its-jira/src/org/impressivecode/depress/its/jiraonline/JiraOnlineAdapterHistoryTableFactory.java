@@ -29,6 +29,7 @@ import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
 import org.knime.core.data.date.DateAndTimeCell;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.StringCell;
@@ -54,8 +55,6 @@ public class JiraOnlineAdapterHistoryTableFactory {
     public static final DataColumnSpec CHANGED_FROM_COLSPEC = new DataColumnSpecCreator(CHANGED_FROM, StringCell.TYPE).createSpec();
     public static final DataColumnSpec CHANGED_TO_COLSPEC = new DataColumnSpecCreator(CHANGED_TO, StringCell.TYPE).createSpec();
 
-    private static int rowIdCounter = 1;
-
     private JiraOnlineAdapterHistoryTableFactory() { }
 
     public static DataTableSpec createDataColumnSpec() {
@@ -73,7 +72,7 @@ public class JiraOnlineAdapterHistoryTableFactory {
         return outputSpec;
     }
 
-    public static DataRow createTableRow(final JiraOnlineIssueChangeRowItem changeRow) {
+    public static DataRow createTableRow(final RowKey rowKey, final JiraOnlineIssueChangeRowItem changeRow) {
         assertData(changeRow);
         DataCell[] cells = { 
                 stringCell(changeRow.getKey()),
@@ -83,8 +82,7 @@ public class JiraOnlineAdapterHistoryTableFactory {
                 stringOrMissingCell(changeRow.getChangedFrom()),
                 stringOrMissingCell(changeRow.getChangedTo()) 
         };
-        DataRow row = new DefaultRow(Integer.toString(rowIdCounter), cells);
-        rowIdCounter++;
+        DataRow row = new DefaultRow(rowKey, cells);
         return row;
     }
 
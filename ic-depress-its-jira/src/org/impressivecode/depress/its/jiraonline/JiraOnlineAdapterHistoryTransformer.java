@@ -17,66 +17,26 @@
  */
 package org.impressivecode.depress.its.jiraonline;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-import static org.impressivecode.depress.its.jiraonline.JiraOnlineAdapterHistoryTableFactory.createTableRow;
-
-import java.util.List;
-
-import org.impressivecode.depress.common.OutputTransformer;
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChangeRowItem;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
-import org.knime.core.node.CanceledExecutionException;
-import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.NodeLogger;
-import org.knime.core.node.NodeLogger.LEVEL;
 
 /**
  * 
  * @author Marcin Kunert, Wroclaw University of Technology
  * 
  */
-public class JiraOnlineAdapterHistoryTransformer implements OutputTransformer<JiraOnlineIssueChangeRowItem> {
-
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(JiraOnlineAdapterHistoryTransformer.class);
-
-    private final DataTableSpec tableSpec;
+public class JiraOnlineAdapterHistoryTransformer extends ParallelOutputTransformer<JiraOnlineIssueChangeRowItem> {
 
     public JiraOnlineAdapterHistoryTransformer(final DataTableSpec tableSpec) {
-        checkNotNull(tableSpec, "table specifikation can not be null.");
-        this.tableSpec = tableSpec;
+        super(tableSpec, RowKeyGenerator.numbered(1));
     }
 
     @Override
-    public BufferedDataTable transform(final List<JiraOnlineIssueChangeRowItem> entries, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        for (JiraOnlineIssueChangeRowItem entry : entries) {
-            progress(exec);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Transforming issue entry, issueId: " + entry.getKey());
-            }
-
-            if (LOGGER.isEnabledFor(LEVEL.ALL)) {
-                LOGGER.debug("Transforming issue entry:" + entry.toString());
-            }
-            DataRow row = createTableRow(entry);
-            container.addRowToTable(row);
-        }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
+    protected DataRow createTableRow(final Segment keys, final JiraOnlineIssueChangeRowItem entry) {
+        return JiraOnlineAdapterHistoryTableFactory.createTableRow(keys.next(), entry);
     }
-
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
-    }
-
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
-    }
-
 }
@@ -37,6 +37,7 @@ import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.NotConfigurableException;
 import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
 import org.knime.core.node.defaultnodesettings.DialogComponentMultiLineString;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.port.PortObjectSpec;
 
@@ -49,8 +50,12 @@ import org.knime.core.node.port.PortObjectSpec;
 public class JiraOnlineAdapterNodeDialog extends ITSOnlineNodeDialog {
     private static final String JQL = "JQL:";
     private static final String DOWNLOAD_HISTORY = "Download issue history (this will make the processing A LOT longer)";
+    private static final String INCREMENTAL = "Incremental update (download only issues updated since last execution)";
+    private static final String CONCURRENCY = "Maximum concurrent requests:";
 
     private DialogComponentBoolean history;
+    private DialogComponentBoolean incremental;
+    private DialogComponentNumber concurrency;
     private DialogComponentMultiLineString jql;
 
     @Override
@@ -58,9 +63,13 @@ public class JiraOnlineAdapterNodeDialog extends ITSOnlineNodeDialog {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         history = new DialogComponentBoolean(JiraOnlineAdapterNodeModel.createSettingsHistory(), DOWNLOAD_HISTORY);
+        incremental = new DialogComponentBoolean(JiraOnlineAdapterNodeModel.createSettingsIncremental(), INCREMENTAL);
+        concurrency = new DialogComponentNumber(JiraOnlineAdapterNodeModel.createSettingsConcurrency(), CONCURRENCY, 1);
         jql = new DialogComponentMultiLineString(JiraOnlineAdapterNodeModel.createSettingsJQL(), JQL, false, 50, 10);
 
         panel.add(history.getComponentPanel());
+        panel.add(incremental.getComponentPanel());
+        panel.add(concurrency.getComponentPanel());
         panel.add(jql.getComponentPanel());
         return panel;
     }
@@ -127,12 +136,16 @@ public class JiraOnlineAdapterNodeDialog extends ITSOnlineNodeDialog {
     protected void loadSpecificSettingsFrom(NodeSettingsRO settings, PortObjectSpec[] specs)
             throws NotConfigurableException {
         history.loadSettingsFrom(settings, specs);
+        incremental.loadSettingsFrom(settings, specs);
+        concurrency.loadSettingsFrom(settings, specs);
         jql.loadSettingsFrom(settings, specs);
     }
 
     @Override
     protected void saveSpecificSettingsTo(NodeSettingsWO settings) throws InvalidSettingsException {
         history.saveSettingsTo(settings);
+        incremental.saveSettingsTo(settings);
+        concurrency.saveSettingsTo(settings);
         jql.saveSettingsTo(settings);
     }
 
@@ -20,15 +20,25 @@ package org.impressivecode.depress.its.jiraonline;
 import static com.google.common.collect.Lists.newArrayList;
 import static org.impressivecode.depress.its.ITSAdapterTableFactory.createDataColumnSpec;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
+import org.impressivecode.depress.common.RowKeyGenerator;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.impressivecode.depress.its.ITSAdapterTableFactory;
 import org.impressivecode.depress.its.ITSAdapterTransformer;
 import org.impressivecode.depress.its.ITSDataType;
@@ -37,6 +47,7 @@ import org.impressivecode.depress.its.ITSOnlineNodeModel;
 import org.impressivecode.depress.its.jiraonline.JiraOnlineAdapterUriBuilder.Mode;
 import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChangeRowItem;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -45,6 +56,7 @@ import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.port.PortObjectSpec;
 
@@ -61,13 +73,22 @@ public class JiraOnlineAdapterNodeModel extends ITSOnlineNodeModel {
     private static final int INPUT_NODE_COUNT = 0;
     private static final int OUTPUT_NODE_COUNT = 2;
     private static final int STEPS_PER_TASK = 2;
-    private static final int THREAD_COUNT = 10;
+    static final int DEFAULT_CONCURRENCY = 10;
+    static final int MAX_CONCURRENCY = 50;
 
     private static final String JIRA_JQL = "jql";
     private static final String JIRA_HISTORY = "history";
+    private static final String JIRA_INCREMENTAL = "incremental";
+    private static final String JIRA_CONCURRENCY = "concurrency";
 
     private final SettingsModelString jqlSettings = createSettingsJQL();
     private final SettingsModelBoolean historySettings = createSettingsHistory();
+    private final SettingsModelBoolean incrementalSettings = createSettingsIncremental();
+    private final SettingsModelIntegerBounded concurrencySettings = createSettingsConcurrency();
+
+    // issues downloaded by the last execution, kept in node internals for the
+    // incremental mode
+    private JiraOnlineIssueStore store;
 
     private JiraOnlineAdapterUriBuilder builder;
     private JiraOnlineAdapterRsClient client;
@@ -96,36 +117,106 @@ public class JiraOnlineAdapterNodeModel extends ITSOnlineNodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
-        long startTime = System.currentTimeMillis();
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         this.exec = exec;
         prepareProgressMonitors();
 
+        Date syncStart = new Date();
         builder = prepareBuilder();
         builder.setProjectName(getProductName());
+        JiraOnlineIssueStore previous = null;
+        if (isIncremental()) {
+            previous = matchingStore();
+            if (previous != null) {
+                builder.setUpdatedInLastMinutes(previous.getMinutesToSync(syncStart));
+            }
+        }
 
-        client = new JiraOnlineAdapterRsClient();
+        // threads wait in the scheduler until the server is able to take their requests
+        client = new JiraOnlineAdapterRsClient(new JiraOnlineRequestScheduler(getThreadCount()));
         executorService = Executors.newFixedThreadPool(getThreadCount());
 
-        List<URI> issueBatchLinks = prepareIssueBatchesLinks();
+        BufferedDataTable out;
+        BufferedDataTable outHistory;
+        try {
+            List<URI> issueBatchLinks = prepareIssueBatchesLinks();
 
-        issueListMonitor.setProgress(0);
-        issueTaskStepsSum = issueBatchLinks.size() * STEPS_PER_TASK;
-
-        List<ITSDataType> issues = executeIssueTasks(issueBatchLinks);
-        List<JiraOnlineIssueChangeRowItem> issuesHistory = executeHistoryTasks(issues);
+            issueListMonitor.setProgress(0);
+            issueTaskStepsSum = issueBatchLinks.size() * STEPS_PER_TASK;
+            issueHistoryMonitor.setProgress(0);
 
-        executorService.shutdown();
+            // pages are written as they come, the queue holds one finished page per thread
+            JiraOnlineIssuePipeline pipeline = new JiraOnlineIssuePipeline(executorService, getThreadCount());
+            for (URI uri : issueBatchLinks) {
+                pipeline.submit(new DownloadAndParseIssuesTask(uri, mappingManager));
+            }
 
-        BufferedDataTable out = transform(issues, exec);
-        BufferedDataTable outHistory = transformHistory(issuesHistory, exec);
+            if (isIncremental()) {
+                // stored issues are merged with all updated ones before anything is written
+                PageCollector updated = new PageCollector(pipeline);
+                pipeline.drain(updated, exec);
+                JiraOnlineIssueStore current = previous != null ? previous : createStore();
+                current.merge(updated.issues, updated.history, syncStart);
+                LOGGER.info("Incremental update, updated issues: " + updated.issues.size() + ", stored issues: "
+                        + current.size());
+                store = current;
+
+                telemetry.phase(Phase.WRITE);
+                out = transform(current.getIssues(), exec);
+                outHistory = transformHistory(current.getHistory(), exec);
+            } else {
+                store = null;
+                PageWriter writer = new PageWriter(pipeline);
+                pipeline.drain(writer, exec);
+                out = writer.closeIssues();
+                outHistory = writer.closeHistory();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        issueHistoryMonitor.setProgress(1);
 
-        long endTime = System.currentTimeMillis();
-        LOGGER.warn("Finished in " + ((endTime - startTime) / 1000) + " seconds.");
+        telemetry.finish(out, outHistory);
         return new BufferedDataTable[] { out, outHistory };
     }
 
+    private JiraOnlineIssueStore matchingStore() {
+        if (store != null
+                && store.getLastSync() != null
+                && store.matches(builder.getHostname(), getProductName(), jqlSettings.getStringValue(),
+                        mappingSettings(), shouldDownloadHistory())) {
+            return store;
+        }
+        return null;
+    }
+
+    private JiraOnlineIssueStore createStore() {
+        return new JiraOnlineIssueStore(builder.getHostname(), getProductName(), jqlSettings.getStringValue(),
+                mappingSettings(), shouldDownloadHistory());
+    }
+
+    /**
+     * Stored issues are mapped with the settings of the previous execution, so
+     * they can be reused only if the mapping did not change.
+     */
+    private String mappingSettings() {
+        StringBuilder result = new StringBuilder();
+        appendMapping(result, mappingManager.getPriorityModel().getIncluded());
+        appendMapping(result, mappingManager.getTypeModel().getIncluded());
+        appendMapping(result, mappingManager.getResolutionModel().getIncluded());
+        appendMapping(result, mappingManager.getStatusModel().getIncluded());
+        return result.toString();
+    }
+
+    private void appendMapping(final StringBuilder result, final HashMap<String, String[]> mapping) {
+        for (Map.Entry<String, String[]> entry : new TreeMap<String, String[]>(mapping).entrySet()) {
+            result.append(entry.getKey()).append('=').append(Arrays.toString(entry.getValue())).append(';');
+        }
+        result.append('\n');
+    }
+
     private int getThreadCount() {
-        return THREAD_COUNT;
+        return concurrencySettings.getIntValue();
     }
 
     private List<URI> prepareIssueBatchesLinks() throws Exception {
@@ -134,61 +225,31 @@ public class JiraOnlineAdapterNodeModel extends ITSOnlineNodeModel {
         issueCountMonitor.setProgress(0.5);
         List<URI> issueBatchLinks = new ArrayList<>();
 
+        if (shouldDownloadHistory()) {
+            // changelog comes with the issues, only cut changelogs are downloaded separately
+            builder.setMode(Mode.MULTIPLE_ISSUES_WITH_HISTORY);
+        }
         while (totalIssues > builder.getStartingIndex()) {
             issueBatchLinks.add(builder.build());
             builder.prepareForNextBatch();
         }
+        builder.resetMode();
         issueCountMonitor.setProgress(1);
         return issueBatchLinks;
     }
 
     private int getIssuesCount() throws Exception {
-        String rawData = null;
-        rawData = client.getJSON(builder.build(), getLogin(), getPassword());
+        InputStream rawData = client.getStream(builder.build(), getLogin(), getPassword());
         return JiraOnlineAdapterParser.getTotalIssuesCount(rawData);
     }
 
-    private List<ITSDataType> executeIssueTasks(final List<URI> issueBatchLinks) throws InterruptedException,
-            ExecutionException {
-        List<Callable<List<ITSDataType>>> tasks = newArrayList();
-
-        for (URI uri : issueBatchLinks) {
-            tasks.add(new DownloadAndParseIssuesTask(uri, mappingManager));
-        }
-        List<Future<List<ITSDataType>>> partialResults = executorService.invokeAll(tasks);
-        List<ITSDataType> issues = combinePartialIssueResults(partialResults);
-        return issues;
-    }
-
-    private List<JiraOnlineIssueChangeRowItem> executeHistoryTasks(final List<ITSDataType> issues)
-            throws InterruptedException, ExecutionException {
-        List<JiraOnlineIssueChangeRowItem> issuesHistory;
-        List<Callable<List<JiraOnlineIssueChangeRowItem>>> historyTasks = newArrayList();
-        if (shouldDownloadHistory()) {
-            historyTaskStepsSum = issues.size() * STEPS_PER_TASK;
-            issueHistoryMonitor.setProgress(0);
-            builder.setMode(Mode.SINGLE_ISSUE_WITH_HISTORY);
-            for (ITSDataType issue : issues) {
-                builder.setIssueKey(issue.getIssueId());
-                historyTasks.add(new DownloadAndParseIssueHistoryTask(builder.build()));
-            }
-            List<Future<List<JiraOnlineIssueChangeRowItem>>> partialHistoryResults = executorService
-                    .invokeAll(historyTasks);
-            issuesHistory = combinePartialIssueHistoryResults(partialHistoryResults);
-            builder.setMode(Mode.MULTIPLE_ISSUES);
-        } else {
-            issuesHistory = newArrayList();
-        }
-        return issuesHistory;
-    }
-
     private void prepareProgressMonitors() {
         double issueListProgressPart = 0.9;
         double issueHistoryProgressPart = 0;
 
         if (shouldDownloadHistory()) {
-            issueListProgressPart = 0.2;
-            issueHistoryProgressPart = 0.7;
+            issueListProgressPart = 0.7;
+            issueHistoryProgressPart = 0.2;
         }
 
         issueCountMonitor = exec.createSubProgress(0.1);
@@ -197,40 +258,36 @@ public class JiraOnlineAdapterNodeModel extends ITSOnlineNodeModel {
         issueHistoryMonitor = exec.createSubProgress(issueHistoryProgressPart);
 
         issueTaskStepsCompleted = 0;
+        historyTaskStepsSum = 0;
         historyTaskStepsCompleted = 0;
 
     }
 
-    private List<ITSDataType> combinePartialIssueResults(final List<Future<List<ITSDataType>>> partialResults)
-            throws InterruptedException, ExecutionException {
-        List<ITSDataType> result = new ArrayList<>();
-        for (Future<List<ITSDataType>> partialResult : partialResults) {
-            result.addAll(partialResult.get());
-        }
-
-        return result;
-    }
-
-    private List<JiraOnlineIssueChangeRowItem> combinePartialIssueHistoryResults(
-            final List<Future<List<JiraOnlineIssueChangeRowItem>>> partialResults) throws InterruptedException,
-            ExecutionException {
-        List<JiraOnlineIssueChangeRowItem> result = newArrayList();
-
-        for (Future<List<JiraOnlineIssueChangeRowItem>> partialResult : partialResults) {
-            result.addAll(partialResult.get());
-        }
-
-        return result;
-    }
-
     private boolean shouldDownloadHistory() {
         return historySettings.getBooleanValue();
     }
 
+    private boolean isIncremental() {
+        return incrementalSettings.getBooleanValue();
+    }
+
     private void markProgressForIssue() {
         issueListMonitor.setProgress((double) ++issueTaskStepsCompleted / (double) issueTaskStepsSum);
     }
 
+    private void requestHistory(final JiraOnlineIssuePipeline pipeline, final List<String> issueKeys) {
+        if (issueKeys.isEmpty()) {
+            return;
+        }
+        builder.setMode(Mode.SINGLE_ISSUE_WITH_HISTORY);
+        for (String issueKey : issueKeys) {
+            builder.setIssueKey(issueKey);
+            historyTaskStepsSum += STEPS_PER_TASK;
+            pipeline.submit(new DownloadAndParseIssueHistoryTask(builder.build()));
+        }
+        builder.resetMode();
+    }
+
     private void markProgressForHistory() {
         issueHistoryMonitor.setProgress((double) ++historyTaskStepsCompleted / (double) historyTaskStepsSum);
     }
@@ -271,18 +328,47 @@ public class JiraOnlineAdapterNodeModel extends ITSOnlineNodeModel {
     protected void saveSpecificSettingsTo(final NodeSettingsWO settings) {
         jqlSettings.saveSettingsTo(settings);
         historySettings.saveSettingsTo(settings);
+        incrementalSettings.saveSettingsTo(settings);
+        concurrencySettings.saveSettingsTo(settings);
     }
 
     @Override
     protected void loadSpecificSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
         jqlSettings.loadSettingsFrom(settings);
         historySettings.loadSettingsFrom(settings);
+        // settings added later are missing in older workflows, they keep their defaults
+        if (settings.containsKey(JIRA_INCREMENTAL)) {
+            incrementalSettings.loadSettingsFrom(settings);
+        }
+        if (settings.containsKey(JIRA_CONCURRENCY)) {
+            concurrencySettings.loadSettingsFrom(settings);
+        }
     }
 
     @Override
     protected void validateSpecificSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
         jqlSettings.validateSettings(settings);
         historySettings.validateSettings(settings);
+        if (settings.containsKey(JIRA_INCREMENTAL)) {
+            incrementalSettings.validateSettings(settings);
+        }
+        if (settings.containsKey(JIRA_CONCURRENCY)) {
+            concurrencySettings.validateSettings(settings);
+        }
+    }
+
+    @Override
+    protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) throws IOException,
+            CanceledExecutionException {
+        store = JiraOnlineIssueStore.load(nodeInternDir);
+    }
+
+    @Override
+    protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) throws IOException,
+            CanceledExecutionException {
+        if (store != null) {
+            store.save(nodeInternDir);
+        }
     }
 
     static SettingsModelString createSettingsJQL() {
@@ -293,7 +379,15 @@ public class JiraOnlineAdapterNodeModel extends ITSOnlineNodeModel {
         return new SettingsModelBoolean(JIRA_HISTORY, false);
     }
 
-    private class DownloadAndParseIssuesTask implements Callable<List<ITSDataType>> {
+    static SettingsModelBoolean createSettingsIncremental() {
+        return new SettingsModelBoolean(JIRA_INCREMENTAL, false);
+    }
+
+    static SettingsModelIntegerBounded createSettingsConcurrency() {
+        return new SettingsModelIntegerBounded(JIRA_CONCURRENCY, DEFAULT_CONCURRENCY, 1, MAX_CONCURRENCY);
+    }
+
+    private class DownloadAndParseIssuesTask implements Callable<JiraOnlineIssuePage> {
         private URI uri;
         private ITSMappingManager mappingManager;
 
@@ -303,24 +397,93 @@ public class JiraOnlineAdapterNodeModel extends ITSOnlineNodeModel {
         }
 
         @Override
-        public List<ITSDataType> call() throws Exception {
+        public JiraOnlineIssuePage call() throws Exception {
             checkForCancel();
-            String rawData = client.getJSON(uri, getLogin(), getPassword());
+            InputStream rawData = client.getStream(uri, getLogin(), getPassword());
             String hostname = builder.getHostname();
 
+            // parsing reads the response as it arrives and closes it
             markProgressForIssue();
-            checkForCancel();
             JiraOnlineAdapterParser parser = new JiraOnlineAdapterParser(mappingManager.getPriorityModel()
                     .getIncluded(), mappingManager.getTypeModel().getIncluded(), mappingManager.getResolutionModel()
                     .getIncluded(), mappingManager.getStatusModel().getIncluded());
-            List<ITSDataType> list = parser.parseSingleIssueBatch(rawData, hostname);
+            JiraOnlineIssuePage page = parser.parseIssuePage(rawData, hostname);
             markProgressForIssue();
 
-            return list;
+            return page;
         }
     }
 
-    private class DownloadAndParseIssueHistoryTask implements Callable<List<JiraOnlineIssueChangeRowItem>> {
+    /**
+     * Requests separately history of issues whose changelog was cut in a page.
+     */
+    private abstract class PageHandler implements JiraOnlineIssuePipeline.Handler {
+        private final JiraOnlineIssuePipeline pipeline;
+
+        PageHandler(final JiraOnlineIssuePipeline pipeline) {
+            this.pipeline = pipeline;
+        }
+
+        @Override
+        public void handle(final JiraOnlineIssuePage page) throws Exception {
+            requestHistory(pipeline, page.getTruncatedHistoryKeys());
+            accept(page.getIssues(), page.getHistory());
+        }
+
+        protected abstract void accept(List<ITSDataType> issues, List<JiraOnlineIssueChangeRowItem> history);
+    }
+
+    private class PageCollector extends PageHandler {
+        private final List<ITSDataType> issues = newArrayList();
+        private final List<JiraOnlineIssueChangeRowItem> history = newArrayList();
+
+        PageCollector(final JiraOnlineIssuePipeline pipeline) {
+            super(pipeline);
+        }
+
+        @Override
+        protected void accept(final List<ITSDataType> issues, final List<JiraOnlineIssueChangeRowItem> history) {
+            this.issues.addAll(issues);
+            this.history.addAll(history);
+        }
+    }
+
+    /**
+     * Appends rows to both output tables in order of page completion.
+     */
+    private class PageWriter extends PageHandler {
+        private final BufferedDataContainer issues = exec.createDataContainer(createDataColumnSpec());
+        private final BufferedDataContainer history = exec
+                .createDataContainer(JiraOnlineAdapterHistoryTableFactory.createDataColumnSpec());
+        private final Segment historyKeys = RowKeyGenerator.numbered(1).segment(0);
+
+        PageWriter(final JiraOnlineIssuePipeline pipeline) {
+            super(pipeline);
+        }
+
+        @Override
+        protected void accept(final List<ITSDataType> issues, final List<JiraOnlineIssueChangeRowItem> history) {
+            for (ITSDataType issue : issues) {
+                this.issues.addRowToTable(ITSAdapterTableFactory.createTableRow(issue));
+            }
+            for (JiraOnlineIssueChangeRowItem change : history) {
+                this.history.addRowToTable(JiraOnlineAdapterHistoryTableFactory.createTableRow(historyKeys.next(),
+                        change));
+            }
+        }
+
+        BufferedDataTable closeIssues() {
+            issues.close();
+            return issues.getTable();
+        }
+
+        BufferedDataTable closeHistory() {
+            history.close();
+            return history.getTable();
+        }
+    }
+
+    private class DownloadAndParseIssueHistoryTask implements Callable<JiraOnlineIssuePage> {
         private URI uri;
 
         public DownloadAndParseIssueHistoryTask(final URI uri) {
@@ -328,18 +491,18 @@ public class JiraOnlineAdapterNodeModel extends ITSOnlineNodeModel {
         }
 
         @Override
-        public List<JiraOnlineIssueChangeRowItem> call() throws Exception {
+        public JiraOnlineIssuePage call() throws Exception {
             checkForCancel();
 
-            String rawIssue = client.getJSON(uri, getLogin(), getPassword());
+            InputStream rawIssue = client.getStream(uri, getLogin(), getPassword());
 
             markProgressForHistory();
-            checkForCancel();
 
-            List<JiraOnlineIssueChangeRowItem> list = JiraOnlineAdapterParser.parseSingleIssue(rawIssue);
+            JiraOnlineIssuePage page = new JiraOnlineIssuePage();
+            page.getHistory().addAll(JiraOnlineAdapterParser.parseSingleIssue(rawIssue));
             markProgressForHistory();
 
-            return list;
+            return page;
         }
     }
 
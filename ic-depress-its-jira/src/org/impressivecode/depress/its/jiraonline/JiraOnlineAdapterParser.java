@@ -18,11 +18,14 @@
 package org.impressivecode.depress.its.jiraonline;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.text.DateFormat;
+import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.logging.Logger;
 
 import org.impressivecode.depress.its.ITSDataType;
@@ -30,23 +33,27 @@ import org.impressivecode.depress.its.ITSPriority;
 import org.impressivecode.depress.its.ITSResolution;
 import org.impressivecode.depress.its.ITSStatus;
 import org.impressivecode.depress.its.ITSType;
-import org.impressivecode.depress.its.jiraonline.model.JiraOnlineComment;
-import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssue;
 import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChange;
 import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChangeRowItem;
 import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChanges;
 import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueHistory;
-import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueVersion;
-import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssuesList;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
 
 /**
  * Parser from Jira JSON answer to {@link ITSDataType}
  * 
+ * Search result pages are read token by token, issues are built directly from
+ * the stream without binding the whole page to the JSON model first. Changelog
+ * embedded in the page is parsed in the same pass. The rest of the answers is
+ * bound with a mapper shared by all parsers, it is thread safe once
+ * configured.
+ * 
  * @author Marcin Kunert, Wroclaw University of Technology
  * @author Krzysztof Kwoka, Wroclaw University of Technology
  * @author Maciej Borkowski, Capgemini Poland
@@ -55,6 +62,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class JiraOnlineAdapterParser {
     private static final String LINK_PATH = "browse/";
     private static final String UNKNOWN_NAME = "unknown";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = MAPPER.getJsonFactory();
     private final HashMap<String, String[]> priorityMap;
     private final HashMap<String, String[]> typeMap;
     private final HashMap<String, String[]> resolutionMap;
@@ -69,33 +78,54 @@ public class JiraOnlineAdapterParser {
         this.statusMap = status;
     }
 
-    public List<ITSDataType> parseSingleIssueBatch(String source, String hostname) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        JsonFactory jsonFactory = new JsonFactory();
-        JsonParser jp = null;
-        JiraOnlineIssuesList issueList = null;
+    public List<ITSDataType> parseSingleIssueBatch(final String source, final String hostname) throws IOException {
+        return parseIssuePage(JSON_FACTORY.createJsonParser(source), hostname).getIssues();
+    }
+
+    /**
+     * Parses a page of search results, the stream is closed afterwards.
+     */
+    public List<ITSDataType> parseSingleIssueBatch(final InputStream source, final String hostname)
+            throws IOException {
+        return parseIssuePage(source, hostname).getIssues();
+    }
+
+    /**
+     * Parses a page of search results with the changelog of its issues, if it
+     * was requested. The stream is closed afterwards.
+     */
+    public JiraOnlineIssuePage parseIssuePage(final InputStream source, final String hostname) throws IOException {
+        return parseIssuePage(JSON_FACTORY.createJsonParser(source), hostname);
+    }
 
+    private JiraOnlineIssuePage parseIssuePage(final JsonParser jp, final String hostname) throws IOException {
         try {
-            jp = jsonFactory.createJsonParser(source);
-            issueList = objectMapper.readValue(jp, new TypeReference<JiraOnlineIssuesList>() {
-            });
-        } catch (IOException e) {
-            Logger.getLogger("Error").severe(e.getMessage());
+            JiraOnlineIssuePage page = new JiraOnlineIssuePage();
+            // StdDateFormat is not thread safe, it is the format used by the mapper
+            DateFormat dateFormat = new StdDateFormat();
+            expectObject(jp, jp.nextToken());
+            while (jp.nextToken() == JsonToken.FIELD_NAME) {
+                String field = jp.getCurrentName();
+                JsonToken token = jp.nextToken();
+                if ("issues".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (jp.nextToken() == JsonToken.START_OBJECT) {
+                        parseIssue(jp, hostname, dateFormat, page);
+                    }
+                } else {
+                    jp.skipChildren();
+                }
+            }
+            return page;
+        } finally {
+            jp.close();
         }
-
-        return parseData(issueList, hostname);
     }
 
     public static List<JiraOnlineIssueChangeRowItem> parseSingleIssue(final String json) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        JsonFactory jsonFactory = new JsonFactory();
-        JsonParser jp = null;
         JiraOnlineIssueHistory issue = null;
 
         try {
-            jp = jsonFactory.createJsonParser(json);
-            issue = objectMapper.readValue(jp, new TypeReference<JiraOnlineIssueHistory>() {
-            });
+            issue = MAPPER.readValue(json, JiraOnlineIssueHistory.class);
         } catch (IOException e) {
             Logger.getLogger("Error").severe(e.getMessage());
         }
@@ -103,119 +133,351 @@ public class JiraOnlineAdapterParser {
         return parseIssueHistory(issue);
     }
 
-    public static int getTotalIssuesCount(String source) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        JsonFactory jsonFactory = new JsonFactory();
-        JsonParser jp = null;
-        JiraOnlineIssuesList issueList = null;
+    /**
+     * Parses a single issue with its changelog, the stream is closed
+     * afterwards.
+     */
+    public static List<JiraOnlineIssueChangeRowItem> parseSingleIssue(final InputStream source) throws IOException {
+        return parseIssueHistory(MAPPER.readValue(source, JiraOnlineIssueHistory.class));
+    }
+
+    public static int getTotalIssuesCount(final String source) throws IOException {
+        return getTotalIssuesCount(JSON_FACTORY.createJsonParser(source));
+    }
 
+    /**
+     * Reads the total number of issues from a page of search results. Issues
+     * of the page are not parsed, the stream is closed as soon as the total is
+     * found.
+     */
+    public static int getTotalIssuesCount(final InputStream source) throws IOException {
+        return getTotalIssuesCount(JSON_FACTORY.createJsonParser(source));
+    }
+
+    private static int getTotalIssuesCount(final JsonParser jp) throws IOException {
         try {
-            jp = jsonFactory.createJsonParser(source);
-            issueList = objectMapper.readValue(jp, new TypeReference<JiraOnlineIssuesList>() {
-            });
-        } catch (IOException e) {
-            Logger.getLogger("Error").severe(e.getMessage());
+            expectObject(jp, jp.nextToken());
+            while (jp.nextToken() == JsonToken.FIELD_NAME) {
+                String field = jp.getCurrentName();
+                jp.nextToken();
+                if ("total".equals(field)) {
+                    return jp.getIntValue();
+                }
+                jp.skipChildren();
+            }
+            throw new JsonParseException("Total issues count not found", jp.getCurrentLocation());
+        } finally {
+            jp.close();
         }
-
-        return issueList.getTotal();
     }
 
     public static <T> List<T> getCustomList(String source, Class<?> elem) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        JsonFactory jsonFactory = new JsonFactory();
-        JsonParser jp = null;
         List<T> fieldList = null;
 
         try {
-            jp = jsonFactory.createJsonParser(source);
-            fieldList = objectMapper.readValue(jp,
-                    objectMapper.getTypeFactory().constructCollectionType(ArrayList.class, elem));
+            fieldList = MAPPER.readValue(source,
+                    MAPPER.getTypeFactory().constructCollectionType(ArrayList.class, elem));
         } catch (IOException e) {
             Logger.getLogger("Error").severe(e.getMessage());
         }
         return fieldList;
     }
 
-    private List<ITSDataType> parseData(final JiraOnlineIssuesList issueList, final String hostname) {
-        List<ITSDataType> resultList = new ArrayList<>();
-        for (JiraOnlineIssue issue : issueList.getIssues()) {
-            try {
-                ITSDataType data = new ITSDataType();
-                data.setIssueId(issue.getKey());
-
-                String link = hostname + LINK_PATH + issue.getKey();
-                data.setLink(link);
+    private void parseIssue(final JsonParser jp, final String hostname, final DateFormat dateFormat,
+            final JiraOnlineIssuePage page) throws IOException {
+        ITSDataType data = new ITSDataType();
+        data.setAssignees(new HashSet<String>());
+        data.setPriority(ITSPriority.UNKNOWN);
+        data.setType(ITSType.UNKNOWN);
+        data.setStatus(ITSStatus.UNKNOWN);
+        data.setResolution(ITSResolution.UNKNOWN);
+        data.setVersion(new ArrayList<String>());
+        data.setFixVersion(new ArrayList<String>());
+        data.setComments(new ArrayList<String>());
+        data.setCommentAuthors(new HashSet<String>());
+        List<JiraOnlineIssueChangeRowItem> changes = null;
+        boolean changelogComplete = false;
+
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            JsonToken token = jp.nextToken();
+            if ("key".equals(field)) {
+                data.setIssueId(jp.getText());
+                data.setLink(hostname + LINK_PATH + jp.getText());
+            } else if ("fields".equals(field) && token == JsonToken.START_OBJECT) {
+                parseFields(jp, data, dateFormat);
+            } else if ("changelog".equals(field) && token == JsonToken.START_OBJECT) {
+                changes = new ArrayList<>();
+                changelogComplete = parseChangelog(jp, changes, dateFormat);
+            } else {
+                jp.skipChildren();
+            }
+        }
 
-                Set<String> assignees = new HashSet<>();
-                if (issue.getFields().getAssignee() != null) {
-                    assignees.add(issue.getFields().getAssignee().getName());
+        page.getIssues().add(data);
+        if (changes != null) {
+            if (changelogComplete) {
+                // key may follow the changelog in the answer
+                for (JiraOnlineIssueChangeRowItem change : changes) {
+                    change.setKey(data.getIssueId());
                 }
-                data.setAssignees(assignees);
-
-                String valueToParse = null == issue.getFields().getPriority() ? null : issue.getFields().getPriority()
-                        .getName();
-                data.setPriority(parsePriorityFromMap(valueToParse));
+                page.getHistory().addAll(changes);
+            } else {
+                page.getTruncatedHistoryKeys().add(data.getIssueId());
+            }
+        }
+    }
 
-                valueToParse = null == issue.getFields().getIssueType() ? null : issue.getFields().getIssueType()
-                        .getName();
-                data.setType(parseTypeFromMap(valueToParse));
+    /**
+     * @return true if the changelog holds all history entries of the issue
+     */
+    private static boolean parseChangelog(final JsonParser jp, final List<JiraOnlineIssueChangeRowItem> changes,
+            final DateFormat dateFormat) throws IOException {
+        int startAt = 0;
+        int total = -1;
+        int entries = 0;
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            JsonToken token = jp.nextToken();
+            if ("startAt".equals(field)) {
+                startAt = jp.getValueAsInt();
+            } else if ("total".equals(field)) {
+                total = jp.getValueAsInt();
+            } else if ("histories".equals(field) && token == JsonToken.START_ARRAY) {
+                while (jp.nextToken() == JsonToken.START_OBJECT) {
+                    parseHistoryEntry(jp, changes, dateFormat);
+                    entries++;
+                }
+            } else {
+                jp.skipChildren();
+            }
+        }
+        return startAt == 0 && entries >= total;
+    }
 
-                valueToParse = null == issue.getFields().getStatus() ? null : issue.getFields().getStatus().getName();
-                data.setStatus(parseStatusFromMap(valueToParse));
+    private static void parseHistoryEntry(final JsonParser jp, final List<JiraOnlineIssueChangeRowItem> changes,
+            final DateFormat dateFormat) throws IOException {
+        int first = changes.size();
+        String author = null;
+        Date timestamp = null;
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            JsonToken token = jp.nextToken();
+            if ("author".equals(field)) {
+                author = readName(jp);
+            } else if ("created".equals(field)) {
+                timestamp = readDate(jp, dateFormat);
+            } else if ("items".equals(field) && token == JsonToken.START_ARRAY) {
+                while (jp.nextToken() == JsonToken.START_OBJECT) {
+                    changes.add(parseHistoryItem(jp));
+                }
+            } else {
+                jp.skipChildren();
+            }
+        }
+        for (int i = first; i < changes.size(); i++) {
+            changes.get(i).setAuthor(author != null ? author : UNKNOWN_NAME);
+            changes.get(i).setTimestamp(timestamp);
+        }
+    }
 
-                valueToParse = null == issue.getFields().getResolution() ? null : issue.getFields().getResolution()
-                        .getName();
-                data.setResolution(parseResolutionFromMap(valueToParse));
+    private static JiraOnlineIssueChangeRowItem parseHistoryItem(final JsonParser jp) throws IOException {
+        JiraOnlineIssueChangeRowItem change = new JiraOnlineIssueChangeRowItem();
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            jp.nextToken();
+            if ("field".equals(field)) {
+                change.setField(readText(jp));
+            } else if ("fromString".equals(field)) {
+                change.setChangedFrom(readText(jp));
+            } else if ("toString".equals(field)) {
+                change.setChangedTo(readText(jp));
+            } else {
+                jp.skipChildren();
+            }
+        }
+        return change;
+    }
 
-                if (issue.getFields().getTimeTracking() != null) {
-                    data.setTimeEstimate(issue.getFields().getTimeTracking().getEstimate() / 60);
-                    data.setTimeSpent(issue.getFields().getTimeTracking().getSpent() / 60);
+    private void parseFields(final JsonParser jp, final ITSDataType data, final DateFormat dateFormat)
+            throws IOException {
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            jp.nextToken();
+            switch (field) {
+            case "assignee":
+                String assignee = readName(jp);
+                if (assignee != null) {
+                    data.getAssignees().add(assignee);
                 }
+                break;
+            case "priority":
+                data.setPriority(parsePriorityFromMap(readName(jp)));
+                break;
+            case "issuetype":
+                data.setType(parseTypeFromMap(readName(jp)));
+                break;
+            case "status":
+                data.setStatus(parseStatusFromMap(readName(jp)));
+                break;
+            case "resolution":
+                data.setResolution(parseResolutionFromMap(readName(jp)));
+                break;
+            case "timetracking":
+                parseTimeTracking(jp, data);
+                break;
+            case "created":
+                data.setCreated(readDate(jp, dateFormat));
+                break;
+            case "updated":
+                data.setUpdated(readDate(jp, dateFormat));
+                break;
+            case "resolutiondate":
+                data.setResolved(readDate(jp, dateFormat));
+                break;
+            case "versions":
+                readNames(jp, data.getVersion());
+                break;
+            case "fixVersions":
+                readNames(jp, data.getFixVersion());
+                break;
+            case "reporter":
+                data.setReporter(readName(jp));
+                break;
+            case "summary":
+                data.setSummary(readText(jp));
+                break;
+            case "description":
+                data.setDescription(readText(jp));
+                break;
+            case "comment":
+                parseComments(jp, data);
+                break;
+            default:
+                jp.skipChildren();
+            }
+        }
+    }
 
-                data.setCreated(issue.getFields().getCreated());
-                data.setUpdated(issue.getFields().getUpdated());
-                data.setResolved(issue.getFields().getResolved());
+    private static void parseTimeTracking(final JsonParser jp, final ITSDataType data) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_OBJECT) {
+            jp.skipChildren();
+            return;
+        }
+        int estimate = 0;
+        int spent = 0;
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            jp.nextToken();
+            if ("originalEstimateSeconds".equals(field)) {
+                estimate = jp.getValueAsInt();
+            } else if ("timeSpentSeconds".equals(field)) {
+                spent = jp.getValueAsInt();
+            } else {
+                jp.skipChildren();
+            }
+        }
+        data.setTimeEstimate(estimate / 60);
+        data.setTimeSpent(spent / 60);
+    }
 
-                List<String> versions = new ArrayList<>();
-                if (issue.getFields().getVersions() != null) {
-                    for (JiraOnlineIssueVersion version : issue.getFields().getVersions()) {
-                        versions.add(version.getName());
-                    }
+    private static void parseComments(final JsonParser jp, final ITSDataType data) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_OBJECT) {
+            jp.skipChildren();
+            return;
+        }
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            JsonToken token = jp.nextToken();
+            if ("comments".equals(field) && token == JsonToken.START_ARRAY) {
+                while (jp.nextToken() == JsonToken.START_OBJECT) {
+                    parseComment(jp, data);
                 }
-                data.setVersion(versions);
+            } else {
+                jp.skipChildren();
+            }
+        }
+    }
 
-                List<String> fixVersions = new ArrayList<>();
-                if (issue.getFields().getFixVersions() != null) {
-                    for (JiraOnlineIssueVersion version : issue.getFields().getFixVersions()) {
-                        fixVersions.add(version.getName());
-                    }
+    private static void parseComment(final JsonParser jp, final ITSDataType data) throws IOException {
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            jp.nextToken();
+            if ("body".equals(field)) {
+                data.getComments().add(readText(jp));
+            } else if ("author".equals(field)) {
+                String author = readName(jp);
+                if (author != null) {
+                    data.getCommentAuthors().add(author);
                 }
-                data.setFixVersion(fixVersions);
+            } else {
+                jp.skipChildren();
+            }
+        }
+    }
 
-                if (issue.getFields().getReporter() != null) {
-                    data.setReporter(issue.getFields().getReporter().getName());
-                }
+    /**
+     * @return name of the current object, like user, status or version, null
+     *         if the value is not an object
+     */
+    private static String readName(final JsonParser jp) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_OBJECT) {
+            jp.skipChildren();
+            return null;
+        }
+        String name = null;
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            jp.nextToken();
+            if ("name".equals(field)) {
+                name = readText(jp);
+            } else {
+                jp.skipChildren();
+            }
+        }
+        return name;
+    }
 
-                data.setSummary(issue.getFields().getSummary());
-                data.setDescription(issue.getFields().getDescription());
+    private static void readNames(final JsonParser jp, final List<String> names) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+            jp.skipChildren();
+            return;
+        }
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            names.add(readName(jp));
+        }
+    }
 
-                List<String> comments = new ArrayList<>();
-                Set<String> commentAuthors = new HashSet<>();
-                for (JiraOnlineComment comment : issue.getFields().getComment().getComments()) {
-                    comments.add(comment.getBody());
-                    commentAuthors.add(comment.getAuthor().getName());
-                }
-                data.setComments(comments);
-                data.setCommentAuthors(commentAuthors);
+    private static String readText(final JsonParser jp) throws IOException {
+        return jp.getCurrentToken() == JsonToken.VALUE_NULL ? null : jp.getText();
+    }
 
-                resultList.add(data);
-            } catch (Exception e) {
-                System.out.println("Failed to parse issue: " + issue.getLink());
+    private static Date readDate(final JsonParser jp, final DateFormat dateFormat) throws IOException {
+        switch (jp.getCurrentToken()) {
+        case VALUE_NUMBER_INT:
+            return new Date(jp.getLongValue());
+        case VALUE_STRING:
+            String text = jp.getText().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return dateFormat.parse(text);
+            } catch (ParseException e) {
+                throw new JsonParseException("Invalid date: " + text, jp.getCurrentLocation(), e);
             }
+        default:
+            jp.skipChildren();
+            return null;
         }
-        return resultList;
     }
-    
+
+    private static void expectObject(final JsonParser jp, final JsonToken token) throws JsonParseException {
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException("Expected JSON object, found " + token, jp.getCurrentLocation());
+        }
+    }
+
     private ITSResolution parseResolutionFromMap(final String valueToParse) {
         if (valueToParse == null) {
             return ITSResolution.UNKNOWN;
@@ -17,24 +17,44 @@
  */
 package org.impressivecode.depress.its.jiraonline;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.Authenticator;
 import java.net.PasswordAuthentication;
 import java.net.URI;
 
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.core.Response;
 
+import org.knime.core.node.NodeLogger;
+
 /**
  * @author Marcin Kunert, Wroclaw University of Technology
  * @author Dawid Rutowicz, Wroclaw University of Technology
  * @author Maciej Borkowski, Capgemini Poland
  */
 public class JiraOnlineAdapterRsClient {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(JiraOnlineAdapterRsClient.class);
+    private static final int DEFAULT_CONCURRENCY = 10;
+    private static final String RETRY_AFTER = "Retry-After";
 
     private Client client;
+    private final JiraOnlineRequestScheduler scheduler;
 
     public JiraOnlineAdapterRsClient() {
+        this(new JiraOnlineRequestScheduler(DEFAULT_CONCURRENCY));
+    }
+
+    /**
+     * @param scheduler
+     *            shared by all requests sent with this client, limits their
+     *            concurrency and paces retries
+     */
+    public JiraOnlineAdapterRsClient(final JiraOnlineRequestScheduler scheduler) {
+        this.scheduler = scheduler;
         createClient();
     }
     
@@ -49,9 +69,43 @@ public class JiraOnlineAdapterRsClient {
 
     public String getJSON(URI uri, String username, String password) throws Exception {
         registerCredentials(username, password);
-        Response response = getReponse(uri);
-        isDataFetchSuccessful(response);
-        return reponseToString(response);
+        Response response = fetch(uri);
+        try {
+            return reponseToString(response);
+        } finally {
+            scheduler.release();
+        }
+    }
+
+    /**
+     * @return body of the response, to be read and closed by the caller
+     */
+    public InputStream getStream(URI uri, String username, String password) throws Exception {
+        registerCredentials(username, password);
+        Response response = fetch(uri);
+        InputStream body;
+        try {
+            body = response.readEntity(InputStream.class);
+        } catch (RuntimeException e) {
+            scheduler.release();
+            throw e;
+        }
+        // the request keeps its place in the scheduler until the body is read
+        return new FilterInputStream(body) {
+            private boolean released;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!released) {
+                        released = true;
+                        scheduler.release();
+                    }
+                }
+            }
+        };
     }
     
     public boolean testConnection(URI uri) throws Exception {
@@ -60,6 +114,62 @@ public class JiraOnlineAdapterRsClient {
         return isDataFetchSuccessful(response);
     }
 
+    /**
+     * Sends a GET request once the scheduler allows it. Throttled requests,
+     * gateway errors and connection failures are retried after a backoff, GET
+     * being idempotent. Returns a successful response holding a place in the
+     * scheduler, it has to be released by the caller.
+     */
+    private Response fetch(URI uri) throws Exception {
+        for (int attempt = 1;; attempt++) {
+            scheduler.acquire();
+            long start = System.nanoTime();
+            Response response;
+            try {
+                response = getReponse(uri);
+            } catch (ProcessingException e) {
+                scheduler.failed(0);
+                scheduler.release();
+                if (attempt >= JiraOnlineRequestScheduler.MAX_ATTEMPTS) {
+                    throw e;
+                }
+                LOGGER.warn("Request to " + uri + " failed, retrying: " + e.getMessage());
+                Thread.sleep(scheduler.backoff(attempt));
+                continue;
+            }
+            if (isRetryable(response.getStatus())) {
+                scheduler.failed(JiraOnlineRequestScheduler.retryAfterMillis(response.getHeaderString(RETRY_AFTER),
+                        System.currentTimeMillis()));
+                if (attempt < JiraOnlineRequestScheduler.MAX_ATTEMPTS) {
+                    response.close();
+                    scheduler.release();
+                    LOGGER.warn("JIRA answered " + response.getStatus() + " to " + uri + ", retrying");
+                    // the scheduler holds the request back further if the server asked to wait longer
+                    Thread.sleep(scheduler.backoff(attempt));
+                    continue;
+                }
+            } else {
+                scheduler.answered(System.nanoTime() - start);
+            }
+            try {
+                isDataFetchSuccessful(response);
+            } catch (Exception e) {
+                response.close();
+                scheduler.release();
+                throw e;
+            }
+            return response;
+        }
+    }
+
+    private boolean isRetryable(int status) {
+        return status == 429 || status == 502 || status == 503 || status == 504;
+    }
+
+    public JiraOnlineRequestScheduler getScheduler() {
+        return scheduler;
+    }
+
     private void createClient() {
         client = ClientBuilder.newClient();
     }
@@ -54,6 +54,7 @@ public class JiraOnlineAdapterUriBuilder {
     private int startingIndex = 0;
     private String issueKey;
     private String projectName;
+    private Integer updatedInLastMinutes;
 
     private String hostname;
     private String jql;
@@ -72,6 +73,16 @@ public class JiraOnlineAdapterUriBuilder {
         return this;
     }
 
+    /**
+     * Restricts queried issues to the ones updated in the given number of
+     * minutes before the query is executed. The period is relative to the
+     * server time, so it does not depend on the time zone of the user.
+     */
+    public JiraOnlineAdapterUriBuilder setUpdatedInLastMinutes(final Integer minutes) {
+        this.updatedInLastMinutes = minutes;
+        return this;
+    }
+
     public JiraOnlineAdapterUriBuilder setIsTest(boolean isTest) {
         this.isTest = isTest;
         return this;
@@ -89,7 +100,9 @@ public class JiraOnlineAdapterUriBuilder {
 
         switch (mode) {
         case MULTIPLE_ISSUES:
-            return buildMultiIssuesURI();
+            return buildMultiIssuesURI(false);
+        case MULTIPLE_ISSUES_WITH_HISTORY:
+            return buildMultiIssuesURI(true);
         case SINGLE_ISSUE_WITH_HISTORY:
             return buildIssueHistoryURI();
         case PRIORITY_LIST:
@@ -107,7 +120,7 @@ public class JiraOnlineAdapterUriBuilder {
         }
     }
 
-    private URI buildMultiIssuesURI() {
+    private URI buildMultiIssuesURI(final boolean withHistory) {
         StringBuilder jqlBuilder = new StringBuilder();
 
         if (jql != null) {
@@ -120,6 +133,11 @@ public class JiraOnlineAdapterUriBuilder {
             jqlBuilder.append(CONJUNCTION);
         }
 
+        if (updatedInLastMinutes != null) {
+            jqlBuilder.append("updated >= \"-" + updatedInLastMinutes + "m\"");
+            jqlBuilder.append(CONJUNCTION);
+        }
+
         String uriJQL = null;
         if (jqlBuilder.toString().endsWith(CONJUNCTION)) {
             uriJQL = jqlBuilder.substring(0, jqlBuilder.length() - 5);
@@ -128,16 +146,19 @@ public class JiraOnlineAdapterUriBuilder {
         }
 
         // @formatter:off
-        URI result = UriBuilder.fromPath(QUERY_URI_PATH)
+        UriBuilder builder = UriBuilder.fromPath(QUERY_URI_PATH)
                 .resolveTemplate("protocol", protocol)
                 .resolveTemplateFromEncoded("hostname", hostname)
                 .queryParam(FIELDS_PARAM, "*all")
                 .queryParam(START_AT, startingIndex)
                 .queryParam(MAX_RESULTS, ISSUES_PER_BATCH)
-                .queryParam(QUERY_PARAM, uriJQL)
-                .build();
+                .queryParam(QUERY_PARAM, uriJQL);
         // @formatter:on
-        return result;
+        if (withHistory) {
+            // the server may cut long changelogs, see JiraOnlineIssuePage
+            builder.queryParam(EXPAND_PARAM, "changelog");
+        }
+        return builder.build();
     }
 
     private URI buildIssueHistoryURI() {
@@ -255,6 +276,7 @@ public class JiraOnlineAdapterUriBuilder {
     }
 
     public enum Mode {
-        SINGLE_ISSUE_WITH_HISTORY, MULTIPLE_ISSUES, STATE_LIST, PRIORITY_LIST, RESOLUTION_LIST, TYPE_LIST, PROJECT_LIST;
+        SINGLE_ISSUE_WITH_HISTORY, MULTIPLE_ISSUES, MULTIPLE_ISSUES_WITH_HISTORY, STATE_LIST, PRIORITY_LIST,
+        RESOLUTION_LIST, TYPE_LIST, PROJECT_LIST;
     }
 }
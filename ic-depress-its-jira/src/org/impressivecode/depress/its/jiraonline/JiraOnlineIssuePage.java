@@ -0,0 +1,50 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its.jiraonline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.impressivecode.depress.its.ITSDataType;
+import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChangeRowItem;
+
+/**
+ * Issues read from a page of search results. When the page was requested with
+ * the changelog, it also holds history of the issues whose changelog was
+ * complete and keys of the issues whose changelog was cut by the server.
+ */
+public class JiraOnlineIssuePage {
+    private final List<ITSDataType> issues = new ArrayList<>();
+    private final List<JiraOnlineIssueChangeRowItem> history = new ArrayList<>();
+    private final List<String> truncatedHistoryKeys = new ArrayList<>();
+
+    public List<ITSDataType> getIssues() {
+        return issues;
+    }
+
+    public List<JiraOnlineIssueChangeRowItem> getHistory() {
+        return history;
+    }
+
+    /**
+     * @return keys of issues whose history has to be downloaded separately
+     */
+    public List<String> getTruncatedHistoryKeys() {
+        return truncatedHistoryKeys;
+    }
+}
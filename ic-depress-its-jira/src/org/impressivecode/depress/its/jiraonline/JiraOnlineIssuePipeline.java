@@ -0,0 +1,133 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its.jiraonline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Runs download tasks on an executor and hands their pages to a single writer
+ * thread as soon as each of them is ready, instead of waiting for all of them.
+ * Finished pages wait in a bounded queue; when the writer falls behind,
+ * workers block on the queue and do not start further requests until it
+ * catches up.
+ * 
+ * Tasks are submitted and pages handled by the writer thread only, the
+ * handler may submit further tasks, e.g. for history of issues found in a
+ * page. The first failed task stops the executor and its exception is thrown
+ * to the writer.
+ */
+public class JiraOnlineIssuePipeline {
+
+    private static final long POLL_MILLIS = 200;
+
+    private final ExecutorService executor;
+    private final BlockingQueue<Result> results;
+    private int pending;
+
+    public JiraOnlineIssuePipeline(final ExecutorService executor, final int capacity) {
+        checkArgument(capacity > 0, "Capacity has to be positive");
+        this.executor = checkNotNull(executor, "Executor has to be set");
+        this.results = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public void submit(final Callable<JiraOnlineIssuePage> task) {
+        checkNotNull(task, "Task has to be set");
+        pending++;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Result result;
+                try {
+                    result = new Result(task.call(), null);
+                } catch (Throwable e) {
+                    result = new Result(null, e);
+                }
+                try {
+                    results.put(result);
+                } catch (InterruptedException e) {
+                    // executor is shut down, nobody waits for the result
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+
+    /**
+     * Passes pages to the handler in order of completion, until all submitted
+     * tasks are done. Running tasks are stopped when the execution is canceled
+     * or any of them fails.
+     */
+    public void drain(final Handler handler, final ExecutionMonitor exec) throws Exception {
+        boolean completed = false;
+        try {
+            while (pending > 0) {
+                exec.checkCanceled();
+                Result result = results.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (result == null) {
+                    continue;
+                }
+                pending--;
+                if (result.failure instanceof Exception) {
+                    throw (Exception) result.failure;
+                }
+                if (result.failure != null) {
+                    throw (Error) result.failure;
+                }
+                handler.handle(result.page);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * @return number of tasks whose pages were not handled yet
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Receives pages on the writer thread.
+     */
+    public interface Handler {
+        void handle(JiraOnlineIssuePage page) throws Exception;
+    }
+
+    private static final class Result {
+        private final JiraOnlineIssuePage page;
+        private final Throwable failure;
+
+        Result(final JiraOnlineIssuePage page, final Throwable failure) {
+            this.page = page;
+            this.failure = failure;
+        }
+    }
+}
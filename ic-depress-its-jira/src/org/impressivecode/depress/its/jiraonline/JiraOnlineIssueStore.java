@@ -0,0 +1,278 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its.jiraonline;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.impressivecode.depress.common.Records.readDate;
+import static org.impressivecode.depress.common.Records.readString;
+import static org.impressivecode.depress.common.Records.readVarInt;
+import static org.impressivecode.depress.common.Records.writeDate;
+import static org.impressivecode.depress.common.Records.writeString;
+import static org.impressivecode.depress.common.Records.writeVarInt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.impressivecode.depress.its.ITSDataCodec;
+import org.impressivecode.depress.its.ITSDataType;
+import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChangeRowItem;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Strings;
+
+/**
+ * Issues downloaded from a JIRA instance together with the time of the last
+ * successful synchronization. Used by the incremental mode of the JIRA online
+ * node: only issues updated since the last synchronization have to be
+ * downloaded on the next execution, they replace stored issues with the same
+ * key.
+ *
+ * Issues deleted on the server, or updated so that they no longer match the
+ * query, are kept until the store is dropped by changing the node settings.
+ *
+ * The store is kept in the node internals as a gzipped binary file.
+ */
+public class JiraOnlineIssueStore {
+
+    static final String FILE_NAME = "jira-issues.bin";
+
+    /**
+     * Issues updated shortly before the last synchronization are downloaded
+     * again, so differences between the local and the server clock do not
+     * cause updates to be missed.
+     */
+    static final int SYNC_OVERLAP_MINUTES = 10;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final ITSDataCodec ISSUE_CODEC = new ITSDataCodec();
+
+    private final String hostname;
+    private final String projectName;
+    private final String jql;
+    private final String mapping;
+    private final boolean history;
+    private Date lastSync;
+    private final Map<String, ITSDataType> issues;
+    private final Map<String, List<JiraOnlineIssueChangeRowItem>> changes;
+
+    public JiraOnlineIssueStore(final String hostname, final String projectName, final String jql,
+            final String mapping, final boolean history) {
+        this(hostname, projectName, jql, mapping, history, null, new LinkedHashMap<String, ITSDataType>(),
+                new HashMap<String, List<JiraOnlineIssueChangeRowItem>>());
+    }
+
+    private JiraOnlineIssueStore(final String hostname, final String projectName, final String jql,
+            final String mapping, final boolean history, final Date lastSync, final Map<String, ITSDataType> issues,
+            final Map<String, List<JiraOnlineIssueChangeRowItem>> changes) {
+        this.hostname = checkNotNull(hostname, "Hostname has to be set");
+        this.projectName = Strings.nullToEmpty(projectName);
+        this.jql = Strings.nullToEmpty(jql);
+        this.mapping = Strings.nullToEmpty(mapping);
+        this.history = history;
+        this.lastSync = lastSync;
+        this.issues = issues;
+        this.changes = changes;
+    }
+
+    /**
+     * @return true if stored issues were downloaded with the same hostname,
+     *         project, query, value mapping and history settings
+     */
+    public boolean matches(final String hostname, final String projectName, final String jql, final String mapping,
+            final boolean history) {
+        return Objects.equal(this.hostname, hostname)
+                && Objects.equal(this.projectName, Strings.nullToEmpty(projectName))
+                && Objects.equal(this.jql, Strings.nullToEmpty(jql))
+                && Objects.equal(this.mapping, Strings.nullToEmpty(mapping)) && this.history == history;
+    }
+
+    /**
+     * @return start of the last successful synchronization or null if there
+     *         was none
+     */
+    public Date getLastSync() {
+        return lastSync;
+    }
+
+    /**
+     * @return length of the period, in whole minutes, for which updated issues
+     *         have to be downloaded, including {@link #SYNC_OVERLAP_MINUTES}
+     */
+    public int getMinutesToSync(final Date now) {
+        checkNotNull(lastSync, "Store was never synchronized");
+        long millis = Math.max(now.getTime() - lastSync.getTime(), 0);
+        return (int) ((millis + 59999) / 60000) + SYNC_OVERLAP_MINUTES;
+    }
+
+    /**
+     * Replaces stored issues with the downloaded ones, new issues are appended.
+     * History of each downloaded issue replaces the stored one when history
+     * is kept.
+     * 
+     * @param syncStart
+     *            time at which the downloaded issues were queried
+     */
+    public void merge(final List<ITSDataType> updated, final List<JiraOnlineIssueChangeRowItem> updatedChanges,
+            final Date syncStart) {
+        for (ITSDataType issue : updated) {
+            issues.put(issue.getIssueId(), issue);
+            if (history) {
+                changes.put(issue.getIssueId(), new ArrayList<JiraOnlineIssueChangeRowItem>());
+            }
+        }
+        if (history) {
+            for (JiraOnlineIssueChangeRowItem change : updatedChanges) {
+                List<JiraOnlineIssueChangeRowItem> issueChanges = changes.get(change.getKey());
+                if (issueChanges != null) {
+                    issueChanges.add(change);
+                }
+            }
+        }
+        lastSync = checkNotNull(syncStart, "Synchronization time has to be set");
+    }
+
+    public int size() {
+        return issues.size();
+    }
+
+    public List<ITSDataType> getIssues() {
+        return new ArrayList<ITSDataType>(issues.values());
+    }
+
+    /**
+     * @return history of stored issues, in the order of issues
+     */
+    public List<JiraOnlineIssueChangeRowItem> getHistory() {
+        List<JiraOnlineIssueChangeRowItem> result = new ArrayList<JiraOnlineIssueChangeRowItem>();
+        for (String key : issues.keySet()) {
+            List<JiraOnlineIssueChangeRowItem> issueChanges = changes.get(key);
+            if (issueChanges != null) {
+                result.addAll(issueChanges);
+            }
+        }
+        return result;
+    }
+
+    public void save(final File internDir) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(
+                new File(internDir, FILE_NAME)))));
+        try {
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, hostname);
+            writeString(out, projectName);
+            writeString(out, jql);
+            writeString(out, mapping);
+            out.writeBoolean(history);
+            writeDate(out, lastSync);
+            writeVarInt(out, issues.size());
+            for (ITSDataType issue : issues.values()) {
+                ISSUE_CODEC.write(out, issue);
+                writeChanges(out, changes.get(issue.getIssueId()));
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * @return store kept in given directory or null if there is none
+     */
+    public static JiraOnlineIssueStore load(final File internDir) throws IOException {
+        File file = new File(internDir, FILE_NAME);
+        if (!file.exists()) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        try {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported JIRA issue store version: " + version);
+            }
+            String hostname = readString(in);
+            String projectName = readString(in);
+            String jql = readString(in);
+            String mapping = readString(in);
+            boolean history = in.readBoolean();
+            Date lastSync = readDate(in);
+            int size = readVarInt(in);
+            Map<String, ITSDataType> issues = new LinkedHashMap<String, ITSDataType>();
+            Map<String, List<JiraOnlineIssueChangeRowItem>> changes = new HashMap<String,
+                    List<JiraOnlineIssueChangeRowItem>>();
+            for (int i = 0; i < size; i++) {
+                ITSDataType issue = ISSUE_CODEC.read(in);
+                issues.put(issue.getIssueId(), issue);
+                List<JiraOnlineIssueChangeRowItem> issueChanges = readChanges(in, issue.getIssueId());
+                if (issueChanges != null) {
+                    changes.put(issue.getIssueId(), issueChanges);
+                }
+            }
+            return new JiraOnlineIssueStore(hostname, projectName, jql, mapping, history, lastSync, issues, changes);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void writeChanges(final DataOutputStream out, final List<JiraOnlineIssueChangeRowItem> changes)
+            throws IOException {
+        writeVarInt(out, changes == null ? -1 : changes.size());
+        if (changes == null) {
+            return;
+        }
+        for (JiraOnlineIssueChangeRowItem change : changes) {
+            writeDate(out, change.getTimestamp());
+            writeString(out, change.getAuthor());
+            writeString(out, change.getField());
+            writeString(out, change.getChangedFrom());
+            writeString(out, change.getChangedTo());
+        }
+    }
+
+    private static List<JiraOnlineIssueChangeRowItem> readChanges(final DataInputStream in, final String key)
+            throws IOException {
+        int size = readVarInt(in);
+        if (size < 0) {
+            return null;
+        }
+        List<JiraOnlineIssueChangeRowItem> changes = new ArrayList<JiraOnlineIssueChangeRowItem>(size);
+        for (int i = 0; i < size; i++) {
+            JiraOnlineIssueChangeRowItem change = new JiraOnlineIssueChangeRowItem();
+            change.setKey(key);
+            change.setTimestamp(readDate(in));
+            change.setAuthor(readString(in));
+            change.setField(readString(in));
+            change.setChangedFrom(readString(in));
+            change.setChangedTo(readString(in));
+            changes.add(change);
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its.jiraonline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Limits the number of requests sent to a JIRA server at the same time. The
+ * limit starts low and grows by one after each round of answers, a round being
+ * as many answers as the current limit. It shrinks by one when the average
+ * latency of a round gets much higher than the best observed so far, and is
+ * halved when the server throttles requests or fails. It never exceeds the
+ * ceiling given by the user.
+ * 
+ * When the server asks to wait with a <code>Retry-After</code> header no
+ * request is sent until that time passes.
+ */
+public class JiraOnlineRequestScheduler {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(JiraOnlineRequestScheduler.class);
+
+    static final int INITIAL_CONCURRENCY = 2;
+    static final int MAX_ATTEMPTS = 6;
+    static final long DEFAULT_BACKOFF_MILLIS = 500;
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+    // lets the latency baseline follow a server that got slower for good
+    private static final double BASELINE_DRIFT = 1.1;
+    private static final long MAX_BACKOFF_MILLIS = 60000;
+    private static final long MAX_RETRY_AFTER_MILLIS = 15 * 60000;
+    private static final String HTTP_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+    private final int maxConcurrency;
+    private final long backoffMillis;
+    private final Random random = new Random();
+    private final Lock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private int limit;
+    private int inFlight;
+    private long pausedUntil;
+    private int roundAnswers;
+    private long roundLatency;
+    private double baseline;
+    private int answersSinceDecrease;
+
+    public JiraOnlineRequestScheduler(final int maxConcurrency) {
+        this(maxConcurrency, DEFAULT_BACKOFF_MILLIS);
+    }
+
+    JiraOnlineRequestScheduler(final int maxConcurrency, final long backoffMillis) {
+        checkArgument(maxConcurrency > 0, "Concurrency ceiling has to be positive");
+        this.maxConcurrency = maxConcurrency;
+        this.backoffMillis = backoffMillis;
+        this.limit = Math.min(INITIAL_CONCURRENCY, maxConcurrency);
+        this.answersSinceDecrease = limit;
+    }
+
+    /**
+     * Waits until a request may be sent. Each successful call has to be
+     * followed by {@link #release()}.
+     */
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                long pause = pausedUntil - System.currentTimeMillis();
+                if (pause > 0) {
+                    changed.await(pause, TimeUnit.MILLISECONDS);
+                } else if (inFlight >= limit) {
+                    changed.await();
+                } else {
+                    break;
+                }
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a regular answer of the server.
+     * 
+     * @param latencyNanos
+     *            time from sending the request to receiving the answer headers
+     */
+    public void answered(final long latencyNanos) {
+        lock.lock();
+        try {
+            answersSinceDecrease++;
+            roundAnswers++;
+            roundLatency += latencyNanos;
+            if (roundAnswers >= limit) {
+                adjustAfterRound((double) roundLatency / roundAnswers);
+                roundAnswers = 0;
+                roundLatency = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a request which was throttled, failed on the server side or
+     * could not be sent at all.
+     * 
+     * @param retryAfterMillis
+     *            time the server asked to wait before the next request, 0 if
+     *            it did not ask
+     */
+    public void failed(final long retryAfterMillis) {
+        lock.lock();
+        try {
+            // requests sent together fail together, shrink once for all of them
+            if (answersSinceDecrease >= limit) {
+                limit = Math.max(limit / 2, 1);
+                answersSinceDecrease = 0;
+                roundAnswers = 0;
+                roundLatency = 0;
+                LOGGER.debug("JIRA request failed, concurrency limit decreased to " + limit);
+            }
+            if (retryAfterMillis > 0) {
+                long until = System.currentTimeMillis() + Math.min(retryAfterMillis, MAX_RETRY_AFTER_MILLIS);
+                pausedUntil = Math.max(pausedUntil, until);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return time to wait before the given retry of a request, exponentially
+     *         growing with a random jitter, so retries of requests which
+     *         failed together are spread in time
+     */
+    public long backoff(final int attempt) {
+        long max = Math.min(backoffMillis << Math.min(attempt, 20), MAX_BACKOFF_MILLIS);
+        synchronized (random) {
+            return max / 2 + (long) (random.nextDouble() * (max / 2));
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private void adjustAfterRound(final double averageLatency) {
+        if (baseline > 0 && averageLatency > baseline * LATENCY_TOLERANCE) {
+            if (limit > 1) {
+                limit--;
+                LOGGER.debug("JIRA answers slowed down, concurrency limit decreased to " + limit);
+            }
+        } else if (limit < maxConcurrency) {
+            limit++;
+            changed.signalAll();
+        }
+        baseline = baseline > 0 ? Math.min(averageLatency, baseline * BASELINE_DRIFT) : averageLatency;
+    }
+
+    /**
+     * @param header
+     *            value of <code>Retry-After</code>, either a number of seconds
+     *            or an HTTP date
+     * @return time to wait in milliseconds, 0 if the header is missing or
+     *         invalid
+     */
+    static long retryAfterMillis(final String header, final long now) {
+        if (header == null || header.trim().isEmpty()) {
+            return 0;
+        }
+        String value = header.trim();
+        try {
+            return Math.max(Long.parseLong(value) * 1000, 0);
+        } catch (NumberFormatException e) {
+            SimpleDateFormat format = new SimpleDateFormat(HTTP_DATE_FORMAT, Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+            try {
+                return Math.max(format.parse(value).getTime() - now, 0);
+            } catch (ParseException pe) {
+                return 0;
+            }
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.team.core.RepositoryProvider;
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.mr.astcompare.ast.AstController;
 import org.impressivecode.depress.mr.astcompare.db.DbHandler;
 import org.impressivecode.depress.mr.astcompare.svn.SvnHandler;
@@ -81,6 +83,7 @@ public class AstComparePluginNodeModel extends NodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass()).phase(Phase.TRANSFORM);
         long revisionDateMin = Utils.getTime(m_dateFrom.getStringValue());
         long revisionDateMax = Utils.getTime(m_dateTo.getStringValue());
 
@@ -95,11 +98,13 @@ public class AstComparePluginNodeModel extends NodeModel {
                         revisionDateMin, revisionDateMax);
             }
         }
+        telemetry.phase(Phase.WRITE);
         AstMetricsTransformer astMetricsTransformer = new AstMetricsTransformer(createDataColumnSpec());
         BufferedDataTable out = astMetricsTransformer.transform(astMetricsTransformer.getMetricEntries(db,
                 selectedProject.getName(), revisionDateMin, revisionDateMax,
                 getWeeksAsInteger(m_weeks.getStringValue())), exec);
 
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
@@ -1,6 +1,5 @@
 package org.impressivecode.depress.mr.astcompare.utils;
 
-import static com.google.common.base.Preconditions.checkNotNull;
 import static org.impressivecode.depress.common.Cells.doubleOrMissingCell;
 import static org.impressivecode.depress.mr.astcompare.utils.Utils.addWeeksToDate;
 import static org.impressivecode.depress.mr.astcompare.utils.Utils.getDateAsString;
@@ -10,16 +9,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.impressivecode.depress.mr.astcompare.db.DbHandler;
 import org.impressivecode.depress.mr.astcompare.db.Metric;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.def.DefaultRow;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
-import org.knime.core.node.ExecutionContext;
 
 import com.google.common.collect.Lists;
 
@@ -40,37 +38,14 @@ import com.google.common.collect.Lists;
  You should have received a copy of the GNU General Public License
  along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-public class AstMetricsTransformer {
-
-    private final DataTableSpec tableSpec;
+public class AstMetricsTransformer extends ParallelOutputTransformer<Metric> {
 
     public AstMetricsTransformer(final DataTableSpec tableSpec) {
-        checkNotNull(tableSpec, "table specification can not be null.");
-        this.tableSpec = tableSpec;
-    }
-
-    public BufferedDataTable transform(final List<Metric> astMetrics, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        exec.setProgress(0.85d);
-
-        for (Metric entry : astMetrics) {
-            exec.checkCanceled();
-
-            DataRow row = createTableRow(entry);
-            container.addRowToTable(row);
-        }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        exec.setProgress(1.0d);
-        return out;
-    }
-
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
+        super(tableSpec);
     }
 
-    private DataRow createTableRow(final Metric entry) {
+    @Override
+    protected DataRow createTableRow(final Segment keys, final Metric entry) {
         DataCell[] cells = getMetricCells(entry);
         DataRow row = new DefaultRow(entry.getMethodName(), cells);
         return row;
@@ -0,0 +1,73 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.mg.ipa;
+
+import static org.impressivecode.depress.common.Records.readString;
+import static org.impressivecode.depress.common.Records.readVarInt;
+import static org.impressivecode.depress.common.Records.writeString;
+import static org.impressivecode.depress.common.Records.writeVarInt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.impressivecode.depress.common.RecordCodec;
+import org.impressivecode.depress.its.ITSDataType;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Binary format of the metric spilled to disk. Only ids of the issues are
+ * written, issues are looked up by id when the metric is read.
+ */
+class IssuesMetricCodec implements RecordCodec<IssuesMetricType> {
+
+    private final Map<String, ITSDataType> issues;
+
+    /**
+     * @param issues
+     *            issues by trimmed id
+     */
+    IssuesMetricCodec(final Map<String, ITSDataType> issues) {
+        this.issues = issues;
+    }
+
+    @Override
+    public void write(final DataOutput out, final IssuesMetricType value) throws IOException {
+        writeString(out, value.getResourceName());
+        writeVarInt(out, value.getIssues().size());
+        for (ITSDataType issue : value.getIssues()) {
+            writeString(out, issue.getIssueId().trim());
+        }
+    }
+
+    @Override
+    public IssuesMetricType read(final DataInput in) throws IOException {
+        IssuesMetricType value = new IssuesMetricType();
+        value.setResourceName(readString(in));
+        int size = readVarInt(in);
+        List<ITSDataType> items = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            items.add(issues.get(readString(in)));
+        }
+        value.setIssues(items);
+        return value;
+    }
+}
@@ -20,6 +20,7 @@ package org.impressivecode.depress.mg.ipa;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Lists.newArrayList;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -40,27 +41,67 @@ public class IssuesMetricMetricProcessor {
     private Map<String, IssuesMetricType> metricResult;
 
     public IssuesMetricMetricProcessor(final List<ITSDataType> issues, final List<MarkerDataType> changes) {
-        this.issues = convert2Map(checkNotNull(issues, "Issues has to be set"));
+        this(issues);
         this.changes = checkNotNull(changes, "Changes has to be set");
-        this.metricResult = Maps.newHashMap();
+    }
+
+    /**
+     * Creates processor for changes passed one by one with
+     * {@link #process(MarkerDataType)}.
+     */
+    public IssuesMetricMetricProcessor(final List<ITSDataType> issues) {
+        this(convert2Map(checkNotNull(issues, "Issues has to be set")), Maps.<String, IssuesMetricType> newHashMap());
+    }
+
+    /**
+     * Creates processor for changes passed one by one with
+     * {@link #process(MarkerDataType)}, keeping its state in given maps, e.g.
+     * spillable ones for large histories. Metric of a resource is stored again
+     * after each of its changes.
+     * 
+     * @param issues
+     *            issues by trimmed id
+     * @param metricResult
+     *            empty map for the metric by resource name
+     */
+    public IssuesMetricMetricProcessor(final Map<String, ITSDataType> issues,
+            final Map<String, IssuesMetricType> metricResult) {
+        this.issues = checkNotNull(issues, "Issues has to be set");
+        this.changes = Collections.emptyList();
+        this.metricResult = checkNotNull(metricResult, "Metric result has to be set");
     }
 
     public List<IssuesMetricType> computeMetric() {
+        List<IssuesMetricType> result = Lists.newArrayList();
+        collectMetric(result);
+        return result;
+    }
+
+    /**
+     * Adds metric of all changes to the given list, e.g. a spillable one.
+     */
+    public void collectMetric(final List<IssuesMetricType> result) {
         processIntern();
-        return Lists.newArrayList(metricResult.values());
+        result.addAll(metricResult.values());
+    }
+
+    public void process(final MarkerDataType marker) {
+        IssuesMetricType noi = get(marker);
+        updateNoI(marker, noi);
+        metricResult.put(noi.getResourceName(), noi);
     }
 
     private void processIntern() {
         for (MarkerDataType marker : changes) {
-            IssuesMetricType noi = get(marker);
-            updateNoI(marker, noi);
+            process(marker);
         }
     }
 
     private void updateNoI(final MarkerDataType markers, final IssuesMetricType noi) {
         for (String marker : markers.getAllMarkers()) {
-            if (issues.containsKey(marker)) {
-                noi.getIssues().add(issues.get(marker.toString()));
+            ITSDataType issue = issues.get(marker);
+            if (issue != null) {
+                noi.getIssues().add(issue);
             }
         }
     }
@@ -72,7 +113,6 @@ public class IssuesMetricMetricProcessor {
             noi.setResourceName(scm.getResourceName());
             List<ITSDataType> items = newArrayList();
             noi.setIssues(items);
-            metricResult.put(scm.getResourceName(), noi);
         }
         return noi;
     }
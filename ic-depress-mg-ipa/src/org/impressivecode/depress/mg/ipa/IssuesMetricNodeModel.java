@@ -28,9 +28,17 @@ import static org.impressivecode.depress.support.commonmarker.MarkerAdapterTable
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
+import org.impressivecode.depress.common.InputHandler;
 import org.impressivecode.depress.common.InputTransformer;
 import org.impressivecode.depress.common.OutputTransformer;
+import org.impressivecode.depress.common.Records;
+import org.impressivecode.depress.common.SpillableList;
+import org.impressivecode.depress.common.SpillableMap;
+import org.impressivecode.depress.its.ITSDataCodec;
 import org.impressivecode.depress.its.ITSDataType;
 import org.impressivecode.depress.its.ITSInputTransformer;
 import org.impressivecode.depress.support.commonmarker.MarkerDataType;
@@ -68,28 +76,58 @@ public class IssuesMetricNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
-        LOGGER.info("Preparing to build NoI metric.");
-        List<IssuesMetricType> metricData = computeMetric(inData, exec);
-        LOGGER.info("Transforming to build NoI data.");
-        BufferedDataTable out = transform(metricData, exec);
-        LOGGER.info("Building PO Metric finished.");
-        return new BufferedDataTable[] { out };
+        SpillableMap<String, ITSDataType> issues = SpillableMap.create(Records.STRING, new ITSDataCodec());
+        SpillableMap<String, IssuesMetricType> metricResult = SpillableMap.create(Records.STRING,
+                new IssuesMetricCodec(issues));
+        SpillableList<IssuesMetricType> metricData = SpillableList.create(new IssuesMetricCodec(issues));
+        try {
+            ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
+            LOGGER.info("Preparing to build NoI metric.");
+            computeMetric(inData, issues, metricResult, metricData, telemetry, exec);
+            telemetry.phase(Phase.WRITE);
+            LOGGER.info("Transforming to build NoI data.");
+            BufferedDataTable out = transform(metricData, exec);
+            LOGGER.info("Building PO Metric finished.");
+            telemetry.finish(out);
+            return new BufferedDataTable[] { out };
+        } finally {
+            metricData.close();
+            metricResult.close();
+            issues.close();
+        }
     }
 
     @Override
     protected void reset() {
     }
 
-    private List<IssuesMetricType> computeMetric(final BufferedDataTable[] inData, final ExecutionContext exec)
-            throws CanceledExecutionException {
+    /**
+     * Issues and the metric are kept in spillable collections, they are moved
+     * to disk when the history is too large to be processed in memory.
+     */
+    private void computeMetric(final BufferedDataTable[] inData, final Map<String, ITSDataType> issues,
+            final Map<String, IssuesMetricType> metricResult, final List<IssuesMetricType> metricData,
+            final ExecutionTelemetry telemetry, final ExecutionContext exec) throws CanceledExecutionException {
         checkState(this.issueTransfomer != null, "IssueTransformer has to be configured first");
         checkState(this.markerTransfomer != null, "HistoryTransformer has to be configured first");
 
-        List<MarkerDataType> history = markerTransfomer.transform(inData[0]);
-        List<ITSDataType> issues = issueTransfomer.transform(inData[1]);
-
-        IssuesMetricMetricProcessor metricProcessor = new IssuesMetricMetricProcessor(issues, history);
-        return metricProcessor.computeMetric();
+        issueTransfomer.forEach(inData[1], exec, new InputHandler<ITSDataType>() {
+            @Override
+            public boolean handle(final ITSDataType issue) {
+                issues.put(issue.getIssueId().trim(), issue);
+                return true;
+            }
+        });
+        telemetry.phase(Phase.TRANSFORM);
+        final IssuesMetricMetricProcessor metricProcessor = new IssuesMetricMetricProcessor(issues, metricResult);
+        markerTransfomer.forEach(inData[0], exec, new InputHandler<MarkerDataType>() {
+            @Override
+            public boolean handle(final MarkerDataType marker) {
+                metricProcessor.process(marker);
+                return true;
+            }
+        });
+        metricProcessor.collectMetric(metricData);
     }
 
     private BufferedDataTable transform(final List<IssuesMetricType> data, final ExecutionContext exec)
@@ -17,68 +17,24 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.mg.ipa;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-import static org.impressivecode.depress.mg.ipa.IssuesMetricTableFactory.createTableRow;
-
-import java.util.List;
-
-import org.impressivecode.depress.common.OutputTransformer;
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
-import org.knime.core.node.CanceledExecutionException;
-import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.NodeLogger;
-import org.knime.core.node.NodeLogger.LEVEL;
 
 /**
  * 
  * @author Marek Majchrzak, ImpressiveCode
  * 
  */
-public class IssuesMetricOutputTransformer implements OutputTransformer<IssuesMetricType> {
-
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(IssuesMetricOutputTransformer.class);
-    private final DataTableSpec tableSpec;
+public class IssuesMetricOutputTransformer extends ParallelOutputTransformer<IssuesMetricType> {
 
     public IssuesMetricOutputTransformer(final DataTableSpec tableSpec) {
-        this.tableSpec = checkNotNull(tableSpec,"table specifikation can not be null.") ;
+        super(tableSpec);
     }
 
     @Override
-    public BufferedDataTable transform(final List<IssuesMetricType> data, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        checkNotNull(data,"Output data can not be null.") ;
-        checkNotNull(exec,"ExecutionContext can not be null.") ;
-
-        BufferedDataContainer container = createDataContainer(exec);
-        for (IssuesMetricType metric : data) {
-
-            progress(exec);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Transforming metric, class: " + metric.getResourceName());
-            }
-
-            if (LOGGER.isEnabledFor(LEVEL.ALL)) {
-                LOGGER.debug("Transforming metric:" + metric.toString());
-            }
-            
-            DataRow row = createTableRow(metric);
-            container.addRowToTable(row);            	
-        }
-        
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
-    }
-
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
-    }
-
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
+    protected DataRow createTableRow(final Segment keys, final IssuesMetricType entry) {
+        return IssuesMetricTableFactory.createTableRow(entry);
     }
 }
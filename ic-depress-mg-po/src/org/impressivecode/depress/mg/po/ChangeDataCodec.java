@@ -0,0 +1,49 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.mg.po;
+
+import static org.impressivecode.depress.common.Records.readString;
+import static org.impressivecode.depress.common.Records.readStringList;
+import static org.impressivecode.depress.common.Records.writeString;
+import static org.impressivecode.depress.common.Records.writeStrings;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.impressivecode.depress.common.RecordCodec;
+
+/**
+ * Binary format of change data spilled to disk for large change histories.
+ */
+class ChangeDataCodec implements RecordCodec<ChangeData> {
+
+    @Override
+    public void write(final DataOutput out, final ChangeData value) throws IOException {
+        writeString(out, value.getClassName());
+        writeStrings(out, value.getInvolvedEngineers());
+    }
+
+    @Override
+    public ChangeData read(final DataInput in) throws IOException {
+        ChangeData value = new ChangeData();
+        value.setClassName(readString(in));
+        value.setInvolvedEngineers(readStringList(in));
+        return value;
+    }
+}
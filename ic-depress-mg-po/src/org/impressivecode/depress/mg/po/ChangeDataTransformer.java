@@ -17,8 +17,8 @@
  */
 package org.impressivecode.depress.mg.po;
 
-import java.util.Map;
-
+import org.impressivecode.depress.common.Records;
+import org.impressivecode.depress.common.SpillableMap;
 import org.impressivecode.depress.scm.SCMAdapterTableFactory;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
@@ -30,7 +30,6 @@ import org.knime.core.node.ExecutionContext;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 
 /**
  * 
@@ -45,17 +44,27 @@ class ChangeDataTransformer {
         this.changeHistory = changeHistory;
     }
 
-    public Map<String, ChangeData> transformChangeData(final BufferedDataTable changeHistory,
+    /**
+     * @return change data by class name, moved to disk when there are more
+     *         classes than the spill threshold; has to be closed after use
+     */
+    public SpillableMap<String, ChangeData> transformChangeData(final BufferedDataTable changeHistory,
             final ExecutionContext exec) throws CanceledExecutionException {
-        Map<String, ChangeData> changeData = Maps.newHashMapWithExpectedSize(1000);
+        SpillableMap<String, ChangeData> changeData = SpillableMap.create(Records.STRING, new ChangeDataCodec());
         CloseableRowIterator iterator = changeHistory.iterator();
-        while (iterator.hasNext()) {
-            progress(exec);
-            ChangeData curr = transform(iterator.next());
-            String key = curr.getClassName();
-            changeData.put(key, mergeChangeData(changeData.get(key), curr));
+        try {
+            while (iterator.hasNext()) {
+                progress(exec);
+                ChangeData curr = transform(iterator.next());
+                String key = curr.getClassName();
+                changeData.put(key, mergeChangeData(changeData.get(key), curr));
+            }
+        } catch (RuntimeException | CanceledExecutionException e) {
+            changeData.close();
+            throw e;
+        } finally {
+            iterator.close();
         }
-        iterator.close();
         return changeData;
     }
 
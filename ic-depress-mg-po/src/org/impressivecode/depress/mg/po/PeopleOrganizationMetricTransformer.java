@@ -20,60 +20,28 @@ package org.impressivecode.depress.mg.po;
 import static org.impressivecode.depress.common.Cells.doubleOrMissingCell;
 import static org.impressivecode.depress.common.Cells.integerOrMissingCell;
 
-import java.util.List;
-
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
-import org.knime.core.node.CanceledExecutionException;
-import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.NodeLogger;
-import org.knime.core.node.NodeLogger.LEVEL;
-
-import com.google.common.base.Preconditions;
 
 /**
  * 
  * @author Marek Majchrzak, ImpressiveCode
  * 
  */
-public class PeopleOrganizationMetricTransformer {
-
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(PeopleOrganizationMetricTransformer.class);
-    private final DataTableSpec tableSpec;
+public class PeopleOrganizationMetricTransformer extends ParallelOutputTransformer<PeopleOrganizationMetric> {
 
     public PeopleOrganizationMetricTransformer(final DataTableSpec tableSpec) {
-        Preconditions.checkNotNull(tableSpec, "table specifikation can not be null.");
-        this.tableSpec = tableSpec;
+        super(tableSpec);
     }
 
-    public BufferedDataTable transform(final List<PeopleOrganizationMetric> podata, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        for (PeopleOrganizationMetric metric : podata) {
-            progress(exec);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Transforming metric, class: " + metric.getClassName());
-            }
-
-            if (LOGGER.isEnabledFor(LEVEL.ALL)) {
-                LOGGER.debug("Transforming metric:" + metric.toString());
-            }
-            DataRow row = createTableRow(metric);
-            container.addRowToTable(row);
-        }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
-    }
-
-    private DataRow createTableRow(final PeopleOrganizationMetric metric) {
+    @Override
+    protected DataRow createTableRow(final Segment keys, final PeopleOrganizationMetric metric) {
         DataCell[] cells = getPOCells(metric);
         DataRow row = new DefaultRow(metric.getClassName(), cells);
         return row;
@@ -97,12 +65,4 @@ public class PeopleOrganizationMetricTransformer {
         };
         return cells;
     }
-
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
-    }
-
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
-    }
 }
@@ -28,6 +28,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
+import org.impressivecode.depress.common.SpillableMap;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -60,11 +63,14 @@ public class PeopleOrganizationMetricsNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to build PO metric.");
-        List<PeopleOrganizationMetric> poData = computeMetric(inData[0], inData[1], exec);
+        List<PeopleOrganizationMetric> poData = computeMetric(inData[0], inData[1], telemetry, exec);
+        telemetry.phase(Phase.WRITE);
         LOGGER.info("Transforming to build PO data.");
         BufferedDataTable out = transform(poData, exec);
         LOGGER.info("Building PO Metric finished.");
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
@@ -75,10 +81,16 @@ public class PeopleOrganizationMetricsNodeModel extends NodeModel {
     }
 
     private List<PeopleOrganizationMetric> computeMetric(final BufferedDataTable devTable,
-            final BufferedDataTable changeHistory, final ExecutionContext exec) throws CanceledExecutionException {
-        Map<String, ChangeData> changeData = buildChangeData(changeHistory, exec);
-        Map<String, TeamMemberData> engineersData = buildEngineerData(devTable, exec);
-        return buildMetric(changeData, engineersData, exec);
+            final BufferedDataTable changeHistory, final ExecutionTelemetry telemetry, final ExecutionContext exec)
+            throws CanceledExecutionException {
+        SpillableMap<String, ChangeData> changeData = buildChangeData(changeHistory, exec);
+        try {
+            Map<String, TeamMemberData> engineersData = buildEngineerData(devTable, exec);
+            telemetry.phase(Phase.TRANSFORM);
+            return buildMetric(changeData, engineersData, exec);
+        } finally {
+            changeData.close();
+        }
     }
 
     private List<PeopleOrganizationMetric> buildMetric(final Map<String, ChangeData> changeData,
@@ -86,7 +98,7 @@ public class PeopleOrganizationMetricsNodeModel extends NodeModel {
         return new PeopleOrganizationMetricProcessor(changeData, engineersData).buildMetric();
     }
 
-    private Map<String, ChangeData> buildChangeData(final BufferedDataTable changeHistory, final ExecutionContext exec)
+    private SpillableMap<String, ChangeData> buildChangeData(final BufferedDataTable changeHistory, final ExecutionContext exec)
             throws CanceledExecutionException {
         return new ChangeDataTransformer(historyDataSpec).transformChangeData(changeHistory, exec);
     }
@@ -26,6 +26,8 @@ import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -64,12 +66,15 @@ public class CheckStyleAdapterNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read checkstyle entries.");
         String checkstyleFilePath = fileSettings.getStringValue();
         List<CheckStyleEntry> entries = parseEntries(checkstyleFilePath);
+        telemetry.addBytesRead(new File(checkstyleFilePath)).phase(Phase.WRITE);
         LOGGER.info("Transforming to checkstyle entries.");
         BufferedDataTable out = transform(entries, exec);
         LOGGER.info("CheckStyle table created.");
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
@@ -28,6 +28,8 @@ import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -61,18 +63,23 @@ public class EclipseMetricsNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read EclipseMetrics entries.");
         String eclipsemetricsFilePath = fileSettings.getStringValue();
 
         List<EclipseMetricsEntryClassLevel> entriesClassLevel = parseEntriesClassLevel(eclipsemetricsFilePath);
+        telemetry.addBytesRead(new File(eclipsemetricsFilePath)).phase(Phase.WRITE);
         LOGGER.info("Transforming to EclipseMetrics class-level entries.");
         BufferedDataTable output1 = transformClassLevel(entriesClassLevel, exec);
         LOGGER.info("EclipseMetrics class-level table created.");
 
+        telemetry.phase(Phase.PARSE);
         List<EclipseMetricsEntryMethodLevel> entriesMethodLevel = parseEntriesMethodLevel(eclipsemetricsFilePath);
+        telemetry.phase(Phase.WRITE);
         LOGGER.info("Transforming to EclipseMetrics method-level entries.");
         BufferedDataTable output2 = transformMethodLevel(entriesMethodLevel, exec);
         LOGGER.info("EclipseMetrics method-level table created.");
+        telemetry.finish(output1, output2);
 
         return new BufferedDataTable[] { output1, output2 };
     }
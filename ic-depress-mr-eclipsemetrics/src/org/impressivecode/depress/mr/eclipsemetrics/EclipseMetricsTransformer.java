@@ -22,11 +22,12 @@ import static org.impressivecode.depress.common.Cells.doubleOrMissingCell;
 
 import java.util.List;
 
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.def.DefaultRow;
-import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -51,10 +52,22 @@ public class EclipseMetricsTransformer {
 
     public BufferedDataTable transformMethodLevel(final List<EclipseMetricsEntryMethodLevel> eclipsemetricsdata,
             final ExecutionContext exec) throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        for (EclipseMetricsEntryMethodLevel entry : eclipsemetricsdata) {
-            progress(exec);
+        return new MethodLevelTransformer(tableSpec).transform(eclipsemetricsdata, exec);
+    }
+
+    public BufferedDataTable transformClassLevel(final List<EclipseMetricsEntryClassLevel> eclipsemetricsdata, final ExecutionContext exec)
+            throws CanceledExecutionException {
+        return new ClassLevelTransformer(tableSpec).transform(eclipsemetricsdata, exec);
+    }
 
+    private static class MethodLevelTransformer extends ParallelOutputTransformer<EclipseMetricsEntryMethodLevel> {
+
+        MethodLevelTransformer(final DataTableSpec tableSpec) {
+            super(tableSpec);
+        }
+
+        @Override
+        protected DataRow createTableRow(final Segment keys, final EclipseMetricsEntryMethodLevel entry) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Transforming metric, method: " + entry.getMethodName());
             }
@@ -62,20 +75,20 @@ public class EclipseMetricsTransformer {
             if (LOGGER.isEnabledFor(LEVEL.ALL)) {
                 LOGGER.debug("Transforming metric:" + entry.toString());
             }
-            DataRow row = createTableRow(entry);
-            container.addRowToTable(row);
+            DataCell[] cells = getEclipseMetricsCells(entry);
+            DataRow row = new DefaultRow(entry.getMethodName(), cells);
+            return row;
         }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
     }
 
-    public BufferedDataTable transformClassLevel(final List<EclipseMetricsEntryClassLevel> eclipsemetricsdata, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        for (EclipseMetricsEntryClassLevel entry : eclipsemetricsdata) {
-            progress(exec);
+    private static class ClassLevelTransformer extends ParallelOutputTransformer<EclipseMetricsEntryClassLevel> {
 
+        ClassLevelTransformer(final DataTableSpec tableSpec) {
+            super(tableSpec);
+        }
+
+        @Override
+        protected DataRow createTableRow(final Segment keys, final EclipseMetricsEntryClassLevel entry) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Transforming metric, class: " + entry.getClassName());
             }
@@ -83,27 +96,13 @@ public class EclipseMetricsTransformer {
             if (LOGGER.isEnabledFor(LEVEL.ALL)) {
                 LOGGER.debug("Transforming metric:" + entry.toString());
             }
-            DataRow row = createTableRow(entry);
-            container.addRowToTable(row);
+            DataCell[] cells = getEclipseMetricsCells(entry);
+            DataRow row = new DefaultRow(entry.getClassName(), cells);
+            return row;
         }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
-    }
-
-    private DataRow createTableRow(final EclipseMetricsEntryMethodLevel entry) {
-        DataCell[] cells = getEclipseMetricsCells(entry);
-        DataRow row = new DefaultRow(entry.getMethodName(), cells);
-        return row;
-    }
-
-    private DataRow createTableRow(final EclipseMetricsEntryClassLevel entry) {
-        DataCell[] cells = getEclipseMetricsCells(entry);
-        DataRow row = new DefaultRow(entry.getClassName(), cells);
-        return row;
     }
 
-    private DataCell[] getEclipseMetricsCells(final EclipseMetricsEntryMethodLevel value) {
+    private static DataCell[] getEclipseMetricsCells(final EclipseMetricsEntryMethodLevel value) {
         DataCell[] cells = { doubleOrMissingCell(value.getMethodLinesOfCode()),
                 doubleOrMissingCell(value.getNestedBlockDepth()),
                 doubleOrMissingCell(value.getMcCabeCyclomaticComplexity()),
@@ -111,7 +110,7 @@ public class EclipseMetricsTransformer {
         return cells;
     }
 
-    private DataCell[] getEclipseMetricsCells(final EclipseMetricsEntryClassLevel value) {
+    private static DataCell[] getEclipseMetricsCells(final EclipseMetricsEntryClassLevel value) {
         DataCell[] cells = { doubleOrMissingCell(value.getNumberOfOverriddenMethods()),
                 doubleOrMissingCell(value.getNumberOfAttributes()), doubleOrMissingCell(value.getNumberOfChildren()),
                 doubleOrMissingCell(value.getNumberOfMethods()),
@@ -123,12 +122,4 @@ public class EclipseMetricsTransformer {
                 doubleOrMissingCell(value.getNumberOfStaticAttributes()) };
         return cells;
     }
-
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
-    }
-
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
-    }
 }
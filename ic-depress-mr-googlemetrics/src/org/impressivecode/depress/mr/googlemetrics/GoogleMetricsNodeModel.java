@@ -28,6 +28,8 @@ import static org.impressivecode.depress.mr.googlemetrics.GoogleMetricsTableFact
 import static org.impressivecode.depress.mr.googlemetrics.GoogleMetricsTableFactory.createTableRow;
 import static org.impressivecode.depress.mr.googlemetrics.GoogleMetricsTableFactory.createDataColumnSpec;
 import static org.impressivecode.depress.mr.googlemetrics.GoogleMetricsEntriesParser.unmarshalResults;
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.mr.googlemetrics.GoogleMetricsXmlResult.MetricResultScope;
 import org.impressivecode.depress.mr.googlemetrics.GoogleMetricsXmlResult.MetricResultScope.MetricResult;
 
@@ -74,12 +76,15 @@ public class GoogleMetricsNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read googlemetrics logs.");
         BufferedDataContainer container = createDataContainer(exec);
         LOGGER.info("Reading file: " + fileSettings.getStringValue());
         List<MetricResultScope> result = unmarshalResults(fileSettings.getStringValue());
+        telemetry.addBytesRead(new File(fileSettings.getStringValue())).phase(Phase.WRITE);
         BufferedDataTable out = transform(container, result, exec);
         LOGGER.info("Reading googlemetrics logs finished.");
+        telemetry.finish(out);
 
         return new BufferedDataTable[] { out };
     }
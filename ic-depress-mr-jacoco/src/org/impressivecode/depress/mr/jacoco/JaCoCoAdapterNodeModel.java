@@ -28,6 +28,8 @@ import java.util.List;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.io.FilenameUtils;
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -72,6 +74,7 @@ public class JaCoCoAdapterNodeModel extends NodeModel {
 	@Override
 	protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
 			final ExecutionContext exec) throws Exception {
+		ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
 		LOGGER.info("Preparing to read jacoco entries.");
 		File file = null;
 		if (radioSettings.getStringValue().equals(FILE)) {
@@ -89,10 +92,12 @@ public class JaCoCoAdapterNodeModel extends NodeModel {
 		} else
 			throw new IOException(
 					"Path does not point at any file or directory");
+		telemetry.addBytesRead(file).phase(Phase.WRITE);
 
 		LOGGER.info("Transforming to jacoco entries.");
 		BufferedDataTable out = transform(entries, exec);
 		LOGGER.info("JaCoCo table created.");
+		telemetry.finish(out);
 		return new BufferedDataTable[] { out };
 	}
 
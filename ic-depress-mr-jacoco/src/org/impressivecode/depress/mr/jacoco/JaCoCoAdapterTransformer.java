@@ -17,60 +17,28 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.mr.jacoco;
 
-import static com.google.common.base.Preconditions.checkNotNull;
 import static org.impressivecode.depress.common.Cells.doubleOrMissingCell;
 
-import java.util.List;
-
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.def.DefaultRow;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
-import org.knime.core.node.CanceledExecutionException;
-import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.NodeLogger;
-import org.knime.core.node.NodeLogger.LEVEL;
 
 /**
  * 
  * @author Marek Majchrzak, ImpressiveCode
  * 
  */
-public class JaCoCoAdapterTransformer {
-
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(JaCoCoAdapterTransformer.class);
-
-    private final DataTableSpec tableSpec;
+public class JaCoCoAdapterTransformer extends ParallelOutputTransformer<JaCoCoEntry> {
 
     public JaCoCoAdapterTransformer(final DataTableSpec tableSpec) {
-        checkNotNull(tableSpec, "table specifikation can not be null.");
-        this.tableSpec = tableSpec;
+        super(tableSpec);
     }
 
-    public BufferedDataTable transform(final List<JaCoCoEntry> jacocodata, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        for (JaCoCoEntry entry : jacocodata) {
-            progress(exec);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Transforming metric, class: " + entry.getClassName());
-            }
-
-            if (LOGGER.isEnabledFor(LEVEL.ALL)) {
-                LOGGER.debug("Transforming metric:" + entry.toString());
-            }
-            DataRow row = createTableRow(entry);
-            container.addRowToTable(row);
-        }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
-    }
-
-    private DataRow createTableRow(final JaCoCoEntry entry) {
+    @Override
+    protected DataRow createTableRow(final Segment keys, final JaCoCoEntry entry) {
         DataCell[] cells = getJaCoCoCells(entry);
         DataRow row = new DefaultRow(entry.getClassName(), cells);
         return row;
@@ -86,12 +54,4 @@ public class JaCoCoAdapterTransformer {
                 doubleOrMissingCell(value.getClassCoverageCounter())};
         return cells;
     }
-
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
-    }
-
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
-    }
 }
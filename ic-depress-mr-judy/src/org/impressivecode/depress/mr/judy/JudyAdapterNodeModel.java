@@ -27,6 +27,8 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.mr.judy.JudyXmlResult.Classes.Class;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataContainer;
@@ -64,12 +66,15 @@ public class JudyAdapterNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read judy logs.");
         BufferedDataContainer container = createDataContainer(exec);
         LOGGER.info("Reading file: " + fileSettings.getStringValue());
         List<Class> result = unmarshalResults(fileSettings.getStringValue());
+        telemetry.addBytesRead(new File(fileSettings.getStringValue())).phase(Phase.WRITE);
         BufferedDataTable out = transform(container, result, exec);
         LOGGER.info("Reading judy logs finished.");
+        telemetry.finish(out);
 
         return new BufferedDataTable[] { out };
     }
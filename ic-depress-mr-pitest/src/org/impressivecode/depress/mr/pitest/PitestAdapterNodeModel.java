@@ -26,6 +26,8 @@ import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.mr.pitest.PitestAdapterTransformer;
 import org.impressivecode.depress.mr.pitest.PitestEntriesParser;
 import org.impressivecode.depress.mr.pitest.PitestEntry;
@@ -84,12 +86,15 @@ public class PitestAdapterNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read pitest entries.");
         String pitestFilePath = fileSettings.getStringValue();
         List<PitestEntry> entries = parseEntries(pitestFilePath);
+        telemetry.addBytesRead(new File(pitestFilePath)).phase(Phase.WRITE);
         LOGGER.info("Transforming to pitest entries.");
         BufferedDataTable out = transform(entries, exec);
         LOGGER.info("Pitest table created.");
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
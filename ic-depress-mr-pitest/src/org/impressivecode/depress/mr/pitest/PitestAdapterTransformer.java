@@ -17,20 +17,14 @@
 	 */
 	
 package org.impressivecode.depress.mr.pitest;
-	import static com.google.common.base.Preconditions.checkNotNull;
 	import static org.impressivecode.depress.common.Cells.doubleOrMissingCell;
-	import java.util.List;
 		
+	import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 	import org.knime.core.data.DataCell;
 	import org.knime.core.data.DataRow;
 	import org.knime.core.data.DataTableSpec;
 	import org.knime.core.data.def.DefaultRow;
-	import org.knime.core.node.BufferedDataContainer;
-	import org.knime.core.node.BufferedDataTable;
-	import org.knime.core.node.CanceledExecutionException;
-	import org.knime.core.node.ExecutionContext;
-	import org.knime.core.node.NodeLogger;
-	import org.knime.core.node.NodeLogger.LEVEL;
 
 	/**
 	 * 
@@ -41,41 +35,16 @@ package org.impressivecode.depress.mr.pitest;
 
 
 
-public class PitestAdapterTransformer {
-
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(PitestAdapterTransformer.class);
-
-    private final DataTableSpec tableSpec;
+public class PitestAdapterTransformer extends ParallelOutputTransformer<PitestEntry> {
 
     public PitestAdapterTransformer(final DataTableSpec tableSpec) {
-        checkNotNull(tableSpec, "table specification can not be null.");
-        this.tableSpec = tableSpec;
-    }
-
-    public BufferedDataTable transform(final List<PitestEntry> pitestdata, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        for (PitestEntry entry : pitestdata) {
-            progress(exec);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Transforming metric, class: " + entry.getMutatedClass());
-            }
-
-            if (LOGGER.isEnabledFor(LEVEL.ALL)) {
-                LOGGER.debug("Transforming metric:" + entry.toString());
-            }
-            DataRow row = createTableRow(entry.getMutatedClass(),entry);
-            container.addRowToTable(row);
-        }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        return out;
+        super(tableSpec);
     }
 
-    private DataRow createTableRow(final String rowId, final PitestEntry entry) {
+    @Override
+    protected DataRow createTableRow(final Segment keys, final PitestEntry entry) {
         DataCell[] cells = getPitestCells(entry);
-        DataRow row = new DefaultRow(rowId, cells);
+        DataRow row = new DefaultRow(entry.getMutatedClass(), cells);
         return row;
     }
 
@@ -85,14 +54,6 @@ public class PitestAdapterTransformer {
         return cells;
     }
 
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
-    }
-
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
-    }
-
 
 
 }
@@ -26,6 +26,8 @@ import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -64,12 +66,15 @@ public class PMDAdapterNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         LOGGER.info("Preparing to read pmd entries.");
         String pmdFilePath = fileSettings.getStringValue();
         List<PMDEntry> entries = parseEntries(pmdFilePath);
+        telemetry.addBytesRead(new File(pmdFilePath)).phase(Phase.WRITE);
         LOGGER.info("Transforming to pmd entries.");
         BufferedDataTable out = transform(entries, exec);
         LOGGER.info("PMD table created.");
+        telemetry.finish(out);
         return new BufferedDataTable[] { out };
     }
 
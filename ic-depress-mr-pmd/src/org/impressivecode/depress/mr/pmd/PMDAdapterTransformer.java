@@ -17,21 +17,13 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.mr.pmd;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-
-import java.util.List;
-
 import org.impressivecode.depress.common.Cells;
+import org.impressivecode.depress.common.ParallelOutputTransformer;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.def.DefaultRow;
-import org.knime.core.node.BufferedDataContainer;
-import org.knime.core.node.BufferedDataTable;
-import org.knime.core.node.CanceledExecutionException;
-import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.NodeLogger;
-import org.knime.core.node.NodeLogger.LEVEL;
 
 /**
  * 
@@ -40,46 +32,16 @@ import org.knime.core.node.NodeLogger.LEVEL;
  * @author Monika Pruszkowska
  * 
  */
-public class PMDAdapterTransformer {
-
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(PMDAdapterTransformer.class);
-
-    private final DataTableSpec tableSpec;
-
-    private int i=0;
+public class PMDAdapterTransformer extends ParallelOutputTransformer<PMDEntry> {
 
     public PMDAdapterTransformer(final DataTableSpec tableSpec) {
-        checkNotNull(tableSpec, "table specifikation can not be null.");
-        this.tableSpec = tableSpec;
+        super(tableSpec);
     }
 
-    public BufferedDataTable transform(final List<PMDEntry> pmddata, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        BufferedDataContainer container = createDataContainer(exec);
-        for (PMDEntry entry : pmddata) {
-            progress(exec);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Transforming metric, class: " + entry.getClassName());
-            }
-
-            if (LOGGER.isEnabledFor(LEVEL.ALL)) {
-                LOGGER.debug("Transforming metric:" + entry.toString());
-            }
-            DataRow row = createTableRow(entry);
-            container.addRowToTable(row);
-            i++;
-        }
-        container.close();
-        BufferedDataTable out = container.getTable();
-        i=0;
-        return out;
-    }
-
-    private DataRow createTableRow(final PMDEntry entry) {
+    @Override
+    protected DataRow createTableRow(final Segment keys, final PMDEntry entry) {
         DataCell[] cells = getPMDCells(entry);
-        String keyi = Integer.toString(i);
-        DataRow row = new DefaultRow(keyi, cells);
+        DataRow row = new DefaultRow(keys.next(), cells);
         return row;
     }
 
@@ -98,12 +60,4 @@ public class PMDAdapterTransformer {
         };
         return cells;
     }
-
-    private BufferedDataContainer createDataContainer(final ExecutionContext exec) {
-        return exec.createDataContainer(tableSpec);
-    }
-
-    private void progress(final ExecutionContext exec) throws CanceledExecutionException {
-        exec.checkCanceled();
-    }
 }
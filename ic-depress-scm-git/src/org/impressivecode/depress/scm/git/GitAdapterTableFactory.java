@@ -34,4 +34,8 @@ public class GitAdapterTableFactory {
     public static DataTableSpec[] createTableSpec() {
         return new DataTableSpec[] { SCMAdapterTableFactory.createDataColumnSpec() };
     }
+
+    public static DataTableSpec[] createTableSpec(final boolean churn) {
+        return SCMAdapterTableFactory.createTableSpec(churn);
+    }
 }
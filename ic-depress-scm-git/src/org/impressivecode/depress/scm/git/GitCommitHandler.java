@@ -0,0 +1,32 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import java.io.IOException;
+
+/**
+ * Receives commits one by one as soon as they are parsed, so the whole log
+ * does not have to be kept in memory.
+ */
+public interface GitCommitHandler {
+
+    /**
+     * @return true to continue parsing, false to stop
+     */
+    boolean handle(GitCommit commit) throws IOException;
+}
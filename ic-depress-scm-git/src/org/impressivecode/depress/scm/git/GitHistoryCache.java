@@ -0,0 +1,224 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.impressivecode.depress.scm.SCMOperation;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
+import com.google.common.base.Strings;
+
+/**
+ * Commits already read from a git repository together with the id of the
+ * newest processed commit (watermark). Used by the incremental mode of the git
+ * online node: only commits which are not reachable from the watermark have to
+ * be walked on the next execution.
+ *
+ * The cache is stored in the node internals as a gzipped binary file.
+ */
+public class GitHistoryCache {
+
+    static final String FILE_NAME = "git-history.bin";
+
+    private static final int FORMAT_VERSION = 3;
+
+    private final String repository;
+    private final String branch;
+    private final String packagePrefix;
+    private final GitMergeMode mergeMode;
+    private final boolean churn;
+    private final String lastCommitId;
+    private final List<GitCommit> commits;
+
+    public GitHistoryCache(final String repository, final String branch, final String packagePrefix,
+            final String lastCommitId, final List<GitCommit> commits) {
+        this(repository, branch, packagePrefix, GitMergeMode.NONE, false, lastCommitId, commits);
+    }
+
+    public GitHistoryCache(final String repository, final String branch, final String packagePrefix,
+            final GitMergeMode mergeMode, final boolean churn, final String lastCommitId, final List<GitCommit> commits) {
+        this.repository = checkNotNull(repository, "Repository has to be set");
+        this.branch = Strings.nullToEmpty(branch);
+        this.packagePrefix = Strings.nullToEmpty(packagePrefix);
+        this.mergeMode = checkNotNull(mergeMode, "Merge mode has to be set");
+        this.churn = churn;
+        this.lastCommitId = lastCommitId;
+        this.commits = checkNotNull(commits, "Commits have to be set");
+    }
+
+    /**
+     * @return true if cached commits were read with the same repository, branch
+     *         and package settings, without merge commit files and churn
+     */
+    public boolean matches(final String repository, final String branch, final String packagePrefix) {
+        return matches(repository, branch, packagePrefix, GitMergeMode.NONE, false);
+    }
+
+    /**
+     * @return true if cached commits were read with the same repository,
+     *         branch, package, merge mode and churn settings
+     */
+    public boolean matches(final String repository, final String branch, final String packagePrefix,
+            final GitMergeMode mergeMode, final boolean churn) {
+        return Objects.equal(this.repository, repository) && Objects.equal(this.branch, Strings.nullToEmpty(branch))
+                && Objects.equal(this.packagePrefix, Strings.nullToEmpty(packagePrefix))
+                && this.mergeMode == mergeMode && this.churn == churn;
+    }
+
+    public String getLastCommitId() {
+        return lastCommitId;
+    }
+
+    public List<GitCommit> getCommits() {
+        return commits;
+    }
+
+    public void save(final File internDir) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(
+                new File(internDir, FILE_NAME)))));
+        try {
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, repository);
+            writeString(out, branch);
+            writeString(out, packagePrefix);
+            writeString(out, mergeMode.name());
+            out.writeBoolean(churn);
+            writeString(out, lastCommitId);
+            out.writeInt(commits.size());
+            for (GitCommit commit : commits) {
+                writeCommit(out, commit);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * @return cache stored in given directory or null if there is none
+     */
+    public static GitHistoryCache load(final File internDir) throws IOException {
+        File file = new File(internDir, FILE_NAME);
+        if (!file.exists()) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        try {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported git history cache version: " + version);
+            }
+            String repository = readString(in);
+            String branch = readString(in);
+            String packagePrefix = readString(in);
+            GitMergeMode mergeMode = GitMergeMode.valueOf(readString(in));
+            boolean churn = in.readBoolean();
+            String lastCommitId = readString(in);
+            int size = in.readInt();
+            List<GitCommit> commits = new ArrayList<GitCommit>(size);
+            for (int i = 0; i < size; i++) {
+                commits.add(readCommit(in));
+            }
+            return new GitHistoryCache(repository, branch, packagePrefix, mergeMode, churn, lastCommitId, commits);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void writeCommit(final DataOutputStream out, final GitCommit commit) throws IOException {
+        writeString(out, commit.getId());
+        out.writeLong(commit.getDate().getTime());
+        writeString(out, commit.getAuthor());
+        writeString(out, commit.getMessage());
+        out.writeInt(commit.getFiles().size());
+        for (GitCommitFile file : commit.getFiles()) {
+            writeString(out, file.getPath());
+            writeString(out, file.getJavaClass());
+            writeString(out, file.getExtension());
+            out.writeByte(file.getOperation().ordinal());
+            writeInteger(out, file.getLinesAdded());
+            writeInteger(out, file.getLinesDeleted());
+        }
+    }
+
+    private static GitCommit readCommit(final DataInputStream in) throws IOException {
+        GitCommit commit = new GitCommit();
+        commit.setId(readString(in));
+        commit.setDate(new Date(in.readLong()));
+        commit.setAuthor(readString(in));
+        commit.addToMessage(readString(in));
+        int files = in.readInt();
+        for (int i = 0; i < files; i++) {
+            GitCommitFile file = new GitCommitFile();
+            file.setPath(readString(in));
+            file.setJavaClass(readString(in));
+            file.setExtension(readString(in));
+            file.setOperation(SCMOperation.values()[in.readByte()]);
+            file.setLinesAdded(readInteger(in));
+            file.setLinesDeleted(readInteger(in));
+            commit.getFiles().add(file);
+        }
+        return commit;
+    }
+
+    // counts are never negative, -1 stands for null
+    private static void writeInteger(final DataOutputStream out, final Integer value) throws IOException {
+        out.writeInt(value == null ? -1 : value);
+    }
+
+    private static Integer readInteger(final DataInputStream in) throws IOException {
+        int value = in.readInt();
+        return value < 0 ? null : value;
+    }
+
+    // DataOutput.writeUTF is limited to 64k, commit messages can be longer
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(Charsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+/**
+ * Defines which files are reported for merge commits.
+ */
+public enum GitMergeMode {
+    /**
+     * No files are reported for merge commits.
+     */
+    NONE("none"),
+    /**
+     * Merge commit is compared with its first parent, like for
+     * <code>git log --first-parent</code>.
+     */
+    FIRST_PARENT("first parent"),
+    /**
+     * Only files which differ from all parents are reported, like for
+     * <code>git log -c</code>. Cleanly merged files are skipped.
+     */
+    COMBINED("combined");
+
+    private final String label;
+
+    private GitMergeMode(final String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static GitMergeMode fromLabel(final String label) {
+        for (GitMergeMode mode : values()) {
+            if (mode.label.equals(label)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown merge mode: " + label);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.isNullOrEmpty;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.io.FilenameUtils;
+import org.eclipse.jgit.api.errors.NoHeadException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.impressivecode.depress.scm.SCMFileFilter;
+import org.impressivecode.depress.scm.SCMParserOptions;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Reads the same data as {@link GitOfflineLogParser} directly from a git
+ * repository (bare or not) instead of a text dump of
+ * 
+ * git log --pretty=format:"%H%n%ct%n%an%n%B%n%H" --raw --no-merges --abbrev=40
+ * 
+ * Commits are walked from HEAD without keeping their bodies in memory. Changed
+ * paths are filtered by the extension and package options inside the tree
+ * walk, unchanged subtrees are not entered at all. Author and message are read
+ * only for commits which changed at least one accepted file, other commits are
+ * not reported.
+ */
+public class GitNativeLogParser {
+    final SCMParserOptions parserOptions;
+    private final SCMFileFilter filter;
+
+    public GitNativeLogParser(final SCMParserOptions parserOptions) {
+        this.parserOptions = checkNotNull(parserOptions, "Options has to be set");
+        this.filter = SCMFileFilter.create(parserOptions);
+    }
+
+    public List<GitCommit> parseEntries(final String path) throws IOException, NoHeadException {
+        final ImmutableList.Builder<GitCommit> builder = ImmutableList.builder();
+        parseEntries(path, new GitCommitHandler() {
+            @Override
+            public boolean handle(final GitCommit commit) {
+                builder.add(commit);
+                return true;
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * @param path
+     *            repository directory, its .git directory or a bare repository
+     */
+    public void parseEntries(final String path, final GitCommitHandler handler) throws IOException, NoHeadException {
+        checkArgument(!isNullOrEmpty(path), "Path has to be set.");
+        checkNotNull(handler, "Handler has to be set");
+        GitRepositoryPool pool = GitRepositoryPool.getInstance();
+        Repository repository = pool.acquire(gitDir(path));
+        try {
+            walk(repository, handler);
+        } finally {
+            pool.release(repository);
+        }
+    }
+
+    private static String gitDir(final String path) {
+        File dotGit = new File(path, Constants.DOT_GIT);
+        return dotGit.isDirectory() ? dotGit.getPath() : path;
+    }
+
+    private void walk(final Repository repository, final GitCommitHandler handler) throws IOException {
+        ObjectId head = repository.resolve(Constants.HEAD);
+        if (head == null) {
+            return;
+        }
+        ObjectReader reader = repository.newObjectReader();
+        RevWalk revWalk = new RevWalk(reader);
+        TreeWalk treeWalk = new TreeWalk(reader);
+        try {
+            revWalk.setRetainBody(false);
+            revWalk.setRevFilter(RevFilter.NO_MERGES);
+            revWalk.markStart(revWalk.parseCommit(head));
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(AndTreeFilter.create(TreeFilter.ANY_DIFF,
+                    new AcceptedFiles(filter)));
+            for (RevCommit revCommit : revWalk) {
+                GitCommit commit = new GitCommit();
+                treeWalk.reset();
+                if (revCommit.getParentCount() == 0) {
+                    treeWalk.addTree(new EmptyTreeIterator());
+                } else {
+                    RevCommit parent = revCommit.getParent(0);
+                    revWalk.parseHeaders(parent);
+                    treeWalk.addTree(parent.getTree());
+                }
+                treeWalk.addTree(revCommit.getTree());
+                while (treeWalk.next()) {
+                    commit.getFiles().add(file(treeWalk));
+                }
+                if (commit.getFiles().isEmpty()) {
+                    continue;
+                }
+                readBody(reader, revCommit, commit);
+                if (!handler.handle(commit)) {
+                    return;
+                }
+            }
+        } finally {
+            treeWalk.release();
+            revWalk.release();
+            reader.release();
+        }
+    }
+
+    // the walk does not retain bodies, so the raw commit is read again
+    private static void readBody(final ObjectReader reader, final RevCommit revCommit, final GitCommit commit)
+            throws IOException {
+        RevCommit full = RevCommit.parse(reader.open(revCommit, Constants.OBJ_COMMIT).getCachedBytes());
+        commit.setId(revCommit.getName());
+        commit.setDate(new Date(revCommit.getCommitTime() * 1000L));
+        commit.setAuthor(full.getAuthorIdent().getName());
+        // same as the offline parser: non empty lines of %B joined together
+        for (String line : full.getFullMessage().split("\r\n|\r|\n")) {
+            if (!line.isEmpty()) {
+                commit.addToMessage(line);
+            }
+        }
+    }
+
+    private GitCommitFile file(final TreeWalk treeWalk) {
+        String path = treeWalk.getPathString();
+        GitCommitFile file = new GitCommitFile();
+        file.setRawOperation(operation(treeWalk.getRawMode(0), treeWalk.getRawMode(1)));
+        file.setPath(path);
+        file.setExtension(FilenameUtils.getExtension(path));
+        file.setJavaClass("");
+        if (filter.isJavaFile(path)) {
+            file.setJavaClass(filter.javaClass(path));
+        }
+        return file;
+    }
+
+    // operation codes as printed by git log --raw
+    private static char operation(final int oldMode, final int newMode) {
+        if (oldMode == 0) {
+            return 'A';
+        } else if (newMode == 0) {
+            return 'D';
+        } else if ((oldMode & FileMode.TYPE_MASK) != (newMode & FileMode.TYPE_MASK)) {
+            return 'T';
+        }
+        return 'M';
+    }
+
+    /**
+     * Accepts subtrees and files fitting the extensions, .java files have to
+     * contain the package prefix as well.
+     */
+    private static class AcceptedFiles extends TreeFilter {
+        private final SCMFileFilter filter;
+
+        AcceptedFiles(final SCMFileFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean include(final TreeWalk walker) {
+            if (walker.isSubtree()) {
+                return true;
+            }
+            String path = walker.getPathString();
+            return filter.extensionFits(path) && (!filter.isJavaFile(path) || filter.packageFits(path));
+        }
+
+        @Override
+        public boolean shouldBeRecursive() {
+            return false;
+        }
+
+        @Override
+        public TreeFilter clone() {
+            return this;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import javax.swing.JFileChooser;
 import org.knime.core.node.defaultnodesettings.DefaultNodeSettingsPane;
 import org.knime.core.node.defaultnodesettings.DialogComponentFileChooser;
 import org.knime.core.node.defaultnodesettings.DialogComponentString;
+import org.knime.core.node.defaultnodesettings.DialogComponentStringSelection;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 
 /**
@@ -35,8 +36,17 @@ public class GitOfflineAdapterNodeDialog extends DefaultNodeSettingsPane {
 	
     protected GitOfflineAdapterNodeDialog() {
         super();
-        addDialogComponent(new DialogComponentFileChooser(new SettingsModelString(GitOfflineAdapterNodeModel.GIT_FILENAME,
-                GitOfflineAdapterNodeModel.GIT_FILENAME_DEFAULT), GitOfflineAdapterNodeModel.GIT_FILENAME_DEFAULT, JFileChooser.OPEN_DIALOG, false));
+        addDialogComponent(new DialogComponentStringSelection(new SettingsModelString(GitOfflineAdapterNodeModel.GIT_SOURCE,
+                GitOfflineAdapterNodeModel.GIT_SOURCE_DEFAULT), "Read from: ", GitOfflineAdapterNodeModel.GIT_SOURCE_LOG,
+                GitOfflineAdapterNodeModel.GIT_SOURCE_REPOSITORY));
+        DialogComponentFileChooser logFile = new DialogComponentFileChooser(new SettingsModelString(GitOfflineAdapterNodeModel.GIT_FILENAME,
+                GitOfflineAdapterNodeModel.GIT_FILENAME_DEFAULT), GitOfflineAdapterNodeModel.GIT_FILENAME_DEFAULT, JFileChooser.OPEN_DIALOG, false);
+        logFile.setBorderTitle("Git log file:");
+        addDialogComponent(logFile);
+        DialogComponentFileChooser repository = new DialogComponentFileChooser(new SettingsModelString(GitOfflineAdapterNodeModel.GIT_REPOSITORY,
+                GitOfflineAdapterNodeModel.GIT_REPOSITORY_DEFAULT), GitOfflineAdapterNodeModel.GIT_REPOSITORY, JFileChooser.OPEN_DIALOG, true);
+        repository.setBorderTitle("Git repository (bare or working copy):");
+        addDialogComponent(repository);
         addDialogComponent(new DialogComponentString(GitOfflineAdapterNodeModel.extensions, "Extension pattern: (* = any extension, any string, ? = any character, split many extensions by comma)", false, 30)); 
         createNewTab(ADVANCED_TAB_NAME);
         addDialogComponent(new DialogComponentString(GitOfflineAdapterNodeModel.gitPackageName, "Package: ", false, 30));  
@@ -17,20 +17,25 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.scm.git;
 
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createCellPool;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createDataColumnSpec;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createTableRow;
 import static org.impressivecode.depress.scm.SCMParserOptions.options;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.List;
 
-import org.impressivecode.depress.common.OutputTransformer;
-import org.impressivecode.depress.scm.SCMAdapterTransformer;
+import org.impressivecode.depress.common.CellPool;
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
+import org.impressivecode.depress.common.RowKeyGenerator;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.impressivecode.depress.scm.SCMDataType;
 import org.impressivecode.depress.scm.SCMExtensionsParser;
 import org.impressivecode.depress.scm.SCMParserOptions;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -45,7 +50,6 @@ import org.knime.core.node.defaultnodesettings.SettingsModelString;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
-import com.google.common.collect.Lists;
 
 /**
  * @author Tomasz Kuzemko
@@ -60,8 +64,15 @@ public class GitOfflineAdapterNodeModel extends NodeModel {
     static final String GIT_FILENAME = "filename";
     static final String EXTENSION_STR = "extension";
     static final String GIT_PACKAGENAME = "package";
+    static final String GIT_SOURCE = "source";
+    static final String GIT_REPOSITORY = "repository";
+
+    static final String GIT_SOURCE_LOG = "log file";
+    static final String GIT_SOURCE_REPOSITORY = "repository";
     
     static final String GIT_FILENAME_DEFAULT = "";
+    static final String GIT_SOURCE_DEFAULT = GIT_SOURCE_LOG;
+    static final String GIT_REPOSITORY_DEFAULT = "";
     static final String GIT_PACKAGENAME_DEFAULT = "";
     static final String EXTENSION_DEFAULT = ".java";
     
@@ -72,6 +83,10 @@ public class GitOfflineAdapterNodeModel extends NodeModel {
     // dialog work with "SettingsModels".
     private final SettingsModelString gitFileName = new SettingsModelString(GitOfflineAdapterNodeModel.GIT_FILENAME,
             GitOfflineAdapterNodeModel.GIT_FILENAME_DEFAULT);
+    private final SettingsModelString gitSource = new SettingsModelString(GitOfflineAdapterNodeModel.GIT_SOURCE,
+            GitOfflineAdapterNodeModel.GIT_SOURCE_DEFAULT);
+    private final SettingsModelString gitRepository = new SettingsModelString(GitOfflineAdapterNodeModel.GIT_REPOSITORY,
+            GitOfflineAdapterNodeModel.GIT_REPOSITORY_DEFAULT);
     public static final SettingsModelOptionalString gitPackageName = new SettingsModelOptionalString(
             GitOfflineAdapterNodeModel.GIT_PACKAGENAME, GitOfflineAdapterNodeModel.GIT_PACKAGENAME_DEFAULT, true);
     
@@ -86,17 +101,27 @@ public class GitOfflineAdapterNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
     	
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         try {
-            logger.info("Reading git logs from file " + this.gitFileName.getStringValue());
             ArrayList<String> userExtensions = SCMExtensionsParser.parseExtensions(extensions.getStringValue()); 
             String packageNameToFilter = Strings.emptyToNull(gitPackageName.getStringValue());
             SCMParserOptions parserOptions = options(packageNameToFilter, userExtensions);
-            GitOfflineLogParser parser = new GitOfflineLogParser(parserOptions);
-            List<GitCommit> commits = parser.parseEntries(this.gitFileName.getStringValue());
-            logger.info("Reading git logs finished");
-            BufferedDataTable out = transform(commits, exec);
-            logger.info("Transforming git logs finished.");
-            return new BufferedDataTable[] { out };
+            BufferedDataContainer container = exec.createDataContainer(createDataColumnSpec());
+            if (GIT_SOURCE_REPOSITORY.equals(gitSource.getStringValue())) {
+                logger.info("Reading git logs from repository " + this.gitRepository.getStringValue());
+                GitNativeLogParser parser = new GitNativeLogParser(parserOptions);
+                parser.parseEntries(this.gitRepository.getStringValue(), new RowWriter(container, exec));
+            } else {
+                logger.info("Reading git logs from file " + this.gitFileName.getStringValue());
+                GitOfflineLogParser parser = new GitOfflineLogParser(parserOptions);
+                parser.parseEntries(this.gitFileName.getStringValue(), new RowWriter(container, exec));
+                telemetry.addBytesRead(new File(this.gitFileName.getStringValue()));
+            }
+            container.close();
+            exec.checkCanceled();
+            logger.info("Reading and transforming git logs finished.");
+            telemetry.finish(container.getTable());
+            return new BufferedDataTable[] { container.getTable() };
         } catch (Exception ex) {
         	logger.error("Unable to parse git entries", ex);
             throw ex;
@@ -118,18 +143,33 @@ public class GitOfflineAdapterNodeModel extends NodeModel {
     protected void saveSettingsTo(final NodeSettingsWO settings) {
         gitFileName.saveSettingsTo(settings);
         gitPackageName.saveSettingsTo(settings);
+        gitSource.saveSettingsTo(settings);
+        gitRepository.saveSettingsTo(settings);
     }
 
     @Override
     protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
         gitFileName.loadSettingsFrom(settings);
         gitPackageName.loadSettingsFrom(settings);
+        // workflows saved before reading repositories was added keep the log file source
+        if (settings.containsKey(GIT_SOURCE)) {
+            gitSource.loadSettingsFrom(settings);
+        }
+        if (settings.containsKey(GIT_REPOSITORY)) {
+            gitRepository.loadSettingsFrom(settings);
+        }
     }
 
     @Override
     protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
         gitFileName.validateSettings(settings);
         gitPackageName.validateSettings(settings);
+        if (settings.containsKey(GIT_SOURCE)) {
+            gitSource.validateSettings(settings);
+        }
+        if (settings.containsKey(GIT_REPOSITORY)) {
+            gitRepository.validateSettings(settings);
+        }
     }
 
     @Override
@@ -144,17 +184,33 @@ public class GitOfflineAdapterNodeModel extends NodeModel {
         // NOOP
     }
 
-    private BufferedDataTable transform(final List<GitCommit> commits, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        List<SCMDataType> data = Lists.newLinkedList();
-        for (GitCommit commit : commits) {
-            for (GitCommitFile file : commit.getFiles()) {
+    /**
+     * Writes rows for each parsed commit directly to the container, parsing is
+     * stopped when execution is canceled.
+     */
+    private class RowWriter implements GitCommitHandler {
+        private final BufferedDataContainer container;
+        private final ExecutionContext exec;
+        private final Segment keys = RowKeyGenerator.numbered().segment(0);
+        private final CellPool pool = createCellPool();
+
+        RowWriter(final BufferedDataContainer container, final ExecutionContext exec) {
+            this.container = container;
+            this.exec = exec;
+        }
+
+        @Override
+        public boolean handle(final GitCommit commit) {
+            try {
                 progress(exec);
-                data.add(scm(commit, file));
+            } catch (CanceledExecutionException e) {
+                return false;
+            }
+            for (GitCommitFile file : commit.getFiles()) {
+                container.addRowToTable(createTableRow(keys.next(), scm(commit, file), false, pool));
             }
+            return true;
         }
-        OutputTransformer<SCMDataType> transformer = new SCMAdapterTransformer(createDataColumnSpec());
-        return transformer.transform(data, exec);
     }
 
     private SCMDataType scm(final GitCommit commit, final GitCommitFile file) {
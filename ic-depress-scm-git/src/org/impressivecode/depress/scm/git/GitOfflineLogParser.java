@@ -30,7 +30,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.FilenameUtils;
-import org.impressivecode.depress.scm.SCMExtensionsParser;
+import org.impressivecode.depress.scm.SCMFileFilter;
 import org.impressivecode.depress.scm.SCMParserOptions;
 
 import com.google.common.base.Charsets;
@@ -61,11 +61,28 @@ public class GitOfflineLogParser {
     }
 
     public List<GitCommit> parseEntries(final String path) throws IOException, ParseException {
+        final ImmutableList.Builder<GitCommit> builder = ImmutableList.builder();
+        parseEntries(path, new GitCommitHandler() {
+            @Override
+            public boolean handle(final GitCommit commit) {
+                builder.add(commit);
+                return true;
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * Streams parsed commits to the handler, only the commit being parsed is
+     * kept in memory.
+     */
+    public void parseEntries(final String path, final GitCommitHandler handler) throws IOException, ParseException {
         checkArgument(!isNullOrEmpty(path), "Path has to be set.");
-        return Files.readLines(new File(path), Charsets.UTF_8, new GitLineProcessor(parserOptions));
+        checkNotNull(handler, "Handler has to be set");
+        Files.readLines(new File(path), Charsets.UTF_8, new GitLineProcessor(parserOptions, handler));
     }
 
-    static class GitLineProcessor implements LineProcessor<List<GitCommit>> {
+    static class GitLineProcessor implements LineProcessor<Void> {
 
         private enum LEXER {
             HASH, DATE, AUTHOR, MSG, FILES
@@ -74,19 +91,28 @@ public class GitOfflineLogParser {
         private final static Pattern PATTERN = Pattern
                 .compile("^:\\d{6} \\d{6} [a-f0-9]{40} [a-f0-9]{40} (A|C|D|M|R|T)\t(.*)$");
 
-        final ImmutableList.Builder<GitCommit> builder = ImmutableList.builder();
-        private SCMParserOptions options;
+        private final GitCommitHandler handler;
+        private final SCMFileFilter filter;
         private GitCommit commit;
         private LEXER nextStep = LEXER.HASH;
         private long counter = 0;
+        private boolean stopped = false;
 
-        public GitLineProcessor(final SCMParserOptions options) {
-            this.options = options;
+        public GitLineProcessor(final SCMParserOptions options, final GitCommitHandler handler) {
+            this.filter = SCMFileFilter.create(options);
+            this.handler = handler;
         }
 
         @Override
-        public List<GitCommit> getResult() {
-            return builder.build();
+        public Void getResult() {
+            if (!stopped) {
+                try {
+                    emit();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to handle last commit", e);
+                }
+            }
+            return null;
         }
 
         @Override
@@ -94,14 +120,16 @@ public class GitOfflineLogParser {
             counter++;
             try {
                 processLinIntern(line);
-                return true;
+                return !stopped;
+            } catch (IOException e) {
+                throw e;
             } catch (Exception e) {
                 String message = String.format("Unable to parse line: [%s], line number:[%s]", line, counter);
                 throw new IllegalArgumentException(message, e);
             }
         }
 
-        private void processLinIntern(final String line) {
+        private void processLinIntern(final String line) throws IOException {
             switch (nextStep) {
             case AUTHOR:
                 author(line);
@@ -121,7 +149,7 @@ public class GitOfflineLogParser {
             }
         }
 
-        private void files(final String line) {
+        private void files(final String line) throws IOException {
             if (Strings.isNullOrEmpty(line)) {
                 this.nextStep = LEXER.HASH;
             } else {
@@ -154,28 +182,33 @@ public class GitOfflineLogParser {
             this.nextStep = LEXER.AUTHOR;
         }
 
-        private void hash(final String line) {
+        private void hash(final String line) throws IOException {
+            emit();
             this.commit = new GitCommit();
             this.commit.setId(line);
-            this.builder.add(commit);
             this.nextStep = LEXER.DATE;
         }
 
+        private void emit() throws IOException {
+            if (this.commit != null) {
+                this.stopped = !handler.handle(this.commit);
+                this.commit = null;
+            }
+        }
+
         private void parsePath(final Matcher matcher) {
             String operationCode = matcher.group(1);
             String origin = matcher.group(2);
-            String transformed = origin.replaceAll("/", ".");
-            
-            String parseJavaClass = "";
-            if (SCMExtensionsParser.extensionFits(transformed, options.getExtensionsNamesToFilter())) {
+
+            if (filter.extensionFits(origin)) {
                 GitCommitFile gitFile = new GitCommitFile();
                 gitFile.setRawOperation(operationCode.charAt(0));
                 gitFile.setPath(origin);
-                gitFile.setExtension(FilenameUtils.getExtension(transformed));
-                gitFile.setJavaClass(parseJavaClass);
-                if (transformed.endsWith(".java")) {
-                    if (packagePrefixValidate(transformed)) {
-                        gitFile.setJavaClass(parseJavaClass(transformed));
+                gitFile.setExtension(FilenameUtils.getExtension(origin));
+                gitFile.setJavaClass("");
+                if (filter.isJavaFile(origin)) {
+                    if (filter.packageFits(origin)) {
+                        gitFile.setJavaClass(filter.javaClass(origin));
                         commit.getFiles().add(gitFile);
                     }
                 } else {
@@ -183,20 +216,5 @@ public class GitOfflineLogParser {
                 }
             }
         }
-
-        private boolean packagePrefixValidate(final String path) {
-            if (options.hasPackagePrefix()) {
-                return path.indexOf(options.getPackagePrefix()) != -1;
-            }
-            return false;
-        }
-
-        private String parseJavaClass(final String path) {
-            String javaClass = path.replace(".java", "");
-            if (options.hasPackagePrefix()) {
-                javaClass = javaClass.substring(javaClass.indexOf(options.getPackagePrefix()));
-            }
-            return javaClass;
-        }
     }
 }
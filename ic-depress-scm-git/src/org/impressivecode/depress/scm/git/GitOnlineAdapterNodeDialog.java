@@ -31,11 +31,15 @@ import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.errors.NoWorkTreeException;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.defaultnodesettings.DefaultNodeSettingsPane;
+import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
 import org.knime.core.node.defaultnodesettings.DialogComponentButton;
 import org.knime.core.node.defaultnodesettings.DialogComponentFileChooser;
 import org.knime.core.node.defaultnodesettings.DialogComponentLabel;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.DialogComponentString;
 import org.knime.core.node.defaultnodesettings.DialogComponentStringSelection;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 
 /**
@@ -130,6 +134,24 @@ public class GitOnlineAdapterNodeDialog extends DefaultNodeSettingsPane {
 
         addDialogComponent(new DialogComponentString(new SettingsModelString(GitOnlineAdapterNodeModel.GIT_PACKAGENAME,
                 GitOnlineAdapterNodeModel.GIT_PACKAGENAME_DEFAULT), "Package: "));
+        addDialogComponent(new DialogComponentBoolean(new SettingsModelBoolean(GitOnlineAdapterNodeModel.GIT_INCREMENTAL,
+                GitOnlineAdapterNodeModel.GIT_INCREMENTAL_DEFAULT), "Incremental update (read only commits added since last execution)"));
+        addDialogComponent(new DialogComponentNumber(new SettingsModelIntegerBounded(GitOnlineAdapterNodeModel.GIT_THREADS,
+                GitOnlineAdapterNodeModel.GIT_THREADS_DEFAULT, 1, GitOnlineAdapterNodeModel.GIT_THREADS_MAX), "Diff threads: ", 1));
+        addDialogComponent(new DialogComponentStringSelection(new SettingsModelString(GitOnlineAdapterNodeModel.GIT_MERGE_MODE,
+                GitOnlineAdapterNodeModel.GIT_MERGE_MODE_DEFAULT), "Merge commit files: ", GitMergeMode.NONE.getLabel(),
+                GitMergeMode.FIRST_PARENT.getLabel(), GitMergeMode.COMBINED.getLabel()));
+        addDialogComponent(new DialogComponentBoolean(new SettingsModelBoolean(GitOnlineAdapterNodeModel.GIT_CHURN,
+                GitOnlineAdapterNodeModel.GIT_CHURN_DEFAULT), "Count added and deleted lines"));
+
+        createNewGroup("Repository cache");
+        addDialogComponent(new DialogComponentNumber(new SettingsModelIntegerBounded(GitOnlineAdapterNodeModel.GIT_PACKED_LIMIT,
+                GitOnlineAdapterNodeModel.GIT_PACKED_LIMIT_DEFAULT, 1, GitOnlineAdapterNodeModel.GIT_PACKED_LIMIT_MAX),
+                "Packed git limit (MB): ", 10));
+        addDialogComponent(new DialogComponentNumber(new SettingsModelIntegerBounded(GitOnlineAdapterNodeModel.GIT_DELTA_CACHE,
+                GitOnlineAdapterNodeModel.GIT_DELTA_CACHE_DEFAULT, 1, GitOnlineAdapterNodeModel.GIT_DELTA_CACHE_MAX),
+                "Delta base cache (MB): ", 10));
+        closeCurrentGroup();
     }
 
 
@@ -22,8 +22,12 @@ import static org.impressivecode.depress.scm.git.GitParserOptions.options;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.common.OutputTransformer;
 import org.impressivecode.depress.scm.SCMAdapterTransformer;
 import org.impressivecode.depress.scm.SCMDataType;
@@ -37,6 +41,9 @@ import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.defaultnodesettings.SettingsModel;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelOptionalString;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 
@@ -56,12 +63,28 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
     static final String GIT_REMOTE_REPOSITORY_ADDRESS = "remote address";
     static final String GIT_PACKAGENAME = "package";
     static final String GIT_BRANCH = "branch";
+    static final String GIT_INCREMENTAL = "incremental";
+    static final String GIT_THREADS = "threads";
+    static final String GIT_PACKED_LIMIT = "packed git limit";
+    static final String GIT_DELTA_CACHE = "delta base cache";
+    static final String GIT_MERGE_MODE = "merge diff";
+    static final String GIT_CHURN = "churn";
     
     static final String GIT_REPOSITORY_DEFAULT = "";
     static final String GIT_REMOTE_REPOSITORY_DEFAULT = "";
     static final String GIT_BRANCH_DEFAULT = "";
     static final String GIT_PACKAGENAME_DEFAULT = "";
     static final Boolean GIT_PACKAGENAME_ACTIVE_STATE = false;
+    static final Boolean GIT_INCREMENTAL_DEFAULT = false;
+    static final int GIT_THREADS_DEFAULT = 1;
+    static final int GIT_THREADS_MAX = 64;
+    // JGit defaults, in MB
+    static final int GIT_PACKED_LIMIT_DEFAULT = 10;
+    static final int GIT_PACKED_LIMIT_MAX = 8192;
+    static final int GIT_DELTA_CACHE_DEFAULT = 10;
+    static final int GIT_DELTA_CACHE_MAX = 1024;
+    static final String GIT_MERGE_MODE_DEFAULT = GitMergeMode.NONE.getLabel();
+    static final Boolean GIT_CHURN_DEFAULT = false;
 
     // example value: the models count variable filled from the dialog
     // and used in the models execution method. The default components of the
@@ -72,6 +95,25 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
             GitOnlineAdapterNodeModel.GIT_BRANCH_DEFAULT, true);
     private final SettingsModelOptionalString gitPackageName = new SettingsModelOptionalString(
             GitOnlineAdapterNodeModel.GIT_PACKAGENAME, GitOnlineAdapterNodeModel.GIT_PACKAGENAME_DEFAULT, true);
+    private final SettingsModelBoolean gitIncremental = new SettingsModelBoolean(
+            GitOnlineAdapterNodeModel.GIT_INCREMENTAL, GitOnlineAdapterNodeModel.GIT_INCREMENTAL_DEFAULT);
+    private final SettingsModelIntegerBounded gitThreads = new SettingsModelIntegerBounded(
+            GitOnlineAdapterNodeModel.GIT_THREADS, GitOnlineAdapterNodeModel.GIT_THREADS_DEFAULT, 1,
+            GitOnlineAdapterNodeModel.GIT_THREADS_MAX);
+    private final SettingsModelIntegerBounded gitPackedLimit = new SettingsModelIntegerBounded(
+            GitOnlineAdapterNodeModel.GIT_PACKED_LIMIT, GitOnlineAdapterNodeModel.GIT_PACKED_LIMIT_DEFAULT, 1,
+            GitOnlineAdapterNodeModel.GIT_PACKED_LIMIT_MAX);
+    private final SettingsModelIntegerBounded gitDeltaCache = new SettingsModelIntegerBounded(
+            GitOnlineAdapterNodeModel.GIT_DELTA_CACHE, GitOnlineAdapterNodeModel.GIT_DELTA_CACHE_DEFAULT, 1,
+            GitOnlineAdapterNodeModel.GIT_DELTA_CACHE_MAX);
+    private final SettingsModelString gitMergeMode = new SettingsModelString(GitOnlineAdapterNodeModel.GIT_MERGE_MODE,
+            GitOnlineAdapterNodeModel.GIT_MERGE_MODE_DEFAULT);
+    private final SettingsModelBoolean gitChurn = new SettingsModelBoolean(GitOnlineAdapterNodeModel.GIT_CHURN,
+            GitOnlineAdapterNodeModel.GIT_CHURN_DEFAULT);
+
+    // commits read by the last execution, kept in node internals for the
+    // incremental mode
+    private GitHistoryCache history;
 
     protected GitOnlineAdapterNodeModel() {
         super(0, 1);
@@ -81,16 +123,29 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         String gitPath = getGitPath(this.gitRepositoryAddress.getStringValue());
 
         logger.info("Reading logs from repository " + gitPath);
+        GitRepositoryPool.getInstance().configureCache((long) gitPackedLimit.getIntValue() * WindowCacheConfig.MB,
+                gitDeltaCache.getIntValue() * WindowCacheConfig.MB);
         GitOnlineLogParser parser = new GitOnlineLogParser();
-        
-        List<GitCommit> commits = parser.parseEntries(gitPath,
-                options(gitPackageName.getStringValue(), gitBranch.getStringValue()));
+        GitParserOptions parserOptions = options(gitPackageName.getStringValue(), gitBranch.getStringValue(),
+                gitThreads.getIntValue(), GitMergeMode.fromLabel(gitMergeMode.getStringValue()),
+                gitChurn.getBooleanValue());
+
+        List<GitCommit> commits;
+        if (gitIncremental.getBooleanValue()) {
+            commits = parseIncrementally(parser, gitPath, parserOptions);
+        } else {
+            history = null;
+            commits = parser.parseEntries(gitPath, parserOptions);
+        }
 
+        telemetry.phase(Phase.WRITE);
         BufferedDataTable out = transform(commits, exec);
         logger.info("Reading git logs finished.");
+        telemetry.finish(out);
 
         return new BufferedDataTable[] { out };
     }
@@ -103,7 +158,7 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
     @Override
     protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
         Preconditions.checkArgument(inSpecs.length == 0);
-        return GitAdapterTableFactory.createTableSpec();
+        return GitAdapterTableFactory.createTableSpec(gitChurn.getBooleanValue());
     }
 
     @Override
@@ -111,6 +166,12 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
         gitRepositoryAddress.saveSettingsTo(settings);
         gitBranch.saveSettingsTo(settings);
         gitPackageName.saveSettingsTo(settings);
+        gitIncremental.saveSettingsTo(settings);
+        gitThreads.saveSettingsTo(settings);
+        gitPackedLimit.saveSettingsTo(settings);
+        gitDeltaCache.saveSettingsTo(settings);
+        gitMergeMode.saveSettingsTo(settings);
+        gitChurn.saveSettingsTo(settings);
     }
 
     @Override
@@ -118,6 +179,12 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
         gitRepositoryAddress.loadSettingsFrom(settings);
         gitBranch.loadSettingsFrom(settings);
         gitPackageName.loadSettingsFrom(settings);
+        loadOptional(gitIncremental, GIT_INCREMENTAL, settings);
+        loadOptional(gitThreads, GIT_THREADS, settings);
+        loadOptional(gitPackedLimit, GIT_PACKED_LIMIT, settings);
+        loadOptional(gitDeltaCache, GIT_DELTA_CACHE, settings);
+        loadOptional(gitMergeMode, GIT_MERGE_MODE, settings);
+        loadOptional(gitChurn, GIT_CHURN, settings);
     }
 
     @Override
@@ -125,18 +192,72 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
         gitRepositoryAddress.validateSettings(settings);
         gitBranch.loadSettingsFrom(settings);
         gitPackageName.validateSettings(settings);
+        validateOptional(gitIncremental, GIT_INCREMENTAL, settings);
+        validateOptional(gitThreads, GIT_THREADS, settings);
+        validateOptional(gitPackedLimit, GIT_PACKED_LIMIT, settings);
+        validateOptional(gitDeltaCache, GIT_DELTA_CACHE, settings);
+        validateOptional(gitMergeMode, GIT_MERGE_MODE, settings);
+        validateOptional(gitChurn, GIT_CHURN, settings);
     }
 
     @Override
     protected void loadInternals(final File internDir, final ExecutionMonitor exec) throws IOException,
     CanceledExecutionException {
-        // NOOP
+        history = GitHistoryCache.load(internDir);
     }
 
     @Override
     protected void saveInternals(final File internDir, final ExecutionMonitor exec) throws IOException,
     CanceledExecutionException {
-        // NOOP
+        if (history != null) {
+            history.save(internDir);
+        }
+    }
+
+    // settings added after the first release are missing in older workflows, they keep their defaults
+    private static void loadOptional(final SettingsModel model, final String key, final NodeSettingsRO settings)
+            throws InvalidSettingsException {
+        if (settings.containsKey(key)) {
+            model.loadSettingsFrom(settings);
+        }
+    }
+
+    private static void validateOptional(final SettingsModel model, final String key, final NodeSettingsRO settings)
+            throws InvalidSettingsException {
+        if (settings.containsKey(key)) {
+            model.validateSettings(settings);
+        }
+    }
+
+    List<GitCommit> parseIncrementally(final GitOnlineLogParser parser, final String gitPath,
+            final GitParserOptions parserOptions) throws Exception {
+        String branch = gitBranch.getStringValue();
+        String packageName = gitPackageName.getStringValue();
+        List<GitCommit> commits;
+        GitMergeMode mergeMode = parserOptions.getMergeMode();
+        boolean churn = parserOptions.isChurn();
+        boolean reuse = history != null && history.matches(gitPath, branch, packageName, mergeMode, churn);
+        if (reuse && history.getLastCommitId() != null
+                && !parser.isInHistory(gitPath, parserOptions, history.getLastCommitId())) {
+            // cached commits may be gone or rewritten, e.g. after a force push, reset or rebase
+            logger.warn("Last processed commit " + history.getLastCommitId()
+                    + " is no longer in the branch history, reading whole history.");
+            reuse = false;
+        }
+        if (reuse) {
+            List<GitCommit> newCommits = parser.parseEntries(gitPath, parserOptions, history.getLastCommitId());
+            logger.info("Incremental update, new commits: " + newCommits.size() + ", cached commits: "
+                    + history.getCommits().size());
+            // log order is newest first, same as for full history walk
+            commits = new ArrayList<GitCommit>(newCommits.size() + history.getCommits().size());
+            commits.addAll(newCommits);
+            commits.addAll(history.getCommits());
+        } else {
+            commits = parser.parseEntries(gitPath, parserOptions);
+        }
+        String lastCommitId = commits.isEmpty() ? null : commits.get(0).getId();
+        history = new GitHistoryCache(gitPath, branch, packageName, mergeMode, churn, lastCommitId, commits);
+        return commits;
     }
 
     private BufferedDataTable transform(final List<GitCommit> commits, final ExecutionContext exec)
@@ -148,7 +269,8 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
                 data.add(scm(commit, file));
             }
         }
-        OutputTransformer<SCMDataType> transformer = new SCMAdapterTransformer(createDataColumnSpec());
+        OutputTransformer<SCMDataType> transformer = new SCMAdapterTransformer(
+                createDataColumnSpec(gitChurn.getBooleanValue()));
         return transformer.transform(data, exec);
     }
 
@@ -162,6 +284,8 @@ public class GitOnlineAdapterNodeModel extends NodeModel {
         scm.setPath(file.getPath());
         scm.setExtension(file.getExtension());
         scm.setResourceName(file.getJavaClass());
+        scm.setLinesAdded(file.getLinesAdded());
+        scm.setLinesDeleted(file.getLinesDeleted());
         return scm;
     }
 
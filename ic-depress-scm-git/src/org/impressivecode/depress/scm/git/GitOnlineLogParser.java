@@ -22,11 +22,20 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.text.ParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,16 +51,30 @@ import org.eclipse.jgit.api.errors.TransportException;
 import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.diff.DiffEntry.ChangeType;
 import org.eclipse.jgit.diff.DiffFormatter;
-import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.diff.RenameDetector;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.ProgressMonitor;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.lib.RepositoryBuilder;
+import org.eclipse.jgit.patch.FileHeader;
+import org.eclipse.jgit.patch.FileHeader.PatchType;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
 import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.jgit.util.io.DisabledOutputStream;
-import org.impressivecode.depress.scm.SCMExtensionsParser;
+import org.impressivecode.depress.scm.SCMFileFilter;
+
+import com.google.common.base.Throwables;
 
 /**
  * 
@@ -61,31 +84,81 @@ import org.impressivecode.depress.scm.SCMExtensionsParser;
  */
 public class GitOnlineLogParser {
 
+    private static final int COMMITS_PER_THREAD = 16;
+
+    private static final Pattern PATTERN = Pattern.compile("^(.*) [a-f0-9]{40} (A|C|D|M|R|T)");
 
     public List<GitCommit> parseEntries(final String path, final GitParserOptions gitParserOptions) throws IOException,
     ParseException, NoHeadException, GitAPIException {
+        return parseEntries(path, gitParserOptions, null);
+    }
+
+    /**
+     * Reads only commits which are not reachable from <code>lastCommitId</code>
+     * (all commits when it is null). Throws {@link MissingObjectException} when
+     * the commit is no longer present in the repository. Check with
+     * {@link #isInHistory(String, GitParserOptions, String)} first that the
+     * commit was not dropped from the history by a rewrite.
+     */
+    public List<GitCommit> parseEntries(final String path, final GitParserOptions gitParserOptions,
+            final String lastCommitId) throws IOException, ParseException, NoHeadException, GitAPIException {
         checkArgument(!isNullOrEmpty(path), "Path has to be set.");
 
-        List<GitCommit> commitsList = processRepo(path, gitParserOptions);
+        List<GitCommit> commitsList = processRepo(path, gitParserOptions, lastCommitId);
 
         return commitsList;
     }
 
+    /**
+     * @return true if the commit is an ancestor of the parsed branch (HEAD when
+     *         no branch is set), false when it is missing or no longer in the
+     *         history, e.g. after a force push, reset or rebase
+     */
+    public boolean isInHistory(final String path, final GitParserOptions gitParserOptions, final String commitId)
+            throws IOException, GitAPIException {
+        GitRepositoryPool pool = GitRepositoryPool.getInstance();
+        Repository repository = pool.acquire(path);
+        RevWalk walk = new RevWalk(repository);
+        try {
+            Git git = new Git(repository);
+            ObjectId head = gitParserOptions.hasBranch() ? findBranch(git, gitParserOptions).getObjectId()
+                    : repository.resolve(Constants.HEAD);
+            if (head == null) {
+                return false;
+            }
+            return walk.isMergedInto(walk.parseCommit(ObjectId.fromString(commitId)), walk.parseCommit(head));
+        } catch (MissingObjectException e) {
+            return false;
+        } finally {
+            walk.release();
+            pool.release(repository);
+        }
+    }
+
     public static String getCurrentBranch(final String path) throws IOException, NoHeadException {
-        Git git = initializeGit(path);
-        return git.getRepository().getBranch();
+        GitRepositoryPool pool = GitRepositoryPool.getInstance();
+        Repository repository = pool.acquire(path);
+        try {
+            return repository.getBranch();
+        } finally {
+            pool.release(repository);
+        }
     }
 
     public static List<String> getBranches(final String path) throws IOException, GitAPIException {
-        Git git = initializeGit(path);
+        GitRepositoryPool pool = GitRepositoryPool.getInstance();
+        Repository repository = pool.acquire(path);
+        try {
+            List<Ref> refs = new Git(repository).branchList().setListMode(ListBranchCommand.ListMode.ALL).call();
+            List<String> branches = new ArrayList<String>();
+            for (Ref r : refs) {
+                branches.add(r.getName().replace("refs/heads/", "").replace("refs/remotes/", ""));
+            }
 
-        List<Ref> refs = git.branchList().setListMode(ListBranchCommand.ListMode.ALL).call();
-        List<String> branches = new ArrayList<String>();
-        for (Ref r : refs) {
-            branches.add(r.getName().replace("refs/heads/", "").replace("refs/remotes/", ""));
+            return branches;
+        } finally {
+            pool.release(repository);
         }
-
-        return branches;
     }
 
     public static void cloneRepository(final String remoteAddress, final String localPath, final ProgressMonitor monitor) throws InvalidRemoteException, TransportException, GitAPIException{
@@ -98,67 +171,153 @@ public class GitOnlineLogParser {
         clone.call();
     }
 
-    private static Git initializeGit(final String path) throws IOException, NoHeadException {
-        RepositoryBuilder gitRepoBuilder = new RepositoryBuilder();
-        Repository gitRepo = gitRepoBuilder.setGitDir(new File(path)).readEnvironment().findGitDir().build();
-        Git git = new Git(gitRepo);
-
-        // Make sure path contains a git repository.
-        if (!gitRepo.getObjectDatabase().exists()) {
-            throw new NoHeadException("Directory " + path + " does not look like a git repository.");
+    private List<GitCommit> processRepo(final String path, final GitParserOptions gitParserOptions,
+            final String lastCommitId) throws IOException, NoHeadException, GitAPIException {
+        GitRepositoryPool pool = GitRepositoryPool.getInstance();
+        Repository repository = pool.acquire(path);
+        try {
+            return processRepo(new Git(repository), gitParserOptions, lastCommitId);
+        } finally {
+            pool.release(repository);
         }
-
-        return git;
     }
 
-    private List<GitCommit> processRepo(final String path, final GitParserOptions gitParserOptions) throws IOException, NoHeadException, GitAPIException{
-        Git git = initializeGit(path);
-        List<GitCommit> analyzedCommits = new ArrayList<GitCommit>();
-
+    private List<GitCommit> processRepo(final Git git, final GitParserOptions gitParserOptions,
+            final String lastCommitId) throws IOException, GitAPIException {
         LogCommand log = git.log();
 
         if (gitParserOptions.hasBranch()) {
-            List<Ref> branches = git.branchList().setListMode(ListBranchCommand.ListMode.ALL).call();
-            Ref branch = null;
-            for (Ref b : branches)
-            {
-                if (b.getName().equals("refs/heads/" + gitParserOptions.getBranch())
-                        || b.getName().equals("refs/remotes/" + gitParserOptions.getBranch())) {
-                    branch = b;
-                    break;
+            log.add(findBranch(git, gitParserOptions).getObjectId());
+        }
+        if (lastCommitId != null) {
+            log.not(ObjectId.fromString(lastCommitId));
+        }
+
+        Iterable<RevCommit> loglines = log.call();
+        Iterator<RevCommit> logIterator = loglines.iterator();
+        if (gitParserOptions.getThreads() > 1) {
+            return processCommitsInParallel(logIterator, gitParserOptions, git.getRepository());
+        }
+        List<GitCommit> analyzedCommits = new ArrayList<GitCommit>();
+        CommitDiffer differ = new CommitDiffer(git.getRepository(), gitParserOptions);
+        try {
+            while (logIterator.hasNext()) {
+                RevCommit commit = logIterator.next();
+                analyzedCommits.add(processCommit(commit, gitParserOptions, differ));
+            }
+        } finally {
+            differ.release();
+        }
+        return analyzedCommits;
+    }
+
+    private static Ref findBranch(final Git git, final GitParserOptions gitParserOptions) throws IOException,
+            GitAPIException {
+        List<Ref> branches = git.branchList().setListMode(ListBranchCommand.ListMode.ALL).call();
+        for (Ref b : branches)
+        {
+            if (b.getName().equals("refs/heads/" + gitParserOptions.getBranch())
+                    || b.getName().equals("refs/remotes/" + gitParserOptions.getBranch())) {
+                return b;
+            }
+        }
+        throw new IOException("Specified branch was not found in git repository");
+    }
+
+    /**
+     * Commit ids are read from the log on the calling thread and handed to a
+     * pool of workers, each one with its own {@link CommitDiffer}. At most
+     * {@link #COMMITS_PER_THREAD} commits per worker are in progress, results
+     * are collected in log order.
+     */
+    private List<GitCommit> processCommitsInParallel(final Iterator<RevCommit> logIterator,
+            final GitParserOptions gitParserOptions, final Repository repository) throws IOException {
+        final List<CommitDiffer> differs = Collections.synchronizedList(new ArrayList<CommitDiffer>());
+        final ThreadLocal<CommitDiffer> workerDiffer = new ThreadLocal<CommitDiffer>() {
+            @Override
+            protected CommitDiffer initialValue() {
+                CommitDiffer differ = new CommitDiffer(repository, gitParserOptions);
+                differs.add(differ);
+                return differ;
+            }
+        };
+        int threads = gitParserOptions.getThreads();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<GitCommit>> pending = new ArrayDeque<Future<GitCommit>>();
+        List<GitCommit> analyzedCommits = new ArrayList<GitCommit>();
+        try {
+            while (logIterator.hasNext()) {
+                final ObjectId commitId = logIterator.next().copy();
+                pending.add(executor.submit(new Callable<GitCommit>() {
+                    @Override
+                    public GitCommit call() throws IOException {
+                        return processCommit(commitId, gitParserOptions, workerDiffer.get());
+                    }
+                }));
+                if (pending.size() >= threads * COMMITS_PER_THREAD) {
+                    analyzedCommits.add(result(pending.poll()));
                 }
             }
-            if (branch == null) {
-                throw new IOException("Specified branch was not found in git repository");
+            while (!pending.isEmpty()) {
+                analyzedCommits.add(result(pending.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+            for (CommitDiffer differ : differs) {
+                differ.release();
             }
-            log.add(branch.getObjectId());
         }
+        return analyzedCommits;
+    }
 
-        Iterable<RevCommit> loglines = log.call();
-        Iterator<RevCommit> logIterator = loglines.iterator();
-        while (logIterator.hasNext()){
-            RevCommit commit = logIterator.next();
-            GitcommitProcessor proc = new GitcommitProcessor(gitParserOptions, git.getRepository());
-            proc.setRevCommit(commit);
+    private GitCommit processCommit(final AnyObjectId commitId, final GitParserOptions gitParserOptions,
+            final CommitDiffer differ) throws IOException {
+        RevWalk walk = differ.newRevWalk();
+        try {
+            GitcommitProcessor proc = new GitcommitProcessor(gitParserOptions, differ, walk);
+            proc.setRevCommit(walk.parseCommit(commitId));
             proc.processCommitData();
-            analyzedCommits.add(proc.getResult());
+            return proc.getResult();
+        } finally {
+            walk.release();
         }
-        return analyzedCommits;
     }
 
+    private GitCommit result(final Future<GitCommit> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for commit diff");
+        } catch (ExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause(), IOException.class);
+            throw new IOException("Unable to process commit", e.getCause());
+        }
+    }
 
-    class GitcommitProcessor {
+    private void awaitTermination(final ExecutorService executor) throws InterruptedIOException {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for diff workers");
+        }
+    }
 
-        private final Pattern PATTERN = Pattern.compile("^(.*) [a-f0-9]{40} (A|C|D|M|R|T)");
+
+    class GitcommitProcessor {
 
         private final GitParserOptions options;
         private final GitCommit analyzedCommit = new GitCommit();
-        private final Repository repository;
+        private final CommitDiffer differ;
+        private final RevWalk walk;
         private RevCommit revCommit;
 
-        public GitcommitProcessor(final GitParserOptions options, final Repository repository) {
+        public GitcommitProcessor(final GitParserOptions options, final CommitDiffer differ, final RevWalk walk) {
             this.options = options;
-            this.repository = repository;
+            this.differ = differ;
+            this.walk = walk;
         }
 
         public void setRevCommit (final RevCommit revcommit){
@@ -178,11 +337,11 @@ public class GitOnlineLogParser {
         }
 
         private void files() throws IOException {
-            List<String> filesList= getFilesInCommit(this.repository, this.revCommit);
-            for (String fileLine : filesList){
-                Matcher matcher = PATTERN.matcher(fileLine);
+            List<ChangedFile> filesList = differ.getFilesInCommit(this.walk, this.revCommit);
+            for (ChangedFile file : filesList){
+                Matcher matcher = PATTERN.matcher(file.line);
                 if (matcher.matches()) {
-                    parsePath(matcher);
+                    parsePath(matcher, file);
                 }
             }
         }
@@ -208,85 +367,250 @@ public class GitOnlineLogParser {
             this.analyzedCommit.setId(commitId[1]);
         }
         
-        private void parsePath(final Matcher matcher) {
+        private void parsePath(final Matcher matcher, final ChangedFile file) {
             String operationCode = matcher.group(2);
             String origin = matcher.group(1);
-            String transformed = origin.replaceAll("/", ".");
-            
+            SCMFileFilter filter = options.getFileFilter();
+            if (!filter.extensionFits(origin)) {
+                return;
+            }
+
             String parseJavaClass = "";
-            if(SCMExtensionsParser.extensionFits(transformed, Arrays.asList("*"))){
-            	if(transformed.endsWith(".java")){
-    				if(packagePrefixValidate(transformed)){
-    					parseJavaClass = parseJavaClass(transformed);
-    				}
-    			}
-				GitCommitFile gitFile = new GitCommitFile();
-                gitFile.setRawOperation(operationCode.charAt(0));
-                gitFile.setPath(origin);
-                gitFile.setExtension(FilenameUtils.getExtension(transformed));
-                gitFile.setJavaClass(parseJavaClass);
-                this.analyzedCommit.getFiles().add(gitFile);
+            if (filter.isJavaFile(origin) && filter.packageFits(origin)) {
+                parseJavaClass = filter.javaClass(origin);
             }
+            GitCommitFile gitFile = new GitCommitFile();
+            gitFile.setRawOperation(operationCode.charAt(0));
+            gitFile.setPath(origin);
+            gitFile.setExtension(FilenameUtils.getExtension(origin));
+            gitFile.setJavaClass(parseJavaClass);
+            gitFile.setLinesAdded(file.linesAdded);
+            gitFile.setLinesDeleted(file.linesDeleted);
+            this.analyzedCommit.getFiles().add(gitFile);
         }
+    }
 
-        private boolean packagePrefixValidate(final String path) {
-			if(options.hasPackagePrefix()) {
-				return path.indexOf(options.getPackagePrefix()) != -1;
-			}
-			return false;
+    /**
+     * File line in the "path objectId operation" format matched by
+     * {@link #PATTERN}, with added and deleted lines when churn is computed.
+     */
+    static final class ChangedFile {
+        private final String line;
+        private Integer linesAdded;
+        private Integer linesDeleted;
+
+        ChangedFile(final String line) {
+            this.line = line;
         }
+    }
 
-        private String parseJavaClass(final String path) {
-            String javaClass = path.replace(".java", "");
-            if (options.hasPackagePrefix()) {
-                javaClass = javaClass.substring(javaClass.indexOf(options.getPackagePrefix()));
+    /**
+     * Diffs commits against their parents. Owns an {@link ObjectReader} and a
+     * {@link TreeWalk} reused for all diffs, so one instance must not be
+     * shared between threads. When churn is enabled, it also keeps a
+     * {@link DiffFormatter} with its own reader; blob data is shared between
+     * workers through the JGit window cache.
+     */
+    class CommitDiffer {
+        private final ObjectReader reader;
+        private final TreeWalk treeWalk;
+        private final RenameDetector renameDetector;
+        private final GitMergeMode mergeMode;
+        private final SCMFileFilter fileFilter;
+        private final DiffFormatter churnFormatter;
+
+        CommitDiffer(final Repository repository, final GitParserOptions options) {
+            this.reader = repository.newObjectReader();
+            this.treeWalk = new TreeWalk(reader);
+            this.treeWalk.setRecursive(true);
+            this.renameDetector = new RenameDetector(repository);
+            this.mergeMode = options.getMergeMode();
+            this.fileFilter = options.getFileFilter();
+            if (options.isChurn()) {
+                this.churnFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE);
+                this.churnFormatter.setRepository(repository);
+            } else {
+                this.churnFormatter = null;
             }
-            return javaClass;
         }
-    }
 
-    //modified method from https://github.com/gitblit/gitblit/blob/master/src/main/java/com/gitblit/utils/JGitUtils.java#L718
-    private List<String> getFilesInCommit(final Repository repository, final RevCommit commit) throws IOException {
-        RevWalk rw = new RevWalk(repository);
-        List<String> filesList = new ArrayList<String>();
-        String fileLine = "";
-
-        if (commit.getParentCount() > 1) {
-            // Merge commit
-        } else if (commit.getParentCount() == 0) {
-            TreeWalk tw = new TreeWalk(repository);
-            tw.reset();
-            tw.setRecursive(true);
-            tw.addTree(commit.getTree());
-            while (tw.next()) {
-                fileLine = tw.getPathString()+" "+tw.getObjectId(0).getName()+" "+this.setOperationSymbol("ADD");
+        RevWalk newRevWalk() {
+            return new RevWalk(reader);
+        }
+
+        void release() {
+            if (churnFormatter != null) {
+                churnFormatter.release();
+            }
+            treeWalk.release();
+            reader.release();
+        }
+
+        //modified method from https://github.com/gitblit/gitblit/blob/master/src/main/java/com/gitblit/utils/JGitUtils.java#L718
+        List<ChangedFile> getFilesInCommit(final RevWalk rw, final RevCommit commit) throws IOException {
+            List<ChangedFile> filesList = new ArrayList<ChangedFile>();
+
+            if (commit.getParentCount() == 0) {
+                treeWalk.reset();
+                treeWalk.addTree(new EmptyTreeIterator());
+                addDiffs(filesList, commit);
+            } else if (commit.getParentCount() == 1 || mergeMode == GitMergeMode.FIRST_PARENT) {
+                treeWalk.reset();
+                treeWalk.addTree(rw.parseCommit(commit.getParent(0).getId()).getTree());
+                addDiffs(filesList, commit);
+            } else if (mergeMode == GitMergeMode.COMBINED) {
+                addCombinedDiffs(filesList, rw, commit);
             }
-            tw.release();
-        } else {
-            RevCommit parent = rw.parseCommit(commit.getParent(0).getId());
-            DiffFormatter df = new DiffFormatter(DisabledOutputStream.INSTANCE);
-            df.setRepository(repository);
-            df.setDiffComparator(RawTextComparator.DEFAULT);
-            df.setDetectRenames(true);
-            List<DiffEntry> diffs = df.scan(parent.getTree(), commit.getTree());
-            for (DiffEntry diff : diffs) {
-                String objectId = diff.getNewId().name();
+            return filesList;
+        }
+
+        // diff of the tree already added to the walk against the commit, with rename detection
+        private void addDiffs(final List<ChangedFile> filesList, final RevCommit commit) throws IOException {
+            treeWalk.addTree(commit.getTree());
+            treeWalk.setFilter(TreeFilter.ANY_DIFF);
+            renameDetector.reset();
+            renameDetector.addAll(DiffEntry.scan(treeWalk));
+            for (DiffEntry diff : renameDetector.compute(reader, NullProgressMonitor.INSTANCE)) {
+                ObjectId objectId = diff.getNewId().toObjectId();
                 if (diff.getChangeType().equals(ChangeType.DELETE)) {
-                    fileLine = diff.getOldPath()+" "+objectId+" "+this.setOperationSymbol(diff.getChangeType().name());
-                    filesList.add(fileLine);
+                    filesList.add(churn(fileLine(diff.getOldPath(), objectId, diff.getChangeType().name()),
+                            diff.getOldPath(), diff));
                 } else if (diff.getChangeType().equals(ChangeType.RENAME)) {
                     //in git log there is two operations for RENAME: DELETE old file and ADD new so we need to add also two files to log:
-                    fileLine = diff.getOldPath()+" "+objectId+" "+this.setOperationSymbol(ChangeType.DELETE.name());
-                    filesList.add(fileLine);
-                    fileLine = diff.getNewPath()+" "+objectId+" "+this.setOperationSymbol(ChangeType.ADD.name());
-                    filesList.add(fileLine);
+                    //whole churn of the rename goes to the new file
+                    ChangedFile deleted = fileLine(diff.getOldPath(), objectId, ChangeType.DELETE.name());
+                    if (churnFormatter != null) {
+                        deleted.linesAdded = 0;
+                        deleted.linesDeleted = 0;
+                    }
+                    filesList.add(deleted);
+                    filesList.add(churn(fileLine(diff.getNewPath(), objectId, ChangeType.ADD.name()),
+                            diff.getNewPath(), diff));
+                } else {
+                    filesList.add(churn(fileLine(diff.getNewPath(), objectId, diff.getChangeType().name()),
+                            diff.getNewPath(), diff));
+                }
+            }
+        }
+
+        /**
+         * Sets added and deleted lines of the file, they are left unset when
+         * churn is disabled, the file is filtered out or binary. Files of
+         * combined merge entries are measured against the first parent.
+         */
+        private ChangedFile churn(final ChangedFile file, final String path, final DiffEntry diff)
+                throws IOException {
+            if (churnFormatter == null || !fileFilter.extensionFits(path)) {
+                return file;
+            }
+            FileHeader header = churnFormatter.toFileHeader(diff);
+            if (header.getPatchType() != PatchType.UNIFIED) {
+                return file;
+            }
+            int added = 0;
+            int deleted = 0;
+            for (Edit edit : header.toEditList()) {
+                added += edit.getEndB() - edit.getBeginB();
+                deleted += edit.getEndA() - edit.getBeginA();
+            }
+            file.linesAdded = added;
+            file.linesDeleted = deleted;
+            return file;
+        }
+
+        // files which differ from every parent, subtrees equal to any parent are skipped
+        private void addCombinedDiffs(final List<ChangedFile> filesList, final RevWalk rw, final RevCommit commit)
+                throws IOException {
+            int parents = commit.getParentCount();
+            ObjectId[] trees = new ObjectId[parents + 1];
+            for (int i = 0; i < parents; i++) {
+                trees[i] = rw.parseCommit(commit.getParent(i).getId()).getTree();
+            }
+            trees[parents] = commit.getTree();
+            treeWalk.reset(trees);
+            treeWalk.setFilter(DiffersFromAllParents.INSTANCE);
+            while (treeWalk.next()) {
+                String operation;
+                if (treeWalk.getRawMode(parents) == 0) {
+                    operation = ChangeType.DELETE.name();
+                } else if (isMissingInAllParents(parents)) {
+                    operation = ChangeType.ADD.name();
                 } else {
-                    fileLine = diff.getNewPath()+" "+objectId+" "+this.setOperationSymbol(diff.getChangeType().name());
-                    filesList.add(fileLine);
+                    operation = ChangeType.MODIFY.name();
+                }
+                String path = treeWalk.getPathString();
+                ChangedFile file = fileLine(path, treeWalk.getObjectId(parents), operation);
+                if (churnFormatter != null) {
+                    churn(file, path, new FirstParentDiff(path, treeWalk.getFileMode(0), treeWalk.getObjectId(0),
+                            treeWalk.getFileMode(parents), treeWalk.getObjectId(parents)));
+                }
+                filesList.add(file);
+            }
+        }
+
+        private boolean isMissingInAllParents(final int parents) {
+            for (int i = 0; i < parents; i++) {
+                if (treeWalk.getRawMode(i) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private ChangedFile fileLine(final String path, final ObjectId objectId, final String operation) {
+            return new ChangedFile(path + " " + objectId.getName() + " " + setOperationSymbol(operation));
+        }
+    }
+
+    /**
+     * Change of a combined merge entry against the first parent of the merge.
+     */
+    private static class FirstParentDiff extends DiffEntry {
+        FirstParentDiff(final String path, final FileMode parentMode, final ObjectId parentId,
+                final FileMode commitMode, final ObjectId commitId) {
+            oldMode = parentMode;
+            newMode = commitMode;
+            oldId = AbbreviatedObjectId.fromObjectId(parentId);
+            newId = AbbreviatedObjectId.fromObjectId(commitId);
+            oldPath = parentMode == FileMode.MISSING ? DEV_NULL : path;
+            newPath = commitMode == FileMode.MISSING ? DEV_NULL : path;
+            if (parentMode == FileMode.MISSING) {
+                changeType = ChangeType.ADD;
+            } else if (commitMode == FileMode.MISSING) {
+                changeType = ChangeType.DELETE;
+            } else {
+                changeType = ChangeType.MODIFY;
+            }
+        }
+    }
+
+    /**
+     * Accepts entries whose last tree (the merge commit) differs from all the
+     * other trees (its parents).
+     */
+    private static class DiffersFromAllParents extends TreeFilter {
+        static final DiffersFromAllParents INSTANCE = new DiffersFromAllParents();
+
+        @Override
+        public boolean include(final TreeWalk walker) {
+            int commit = walker.getTreeCount() - 1;
+            for (int i = 0; i < commit; i++) {
+                if (walker.getRawMode(i) == walker.getRawMode(commit) && walker.idEqual(i, commit)) {
+                    return false;
                 }
             }
+            return true;
+        }
+
+        @Override
+        public boolean shouldBeRecursive() {
+            return false;
+        }
+
+        @Override
+        public TreeFilter clone() {
+            return this;
         }
-        return filesList;
     }
 
     private char setOperationSymbol(final String operationCode) {
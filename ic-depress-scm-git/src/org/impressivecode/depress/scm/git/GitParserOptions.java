@@ -17,8 +17,12 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.scm.git;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.ArrayList;
 
+import org.impressivecode.depress.scm.SCMFileFilter;
+
 import com.google.common.base.Strings;
 
 /**
@@ -28,12 +32,17 @@ public class GitParserOptions {
     private String packageString;
     private String branch;
     private ArrayList<String> extensionsNamesToFilter;
+    private int threads = 1;
+    private GitMergeMode mergeMode = GitMergeMode.NONE;
+    private boolean churn;
+    private SCMFileFilter fileFilter;
 
     public static GitParserOptions options(final String packageString, final ArrayList<String> extensionsNamesToFilter, final String branch) {
         GitParserOptions options = new GitParserOptions();
         options.packageString = Strings.emptyToNull(packageString);
         options.extensionsNamesToFilter = extensionsNamesToFilter;
         options.branch = Strings.emptyToNull(branch);
+        options.fileFilter = SCMFileFilter.create(options.packageString, extensionsNamesToFilter);
         return options;
     }
     
@@ -41,6 +50,26 @@ public class GitParserOptions {
         return options(packageString, new ArrayList<String>(), branch);
     }
 
+    public static GitParserOptions options(final String packageString, final String branch, final int threads) {
+        GitParserOptions options = options(packageString, branch);
+        options.threads = Math.max(1, threads);
+        return options;
+    }
+
+    public static GitParserOptions options(final String packageString, final String branch, final int threads,
+            final GitMergeMode mergeMode) {
+        GitParserOptions options = options(packageString, branch, threads);
+        options.mergeMode = checkNotNull(mergeMode, "Merge mode has to be set");
+        return options;
+    }
+
+    public static GitParserOptions options(final String packageString, final String branch, final int threads,
+            final GitMergeMode mergeMode, final boolean churn) {
+        GitParserOptions options = options(packageString, branch, threads, mergeMode);
+        options.churn = churn;
+        return options;
+    }
+
     public boolean hasPackagePrefix() {
         return packageString != null;
     }
@@ -60,4 +89,30 @@ public class GitParserOptions {
 	public ArrayList<String> getExtensionsNamesToFilter() {
 		return extensionsNamesToFilter;
 	}
+
+    /**
+     * @return filter compiled from package prefix and extensions, safe to share
+     *         between threads
+     */
+    public SCMFileFilter getFileFilter() {
+        return fileFilter;
+    }
+
+    /**
+     * @return number of threads used to compute commit diffs
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    public GitMergeMode getMergeMode() {
+        return mergeMode;
+    }
+
+    /**
+     * @return true if added and deleted lines are computed for each file
+     */
+    public boolean isChurn() {
+        return churn;
+    }
 }
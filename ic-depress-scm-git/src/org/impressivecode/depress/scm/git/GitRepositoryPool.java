@@ -0,0 +1,199 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.api.errors.NoHeadException;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryBuilder;
+import org.eclipse.jgit.storage.file.WindowCache;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.knime.core.node.NodeLogger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Process-wide pool of opened git repositories, keyed by git directory.
+ * Repositories are reference counted, so dialog refreshes and repeated node
+ * executions on the same repository reuse its pack indexes and caches instead
+ * of opening it again. Repositories not used for {@link #DEFAULT_IDLE_TIMEOUT}
+ * minutes are closed.
+ * 
+ * Every {@link #acquire(String)} has to be followed by
+ * {@link #release(Repository)}, usually in a finally block.
+ */
+public class GitRepositoryPool {
+
+    static final long DEFAULT_IDLE_TIMEOUT = 10;
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(GitRepositoryPool.class);
+
+    private static final GitRepositoryPool INSTANCE = new GitRepositoryPool(TimeUnit.MINUTES
+            .toNanos(DEFAULT_IDLE_TIMEOUT));
+
+    private final long idleTimeout;
+    private final Map<File, PooledRepository> repositories = new HashMap<File, PooledRepository>();
+    private final Map<Repository, PooledRepository> acquired = new IdentityHashMap<Repository, PooledRepository>();
+    private ScheduledExecutorService evictor;
+    private long packedGitLimit = -1;
+    private int deltaBaseCacheLimit = -1;
+
+    GitRepositoryPool(final long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public static GitRepositoryPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return repository for given git directory, opened or taken from the pool
+     * @throws NoHeadException
+     *             when the directory does not contain a git repository
+     */
+    public synchronized Repository acquire(final String path) throws IOException, NoHeadException {
+        File key = key(path);
+        PooledRepository pooled = repositories.get(key);
+        if (pooled == null) {
+            pooled = new PooledRepository(key, open(path));
+            repositories.put(key, pooled);
+            scheduleEviction();
+        }
+        pooled.references++;
+        acquired.put(pooled.repository, pooled);
+        return pooled.repository;
+    }
+
+    public synchronized void release(final Repository repository) {
+        PooledRepository pooled = acquired.get(repository);
+        checkState(pooled != null, "Repository was not acquired from the pool");
+        pooled.references--;
+        if (pooled.references == 0) {
+            acquired.remove(repository);
+            pooled.lastReleased = System.nanoTime();
+        }
+    }
+
+    /**
+     * Reconfigures the JGit window cache shared by all repositories. The cache
+     * is flushed only when the limits change.
+     * 
+     * @param packedGitLimit
+     *            maximum number of bytes of pack files held in memory
+     * @param deltaBaseCacheLimit
+     *            maximum number of bytes of delta bases cached per reader
+     */
+    public synchronized void configureCache(final long packedGitLimit, final int deltaBaseCacheLimit) {
+        checkArgument(packedGitLimit > 0, "Packed git limit has to be positive");
+        checkArgument(deltaBaseCacheLimit > 0, "Delta base cache limit has to be positive");
+        if (packedGitLimit == this.packedGitLimit && deltaBaseCacheLimit == this.deltaBaseCacheLimit) {
+            return;
+        }
+        WindowCacheConfig config = new WindowCacheConfig();
+        config.setPackedGitLimit(packedGitLimit);
+        config.setDeltaBaseCacheLimit(deltaBaseCacheLimit);
+        WindowCache.reconfigure(config);
+        this.packedGitLimit = packedGitLimit;
+        this.deltaBaseCacheLimit = deltaBaseCacheLimit;
+    }
+
+    /**
+     * Closes repositories which are not used and were released more than
+     * <code>maxIdle</code> nanoseconds ago.
+     */
+    synchronized void evictIdle(final long maxIdle) {
+        long now = System.nanoTime();
+        Iterator<PooledRepository> it = repositories.values().iterator();
+        while (it.hasNext()) {
+            PooledRepository pooled = it.next();
+            if (pooled.references == 0 && now - pooled.lastReleased >= maxIdle) {
+                LOGGER.debug("Closing idle git repository " + pooled.key);
+                pooled.repository.close();
+                it.remove();
+            }
+        }
+        if (repositories.isEmpty() && evictor != null) {
+            evictor.shutdown();
+            evictor = null;
+        }
+    }
+
+    synchronized int size() {
+        return repositories.size();
+    }
+
+    private void scheduleEviction() {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                .setNameFormat("git-repository-pool-evictor").build());
+        long period = Math.max(idleTimeout / 2, TimeUnit.SECONDS.toNanos(1));
+        evictor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                evictIdle(idleTimeout);
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    private static File key(final String path) {
+        File file = new File(path);
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+
+    private static Repository open(final String path) throws IOException, NoHeadException {
+        RepositoryBuilder gitRepoBuilder = new RepositoryBuilder();
+        Repository gitRepo = gitRepoBuilder.setGitDir(new File(path)).readEnvironment().findGitDir().build();
+
+        // Make sure path contains a git repository.
+        if (!gitRepo.getObjectDatabase().exists()) {
+            gitRepo.close();
+            throw new NoHeadException("Directory " + path + " does not look like a git repository.");
+        }
+        return gitRepo;
+    }
+
+    private static class PooledRepository {
+        private final File key;
+        private final Repository repository;
+        private int references;
+        private long lastReleased;
+
+        PooledRepository(final File key, final Repository repository) {
+            this.key = key;
+            this.repository = repository;
+        }
+    }
+}
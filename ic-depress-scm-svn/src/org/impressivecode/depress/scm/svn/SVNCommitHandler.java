@@ -0,0 +1,33 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.svn;
+
+import org.tmatesoft.svn.core.SVNException;
+
+/**
+ * Receives commits read from a SVN repository as soon as they arrive.
+ */
+public interface SVNCommitHandler {
+
+    void handle(SVNCommit commit) throws SVNException;
+
+    /**
+     * Called after all commits up to given revision have been handled.
+     */
+    void revisionsCompleted(long revision) throws SVNException;
+}
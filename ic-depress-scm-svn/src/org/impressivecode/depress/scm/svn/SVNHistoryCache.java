@@ -0,0 +1,199 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.svn;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.impressivecode.depress.scm.SCMOperation;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
+import com.google.common.base.Strings;
+
+/**
+ * Commits already read from a SVN repository together with the last revision
+ * read completely (checkpoint). Next execution of the SVN online node starts
+ * from the revision following the checkpoint, so a broken connection or
+ * re-execution does not start again from the first revision.
+ * 
+ * The cache is stored in the node internals as a gzipped binary file.
+ */
+public class SVNHistoryCache {
+
+    static final String FILE_NAME = "svn-history.bin";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final String repository;
+    private final String packagePrefix;
+    private final String extensions;
+    private final List<SVNCommit> commits;
+    private long lastRevision;
+
+    public SVNHistoryCache(final String repository, final String packagePrefix, final String extensions) {
+        this(repository, packagePrefix, extensions, 0, new ArrayList<SVNCommit>());
+    }
+
+    SVNHistoryCache(final String repository, final String packagePrefix, final String extensions,
+            final long lastRevision, final List<SVNCommit> commits) {
+        this.repository = checkNotNull(repository, "Repository has to be set");
+        this.packagePrefix = Strings.nullToEmpty(packagePrefix);
+        this.extensions = Strings.nullToEmpty(extensions);
+        this.lastRevision = lastRevision;
+        this.commits = checkNotNull(commits, "Commits have to be set");
+    }
+
+    /**
+     * @return true if cached commits were read with the same repository and
+     *         filter settings
+     */
+    public boolean matches(final String repository, final String packagePrefix, final String extensions) {
+        return Objects.equal(this.repository, repository)
+                && Objects.equal(this.packagePrefix, Strings.nullToEmpty(packagePrefix))
+                && Objects.equal(this.extensions, Strings.nullToEmpty(extensions));
+    }
+
+    /**
+     * Adds commits of completely read revisions and moves the checkpoint.
+     */
+    public void append(final List<SVNCommit> newCommits, final long revision) {
+        commits.addAll(newCommits);
+        lastRevision = revision;
+    }
+
+    public long getLastRevision() {
+        return lastRevision;
+    }
+
+    public List<SVNCommit> getCommits() {
+        return commits;
+    }
+
+    public void save(final File internDir) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(
+                new File(internDir, FILE_NAME)))));
+        try {
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, repository);
+            writeString(out, packagePrefix);
+            writeString(out, extensions);
+            out.writeLong(lastRevision);
+            out.writeInt(commits.size());
+            for (SVNCommit commit : commits) {
+                writeCommit(out, commit);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * @return cache stored in given directory or null if there is none
+     */
+    public static SVNHistoryCache load(final File internDir) throws IOException {
+        File file = new File(internDir, FILE_NAME);
+        if (!file.exists()) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        try {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported svn history cache version: " + version);
+            }
+            String repository = readString(in);
+            String packagePrefix = readString(in);
+            String extensions = readString(in);
+            long lastRevision = in.readLong();
+            int size = in.readInt();
+            List<SVNCommit> commits = new ArrayList<SVNCommit>(size);
+            for (int i = 0; i < size; i++) {
+                commits.add(readCommit(in));
+            }
+            return new SVNHistoryCache(repository, packagePrefix, extensions, lastRevision, commits);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void writeCommit(final DataOutputStream out, final SVNCommit commit) throws IOException {
+        writeString(out, commit.getId());
+        out.writeLong(commit.getDate() == null ? Long.MIN_VALUE : commit.getDate().getTime());
+        writeString(out, commit.getAuthor());
+        writeString(out, commit.getMessage());
+        out.writeInt(commit.getFiles().size());
+        for (SVNCommitFile file : commit.getFiles()) {
+            writeString(out, file.getPath());
+            writeString(out, file.getResourceName());
+            out.writeByte(file.getOperation().ordinal());
+        }
+    }
+
+    private static SVNCommit readCommit(final DataInputStream in) throws IOException {
+        SVNCommit commit = new SVNCommit();
+        commit.setId(readString(in));
+        long date = in.readLong();
+        commit.setDate(date == Long.MIN_VALUE ? null : new Date(date));
+        commit.setAuthor(readString(in));
+        commit.addToMessage(readString(in));
+        int files = in.readInt();
+        for (int i = 0; i < files; i++) {
+            SVNCommitFile file = new SVNCommitFile();
+            file.setPath(readString(in));
+            file.setResourceName(readString(in));
+            file.setOperation(SCMOperation.values()[in.readByte()]);
+            commit.getFiles().add(file);
+        }
+        return commit;
+    }
+
+    // DataOutput.writeUTF is limited to 64k, commit messages can be longer
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(Charsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+}
@@ -17,7 +17,9 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.scm.svn;
 
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createCellPool;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createDataColumnSpec;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createTableRow;
 import static org.impressivecode.depress.scm.SCMParserOptions.options;
 
 import java.io.File;
@@ -25,14 +27,17 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections; 
 
-import java.util.List;
-
-import org.impressivecode.depress.common.OutputTransformer;
+import org.impressivecode.depress.common.CellPool;
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
+import org.impressivecode.depress.common.RowKeyGenerator;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.impressivecode.depress.scm.SCMAdapterTableFactory;
-import org.impressivecode.depress.scm.SCMAdapterTransformer;
+import org.impressivecode.depress.scm.SCMDataHandler;
 import org.impressivecode.depress.scm.SCMDataType;
 import org.impressivecode.depress.scm.SCMParserOptions;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -88,6 +93,7 @@ public class SVNOfflineAdapterNodeModel extends NodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         try {
             LOGGER.info("Reading logs from file " + this.fileName.getStringValue());
             userExtensions = new ArrayList<String>(); 
@@ -96,13 +102,13 @@ public class SVNOfflineAdapterNodeModel extends NodeModel {
             SCMParserOptions parserOptions = options(packageNameToFilter, userExtensions); 
             
             SVNExtensionParser parser = new SVNExtensionParser(parserOptions);
-   
-            List<SCMDataType> commits = parser.parseEntries(this.fileName.getStringValue());
-            
-            LOGGER.info("Reading logs finished");
-            BufferedDataTable out = transform(commits, exec);
-            LOGGER.info("Transforming logs finished.");
-            return new BufferedDataTable[] { out };
+            BufferedDataContainer container = exec.createDataContainer(createDataColumnSpec());
+            parser.parseEntries(this.fileName.getStringValue(), new RowWriter(container, exec));
+            container.close();
+            exec.checkCanceled();
+            LOGGER.info("Reading and transforming logs finished.");
+            telemetry.addBytesRead(new File(this.fileName.getStringValue())).finish(container.getTable());
+            return new BufferedDataTable[] { container.getTable() };
         } catch (Exception ex) {
             LOGGER.error("Unable to parse SVN entries", ex);
             throw ex;
@@ -110,12 +116,6 @@ public class SVNOfflineAdapterNodeModel extends NodeModel {
 
     }
 
-	private BufferedDataTable transform(final List<SCMDataType> commits, final ExecutionContext exec)
-            throws CanceledExecutionException {
-        OutputTransformer<SCMDataType> transformer = new SCMAdapterTransformer(createDataColumnSpec());
-        return transformer.transform(commits, exec);
-    }
-
     @Override
     protected void reset() {
         // NOOP
@@ -174,5 +174,31 @@ public class SVNOfflineAdapterNodeModel extends NodeModel {
 		}
 		return ext_;
 	}
-    
+
+    /**
+     * Writes a row for each read entry directly to the container, reading is
+     * stopped when execution is canceled.
+     */
+    private static class RowWriter implements SCMDataHandler {
+        private final BufferedDataContainer container;
+        private final ExecutionContext exec;
+        private final Segment keys = RowKeyGenerator.numbered().segment(0);
+        private final CellPool pool = createCellPool();
+
+        RowWriter(final BufferedDataContainer container, final ExecutionContext exec) {
+            this.container = container;
+            this.exec = exec;
+        }
+
+        @Override
+        public boolean handle(final SCMDataType entry) {
+            try {
+                exec.checkCanceled();
+            } catch (CanceledExecutionException e) {
+                return false;
+            }
+            container.addRowToTable(createTableRow(keys.next(), entry, false, pool));
+            return true;
+        }
+    }
 }
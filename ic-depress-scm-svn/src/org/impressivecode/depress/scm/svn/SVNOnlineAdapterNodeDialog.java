@@ -19,8 +19,10 @@ package org.impressivecode.depress.scm.svn;
 
 import org.knime.core.node.defaultnodesettings.DefaultNodeSettingsPane;
 import org.knime.core.node.defaultnodesettings.DialogComponentLabel;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.DialogComponentString;
 import org.knime.core.node.defaultnodesettings.DialogComponentPasswordField;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 
 /**
@@ -59,5 +61,11 @@ public class SVNOnlineAdapterNodeDialog extends DefaultNodeSettingsPane {
         		SVNOnlineAdapterNodeModel.SVN_PACKAGENAME, SVNOnlineAdapterNodeModel.SVN_PACKAGENAME_DEFAULT),
                 "Package prefix: "));
         closeCurrentGroup();
+
+        createNewGroup("Log");
+        addDialogComponent(new DialogComponentNumber(new SettingsModelIntegerBounded(SVNOnlineAdapterNodeModel.SVN_WINDOW,
+                SVNOnlineAdapterNodeModel.SVN_WINDOW_DEFAULT, 1, SVNOnlineAdapterNodeModel.SVN_WINDOW_MAX),
+                "Revisions per request: ", 100));
+        closeCurrentGroup();
     }
 }
@@ -17,7 +17,9 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 package org.impressivecode.depress.scm.svn;
 
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createCellPool;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createDataColumnSpec;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createTableRow;
 import static org.impressivecode.depress.scm.SCMParserOptions.options;
 
 import java.io.File;
@@ -27,11 +29,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import org.impressivecode.depress.common.OutputTransformer;
-import org.impressivecode.depress.scm.SCMAdapterTransformer;
+import org.impressivecode.depress.common.CellPool;
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
+import org.impressivecode.depress.common.RowKeyGenerator;
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
 import org.impressivecode.depress.scm.SCMDataType;
 import org.impressivecode.depress.scm.SCMParserOptions;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -41,11 +47,13 @@ import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelOptionalString;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.tmatesoft.svn.core.SVNCancelException;
+import org.tmatesoft.svn.core.SVNException;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.google.common.io.Files;
 
 /**
@@ -62,12 +70,15 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
     public static String SVN_PASSWORD = "password";
     public final static String SVN_EXTENSION = "extension";
     public static String SVN_PACKAGENAME = "package";
+    public final static String SVN_WINDOW = "window";
 
     public static String SVN_PACKAGENAME_DEFAULT = "";
     public static String EXTENSION_DEFAULT = ".java";
     public static String SVN_REPOSITORY_DEFAULT = "";
     public static String SVN_LOGIN_DEFAULT = "";
     public static String SVN_PASSWORD_DEFAULT = "";
+    public final static int SVN_WINDOW_DEFAULT = (int) SVNOnlineLogParser.DEFAULT_WINDOW_SIZE;
+    public final static int SVN_WINDOW_MAX = 1000000;
 
     private final SettingsModelString svnRepositoryAddress = new SettingsModelString(
             SVNOnlineAdapterNodeModel.SVN_REPOSITORY_ADDRESS, SVNOnlineAdapterNodeModel.SVN_REPOSITORY_DEFAULT);
@@ -84,8 +95,16 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
     public final SettingsModelString extensions = new SettingsModelString(
     		SVNOnlineAdapterNodeModel.SVN_EXTENSION, SVNOnlineAdapterNodeModel.EXTENSION_DEFAULT);
     
+    private final SettingsModelIntegerBounded svnWindow = new SettingsModelIntegerBounded(
+            SVNOnlineAdapterNodeModel.SVN_WINDOW, SVNOnlineAdapterNodeModel.SVN_WINDOW_DEFAULT, 1,
+            SVNOnlineAdapterNodeModel.SVN_WINDOW_MAX);
+
     private ArrayList<String> userExtensions;
 
+    // commits of completely read revisions, kept in node internals so the next
+    // execution continues after the last checkpoint
+    private SVNHistoryCache history;
+
     protected SVNOnlineAdapterNodeModel() {
         super(0, 1);
     }
@@ -96,6 +115,7 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         try {
 	    	userExtensions = new ArrayList<String>(); 
 	        Collections.addAll( userExtensions, getExtensions());
@@ -106,11 +126,27 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
 	        logger.info("Reading logs from repository " + svnPath);
 	        SVNOnlineLogParser parser = new SVNOnlineLogParser();
 	        SCMParserOptions parserOptions = options(svnPackageName.getStringValue(), userExtensions);
-	        List<SVNCommit> commits = parser.parseEntries(svnPath, svnLog, svnPass, parserOptions);
+	        if (history == null
+	                || !history.matches(svnPath, svnPackageName.getStringValue(), extensions.getStringValue())) {
+	            history = new SVNHistoryCache(svnPath, svnPackageName.getStringValue(), extensions.getStringValue());
+	        } else {
+	            logger.info("Resuming after revision " + history.getLastRevision() + ", cached commits: "
+	                    + history.getCommits().size());
+	        }
+	        try {
+	            parser.parseEntries(svnPath, svnLog, svnPass, parserOptions, history.getLastRevision() + 1,
+	                    svnWindow.getIntValue(), new CheckpointWriter(history, exec));
+	        } catch (SVNCancelException e) {
+	            exec.checkCanceled();
+	            throw e;
+	        }
 
-	        logger.info("Reading git logs finished.");
-	        BufferedDataTable out = transform(commits, exec);	
+	        logger.info("Reading svn logs finished.");
+	        telemetry.phase(Phase.WRITE);
+	        // the cache keeps every commit read so far on purpose: a resumed run must still output the complete table
+	        BufferedDataTable out = transform(history.getCommits(), exec);
 	        logger.info("Transforming logs finished.");
+	        telemetry.finish(out);
 	        return new BufferedDataTable[] { out };
 	    } catch (Exception ex) {
 	    	logger.error("Unable to parse SVN entries", ex);
@@ -120,15 +156,17 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
     
     private BufferedDataTable transform(final List<SVNCommit> commits, final ExecutionContext exec)
             throws CanceledExecutionException {
-        List<SCMDataType> data = Lists.newLinkedList();
+        BufferedDataContainer container = exec.createDataContainer(createDataColumnSpec());
+        Segment keys = RowKeyGenerator.numbered().segment(0);
+        CellPool pool = createCellPool();
         for (SVNCommit commit : commits) {
             for (SVNCommitFile file : commit.getFiles()) {
                 progress(exec);
-                data.add(scm(commit, file));
+                container.addRowToTable(createTableRow(keys.next(), scm(commit, file), false, pool));
             }
         }
-        OutputTransformer<SCMDataType> transformer = new SCMAdapterTransformer(createDataColumnSpec());
-        return transformer.transform(data, exec);
+        container.close();
+        return container.getTable();
     }
 	
     private SCMDataType scm(final SVNCommit commit, final SVNCommitFile file) {
@@ -166,6 +204,7 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
         svnPassword.saveSettingsTo(settings);
         svnPackageName.saveSettingsTo(settings);
         extensions.saveSettingsTo(settings);
+        svnWindow.saveSettingsTo(settings);
     }
 
     @Override
@@ -175,6 +214,10 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
         svnPassword.loadSettingsFrom(settings);
         svnPackageName.loadSettingsFrom(settings);
         extensions.loadSettingsFrom(settings);
+        // workflows saved before reading in windows keep the default window
+        if (settings.containsKey(SVN_WINDOW)) {
+            svnWindow.loadSettingsFrom(settings);
+        }
     }
 
     @Override
@@ -184,19 +227,24 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
         svnPassword.validateSettings(settings);
         svnPackageName.validateSettings(settings);
         extensions.validateSettings(settings);
+        if (settings.containsKey(SVN_WINDOW)) {
+            svnWindow.validateSettings(settings);
+        }
         
     }
 
     @Override
     protected void loadInternals(final File internDir, final ExecutionMonitor exec) throws IOException,
     CanceledExecutionException {
-    	//NOOP
+        history = SVNHistoryCache.load(internDir);
     }
 
     @Override
     protected void saveInternals(final File internDir, final ExecutionMonitor exec) throws IOException,
     CanceledExecutionException {
-    	//NOOP
+        if (history != null) {
+            history.save(internDir);
+        }
     }
 
     private String getSvnPath(final String repositoryPath) {
@@ -215,4 +263,37 @@ public class SVNOnlineAdapterNodeModel extends NodeModel {
 		}
 		return ext_;
 	}
+
+    /**
+     * Collects commits of the revision window being read and moves them to the
+     * history once the whole window is read, reading is stopped when execution
+     * is canceled.
+     */
+    private static class CheckpointWriter implements SVNCommitHandler {
+        private final SVNHistoryCache history;
+        private final ExecutionContext exec;
+        private List<SVNCommit> pending = new ArrayList<SVNCommit>();
+
+        CheckpointWriter(final SVNHistoryCache history, final ExecutionContext exec) {
+            this.history = history;
+            this.exec = exec;
+        }
+
+        @Override
+        public void handle(final SVNCommit commit) throws SVNException {
+            try {
+                exec.checkCanceled();
+            } catch (CanceledExecutionException e) {
+                throw new SVNCancelException();
+            }
+            pending.add(commit);
+        }
+
+        @Override
+        public void revisionsCompleted(final long revision) {
+            history.append(pending, revision);
+            pending = new ArrayList<SVNCommit>();
+            exec.setMessage("Read revisions up to " + revision);
+        }
+    }
 }
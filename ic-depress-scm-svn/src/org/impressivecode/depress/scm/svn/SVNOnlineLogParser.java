@@ -19,6 +19,7 @@ package org.impressivecode.depress.scm.svn;
 
 import org.impressivecode.depress.scm.SCMParserOptions;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
 import java.io.IOException;
@@ -28,8 +29,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import static org.impressivecode.depress.scm.svn.SVNExtensionParser.isCorrectAccordingToFilterRules;
+import org.impressivecode.depress.scm.SCMFileFilter;
 import org.impressivecode.depress.scm.SCMOperation;
+import org.tmatesoft.svn.core.ISVNLogEntryHandler;
 import org.tmatesoft.svn.core.SVNException;
 import org.tmatesoft.svn.core.SVNLogEntry;
 import org.tmatesoft.svn.core.SVNLogEntryPath;
@@ -42,64 +44,99 @@ import org.tmatesoft.svn.core.io.SVNRepositoryFactory;
 import org.tmatesoft.svn.core.wc.SVNWCUtil;
 
 public class SVNOnlineLogParser {
-    
+
+    /**
+     * Default number of revisions requested from the server at once.
+     */
+    public static final long DEFAULT_WINDOW_SIZE = 1000;
+
     private final Pattern PATTERN = Pattern.compile("^(.*)");
 
     public List<SVNCommit> parseEntries(final String path, final String login, final String password,
             final SCMParserOptions svnParserOptions) throws IOException,
             ParseException, SVNException {
-        checkArgument(!isNullOrEmpty(path), "Path has to be set.");
-        List<SVNCommit> commitsList = processRepo(path, login, password, svnParserOptions);
+        final List<SVNCommit> commitsList = new ArrayList<SVNCommit>();
+        parseEntries(path, login, password, svnParserOptions, 1, DEFAULT_WINDOW_SIZE, new SVNCommitHandler() {
+            @Override
+            public void handle(final SVNCommit commit) {
+                commitsList.add(commit);
+            }
+
+            @Override
+            public void revisionsCompleted(final long revision) {
+                // NOOP
+            }
+        });
 
         return commitsList;
     }
 
-    private List<SVNCommit> processRepo(final String path, final String login, final String password,
-            final SCMParserOptions svnParserOptions) throws IOException,
-            SVNException {
+    /**
+     * Reads the log from <code>startRevision</code> up to the latest revision
+     * in windows of <code>windowSize</code> revisions. Commits are passed to the
+     * handler as they arrive, the handler is notified after each window.
+     */
+    public void parseEntries(final String path, final String login, final String password,
+            final SCMParserOptions svnParserOptions, final long startRevision, final long windowSize,
+            final SVNCommitHandler handler) throws SVNException {
+        checkArgument(!isNullOrEmpty(path), "Path has to be set.");
+        checkArgument(windowSize > 0, "Window size has to be positive.");
+        checkNotNull(handler, "Handler has to be set");
 
         SVNRepository svn = initializeSvn(path, login, password);
+        try {
+            processRepo(svn, svnParserOptions, Math.max(startRevision, 1), windowSize, handler);
+        } finally {
+            svn.closeSession();
+        }
+    }
 
-        List<SVNCommit> analyzedCommits = new ArrayList<SVNCommit>();
-
-        List<SVNLogEntry> entries = new ArrayList<SVNLogEntry>();
-
-        svn.log(new String[] { "" }, entries,			
-                1, -1, true, false);
-
-        for (SVNLogEntry svnLogEntry : entries) {
+    private void processRepo(final SVNRepository svn, final SCMParserOptions svnParserOptions,
+            final long startRevision, final long windowSize, final SVNCommitHandler handler) throws SVNException {
+        final SCMFileFilter filter = SCMFileFilter.create(svnParserOptions);
+        ISVNLogEntryHandler entryHandler = new ISVNLogEntryHandler() {
+            @Override
+            public void handleLogEntry(final SVNLogEntry svnLogEntry) throws SVNException {
+                handler.handle(convert(svnLogEntry, filter));
+            }
+        };
 
-            SVNCommit commit = new SVNCommit();
+        long latestRevision = svn.getLatestRevision();
+        for (long start = startRevision; start <= latestRevision; start += windowSize) {
+            long end = Math.min(start + windowSize - 1, latestRevision);
+            svn.log(new String[] { "" }, start, end, true, false, entryHandler);
+            handler.revisionsCompleted(end);
+        }
+    }
 
-            setHeader(commit, svnLogEntry);
-            setMessage(commit, svnLogEntry, svnParserOptions);
+    private SVNCommit convert(final SVNLogEntry svnLogEntry, final SCMFileFilter filter) {
+        SVNCommit commit = new SVNCommit();
 
-            Map<String, SVNLogEntryPath> entryPaths = svnLogEntry
-                    .getChangedPaths();
+        setHeader(commit, svnLogEntry);
+        setMessage(commit, svnLogEntry);
 
-            for (SVNLogEntryPath logFile : entryPaths.values()) {
-                setCommitFile(commit, logFile, svnParserOptions);
-            }
+        Map<String, SVNLogEntryPath> entryPaths = svnLogEntry
+                .getChangedPaths();
 
-            analyzedCommits.add(commit);
+        for (SVNLogEntryPath logFile : entryPaths.values()) {
+            setCommitFile(commit, logFile, filter);
         }
 
-        return analyzedCommits;
+        return commit;
     }
 
     private void setCommitFile(final SVNCommit commit, final SVNLogEntryPath logFile,
-            final SCMParserOptions svnParserOptions) {
+            final SCMFileFilter filter) {
 
         Matcher matcher = PATTERN.matcher(logFile.getPath());
 
         if (matcher.matches()) {
-            String transformed = logFile.getPath().replaceAll("/", ".");
             String origin = matcher.group(1);
 
-            if (isCorrectAccordingToFilterRules(transformed, svnParserOptions)) {
+            if (filter.accept(origin)) {
                 SVNCommitFile commitFile = new SVNCommitFile();
-                if(transformed.endsWith(".java")){
-                	commitFile.setResourceName(parseJavaClass(svnParserOptions,transformed));
+                if(filter.isJavaFile(origin)){
+                	commitFile.setResourceName(filter.javaClass(origin));
                 }
                 else{
                 	commitFile.setResourceName("");
@@ -113,8 +150,7 @@ public class SVNOnlineLogParser {
         }
     }
 
-    private void setMessage(final SVNCommit commit, final SVNLogEntry svnLogEntry,
-            final SCMParserOptions svnParserOptions) {
+    private void setMessage(final SVNCommit commit, final SVNLogEntry svnLogEntry) {
         String message = getMessage(svnLogEntry);
 
         commit.addToMessage(message);
@@ -137,16 +173,6 @@ public class SVNOnlineLogParser {
         return message;
     }
 
-    private String parseJavaClass(final SCMParserOptions svnParserOptions,
-            final String path) {
-        String javaClass = path.replace(".java", "");
-        if (svnParserOptions.hasPackagePrefix()) {
-            javaClass = javaClass.substring(javaClass.indexOf(svnParserOptions
-                    .getPackagePrefix()));
-        }
-        return javaClass;
-    }
-
     private SCMOperation parseOperation(final SVNLogEntryPath logFile) {
 
         switch (logFile.getType()) {
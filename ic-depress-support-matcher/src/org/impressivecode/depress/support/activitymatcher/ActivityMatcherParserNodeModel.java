@@ -29,6 +29,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.common.InputTransformer;
 import org.impressivecode.depress.its.ITSDataType;
 import org.impressivecode.depress.its.ITSInputTransformer;
@@ -79,13 +81,17 @@ public class ActivityMatcherParserNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
         List<ITSDataType> issues = this.itsTransfomer.transform(inData[1]);
+        telemetry.phase(Phase.TRANSFORM);
         AppendedColumnTable table = new AppendedColumnTable(
                 inData[0], 
                 markerCellFactory(issues, 
                         inData[0].getSpec().findColumnIndex(DATE_COLNAME)),
                         MarkerAdapterTableFactory.AM_MARKER_COLSPEC);
-        return new BufferedDataTable[] { preapreTable(table, exec) };
+        BufferedDataTable out = preapreTable(table, exec);
+        telemetry.finish(out);
+        return new BufferedDataTable[] { out };
     }
 
     private ActivityMarkerCellFactory markerCellFactory(final List<ITSDataType> issues, final int dateIndex) {
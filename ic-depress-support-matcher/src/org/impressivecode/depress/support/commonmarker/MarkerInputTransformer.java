@@ -19,19 +19,27 @@ package org.impressivecode.depress.support.commonmarker;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.impressivecode.depress.common.CompiledTableCellReader.compile;
 import static org.impressivecode.depress.common.DataTableSpecUtils.findMissingColumnSubset;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.RESOURCE_NAME;
+import static org.impressivecode.depress.support.commonmarker.MarkerAdapterTableFactory.AM_MARKER;
+import static org.impressivecode.depress.support.commonmarker.MarkerAdapterTableFactory.EXT_MARKER;
+import static org.impressivecode.depress.support.commonmarker.MarkerAdapterTableFactory.MARKER;
 
 import java.util.List;
 import java.util.Set;
 
+import org.impressivecode.depress.common.CompiledTableCellReader;
+import org.impressivecode.depress.common.InputHandler;
 import org.impressivecode.depress.common.InputTransformer;
-import org.impressivecode.depress.common.TableCellReader;
+import org.impressivecode.depress.common.InputTransformerUtils;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowIterator;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 
 import com.google.common.collect.Iterables;
@@ -44,9 +52,16 @@ import com.google.common.collect.Lists;
  */
 public class MarkerInputTransformer implements InputTransformer<MarkerDataType> {
 
+    private static final String[] COLUMNS = { RESOURCE_NAME, MARKER, AM_MARKER, EXT_MARKER };
+    private static final int RESOURCE_COLUMN = 0;
+    private static final int MARKER_COLUMN = 1;
+    private static final int AM_MARKER_COLUMN = 2;
+    private static final int EXT_MARKER_COLUMN = 3;
+
     private DataTableSpec minimalTableSpec;
     private DataTableSpec inputTableSpec;
     private DataTableSpec minimalOrTableSpec;
+    private CompiledTableCellReader reader;
 
     public MarkerInputTransformer() {
     }
@@ -64,17 +79,32 @@ public class MarkerInputTransformer implements InputTransformer<MarkerDataType>
         return markerData;
     }
 
+    @Override
+    public void forEach(final DataTable inTable, final ExecutionMonitor exec, final InputHandler<MarkerDataType> handler)
+            throws CanceledExecutionException {
+        checkNotNull(this.inputTableSpec, "Input DataTableSpec hat to be set");
+        InputTransformerUtils.forEach(this, inTable, exec, handler);
+    }
+
     @Override
     public MarkerDataType transformRow(final DataRow row) {
-        TableCellReader reader = new TableCellReader(this.inputTableSpec, row);
+        CompiledTableCellReader reader = reader();
         MarkerDataType marker = new MarkerDataType();
-        marker.setResourceName(reader.stringOptional(RESOURCE_NAME));
-        marker.setMarkers(reader.stringSetOptional(MarkerAdapterTableFactory.MARKER));
-        marker.setActivityMarkers(reader.stringSetOptional(MarkerAdapterTableFactory.AM_MARKER));
-        marker.setExtendedMarkers(reader.stringSetOptional(MarkerAdapterTableFactory.EXT_MARKER));
+        marker.setResourceName(reader.stringOptional(row, RESOURCE_COLUMN));
+        marker.setMarkers(reader.stringSetOptional(row, MARKER_COLUMN));
+        marker.setActivityMarkers(reader.stringSetOptional(row, AM_MARKER_COLUMN));
+        marker.setExtendedMarkers(reader.stringSetOptional(row, EXT_MARKER_COLUMN));
         return marker;
     }
 
+    private CompiledTableCellReader reader() {
+        if (reader == null || !reader.isCompiledFor(this.inputTableSpec)) {
+            checkNotNull(this.inputTableSpec, "Input DataTableSpec hat to be set");
+            reader = compile(this.inputTableSpec, COLUMNS);
+        }
+        return reader;
+    }
+
     @Override
     public InputTransformer<MarkerDataType> validate() throws InvalidSettingsException {
         checkArgument(this.minimalTableSpec != null || this.minimalOrTableSpec != null,
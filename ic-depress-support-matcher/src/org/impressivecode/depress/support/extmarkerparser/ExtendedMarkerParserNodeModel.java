@@ -25,6 +25,8 @@ import static org.impressivecode.depress.support.commonmarker.MarkerAdapterTable
 import java.io.File;
 import java.io.IOException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.scm.SCMInputTransformer;
 import org.knime.base.data.append.column.AppendedColumnTable;
 import org.knime.core.data.DataTableSpec;
@@ -64,10 +66,13 @@ public class ExtendedMarkerParserNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass()).phase(Phase.TRANSFORM);
         AppendedColumnTable table = new AppendedColumnTable(inData[0], markerCellFactory(inData[0]),
                 EXT_MARKER_COLSPEC);
 
-        return new BufferedDataTable[] { preapreTable(table, exec) };
+        BufferedDataTable out = preapreTable(table, exec);
+        telemetry.finish(out);
+        return new BufferedDataTable[] { out };
     }
 
     private ExtMarkerCellFactory markerCellFactory(final BufferedDataTable inData) {
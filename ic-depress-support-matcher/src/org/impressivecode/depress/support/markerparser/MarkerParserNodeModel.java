@@ -28,6 +28,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.impressivecode.depress.common.Cells;
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.scm.SCMInputTransformer;
 import org.impressivecode.depress.support.commonmarker.MarkerAdapterTableFactory;
 import org.knime.base.data.append.column.AppendedCellFactory;
@@ -70,9 +72,12 @@ public class MarkerParserNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass()).phase(Phase.TRANSFORM);
         AppendedColumnTable table = new AppendedColumnTable(inData[0], markerCellFactory(inData[0]), MarkerAdapterTableFactory.MARKER_COLSPEC);
 
-        return new BufferedDataTable[] { preapreTable(table, exec) };
+        BufferedDataTable out = preapreTable(table, exec);
+        telemetry.finish(out);
+        return new BufferedDataTable[] { out };
     }
 
     private MarkerCellFactory markerCellFactory(final BufferedDataTable inData) {
@@ -28,6 +28,8 @@ import static org.impressivecode.depress.support.commonmarker.MarkerAdapterTable
 import java.io.File;
 import java.io.IOException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.common.InputTransformer;
 import org.impressivecode.depress.its.ITSAdapterTableFactory;
 import org.impressivecode.depress.its.ITSDataHolder;
@@ -106,19 +108,27 @@ public class SemanticAnalysisNodeModel extends NodeModel {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
+        ITSDataHolder itsData = null;
         try {
-
-            AppendedColumnTable table = new AppendedColumnTable(inData[0], cellFactory(inData),
+            itsData = itsTransfomer.transformToDataHolder(inData[1], exec);
+            telemetry.phase(Phase.TRANSFORM);
+            AppendedColumnTable table = new AppendedColumnTable(inData[0], cellFactory(itsData),
                     SEMANTIC_CONFIDENCE_COLSPEC);
-            return new BufferedDataTable[] { preapreTable(table, exec) };
+            BufferedDataTable out = preapreTable(table, exec);
+            telemetry.finish(out);
+            return new BufferedDataTable[] { out };
         } catch (Exception ex) {
             LOGGER.error("Unable to perform semantic analysis.", ex);
             throw ex;
+        } finally {
+            if (itsData != null) {
+                itsData.close();
+            }
         }
     }
 
-    private SemanticAnalysisCellFactory cellFactory(final BufferedDataTable[] inData) {
-        ITSDataHolder itsData = itsTransfomer.transformToDataHolder(inData[1]);
+    private SemanticAnalysisCellFactory cellFactory(final ITSDataHolder itsData) {
         return new SemanticAnalysisCellFactory(new Configuration(itsData, authorWeight.getIntValue(),
                 resolutionWeight.getIntValue(), comparsionLimit.getIntValue(), mscComparsionObject.getStringValue(),
                 selectedAlgorithm.getStringValue(), similarityWeight.getIntValue()), this.scmTransfomer, this.markerTransformer);
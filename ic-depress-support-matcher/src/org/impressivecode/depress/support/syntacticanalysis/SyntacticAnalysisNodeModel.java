@@ -24,6 +24,8 @@ import static org.impressivecode.depress.support.commonmarker.MarkerAdapterTable
 import java.io.File;
 import java.io.IOException;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.impressivecode.depress.scm.SCMAdapterTableFactory;
 import org.impressivecode.depress.scm.SCMInputTransformer;
 import org.knime.base.data.append.column.AppendedColumnTable;
@@ -69,10 +71,13 @@ public class SyntacticAnalysisNodeModel extends NodeModel {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
             throws Exception {
 
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass()).phase(Phase.TRANSFORM);
         AppendedColumnTable table = new AppendedColumnTable(inData[0], markerCellFactory(inData[0]),
                 SYNTACTIC_CONFIDENCE_COLSPEC);
 
-        return new BufferedDataTable[] { preapreTable(table, exec) };
+        BufferedDataTable out = preapreTable(table, exec);
+        telemetry.finish(out);
+        return new BufferedDataTable[] { out };
     }
 
     private SyntacticAnalysisCellFactory markerCellFactory(final BufferedDataTable inData) {
@@ -28,6 +28,8 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.impressivecode.depress.common.ExecutionTelemetry;
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
@@ -103,6 +105,7 @@ public class CrawlerAdapterNodeModel extends NodeModel {
 	@Override
 	protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
 			final ExecutionContext exec) throws Exception {
+		ExecutionTelemetry telemetry = ExecutionTelemetry.start(getClass());
 		String path = null;
 		File file = null;
 		if (radioSettings.getStringValue().equals(FILE)) {
@@ -122,8 +125,10 @@ public class CrawlerAdapterNodeModel extends NodeModel {
 			throw new IOException(
 					"Path does not point at any file or directory");
 		optionsFilter(result);
+		telemetry.addBytesRead(file).phase(Phase.WRITE);
 		BufferedDataContainer container = createDataContainer(exec);
 		BufferedDataTable out = transformIntoTable(container, result, exec);
+		telemetry.finish(out);
 		return new BufferedDataTable[] { out };
 	}
 
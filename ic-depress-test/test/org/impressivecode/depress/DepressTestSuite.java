@@ -17,7 +17,17 @@
  */
 package org.impressivecode.depress;
 
+import org.impressivecode.depress.benchmarks.data.DatasetGeneratorTest;
+import org.impressivecode.depress.common.CellsTest;
+import org.impressivecode.depress.common.RowKeyGeneratorTest;
+import org.impressivecode.depress.common.SpillFileTest;
+import org.impressivecode.depress.common.SpillableListTest;
+import org.impressivecode.depress.common.SpillableMapTest;
+import org.impressivecode.depress.common.ExecutionTelemetryTest;
+import org.impressivecode.depress.common.CompiledTableCellReaderTest;
+import org.impressivecode.depress.common.ParallelOutputTransformerTest;
 import org.impressivecode.depress.data.anonymisation.DataAnonymisationTest;
+import org.impressivecode.depress.its.ITSDataTypeTest;
 import org.impressivecode.depress.its.bugzilla.BugzillaEntriesParserTest;
 import org.impressivecode.depress.its.bugzillaonline.BugzillaOnlineClientAdapterIntegrationTest;
 import org.impressivecode.depress.its.bugzillaonline.BugzillaOnlineParserTest;
@@ -27,6 +37,10 @@ import org.impressivecode.depress.its.hpqc.HPQCEntriesParserTest;
 import org.impressivecode.depress.its.jira.JiraEntriesParserTest;
 import org.impressivecode.depress.its.jiraonline.JiraOnlineAdapterParserTest;
 import org.impressivecode.depress.its.jiraonline.JiraOnlineAdapterRsClientTest;
+import org.impressivecode.depress.its.jiraonline.JiraOnlineAdapterRsClientThrottlingTest;
+import org.impressivecode.depress.its.jiraonline.JiraOnlineIssuePipelineTest;
+import org.impressivecode.depress.its.jiraonline.JiraOnlineIssueStoreTest;
+import org.impressivecode.depress.its.jiraonline.JiraOnlineRequestSchedulerTest;
 import org.impressivecode.depress.mg.ipa.IssuesMetricMetricProcessorTest;
 import org.impressivecode.depress.mg.po.PeopleOrganizationMetricProcessorTest;
 import org.impressivecode.depress.mr.checkstyle.CheckStyleEntriesParserTest;
@@ -36,8 +50,17 @@ import org.impressivecode.depress.mr.jacoco.JaCoCoEntriesParserTest;
 import org.impressivecode.depress.mr.judy.JudyEntriesParserTest;
 import org.impressivecode.depress.mr.pmd.PMDEntriesParserTest;
 import org.impressivecode.depress.mr.pmd.PMDEntryTest;
+import org.impressivecode.depress.scm.SCMFileFilterTest;
+import org.impressivecode.depress.scm.git.GitChurnTest;
+import org.impressivecode.depress.scm.git.GitHistoryCacheTest;
+import org.impressivecode.depress.scm.git.GitOfflineAdapterNodeModelTest;
 import org.impressivecode.depress.scm.git.GitOfflineLogParserTest;
+import org.impressivecode.depress.scm.git.GitOnlineAdapterNodeModelTest;
 import org.impressivecode.depress.scm.git.GitOnlineLogParserTest;
+import org.impressivecode.depress.scm.git.GitMergeDiffTest;
+import org.impressivecode.depress.scm.git.GitNativeLogParserTest;
+import org.impressivecode.depress.scm.git.GitRepositoryPoolTest;
+import org.impressivecode.depress.scm.svn.SVNHistoryCacheTest;
 import org.impressivecode.depress.scm.svn.SVNOfflineParserTest;
 import org.impressivecode.depress.scm.svn.SVNOnlineParserTest;
 import org.impressivecode.depress.support.sematicanalysis.SimilarityMatcherTest;
@@ -55,6 +78,7 @@ import org.junit.runners.Suite;
 // @formatter:off
 @Suite.SuiteClasses({ 
     DataAnonymisationTest.class, 
+    ITSDataTypeTest.class,
     BugzillaEntriesParserTest.class,
     BugzillaOnlineClientAdapterIntegrationTest.class,
     BugzillaOnlineParserTest.class,
@@ -64,6 +88,10 @@ import org.junit.runners.Suite;
     JiraEntriesParserTest.class,
     JiraOnlineAdapterParserTest.class,
     JiraOnlineAdapterRsClientTest.class,
+    JiraOnlineAdapterRsClientThrottlingTest.class,
+    JiraOnlineIssueStoreTest.class,
+    JiraOnlineIssuePipelineTest.class,
+    JiraOnlineRequestSchedulerTest.class,
     IssuesMetricMetricProcessorTest.class,
     PeopleOrganizationMetricProcessorTest.class,
     CheckStyleEntryTest.class,
@@ -74,10 +102,28 @@ import org.junit.runners.Suite;
     PMDEntriesParserTest.class,
     PMDEntryTest.class,
     GitOfflineLogParserTest.class,
+    GitOfflineAdapterNodeModelTest.class,
     SimilarityMatcherTest.class,
     GitOnlineLogParserTest.class,
+    GitOnlineAdapterNodeModelTest.class,
+    GitHistoryCacheTest.class,
+    GitRepositoryPoolTest.class,
+    GitMergeDiffTest.class,
+    GitChurnTest.class,
+    GitNativeLogParserTest.class,
     SVNOfflineParserTest.class,
     SVNOnlineParserTest.class,
+    SVNHistoryCacheTest.class,
+    SCMFileFilterTest.class,
+    CompiledTableCellReaderTest.class,
+    ParallelOutputTransformerTest.class,
+    CellsTest.class,
+    RowKeyGeneratorTest.class,
+    SpillFileTest.class,
+    SpillableListTest.class,
+    SpillableMapTest.class,
+    ExecutionTelemetryTest.class,
+    DatasetGeneratorTest.class,
 })
 //@formatter:on
 public class DepressTestSuite {
@@ -0,0 +1,159 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.benchmarks.data;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.impressivecode.depress.benchmarks.data.SyntheticData.labelSettings;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.impressivecode.depress.its.ITSDataType;
+import org.impressivecode.depress.its.bugzilla.BugzillaEntriesParser;
+import org.impressivecode.depress.its.jira.JiraEntriesParser;
+import org.impressivecode.depress.mr.checkstyle.CheckStyleEntriesParser;
+import org.impressivecode.depress.mr.jacoco.JaCoCoEntriesParser;
+import org.impressivecode.depress.mr.jacoco.JaCoCoEntry;
+import org.impressivecode.depress.mr.judy.JudyEntriesParser;
+import org.impressivecode.depress.mr.pmd.PMDEntriesParser;
+import org.impressivecode.depress.scm.SCMParserOptions;
+import org.impressivecode.depress.scm.git.GitCommit;
+import org.impressivecode.depress.scm.git.GitCommitFile;
+import org.impressivecode.depress.scm.git.GitOfflineLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+public class DatasetGeneratorTest {
+
+    private static final int COMMITS = 1000;
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("temp-DatasetGeneratorTest-", Long.toString(System.nanoTime()));
+        directory.delete();
+        new DatasetGenerator(COMMITS, directory).writeAll();
+    }
+
+    @After
+    public void tearDown() {
+        for (DatasetFormat format : DatasetFormat.values()) {
+            new File(directory, format.getFileName()).delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void shouldWriteSameDatasetForSameNumberOfCommits() throws Exception {
+        File other = new File(directory, "other");
+        DatasetGenerator generator = new DatasetGenerator(COMMITS, other);
+        try {
+            for (DatasetFormat format : DatasetFormat.values()) {
+                assertTrue(format.name(), Files.equal(generator.write(format), file(format)));
+            }
+        } finally {
+            for (DatasetFormat format : DatasetFormat.values()) {
+                generator.file(format).delete();
+            }
+            other.delete();
+        }
+    }
+
+    @Test
+    public void shouldReferenceIssuesCreatedBeforeCommits() throws Exception {
+        Map<String, ITSDataType> issues = new HashMap<String, ITSDataType>();
+        for (ITSDataType issue : parseJira()) {
+            issues.put(issue.getIssueId(), issue);
+        }
+        assertThat(issues).hasSize(COMMITS / SyntheticData.COMMITS_PER_ISSUE);
+        int byAssignee = 0;
+        List<GitCommit> commits = parseGit();
+        for (GitCommit commit : commits) {
+            String key = commit.getMessage().substring(0, commit.getMessage().indexOf(' '));
+            assertTrue(key, issues.containsKey(key));
+            ITSDataType issue = issues.get(key);
+            assertFalse(key, issue.getCreated().after(commit.getDate()));
+            assertTrue(commit.getMessage().endsWith(issue.getSummary()));
+            if (issue.getAssignees().contains(commit.getAuthor())) {
+                byAssignee++;
+            }
+        }
+        assertThat(commits).hasSize(COMMITS);
+        assertThat(byAssignee).isGreaterThan(COMMITS / 2);
+    }
+
+    @Test
+    public void shouldReportMetricsOfChangedClasses() throws Exception {
+        Set<String> reported = new HashSet<String>();
+        for (JaCoCoEntry entry : new JaCoCoEntriesParser().parseEntries(path(DatasetFormat.JACOCO))) {
+            reported.add(entry.getClassName());
+        }
+        assertThat(reported).hasSize(COMMITS / SyntheticData.COMMITS_PER_CLASS);
+        for (GitCommit commit : parseGit()) {
+            for (GitCommitFile changed : commit.getFiles()) {
+                assertTrue(changed.getJavaClass(), reported.contains(changed.getJavaClass()));
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteFormatsReadByAdapters() throws Exception {
+        int classes = COMMITS / SyntheticData.COMMITS_PER_CLASS;
+        assertThat(new BugzillaEntriesParser(labelSettings(BugzillaXmlWriter.SEVERITIES),
+                labelSettings(BugzillaXmlWriter.RESOLUTIONS), labelSettings(BugzillaXmlWriter.STATUSES))
+                .parseEntries(path(DatasetFormat.BUGZILLA))).hasSize(COMMITS / SyntheticData.COMMITS_PER_ISSUE);
+        assertThat(new PMDEntriesParser().parseEntries(path(DatasetFormat.PMD))).hasSize(
+                classes * PMDReportWriter.VIOLATIONS_PER_FILE);
+        assertThat(new CheckStyleEntriesParser().parseEntries(path(DatasetFormat.CHECKSTYLE))).hasSize(
+                classes * CheckStyleReportWriter.ERRORS_PER_FILE);
+        assertThat(JudyEntriesParser.unmarshalResults(path(DatasetFormat.JUDY))).hasSize(classes);
+        assertEquals(DatasetFormat.PITEST.records(COMMITS), classes * PitestReportWriter.MUTATIONS_PER_CLASS);
+    }
+
+    private List<GitCommit> parseGit() throws Exception {
+        return new GitOfflineLogParser(SCMParserOptions.options(SyntheticData.PACKAGE_PREFIX,
+                Lists.newArrayList(".java"))).parseEntries(path(DatasetFormat.GIT));
+    }
+
+    private List<ITSDataType> parseJira() throws Exception {
+        return new JiraEntriesParser(labelSettings(JiraRssWriter.PRIORITIES), labelSettings(JiraRssWriter.TYPES),
+                labelSettings(JiraRssWriter.RESOLUTIONS), labelSettings(JiraRssWriter.STATUSES))
+                .parseEntries(path(DatasetFormat.JIRA));
+    }
+
+    private File file(final DatasetFormat format) {
+        return new File(directory, format.getFileName());
+    }
+
+    private String path(final DatasetFormat format) {
+        return file(format).getAbsolutePath();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.knime.core.data.date.DateAndTimeCell;
+
+public class CellsTest {
+
+    @Test
+    public void shouldCreateSameDateCellAsFromCalendarFields() {
+        long[] times = { 0l, 1363636154123l, -86400001l, 951782400000l, 4102444799999l, -12219292800000l };
+        for (long time : times) {
+            DateAndTimeCell expected = fromCalendarFields(new Date(time));
+            DateAndTimeCell cell = (DateAndTimeCell) Cells.dateTimeCell(new Date(time));
+            assertEquals(expected, cell);
+            assertEquals(expected.getUTCTimeInMillis(), cell.getUTCTimeInMillis());
+            assertTrue(cell.hasDate() && cell.hasTime() && cell.hasMillis());
+        }
+    }
+
+    private static DateAndTimeCell fromCalendarFields(final Date date) {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("GMT+0"));
+        calendar.setTime(date);
+        return new DateAndTimeCell(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
+                calendar.get(Calendar.DAY_OF_MONTH), calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
+                calendar.get(Calendar.SECOND), calendar.get(Calendar.MILLISECOND));
+    }
+}
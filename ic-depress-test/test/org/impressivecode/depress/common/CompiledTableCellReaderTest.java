@@ -0,0 +1,125 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.impressivecode.depress.common.CompiledTableCellReader.compile;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.ASSIGNEES;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.COMMENTS;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.ISSUE_ID;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.ISSUE_ID_COLSPEC;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.RESOLVED_DATE;
+import static org.impressivecode.depress.its.ITSAdapterTableFactory.SUMMARY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.impressivecode.depress.its.ITSAdapterTableFactory;
+import org.impressivecode.depress.its.ITSDataType;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DefaultRow;
+
+import com.google.common.collect.Sets;
+
+public class CompiledTableCellReaderTest {
+
+    @Test
+    public void shouldReadSameValuesAsTableCellReader() {
+        // given
+        DataTableSpec spec = ITSAdapterTableFactory.createDataColumnSpec();
+        DataRow row = ITSAdapterTableFactory.createTableRow(issue());
+        TableCellReader expected = new TableCellReader(spec, row);
+        // when
+        CompiledTableCellReader reader = compile(spec, ISSUE_ID, RESOLVED_DATE, ASSIGNEES, COMMENTS, SUMMARY);
+        // then
+        assertEquals(expected.key(), reader.key(row));
+        assertEquals(expected.string(ISSUE_ID), reader.string(row, 0));
+        assertEquals(expected.dateOptional(RESOLVED_DATE), reader.dateOptional(row, 1));
+        assertEquals(expected.stringSetOptional(ASSIGNEES), reader.stringSetOptional(row, 2));
+        assertEquals(expected.stringListOptional(COMMENTS), reader.stringListOptional(row, 3));
+        assertEquals(expected.stringOptional(SUMMARY), reader.stringOptional(row, 4));
+    }
+
+    @Test
+    public void shouldReturnNoValueForMissingCells() {
+        // given
+        DataTableSpec spec = ITSAdapterTableFactory.createDataColumnSpec();
+        ITSDataType issue = new ITSDataType();
+        issue.setIssueId("ID-2");
+        issue.setCreated(new Date(1363636154000l));
+        DataRow row = ITSAdapterTableFactory.createTableRow(issue);
+        // when
+        CompiledTableCellReader reader = compile(spec, RESOLVED_DATE, COMMENTS, SUMMARY);
+        // then
+        assertNull(reader.dateOptional(row, 0));
+        assertThat(reader.stringListOptional(row, 1)).isEmpty();
+        assertNull(reader.stringOptional(row, 2));
+    }
+
+    @Test
+    public void shouldReturnNoValueForAbsentColumns() {
+        // given
+        DataTableSpec spec = new DataTableSpec(ISSUE_ID_COLSPEC);
+        DataRow row = new DefaultRow("ID-1", Cells.stringCell("ID-1"));
+        // when
+        CompiledTableCellReader reader = compile(spec, ISSUE_ID, SUMMARY, ASSIGNEES);
+        // then
+        assertTrue(reader.hasColumn(0));
+        assertFalse(reader.hasColumn(1));
+        assertEquals("ID-1", reader.stringOptional(row, 0));
+        assertNull(reader.stringOptional(row, 1));
+        assertThat(reader.stringSetOptional(row, 2)).isEmpty();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailOnRequiredAbsentColumn() {
+        // given
+        DataTableSpec spec = new DataTableSpec(ISSUE_ID_COLSPEC);
+        DataRow row = new DefaultRow("ID-1", Cells.stringCell("ID-1"));
+        // when
+        compile(spec, SUMMARY).string(row, 0);
+    }
+
+    @Test
+    public void shouldBeCompiledForSpecInstance() {
+        // given
+        DataTableSpec spec = new DataTableSpec(ISSUE_ID_COLSPEC);
+        // when
+        CompiledTableCellReader reader = compile(spec, ISSUE_ID);
+        // then
+        assertTrue(reader.isCompiledFor(spec));
+        assertFalse(reader.isCompiledFor(new DataTableSpec(ISSUE_ID_COLSPEC)));
+    }
+
+    private ITSDataType issue() {
+        ITSDataType issue = new ITSDataType();
+        issue.setIssueId("ID-1");
+        issue.setCreated(new Date(1363636154000l));
+        issue.setResolved(new Date(1363636155000l));
+        issue.setAssignees(Sets.newHashSet("A", "B"));
+        issue.setComments(Arrays.asList("first", "second"));
+        issue.setSummary("summary");
+        return issue;
+    }
+}
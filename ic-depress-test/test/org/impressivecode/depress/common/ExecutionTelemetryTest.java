@@ -0,0 +1,148 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.impressivecode.depress.common.ExecutionTelemetry.Phase;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+public class ExecutionTelemetryTest {
+
+    @Test
+    public void shouldMeasurePhases() throws Exception {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(PhasesNode.class);
+        Thread.sleep(20);
+        telemetry.phase(Phase.WRITE);
+        Thread.sleep(20);
+        telemetry.phase(Phase.PARSE);
+        Thread.sleep(20);
+        telemetry.finish();
+
+        assertTrue(telemetry.isFinished());
+        assertTrue(telemetry.getPhaseMillis(Phase.PARSE) >= 40);
+        assertTrue(telemetry.getPhaseMillis(Phase.WRITE) >= 20);
+        assertEquals(0, telemetry.getPhaseMillis(Phase.TRANSFORM));
+        assertTrue(telemetry.getDurationMillis() >= 60);
+    }
+
+    @Test
+    public void shouldCountRowsAndBytes() throws Exception {
+        File dir = Files.createTempDir();
+        File file = new File(dir, "log.txt");
+        Files.write("0123456789", file, Charsets.UTF_8);
+        try {
+            ExecutionTelemetry telemetry = ExecutionTelemetry.start(CountingNode.class);
+            telemetry.addBytesRead(dir).addBytesRead(5).addRows(100);
+            telemetry.finish();
+
+            assertEquals(15, telemetry.getBytesRead());
+            assertEquals(100, telemetry.getRowCount());
+            assertTrue(telemetry.getRowsPerSecond() > 0);
+            assertTrue(telemetry.getPeakHeapBytes() > 0);
+        } finally {
+            file.delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void shouldRecordFinishedExecutions() throws IOException {
+        ExecutionStatistics statistics = ExecutionStatistics.forNode(RecordedNode.class);
+        statistics.reset();
+
+        ExecutionTelemetry.start(RecordedNode.class).addRows(10).addBytesRead(7).finish();
+        ExecutionTelemetry.start(RecordedNode.class).addRows(5).finish();
+        ExecutionTelemetry.start(RecordedNode.class).addRows(1000);
+
+        assertEquals(2, statistics.getExecutionCount());
+        assertEquals(5, statistics.getLastRowCount());
+        assertEquals(15, statistics.getTotalRowCount());
+        assertEquals(0, statistics.getLastBytesRead());
+        assertTrue(statistics.getMaxPeakHeapBytes() >= statistics.getLastPeakHeapBytes());
+    }
+
+    @Test
+    public void shouldExposeStatisticsOverJmx() throws Exception {
+        ExecutionStatistics.forNode(JmxNode.class).reset();
+        ExecutionTelemetry.start(JmxNode.class).addRows(3).finish();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.impressivecode.depress:type=NodeTelemetry,name="
+                + ObjectName.quote("JmxNode"));
+
+        assertTrue(server.isRegistered(name));
+        assertEquals(1L, server.getAttribute(name, "ExecutionCount"));
+        assertEquals(3L, server.getAttribute(name, "LastRowCount"));
+    }
+
+    @Test
+    public void shouldNotResetHeapPoolPeaks() {
+        long before = poolPeaks();
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(PhasesNode.class);
+        telemetry.phase(Phase.WRITE);
+        telemetry.finish();
+
+        assertTrue(poolPeaks() >= before);
+        assertTrue(telemetry.getPeakHeapBytes() > 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotChangePhaseAfterFinish() {
+        ExecutionTelemetry telemetry = ExecutionTelemetry.start(PhasesNode.class);
+        telemetry.finish();
+        assertFalse(telemetry.getDurationMillis() < 0);
+        telemetry.phase(Phase.WRITE);
+    }
+
+    private static long poolPeaks() {
+        long peaks = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                peaks += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peaks;
+    }
+
+    private static class PhasesNode {
+    }
+
+    private static class CountingNode {
+    }
+
+    private static class RecordedNode {
+    }
+
+    private static class JmxNode {
+    }
+}
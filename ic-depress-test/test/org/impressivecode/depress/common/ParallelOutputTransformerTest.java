@@ -0,0 +1,186 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class ParallelOutputTransformerTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+            new DataColumnSpecCreator("Value", IntCell.TYPE).createSpec());
+
+    @Test
+    public void shouldWriteRowsInInputOrder() throws CanceledExecutionException {
+        // given
+        List<Integer> data = values(1000);
+        ExecutionContext exec = mock(ExecutionContext.class);
+        BufferedDataContainer container = mock(BufferedDataContainer.class);
+        when(exec.createDataContainer(Mockito.any(DataTableSpec.class))).thenReturn(container);
+        // when
+        new IntegerTransformer(7).transform(data, exec);
+        // then
+        ArgumentCaptor<DataRow> captor = ArgumentCaptor.forClass(DataRow.class);
+        verify(container, times(1000)).addRowToTable(captor.capture());
+        for (int i = 0; i < 1000; i++) {
+            DataRow row = captor.getAllValues().get(i);
+            assertEquals(Integer.toString(i), row.getKey().getString());
+            assertEquals(i, ((IntCell) row.getCell(0)).getIntValue());
+        }
+        verify(container).close();
+    }
+
+    @Test
+    public void shouldWriteRowsOfLinkedListInInputOrder() throws CanceledExecutionException {
+        // given
+        List<Integer> data = Lists.newLinkedList(values(100));
+        ExecutionContext exec = mock(ExecutionContext.class);
+        BufferedDataContainer container = mock(BufferedDataContainer.class);
+        when(exec.createDataContainer(Mockito.any(DataTableSpec.class))).thenReturn(container);
+        // when
+        new IntegerTransformer(7).transform(data, exec);
+        // then
+        ArgumentCaptor<DataRow> captor = ArgumentCaptor.forClass(DataRow.class);
+        verify(container, times(100)).addRowToTable(captor.capture());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.toString(i), captor.getAllValues().get(i).getKey().getString());
+        }
+    }
+
+    @Test
+    public void shouldShareStateWithinChunk() throws CanceledExecutionException {
+        // given
+        ExecutionContext exec = mock(ExecutionContext.class);
+        BufferedDataContainer container = mock(BufferedDataContainer.class);
+        when(exec.createDataContainer(Mockito.any(DataTableSpec.class))).thenReturn(container);
+        ChunkStateTransformer transformer = new ChunkStateTransformer(7);
+        // when
+        transformer.transform(values(100), exec);
+        // then
+        ArgumentCaptor<DataRow> captor = ArgumentCaptor.forClass(DataRow.class);
+        verify(container, times(100)).addRowToTable(captor.capture());
+        assertEquals(15, transformer.chunks.get());
+        Set<Integer> states = Sets.newHashSet();
+        for (int i = 0; i < 100; i++) {
+            int state = ((IntCell) captor.getAllValues().get(i).getCell(0)).getIntValue();
+            assertEquals(((IntCell) captor.getAllValues().get(i / 7 * 7).getCell(0)).getIntValue(), state);
+            states.add(state);
+        }
+        assertEquals(15, states.size());
+    }
+
+    @Test(expected = CanceledExecutionException.class)
+    public void shouldStopWhenCanceled() throws CanceledExecutionException {
+        // given
+        ExecutionContext exec = mock(ExecutionContext.class);
+        BufferedDataContainer container = mock(BufferedDataContainer.class);
+        when(exec.createDataContainer(Mockito.any(DataTableSpec.class))).thenReturn(container);
+        doThrow(new CanceledExecutionException()).when(exec).checkCanceled();
+        // when
+        try {
+            new IntegerTransformer(7).transform(values(1000), exec);
+        } finally {
+            // then
+            verify(container, never()).addRowToTable(Mockito.any(DataRow.class));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRethrowConversionFailure() throws CanceledExecutionException {
+        // given
+        List<Integer> data = values(1000);
+        data.set(500, -1);
+        ExecutionContext exec = mock(ExecutionContext.class);
+        when(exec.createDataContainer(Mockito.any(DataTableSpec.class))).thenReturn(
+                mock(BufferedDataContainer.class));
+        // when
+        new IntegerTransformer(7).transform(data, exec);
+    }
+
+    private static List<Integer> values(final int size) {
+        List<Integer> values = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    private static class IntegerTransformer extends ParallelOutputTransformer<Integer> {
+
+        IntegerTransformer(final int chunkSize) {
+            super(SPEC, chunkSize, RowKeyGenerator.numbered());
+        }
+
+        @Override
+        protected DataRow createTableRow(final Segment keys, final Integer value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative value");
+            }
+            return new DefaultRow(keys.next(), new IntCell(value));
+        }
+    }
+
+    private static class ChunkStateTransformer extends ParallelOutputTransformer<Integer> {
+
+        private final AtomicInteger chunks = new AtomicInteger();
+
+        ChunkStateTransformer(final int chunkSize) {
+            super(SPEC, chunkSize, RowKeyGenerator.numbered());
+        }
+
+        @Override
+        protected DataRow createTableRow(final Segment keys, final Integer value) {
+            throw new IllegalStateException("Chunk state expected");
+        }
+
+        @Override
+        protected DataRow createTableRow(final Segment keys, final Integer value, final Object chunkState) {
+            return new DefaultRow(keys.next(), new IntCell((Integer) chunkState));
+        }
+
+        @Override
+        protected Object createChunkState() {
+            return chunks.getAndIncrement();
+        }
+    }
+}
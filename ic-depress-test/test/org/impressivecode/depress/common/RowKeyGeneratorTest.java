@@ -0,0 +1,82 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static org.junit.Assert.assertEquals;
+
+import org.impressivecode.depress.common.RowKeyGenerator.Segment;
+import org.junit.Test;
+
+public class RowKeyGeneratorTest {
+
+    @Test
+    public void shouldCreateKeysAsStringValueOfIndex() {
+        Segment keys = RowKeyGenerator.numbered().segment(0);
+
+        for (int i = 0; i < 12345; i++) {
+            assertEquals(String.valueOf(i), keys.next().getString());
+        }
+    }
+
+    @Test
+    public void shouldCarryOverAllNines() {
+        Segment keys = RowKeyGenerator.numbered().segment(999);
+
+        assertEquals("999", keys.next().getString());
+        assertEquals("1000", keys.next().getString());
+        assertEquals("1001", keys.next().getString());
+        assertEquals(1002, keys.position());
+    }
+
+    @Test
+    public void shouldPrefixKeys() {
+        Segment keys = RowKeyGenerator.prefixed("Row", 1).segment(8);
+
+        assertEquals("Row9", keys.next().getString());
+        assertEquals("Row10", keys.next().getString());
+        assertEquals("Row5", RowKeyGenerator.prefixed("Row", 1).key(4).getString());
+    }
+
+    @Test
+    public void shouldNumberSegmentsFromFirstIndex() {
+        RowKeyGenerator generator = RowKeyGenerator.numbered(1);
+
+        assertEquals("1", generator.segment(0).next().getString());
+        assertEquals("2049", generator.segment(2048).next().getString());
+        assertEquals("11", generator.key(10).getString());
+    }
+
+    @Test
+    public void shouldSeekToGivenNumber() {
+        Segment keys = RowKeyGenerator.numbered().segment(0);
+        keys.next();
+
+        keys.seek(1);
+        assertEquals("1", keys.next().getString());
+        keys.seek(99);
+        assertEquals("99", keys.next().getString());
+        assertEquals("100", keys.next().getString());
+        keys.seek(7);
+        assertEquals("7", keys.next().getString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNegativeNumbers() {
+        RowKeyGenerator.numbered().segment(0).seek(-1);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.impressivecode.depress.common.SpillFile.RecordBuffer;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class SpillFileTest {
+
+    @Test
+    public void shouldReadRecordsSpanningRegions() throws Exception {
+        SpillFile file = new SpillFile(16);
+        try {
+            RecordBuffer buffer = new RecordBuffer();
+            long[] offsets = new long[50];
+            for (int i = 0; i < offsets.length; i++) {
+                buffer.write(record(i));
+                offsets[i] = file.append(buffer);
+            }
+
+            for (int i = 0; i < offsets.length; i++) {
+                assertTrue(Arrays.equals(record(i), file.read(offsets[i])));
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    @Test
+    public void shouldEncodeFields() throws Exception {
+        RecordBuffer buffer = new RecordBuffer();
+        Records.writeString(buffer.output(), "\u017c\u00f3\u0142w");
+        Records.writeString(buffer.output(), null);
+        Records.writeStrings(buffer.output(), Lists.newArrayList("a", "b"));
+        Records.writeVarInt(buffer.output(), 300);
+        Records.writeInteger(buffer.output(), null);
+        Records.writeDate(buffer.output(), new Date(1363636154000l));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        assertEquals("\u017c\u00f3\u0142w", Records.readString(in));
+        assertEquals(null, Records.readString(in));
+        assertEquals(Lists.newArrayList("a", "b"), Records.readStringList(in));
+        assertEquals(300, Records.readVarInt(in));
+        assertEquals(null, Records.readInteger(in));
+        assertEquals(new Date(1363636154000l), Records.readDate(in));
+    }
+
+    private byte[] record(final int length) {
+        byte[] record = new byte[length * 7];
+        for (int i = 0; i < record.length; i++) {
+            record[i] = (byte) (i + length);
+        }
+        return record;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class SpillableListTest {
+
+    private final SpillableList<String> list = new SpillableList<String>(Records.STRING, 3);
+
+    @After
+    public void tearDown() {
+        list.close();
+    }
+
+    @Test
+    public void shouldKeepElementsInMemoryUpToLimit() {
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        assertFalse(list.isSpilled());
+        assertEquals(Lists.newArrayList("a", "b", "c"), list);
+    }
+
+    @Test
+    public void shouldKeepSpilledElementsInOrder() {
+        List<String> expected = Lists.newArrayList();
+        for (int i = 0; i < 20; i++) {
+            list.add("element" + i);
+            expected.add("element" + i);
+        }
+
+        assertTrue(list.isSpilled());
+        assertEquals(expected, list);
+        assertEquals("element13", list.get(13));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldCheckIndex() {
+        list.add("a");
+        list.get(1);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.common;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.Maps;
+
+public class SpillableMapTest {
+
+    private final SpillableMap<String, String> map = new SpillableMap<String, String>(Records.STRING,
+            Records.STRING, 2);
+
+    @After
+    public void tearDown() {
+        map.close();
+    }
+
+    @Test
+    public void shouldKeepEntriesInMemoryUpToLimit() {
+        map.put("a", "1");
+        map.put("b", "2");
+
+        assertFalse(map.isSpilled());
+        assertEquals("1", map.get("a"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void shouldSpillWhenLimitPassed() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, "value" + i);
+        }
+
+        assertTrue(map.isSpilled());
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("value" + i, map.get("key" + i));
+        }
+        assertNull(map.get("key100"));
+        assertFalse(map.containsKey("key100"));
+    }
+
+    @Test
+    public void shouldReplaceSpilledValues() {
+        map.put("a", "1");
+        map.put("b", "2");
+        map.put("c", "3");
+
+        assertEquals("1", map.put("a", "10"));
+        map.put("d", "4");
+        map.put("e", "5");
+
+        assertEquals(5, map.size());
+        assertEquals("10", map.get("a"));
+    }
+
+    @Test
+    public void shouldIterateSpilledEntries() {
+        Map<String, String> expected = Maps.newHashMap();
+        for (int i = 0; i < 50; i++) {
+            map.put("key" + i, "value" + i);
+            expected.put("key" + i, "value" + i);
+        }
+        map.put("key7", "changed");
+        expected.put("key7", "changed");
+
+        Map<String, String> actual = Maps.newHashMap();
+        for (Entry<String, String> entry : map.entrySet()) {
+            actual.put(entry.getKey(), entry.getValue());
+        }
+
+        assertEquals(expected, actual);
+        assertEquals(expected, map);
+    }
+
+    @Test
+    public void shouldFindKeysWithSameHash() {
+        // "Aa" and "BB" have the same hash code
+        map.put("Aa", "1");
+        map.put("BB", "2");
+        map.put("C", "3");
+
+        assertEquals("1", map.get("Aa"));
+        assertEquals("2", map.get("BB"));
+    }
+
+    @Test
+    public void shouldBeEmptyAfterClose() {
+        for (int i = 0; i < 10; i++) {
+            map.put("key" + i, "value" + i);
+        }
+
+        map.close();
+
+        assertFalse(map.isSpilled());
+        assertThat(map).isEmpty();
+        assertNull(map.get("key1"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotRemoveEntries() {
+        map.put("a", "1");
+        map.remove("a");
+    }
+}
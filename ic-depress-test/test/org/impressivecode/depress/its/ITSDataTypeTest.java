@@ -0,0 +1,57 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class ITSDataTypeTest {
+
+    @Test
+    public void shouldHashIssueWithVersionsAndWithoutTimes() {
+        // given
+        ITSDataType its = issue();
+        // when
+        int hash = its.hashCode();
+        // then
+        assertEquals(issue().hashCode(), hash);
+    }
+
+    @Test
+    public void shouldHashIssueWithTimes() {
+        // given
+        ITSDataType its = issue();
+        its.setTimeEstimate(8);
+        its.setTimeSpent(5);
+        ITSDataType same = issue();
+        same.setTimeEstimate(8);
+        same.setTimeSpent(5);
+        // then
+        assertEquals(same.hashCode(), its.hashCode());
+    }
+
+    private static ITSDataType issue() {
+        ITSDataType its = new ITSDataType();
+        its.setIssueId("BUG-11");
+        its.setVersion(Lists.newArrayList("1.0", "1.1"));
+        return its;
+    }
+}
@@ -19,15 +19,25 @@ package org.impressivecode.depress.its.jiraonline;
 
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 
+import org.impressivecode.depress.its.ITSDataType;
+import org.impressivecode.depress.its.ITSPriority;
+import org.impressivecode.depress.its.ITSResolution;
+import org.impressivecode.depress.its.ITSStatus;
+import org.impressivecode.depress.its.ITSType;
 import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChangeRowItem;
 import org.junit.Test;
 
@@ -99,4 +109,129 @@ public class JiraOnlineAdapterParserTest {
         assertThat(history.get(3).getChangedTo(), is("Resolved"));
 
     }
+
+    @Test
+    public void shouldStreamIssuesOfSearchPage() throws Exception {
+        // given
+        String page = "{\"startAt\":0,\"maxResults\":50,\"total\":2,\"issues\":[" + readIssue() + ","
+                + "{\"key\":\"DEP-2\",\"fields\":{\"assignee\":null,\"priority\":{\"name\":\"Minor\"},"
+                + "\"summary\":\"second\",\"description\":\"text\",\"created\":1363636154000,"
+                + "\"timetracking\":{\"originalEstimateSeconds\":7200,\"timeSpentSeconds\":120},"
+                + "\"versions\":[{\"name\":\"1.0\",\"released\":true},{\"name\":\"1.1\"}],"
+                + "\"comment\":{\"total\":2,\"comments\":[{\"author\":{\"name\":\"marek\"},\"body\":\"first\"},"
+                + "{\"author\":null,\"body\":\"second\"}]}}}]}";
+        JiraOnlineAdapterParser parser = new JiraOnlineAdapterParser(map("Major", "Major"), map("Bug", "Bug"),
+                map("Fixed", "Complete"), map("Resolved", "Resolved"));
+
+        // when
+        List<ITSDataType> entries = parser.parseSingleIssueBatch(stream(page), "https://jira.spring.io/");
+
+        // then
+        assertThat(entries.size(), is(2));
+
+        ITSDataType entry = entries.get(0);
+        assertThat(entry.getIssueId(), is("SECOAUTH-179"));
+        assertThat(entry.getLink(), is("https://jira.spring.io/browse/SECOAUTH-179"));
+        assertThat(entry.getCreated(), is(new Date(1325414495826l)));
+        assertThat(entry.getUpdated(), is(new Date(1326805015629l)));
+        assertThat(entry.getResolved(), is(new Date(1326805015579l)));
+        assertThat(entry.getStatus(), is(ITSStatus.RESOLVED));
+        assertThat(entry.getType(), is(ITSType.UNKNOWN));
+        assertThat(entry.getResolution(), is(ITSResolution.FIXED));
+        assertThat(entry.getPriority(), is(ITSPriority.MAJOR));
+        assertThat(entry.getVersion().size(), is(0));
+        assertThat(entry.getFixVersion().size(), is(1));
+        assertThat(entry.getFixVersion().get(0), is("1.0.0.M6"));
+        assertThat(entry.getSummary(),
+                is("Improve extendability of RandomValueTokenServices by keeping storage separate from token creation"));
+        assertNull(entry.getDescription());
+        assertThat(entry.getReporter(), is("david_syer"));
+        assertThat(entry.getAssignees().size(), is(1));
+        assertThat(entry.getAssignees().contains("david_syer"), is(true));
+        assertThat(entry.getComments().size(), is(0));
+        assertThat(entry.getTimeEstimate(), is(0));
+        assertThat(entry.getTimeSpent(), is(0));
+
+        entry = entries.get(1);
+        assertThat(entry.getIssueId(), is("DEP-2"));
+        assertThat(entry.getAssignees().size(), is(0));
+        assertThat(entry.getPriority(), is(ITSPriority.UNKNOWN));
+        assertThat(entry.getStatus(), is(ITSStatus.UNKNOWN));
+        assertThat(entry.getDescription(), is("text"));
+        assertThat(entry.getCreated(), is(new Date(1363636154000l)));
+        assertNull(entry.getResolved());
+        assertThat(entry.getTimeEstimate(), is(120));
+        assertThat(entry.getTimeSpent(), is(2));
+        assertThat(entry.getVersion().size(), is(2));
+        assertThat(entry.getVersion().get(1), is("1.1"));
+        assertThat(entry.getComments().size(), is(2));
+        assertThat(entry.getComments().get(1), is("second"));
+        assertThat(entry.getCommentAuthors().size(), is(1));
+        assertThat(entry.getCommentAuthors().contains("marek"), is(true));
+    }
+
+    @Test
+    public void shouldReadTotalIssuesCountBeforeIssues() throws Exception {
+        // given, page cut after the total to show that issues are not read
+        String page = "{\"expand\":\"names,schema\",\"startAt\":0,\"maxResults\":50,\"total\":1234,"
+                + "\"issues\":[{\"ke";
+
+        // when
+        int total = JiraOnlineAdapterParser.getTotalIssuesCount(stream(page));
+
+        // then
+        assertThat(total, is(1234));
+    }
+
+    @Test
+    public void shouldParseChangelogEmbeddedInSearchPage() throws Exception {
+        // given, second issue has only one of its three history entries in the page
+        String page = "{\"startAt\":0,\"maxResults\":50,\"total\":2,\"issues\":[" + readIssue() + ","
+                + "{\"changelog\":{\"startAt\":0,\"maxResults\":1,\"total\":3,"
+                + "\"histories\":[{\"author\":null,"
+                + "\"created\":\"2013-03-18T19:49:14.000+0000\",\"items\":[{\"field\":\"status\"}]}]},"
+                + "\"key\":\"DEP-2\",\"fields\":{\"summary\":\"second\"}}]}";
+        JiraOnlineAdapterParser parser = new JiraOnlineAdapterParser(map("Major", "Major"), map("Bug", "Bug"),
+                map("Fixed", "Complete"), map("Resolved", "Resolved"));
+
+        // when
+        JiraOnlineIssuePage result = parser.parseIssuePage(stream(page), "https://jira.spring.io/");
+
+        // then
+        assertThat(result.getIssues().size(), is(2));
+        assertThat(result.getTruncatedHistoryKeys().size(), is(1));
+        assertThat(result.getTruncatedHistoryKeys().get(0), is("DEP-2"));
+
+        List<JiraOnlineIssueChangeRowItem> expected = JiraOnlineAdapterParser.parseSingleIssue(readIssue());
+        List<JiraOnlineIssueChangeRowItem> history = result.getHistory();
+        assertThat(history.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(history.get(i).getKey(), is(expected.get(i).getKey()));
+            assertThat(history.get(i).getAuthor(), is(expected.get(i).getAuthor()));
+            assertThat(history.get(i).getTimestamp(), is(expected.get(i).getTimestamp()));
+            assertThat(history.get(i).getField(), is(expected.get(i).getField()));
+            assertThat(history.get(i).getChangedFrom(), is(expected.get(i).getChangedFrom()));
+            assertThat(history.get(i).getChangedTo(), is(expected.get(i).getChangedTo()));
+        }
+    }
+
+    private String readIssue() throws Exception {
+        String path = getClass().getResource("single_issue_with_history.txt").getPath();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(new File(path)), "UTF-8"));
+        try {
+            return reader.readLine();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static InputStream stream(final String json) throws Exception {
+        return new ByteArrayInputStream(json.getBytes("UTF-8"));
+    }
+
+    private static HashMap<String, String[]> map(final String key, final String value) {
+        HashMap<String, String[]> map = new HashMap<>();
+        map.put(key, new String[] { value });
+        return map;
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its.jiraonline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs {@link JiraOnlineAdapterRsClient} against a local HTTP server which
+ * throttles requests the way JIRA does.
+ */
+public class JiraOnlineAdapterRsClientThrottlingTest {
+    private static final String PAGE = "{\"startAt\":0,\"maxResults\":50,\"total\":7,\"issues\":[]}";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private URI uri;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private volatile int rejectedRequests;
+    private volatile int rejectionStatus = 429;
+    private volatile String retryAfter;
+    private volatile long answerMillis;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new ThrottlingHandler());
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        uri = new URI("http://127.0.0.1:" + server.getAddress().getPort() + "/rest/api/latest/search");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    public void shouldRetryThrottledRequests() throws Exception {
+        rejectedRequests = 2;
+        retryAfter = "0";
+        JiraOnlineAdapterRsClient client = new JiraOnlineAdapterRsClient(new JiraOnlineRequestScheduler(4, 1));
+
+        int total = JiraOnlineAdapterParser.getTotalIssuesCount(client.getStream(uri, "", ""));
+
+        assertEquals(7, total);
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void shouldWaitAsLongAsServerAsked() throws Exception {
+        rejectedRequests = 1;
+        rejectionStatus = 503;
+        retryAfter = "1";
+        JiraOnlineAdapterRsClient client = new JiraOnlineAdapterRsClient(new JiraOnlineRequestScheduler(4, 1));
+
+        long start = System.nanoTime();
+        assertEquals(PAGE, client.getJSON(uri, "", ""));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 1000);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void shouldGiveUpAfterMaxAttempts() throws Exception {
+        rejectedRequests = Integer.MAX_VALUE;
+        rejectionStatus = 503;
+        JiraOnlineAdapterRsClient client = new JiraOnlineAdapterRsClient(new JiraOnlineRequestScheduler(4, 1));
+
+        try {
+            client.getJSON(uri, "", "");
+            fail();
+        } catch (Exception e) {
+            assertEquals(JiraOnlineRequestScheduler.MAX_ATTEMPTS, requests.get());
+        }
+    }
+
+    @Test
+    public void shouldNotRetryClientErrors() throws Exception {
+        rejectedRequests = Integer.MAX_VALUE;
+        rejectionStatus = 404;
+        JiraOnlineAdapterRsClient client = new JiraOnlineAdapterRsClient(new JiraOnlineRequestScheduler(4, 1));
+
+        try {
+            client.getJSON(uri, "", "");
+            fail();
+        } catch (Exception e) {
+            assertEquals(1, requests.get());
+        }
+    }
+
+    @Test
+    public void shouldNotExceedConcurrencyCeiling() throws Exception {
+        answerMillis = 20;
+        final JiraOnlineAdapterRsClient client = new JiraOnlineAdapterRsClient(new JiraOnlineRequestScheduler(3, 1));
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            tasks.add(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return JiraOnlineAdapterParser.getTotalIssuesCount(client.getStream(uri, "", ""));
+                }
+            });
+        }
+
+        try {
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                assertEquals(Integer.valueOf(7), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(40, requests.get());
+        assertTrue(maxRunning.get() <= 3);
+    }
+
+    private class ThrottlingHandler implements HttpHandler {
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            int request = requests.incrementAndGet();
+            int now = running.incrementAndGet();
+            synchronized (maxRunning) {
+                maxRunning.set(Math.max(maxRunning.get(), now));
+            }
+            try {
+                if (answerMillis > 0) {
+                    Thread.sleep(answerMillis);
+                }
+                if (request <= rejectedRequests) {
+                    if (retryAfter != null) {
+                        exchange.getResponseHeaders().add("Retry-After", retryAfter);
+                    }
+                    exchange.sendResponseHeaders(rejectionStatus, -1);
+                } else {
+                    byte[] body = PAGE.getBytes(Charsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    OutputStream out = exchange.getResponseBody();
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                exchange.close();
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.io.UnsupportedEncodingException;
 import java.text.ParseException;
 
 import org.junit.Before;
+import org.impressivecode.depress.its.jiraonline.JiraOnlineAdapterUriBuilder.Mode;
 import org.junit.Test;
 
 /**
@@ -125,6 +126,26 @@ public class JiraOnlineAdapterUriBuilderTest {
                 is(equalTo("https://dummyhostname.com/rest/api/latest/search?" + createLinkPart() + "&jql=")));
     }
 
+    @Test
+    public void shouldRestrictQueryToRecentlyUpdatedIssues() {
+        String actual = builder.setJQL("labels=metamodel").setUpdatedInLastMinutes(90).build().toString();
+        String expected = "https://" + HOSTNAME + "/rest/api/latest/search?" + createLinkPart()
+                + "&jql=labels%3Dmetamodel+AND+updated+%3E%3D+%22-90m%22";
+
+        assertThat(actual, is(equalTo(expected)));
+    }
+
+    @Test
+    public void shouldAskForChangelogOfSearchedIssues() {
+        builder.setMode(Mode.MULTIPLE_ISSUES_WITH_HISTORY);
+
+        String actual = builder.setJQL("labels=metamodel").build().toString();
+        String expected = "https://" + HOSTNAME + "/rest/api/latest/search?" + createLinkPart()
+                + "&jql=labels%3Dmetamodel&expand=changelog";
+
+        assertThat(actual, is(equalTo(expected)));
+    }
+
     private String createLinkPart() {
         return FIELDS + "&" + START_AT + "&" + MAX_RESULTS + JiraOnlineAdapterUriBuilder.ISSUES_PER_BATCH;
     }
@@ -0,0 +1,139 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its.jiraonline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.impressivecode.depress.its.ITSDataType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+
+public class JiraOnlineIssuePipelineTest {
+
+    private static final int THREADS = 4;
+
+    private ExecutorService executor;
+    private AtomicInteger started;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        started = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldHandleFollowUpTasksOfPages() throws Exception {
+        final JiraOnlineIssuePipeline pipeline = new JiraOnlineIssuePipeline(executor, 2);
+        for (int i = 0; i < 10; i++) {
+            pipeline.submit(task("DEP-" + i));
+        }
+        final List<String> handled = new ArrayList<>();
+
+        pipeline.drain(new JiraOnlineIssuePipeline.Handler() {
+            @Override
+            public void handle(final JiraOnlineIssuePage page) {
+                String key = page.getIssues().get(0).getIssueId();
+                handled.add(key);
+                if (!key.endsWith("-history")) {
+                    pipeline.submit(task(key + "-history"));
+                }
+            }
+        }, new ExecutionMonitor());
+
+        assertEquals(20, handled.size());
+        assertEquals(0, pipeline.getPending());
+        assertTrue(handled.contains("DEP-9-history"));
+    }
+
+    @Test
+    public void shouldNotStartTasksWhileWriterFallsBehind() throws Exception {
+        JiraOnlineIssuePipeline pipeline = new JiraOnlineIssuePipeline(executor, 1);
+        for (int i = 0; i < 3 * THREADS; i++) {
+            pipeline.submit(task("DEP-" + i));
+        }
+
+        // one page waits in the queue, all workers wait to put theirs
+        Thread.sleep(300);
+        assertTrue(started.get() <= THREADS + 1);
+
+        final AtomicInteger handled = new AtomicInteger();
+        pipeline.drain(new JiraOnlineIssuePipeline.Handler() {
+            @Override
+            public void handle(final JiraOnlineIssuePage page) {
+                handled.incrementAndGet();
+            }
+        }, new ExecutionMonitor());
+        assertEquals(3 * THREADS, handled.get());
+        assertEquals(3 * THREADS, started.get());
+    }
+
+    @Test
+    public void shouldStopOnFailedTask() throws Exception {
+        JiraOnlineIssuePipeline pipeline = new JiraOnlineIssuePipeline(executor, 2);
+        pipeline.submit(task("DEP-1"));
+        pipeline.submit(new Callable<JiraOnlineIssuePage>() {
+            @Override
+            public JiraOnlineIssuePage call() throws Exception {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        try {
+            pipeline.drain(new JiraOnlineIssuePipeline.Handler() {
+                @Override
+                public void handle(final JiraOnlineIssuePage page) {
+                }
+            }, new ExecutionMonitor());
+            fail("Failure of a task has to be thrown");
+        } catch (IOException e) {
+            assertEquals("Connection reset", e.getMessage());
+        }
+        assertTrue(executor.isShutdown());
+    }
+
+    private Callable<JiraOnlineIssuePage> task(final String key) {
+        return new Callable<JiraOnlineIssuePage>() {
+            @Override
+            public JiraOnlineIssuePage call() {
+                started.incrementAndGet();
+                ITSDataType issue = new ITSDataType();
+                issue.setIssueId(key);
+                JiraOnlineIssuePage page = new JiraOnlineIssuePage();
+                page.getIssues().add(issue);
+                return page;
+            }
+        };
+    }
+}
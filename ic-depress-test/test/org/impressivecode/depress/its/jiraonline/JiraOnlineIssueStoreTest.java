@@ -0,0 +1,162 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its.jiraonline;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.impressivecode.depress.its.ITSDataType;
+import org.impressivecode.depress.its.ITSStatus;
+import org.impressivecode.depress.its.jiraonline.model.JiraOnlineIssueChangeRowItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+public class JiraOnlineIssueStoreTest {
+
+    private static final String HOSTNAME = "https://issues.apache.org/jira/";
+
+    private File internDir;
+
+    @Before
+    public void setUp() throws IOException {
+        internDir = File.createTempFile("temp-JiraOnlineIssueStoreTest-", Long.toString(System.nanoTime()));
+        internDir.delete();
+        internDir.mkdir();
+    }
+
+    @After
+    public void tearDown() {
+        new File(internDir, JiraOnlineIssueStore.FILE_NAME).delete();
+        internDir.delete();
+    }
+
+    @Test
+    public void shouldReturnNullWhenNothingSaved() throws Exception {
+        assertNull(JiraOnlineIssueStore.load(internDir));
+    }
+
+    @Test
+    public void shouldRestoreSavedIssuesAndHistory() throws Exception {
+        JiraOnlineIssueStore store = new JiraOnlineIssueStore(HOSTNAME, "DEPRESS", "labels=x", "mapping", true);
+        store.merge(Arrays.asList(issue("DEP-1", ITSStatus.OPEN), issue("DEP-2", ITSStatus.OPEN)),
+                Arrays.asList(change("DEP-1", "open")), new Date(1363636154000l));
+        store.save(internDir);
+
+        JiraOnlineIssueStore loaded = JiraOnlineIssueStore.load(internDir);
+
+        assertTrue(loaded.matches(HOSTNAME, "DEPRESS", "labels=x", "mapping", true));
+        assertEquals(new Date(1363636154000l), loaded.getLastSync());
+        assertThat(loaded.getIssues()).hasSize(2);
+        ITSDataType issue = loaded.getIssues().get(0);
+        assertEquals("DEP-1", issue.getIssueId());
+        assertEquals(ITSStatus.OPEN, issue.getStatus());
+        assertEquals(Sets.newHashSet("marek"), issue.getAssignees());
+        assertEquals(new Date(1363636000000l), issue.getUpdated());
+        List<JiraOnlineIssueChangeRowItem> history = loaded.getHistory();
+        assertThat(history).hasSize(1);
+        assertEquals("DEP-1", history.get(0).getKey());
+        assertEquals("status", history.get(0).getField());
+        assertEquals("open", history.get(0).getChangedTo());
+        assertNull(history.get(0).getChangedFrom());
+    }
+
+    @Test
+    public void shouldReplaceUpdatedIssuesAndTheirHistory() throws Exception {
+        JiraOnlineIssueStore store = new JiraOnlineIssueStore(HOSTNAME, null, null, "", true);
+        store.merge(Arrays.asList(issue("DEP-1", ITSStatus.OPEN), issue("DEP-2", ITSStatus.OPEN)),
+                Arrays.asList(change("DEP-1", "open"), change("DEP-2", "open")), new Date(1000));
+
+        store.merge(Arrays.asList(issue("DEP-1", ITSStatus.CLOSED), issue("DEP-3", ITSStatus.OPEN)),
+                Arrays.asList(change("DEP-1", "open"), change("DEP-1", "closed")), new Date(2000));
+
+        assertEquals(3, store.size());
+        assertEquals(new Date(2000), store.getLastSync());
+        List<ITSDataType> issues = store.getIssues();
+        assertEquals("DEP-1", issues.get(0).getIssueId());
+        assertEquals(ITSStatus.CLOSED, issues.get(0).getStatus());
+        assertEquals("DEP-2", issues.get(1).getIssueId());
+        assertEquals("DEP-3", issues.get(2).getIssueId());
+        List<JiraOnlineIssueChangeRowItem> history = store.getHistory();
+        assertThat(history).hasSize(3);
+        assertEquals("closed", history.get(1).getChangedTo());
+        assertEquals("DEP-2", history.get(2).getKey());
+    }
+
+    @Test
+    public void shouldIgnoreHistoryWhenNotKept() throws Exception {
+        JiraOnlineIssueStore store = new JiraOnlineIssueStore(HOSTNAME, null, null, "", false);
+        store.merge(Arrays.asList(issue("DEP-1", ITSStatus.OPEN)), Arrays.asList(change("DEP-1", "open")), new Date());
+        store.save(internDir);
+
+        assertThat(JiraOnlineIssueStore.load(internDir).getHistory()).isEmpty();
+    }
+
+    @Test
+    public void shouldMatchOnlySameSettings() throws Exception {
+        JiraOnlineIssueStore store = new JiraOnlineIssueStore(HOSTNAME, null, "labels=x", "mapping", false);
+
+        assertTrue(store.matches(HOSTNAME, "", "labels=x", "mapping", false));
+        assertFalse(store.matches(HOSTNAME, "DEPRESS", "labels=x", "mapping", false));
+        assertFalse(store.matches(HOSTNAME, null, "", "mapping", false));
+        assertFalse(store.matches(HOSTNAME, null, "labels=x", "other", false));
+        assertFalse(store.matches(HOSTNAME, null, "labels=x", "mapping", true));
+        assertFalse(store.matches("https://other/", null, "labels=x", "mapping", false));
+    }
+
+    @Test
+    public void shouldSyncSinceLastSyncWithOverlap() throws Exception {
+        JiraOnlineIssueStore store = new JiraOnlineIssueStore(HOSTNAME, null, null, "", false);
+        store.merge(Collections.<ITSDataType> emptyList(), Collections.<JiraOnlineIssueChangeRowItem> emptyList(),
+                new Date(0));
+
+        assertEquals(JiraOnlineIssueStore.SYNC_OVERLAP_MINUTES, store.getMinutesToSync(new Date(0)));
+        assertEquals(JiraOnlineIssueStore.SYNC_OVERLAP_MINUTES + 2, store.getMinutesToSync(new Date(60001)));
+    }
+
+    private ITSDataType issue(final String key, final ITSStatus status) {
+        ITSDataType issue = new ITSDataType();
+        issue.setIssueId(key);
+        issue.setStatus(status);
+        issue.setAssignees(Sets.newHashSet("marek"));
+        issue.setUpdated(new Date(1363636000000l));
+        return issue;
+    }
+
+    private JiraOnlineIssueChangeRowItem change(final String key, final String to) {
+        JiraOnlineIssueChangeRowItem change = new JiraOnlineIssueChangeRowItem();
+        change.setKey(key);
+        change.setAuthor("marek");
+        change.setTimestamp(new Date(1363636154000l));
+        change.setField("status");
+        change.setChangedTo(to);
+        return change;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.its.jiraonline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class JiraOnlineRequestSchedulerTest {
+
+    @Test
+    public void shouldStartLowAndGrowUpToCeiling() throws Exception {
+        JiraOnlineRequestScheduler scheduler = new JiraOnlineRequestScheduler(4);
+        assertEquals(JiraOnlineRequestScheduler.INITIAL_CONCURRENCY, scheduler.getLimit());
+
+        answer(scheduler, 2, 1000);
+        assertEquals(3, scheduler.getLimit());
+        answer(scheduler, 3, 1000);
+        assertEquals(4, scheduler.getLimit());
+        answer(scheduler, 4, 1000);
+        assertEquals(4, scheduler.getLimit());
+    }
+
+    @Test
+    public void shouldShrinkWhenAnswersSlowDown() throws Exception {
+        JiraOnlineRequestScheduler scheduler = new JiraOnlineRequestScheduler(10);
+        answer(scheduler, 2, 1000);
+        answer(scheduler, 3, 1000);
+        assertEquals(4, scheduler.getLimit());
+
+        answer(scheduler, 4, 5000);
+
+        assertEquals(3, scheduler.getLimit());
+    }
+
+    @Test
+    public void shouldHalveLimitOnceForRequestsFailedTogether() throws Exception {
+        JiraOnlineRequestScheduler scheduler = new JiraOnlineRequestScheduler(10);
+        for (int limit = 2; limit < 8; limit++) {
+            answer(scheduler, limit, 1000);
+        }
+        assertEquals(8, scheduler.getLimit());
+
+        scheduler.failed(0);
+        scheduler.failed(0);
+        scheduler.failed(0);
+
+        assertEquals(4, scheduler.getLimit());
+    }
+
+    @Test
+    public void shouldHoldRequestsBackAsLongAsServerAsked() throws Exception {
+        JiraOnlineRequestScheduler scheduler = new JiraOnlineRequestScheduler(10);
+        scheduler.failed(300);
+
+        long start = System.nanoTime();
+        scheduler.acquire();
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 250);
+    }
+
+    @Test
+    public void shouldWaitForReleaseWhenLimitReached() throws Exception {
+        final JiraOnlineRequestScheduler scheduler = new JiraOnlineRequestScheduler(10);
+        scheduler.acquire();
+        scheduler.acquire();
+        final CountDownLatch acquired = new CountDownLatch(1);
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    scheduler.acquire();
+                    acquired.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        thread.start();
+
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        scheduler.release();
+        assertTrue(acquired.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldSpreadBackoffWithJitter() throws Exception {
+        JiraOnlineRequestScheduler scheduler = new JiraOnlineRequestScheduler(10, 100);
+        for (int i = 0; i < 100; i++) {
+            long backoff = scheduler.backoff(3);
+            assertTrue(backoff >= 400 && backoff <= 800);
+        }
+    }
+
+    @Test
+    public void shouldReadRetryAfterInSecondsOrAsDate() throws Exception {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        long now = 1363636154000l;
+
+        assertEquals(120000, JiraOnlineRequestScheduler.retryAfterMillis("120", now));
+        assertEquals(30000, JiraOnlineRequestScheduler.retryAfterMillis(format.format(new Date(now + 30000)), now));
+        assertEquals(0, JiraOnlineRequestScheduler.retryAfterMillis(format.format(new Date(now - 30000)), now));
+        assertEquals(0, JiraOnlineRequestScheduler.retryAfterMillis(null, now));
+        assertEquals(0, JiraOnlineRequestScheduler.retryAfterMillis("soon", now));
+    }
+
+    private void answer(final JiraOnlineRequestScheduler scheduler, final int count, final long latency) {
+        for (int i = 0; i < count; i++) {
+            scheduler.answered(latency);
+        }
+    }
+}
@@ -22,6 +22,10 @@ import static org.fest.assertions.Assertions.assertThat;
 import java.util.Collections;
 import java.util.List;
 
+import org.impressivecode.depress.common.Records;
+import org.impressivecode.depress.common.SpillableList;
+import org.impressivecode.depress.common.SpillableMap;
+import org.impressivecode.depress.its.ITSDataCodec;
 import org.impressivecode.depress.its.ITSDataType;
 import org.impressivecode.depress.mg.ipa.IssuesMetricMetricProcessor;
 import org.impressivecode.depress.mg.ipa.IssuesMetricType;
@@ -57,6 +61,58 @@ public class IssuesMetricMetricProcessorTest {
         assertThat(noiB.getIssues()).onProperty("issueId").containsOnly("i1");
     }
 
+    @Test
+    public void shouldComputeMetricWhenChangesProcessedOneByOne() {
+        // given
+        List<ITSDataType> issues = Lists.newArrayList(its("i1"), its("i2"));
+        IssuesMetricMetricProcessor noim = new IssuesMetricMetricProcessor(issues);
+        // when
+        noim.process(scm("ClassA", "i1"));
+        noim.process(scm("ClassA", "i2"));
+        noim.process(scm("ClassB", "i3"));
+        List<IssuesMetricType> results = noim.computeMetric();
+        // then
+        assertThat(results).hasSize(2);
+        IssuesMetricType noiA = Iterables.find(results, new NoiPredicate("ClassA"));
+        assertThat(noiA.getIssues()).onProperty("issueId").containsOnly("i1", "i2");
+        IssuesMetricType noiB = Iterables.find(results, new NoiPredicate("ClassB"));
+        assertThat(noiB.getIssues()).isEmpty();
+    }
+
+    @Test
+    public void shouldComputeMetricWhenStateSpilledToDisk() {
+        // given
+        SpillableMap<String, ITSDataType> issues = new SpillableMap<String, ITSDataType>(Records.STRING,
+                new ITSDataCodec(), 1);
+        SpillableMap<String, IssuesMetricType> metric = new SpillableMap<String, IssuesMetricType>(Records.STRING,
+                new IssuesMetricCodec(issues), 1);
+        SpillableList<IssuesMetricType> results = new SpillableList<IssuesMetricType>(new IssuesMetricCodec(issues), 1);
+        try {
+            issues.put("i1", its("i1"));
+            issues.put("i2", its("i2"));
+            IssuesMetricMetricProcessor noim = new IssuesMetricMetricProcessor(issues, metric);
+            // when
+            noim.process(scm("ClassA", "i1"));
+            noim.process(scm("ClassB", "i1"));
+            noim.process(scm("ClassA", "i2"));
+            noim.process(scm("ClassC", "i3"));
+            noim.collectMetric(results);
+            // then
+            assertThat(results.isSpilled()).isTrue();
+            assertThat(results).hasSize(3);
+            IssuesMetricType noiA = Iterables.find(results, new NoiPredicate("ClassA"));
+            assertThat(noiA.getIssues()).onProperty("issueId").containsOnly("i1", "i2");
+            IssuesMetricType noiB = Iterables.find(results, new NoiPredicate("ClassB"));
+            assertThat(noiB.getIssues()).onProperty("issueId").containsOnly("i1");
+            IssuesMetricType noiC = Iterables.find(results, new NoiPredicate("ClassC"));
+            assertThat(noiC.getIssues()).isEmpty();
+        } finally {
+            results.close();
+            metric.close();
+            issues.close();
+        }
+    }
+
     @Test
     public void shouldComputeMetricWhenNoIssues() {
         // given
@@ -22,20 +22,27 @@ import static org.impressivecode.depress.common.TableCellReader.reader;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.ACTION_COLNAME;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.AUTHOR_COLNAME;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.DATE_COLNAME;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.LINES_ADDED_COLNAME;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.LINES_DELETED_COLNAME;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.MESSAGE_COLNAME;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.PATH_COLNAME;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.RESOURCE_NAME;
+import static org.impressivecode.depress.scm.SCMAdapterTableFactory.UID_COLNAME;
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.createDataColumnSpec;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.Date;
 
+import org.impressivecode.depress.common.CellPool;
 import org.junit.Test;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
 
 /**
  * 
@@ -50,6 +57,29 @@ public class SCMAdapterTableFactoryTest {
         assertEquals(8, colSpec.getNumColumns());
     }
 
+    @Test
+    public void shouldAppendChurnColumns() {
+        DataTableSpec colSpec = SCMAdapterTableFactory.createDataColumnSpec(true);
+        assertEquals(10, colSpec.getNumColumns());
+        assertEquals(LINES_ADDED_COLNAME, colSpec.getColumnSpec(8).getName());
+        assertEquals(LINES_DELETED_COLNAME, colSpec.getColumnSpec(9).getName());
+    }
+
+    @Test
+    public void shouldTransformChurn() {
+        // given
+        SCMDataType scm = mockSCMDataType();
+        when(scm.getLinesAdded()).thenReturn(3);
+        when(scm.getLinesDeleted()).thenReturn(null);
+        // when
+        DataRow row = SCMAdapterTableFactory.createTableRow("rowId", scm, true);
+
+        // then
+        assertEquals(10, row.getNumCells());
+        assertEquals(3, ((IntValue) row.getCell(8)).getIntValue());
+        assertTrue(row.getCell(9).isMissing());
+    }
+
 
     @Test
     public void shouldFillRowIdUsingCustomId() {
@@ -127,10 +157,66 @@ public class SCMAdapterTableFactoryTest {
         assertThat(reader(createDataColumnSpec(), row).string(ACTION_COLNAME)).isEqualTo("MODIFIED");
     }
 
+    @Test
+    public void shouldReuseCommitCellsWithinCommit() {
+        // given
+        CellPool pool = SCMAdapterTableFactory.createCellPool();
+        SCMDataType first = mockSCMDataType();
+        SCMDataType second = mockSCMDataType();
+        when(second.getPath()).thenReturn("other");
+        // when
+        DataRow row1 = SCMAdapterTableFactory.createTableRow("1", first, false, pool);
+        DataRow row2 = SCMAdapterTableFactory.createTableRow("2", second, false, pool);
+
+        // then
+        DataTableSpec spec = createDataColumnSpec();
+        for (String column : new String[] { MESSAGE_COLNAME, DATE_COLNAME, UID_COLNAME, AUTHOR_COLNAME, ACTION_COLNAME }) {
+            int index = spec.findColumnIndex(column);
+            assertSame(row1.getCell(index), row2.getCell(index));
+        }
+        assertThat(reader(spec, row2).string(PATH_COLNAME)).isEqualTo("other");
+    }
+
+    @Test
+    public void shouldCreateNewCommitCellsForNextCommit() {
+        // given
+        CellPool pool = SCMAdapterTableFactory.createCellPool();
+        SCMDataType first = mockSCMDataType();
+        SCMDataType second = mockSCMDataType();
+        when(second.getCommitID()).thenReturn("nextID");
+        when(second.getMessage()).thenReturn("next message");
+        // when
+        DataRow row1 = SCMAdapterTableFactory.createTableRow("1", first, false, pool);
+        DataRow row2 = SCMAdapterTableFactory.createTableRow("2", second, false, pool);
+
+        // then
+        DataTableSpec spec = createDataColumnSpec();
+        assertThat(reader(spec, row2).string(MESSAGE_COLNAME)).isEqualTo("next message");
+        assertThat(reader(spec, row2).string(UID_COLNAME)).isEqualTo("nextID");
+        assertSame(row1.getCell(spec.findColumnIndex(AUTHOR_COLNAME)), row2.getCell(spec.findColumnIndex(AUTHOR_COLNAME)));
+    }
+
+    @Test
+    public void shouldCreateSameRowWithPool() {
+        // given
+        SCMDataType scm = mockSCMDataType();
+        when(scm.getLinesAdded()).thenReturn(1);
+        // when
+        DataRow pooled = SCMAdapterTableFactory.createTableRow("rowId", scm, true, SCMAdapterTableFactory.createCellPool());
+        DataRow row = SCMAdapterTableFactory.createTableRow("rowId", scm, true);
+
+        // then
+        assertEquals(row.getNumCells(), pooled.getNumCells());
+        for (int i = 0; i < row.getNumCells(); i++) {
+            assertEquals(row.getCell(i), pooled.getCell(i));
+        }
+    }
+
     private SCMDataType mockSCMDataType() {
         SCMDataType scm = mock(SCMDataType.class, RETURNS_DEEP_STUBS);
         when(scm.getResourceName()).thenReturn("resource");
         when(scm.getPath()).thenReturn("path");
+        when(scm.getExtension()).thenReturn("java");
         when(scm.getAuthor()).thenReturn("author");
         when(scm.getCommitDate()).thenReturn(new Date(100));
         when(scm.getCommitID()).thenReturn("commitID");
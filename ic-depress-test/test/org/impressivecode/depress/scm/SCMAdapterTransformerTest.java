@@ -70,6 +70,7 @@ public class SCMAdapterTransformerTest {
         scm.setOperation(SCMOperation.ADDED);
         scm.setPath(path);
         scm.setResourceName("r");
+        scm.setExtension("java");
         return scm;
     }
 
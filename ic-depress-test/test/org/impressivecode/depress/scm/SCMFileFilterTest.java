@@ -0,0 +1,96 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class SCMFileFilterTest {
+
+    @Test
+    public void shouldAcceptEverythingWithoutExtensions() {
+        SCMFileFilter filter = SCMFileFilter.create(null, Collections.<String> emptyList());
+
+        assertTrue(filter.extensionFits("src/org/A.java"));
+        assertTrue(filter.extensionFits("Makefile"));
+    }
+
+    @Test
+    public void shouldMatchPlainExtensions() {
+        SCMFileFilter filter = SCMFileFilter.create(null, Arrays.asList("java", ".XML"));
+
+        assertTrue(filter.extensionFits("src/org/A.java"));
+        assertTrue(filter.extensionFits("src/org/A.JAVA"));
+        assertTrue(filter.extensionFits("pom.xml"));
+        assertFalse(filter.extensionFits("src/org/A.class"));
+        assertFalse(filter.extensionFits("src/my.java/A"));
+    }
+
+    @Test
+    public void shouldMatchWildcards() {
+        SCMFileFilter filter = SCMFileFilter.create(null, Arrays.asList(".j?va", "*.txt", "x*"));
+
+        assertTrue(filter.extensionFits("src/org/A.java"));
+        assertTrue(filter.extensionFits("README.txt"));
+        assertTrue(filter.extensionFits("plugin.xml"));
+        assertTrue(filter.extensionFits("plugin.xsd"));
+        assertFalse(filter.extensionFits("src/org/A.jjava"));
+        assertFalse(filter.extensionFits("build.properties"));
+    }
+
+    @Test
+    public void shouldMatchFilesWithoutExtension() {
+        SCMFileFilter filter = SCMFileFilter.create(null, Arrays.asList(""));
+
+        assertTrue(filter.extensionFits("Makefile"));
+        assertTrue(filter.extensionFits("src.d/Makefile"));
+        assertFalse(filter.extensionFits("src/org/A.java"));
+    }
+
+    @Test
+    public void shouldMatchPackagePrefixAcrossSeparators() {
+        SCMFileFilter filter = SCMFileFilter.create("org.impressivecode.", Arrays.asList("*"));
+
+        assertTrue(filter.packageFits("src/org/impressivecode/depress/A.java"));
+        assertFalse(filter.packageFits("src/org/other/A.java"));
+        assertFalse(SCMFileFilter.create(null, Arrays.asList("*")).packageFits("src/org/A.java"));
+    }
+
+    @Test
+    public void shouldResolveJavaClass() {
+        assertEquals("org.impressivecode.depress.A",
+                SCMFileFilter.create("org.", Arrays.asList("*")).javaClass("src/org/impressivecode/depress/A.java"));
+        assertEquals("src.javax.A", SCMFileFilter.create(null, Arrays.asList("*")).javaClass("src/javax/A.java"));
+    }
+
+    @Test
+    public void shouldAcceptJavaFilesOnlyWithPackage() {
+        SCMFileFilter filter = SCMFileFilter.create("org.", Arrays.asList("java", "xml"));
+
+        assertTrue(filter.accept("src/org/A.java"));
+        assertTrue(filter.accept("pom.xml"));
+        assertFalse(filter.accept("src/com/A.java"));
+        assertTrue(SCMFileFilter.create(null, Arrays.asList("java")).accept("src/com/A.java"));
+    }
+}
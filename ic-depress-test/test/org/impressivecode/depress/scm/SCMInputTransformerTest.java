@@ -22,11 +22,13 @@ import static org.impressivecode.depress.scm.SCMAdapterTableFactory.RESOURCE_COL
 import static org.impressivecode.depress.scm.SCMAdapterTableFactory.RESOURCE_NAME;
 import static org.impressivecode.depress.support.commonmarker.MarkerAdapterTableFactory.MARKER_COLSPEC;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 
 import org.impressivecode.depress.common.Cells;
+import org.impressivecode.depress.common.InputHandler;
 import org.impressivecode.depress.common.InputTransformer;
 import org.junit.Test;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -34,11 +36,14 @@ import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowIterator;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 import org.mockito.Mockito;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 /**
  * 
@@ -75,4 +80,31 @@ public class SCMInputTransformerTest {
         assertThat(data).hasSize(1);
         assertThat(data.get(0).getResourceName()).isEqualTo("resource");
     }
+
+    @Test
+    public void shouldStreamRowsUntilHandlerStops() throws Exception {
+        // given
+        DataTableSpec spec = new DataTableSpec(RESOURCE_COLSPEC);
+        InputTransformer<SCMDataType> transformer = new SCMInputTransformer().setMinimalSpec(spec).setInputSpec(spec);
+        DataTable inTable = mock(DataTable.class);
+        CloseableRowIterator iterator = mock(CloseableRowIterator.class);
+        when(iterator.hasNext()).thenReturn(true, true, true, false);
+        DataRow row = mock(DataRow.class);
+        when(row.getCell(Mockito.eq(0))).thenReturn(Cells.stringCell("A"), Cells.stringCell("B"),
+                Cells.stringCell("C"));
+        when(iterator.next()).thenReturn(row);
+        when(inTable.iterator()).thenReturn(iterator);
+        final List<String> resources = Lists.newArrayList();
+        // when
+        transformer.forEach(inTable, new ExecutionMonitor(), new InputHandler<SCMDataType>() {
+            @Override
+            public boolean handle(final SCMDataType scm) {
+                resources.add(scm.getResourceName());
+                return resources.size() < 2;
+            }
+        });
+        // then
+        assertThat(resources).containsExactly("A", "B");
+        verify(iterator).close();
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.impressivecode.depress.scm.SCMOperation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+
+public class GitChurnTest {
+
+    private File workDir;
+    private String gitDir;
+    private Git git;
+
+    @Before
+    public void setUp() throws Exception {
+        workDir = File.createTempFile("temp-GitChurnTest-", Long.toString(System.nanoTime()));
+        workDir.delete();
+        git = Git.init().setDirectory(workDir).call();
+        gitDir = new File(workDir, ".git").getPath();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        git.getRepository().close();
+        GitRepositoryPool.getInstance().evictIdle(0);
+        FileUtils.deleteDirectory(workDir);
+    }
+
+    @Test
+    public void shouldCountLinesOfAddedFiles() throws Exception {
+        write("A.java", "a\nb\nc\n");
+        commit("root");
+
+        GitCommitFile file = parseSingle(true);
+
+        assertEquals(SCMOperation.ADDED, file.getOperation());
+        assertChurn(file, 3, 0);
+    }
+
+    @Test
+    public void shouldCountModifiedLines() throws Exception {
+        write("A.java", "a\nb\nc\n");
+        commit("root");
+        write("A.java", "a\nB\nc\nd\ne\n");
+        commit("change");
+
+        GitCommitFile file = parseSingle(true);
+
+        assertEquals(SCMOperation.MODIFIED, file.getOperation());
+        assertChurn(file, 3, 1);
+    }
+
+    @Test
+    public void shouldCountDeletedLines() throws Exception {
+        write("A.java", "a\nb\n");
+        commit("root");
+        git.rm().addFilepattern("A.java").call();
+        commit("delete");
+
+        GitCommitFile file = parseSingle(true);
+
+        assertEquals(SCMOperation.DELETED, file.getOperation());
+        assertChurn(file, 0, 2);
+    }
+
+    @Test
+    public void shouldAssignRenameChurnToNewFile() throws Exception {
+        write("A.java", "a\nb\nc\nd\ne\nf\ng\nh\n");
+        commit("root");
+        git.rm().addFilepattern("A.java").call();
+        write("B.java", "a\nb\nc\nd\ne\nf\ng\nH\n");
+        commit("rename");
+
+        List<GitCommitFile> files = parseNewest(true).getFiles();
+
+        assertEquals(2, files.size());
+        assertEquals("A.java", files.get(0).getPath());
+        assertChurn(files.get(0), 0, 0);
+        assertEquals("B.java", files.get(1).getPath());
+        assertChurn(files.get(1), 1, 1);
+    }
+
+    @Test
+    public void shouldSkipBinaryFiles() throws Exception {
+        write("a.bin", "a\u0000b");
+        commit("root");
+
+        GitCommitFile file = parseSingle(true);
+
+        assertNull(file.getLinesAdded());
+        assertNull(file.getLinesDeleted());
+    }
+
+    @Test
+    public void shouldNotCountWhenDisabled() throws Exception {
+        write("A.java", "a\n");
+        commit("root");
+
+        GitCommitFile file = parseSingle(false);
+
+        assertNull(file.getLinesAdded());
+        assertNull(file.getLinesDeleted());
+    }
+
+    private GitCommitFile parseSingle(final boolean churn) throws Exception {
+        List<GitCommitFile> files = parseNewest(churn).getFiles();
+        assertEquals(1, files.size());
+        return files.get(0);
+    }
+
+    private GitCommit parseNewest(final boolean churn) throws Exception {
+        return new GitOnlineLogParser().parseEntries(gitDir,
+                GitParserOptions.options(null, null, 1, GitMergeMode.NONE, churn)).get(0);
+    }
+
+    private static void assertChurn(final GitCommitFile file, final int added, final int deleted) {
+        assertEquals(Integer.valueOf(added), file.getLinesAdded());
+        assertEquals(Integer.valueOf(deleted), file.getLinesDeleted());
+    }
+
+    private void write(final String path, final String content) throws Exception {
+        FileUtils.writeStringToFile(new File(workDir, path), content, Charsets.UTF_8.name());
+        git.add().addFilepattern(path).call();
+    }
+
+    private void commit(final String message) throws Exception {
+        git.commit().setAuthor("Test", "test@impressivecode.org").setMessage(message).call();
+    }
+}
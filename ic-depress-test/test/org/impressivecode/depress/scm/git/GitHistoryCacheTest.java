@@ -0,0 +1,135 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.impressivecode.depress.scm.SCMOperation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GitHistoryCacheTest {
+
+    private File internDir;
+
+    @Before
+    public void setUp() throws IOException {
+        internDir = File.createTempFile("temp-GitHistoryCacheTest-", Long.toString(System.nanoTime()));
+        internDir.delete();
+        internDir.mkdir();
+    }
+
+    @After
+    public void tearDown() {
+        new File(internDir, GitHistoryCache.FILE_NAME).delete();
+        internDir.delete();
+    }
+
+    @Test
+    public void shouldReturnNullWhenNothingSaved() throws Exception {
+        assertNull(GitHistoryCache.load(internDir));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectOtherFormatVersion() throws Exception {
+        DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new FileOutputStream(new File(internDir,
+                GitHistoryCache.FILE_NAME))));
+        try {
+            out.writeInt(2);
+        } finally {
+            out.close();
+        }
+        GitHistoryCache.load(internDir);
+    }
+
+    @Test
+    public void shouldRestoreSavedCommits() throws Exception {
+        new GitHistoryCache("/repo/.git", "master", "org.", "abc", commits()).save(internDir);
+
+        GitHistoryCache cache = GitHistoryCache.load(internDir);
+
+        assertEquals("abc", cache.getLastCommitId());
+        assertThat(cache.getCommits()).hasSize(1);
+        GitCommit commit = cache.getCommits().get(0);
+        assertEquals("abc", commit.getId());
+        assertEquals("Marek Majchrzak", commit.getAuthor());
+        assertEquals(new Date(1363636154000l), commit.getDate());
+        assertEquals("#9 base version", commit.getMessage());
+        assertThat(commit.getFiles()).hasSize(1);
+        assertEquals("src/org/A.java", commit.getFiles().get(0).getPath());
+        assertEquals("org.A", commit.getFiles().get(0).getJavaClass());
+        assertEquals("java", commit.getFiles().get(0).getExtension());
+        assertEquals(SCMOperation.RENAMED, commit.getFiles().get(0).getOperation());
+    }
+
+    @Test
+    public void shouldRestoreChurn() throws Exception {
+        List<GitCommit> commits = commits();
+        commits.get(0).getFiles().get(0).setLinesAdded(12);
+        new GitHistoryCache("/repo/.git", "master", "org.", GitMergeMode.COMBINED, true, "abc", commits)
+        .save(internDir);
+
+        GitHistoryCache cache = GitHistoryCache.load(internDir);
+
+        assertTrue(cache.matches("/repo/.git", "master", "org.", GitMergeMode.COMBINED, true));
+        assertFalse(cache.matches("/repo/.git", "master", "org.", GitMergeMode.COMBINED, false));
+        GitCommitFile file = cache.getCommits().get(0).getFiles().get(0);
+        assertEquals(Integer.valueOf(12), file.getLinesAdded());
+        assertNull(file.getLinesDeleted());
+    }
+
+    @Test
+    public void shouldMatchOnlySameSettings() throws Exception {
+        GitHistoryCache cache = new GitHistoryCache("/repo/.git", null, "org.", "abc", commits());
+
+        assertTrue(cache.matches("/repo/.git", "", "org."));
+        assertFalse(cache.matches("/repo/.git", "master", "org."));
+        assertFalse(cache.matches("/other/.git", "", "org."));
+    }
+
+    private List<GitCommit> commits() {
+        GitCommit commit = new GitCommit();
+        commit.setId("abc");
+        commit.setAuthor("Marek Majchrzak");
+        commit.setDate(new Date(1363636154000l));
+        commit.addToMessage("#9 base version");
+        GitCommitFile file = new GitCommitFile();
+        file.setPath("src/org/A.java");
+        file.setJavaClass("org.A");
+        file.setExtension("java");
+        file.setRawOperation('R');
+        commit.getFiles().add(file);
+        List<GitCommit> commits = new ArrayList<GitCommit>();
+        commits.add(commit);
+        return commits;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.MergeCommand.FastForwardMode;
+import org.eclipse.jgit.api.ResetCommand.ResetType;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.impressivecode.depress.scm.SCMOperation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+
+public class GitMergeDiffTest {
+
+    private static final int MERGES = 20;
+
+    private File workDir;
+    private String gitDir;
+    private Git git;
+    private final List<String> merges = new ArrayList<String>();
+
+    @Before
+    public void setUp() throws Exception {
+        workDir = File.createTempFile("temp-GitMergeDiffTest-", Long.toString(System.nanoTime()));
+        workDir.delete();
+        git = Git.init().setDirectory(workDir).call();
+        gitDir = new File(workDir, ".git").getPath();
+        createHistory();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        git.getRepository().close();
+        GitRepositoryPool.getInstance().evictIdle(0);
+        FileUtils.deleteDirectory(workDir);
+    }
+
+    @Test
+    public void shouldListAllFilesOfRootCommit() throws Exception {
+        GitCommit root = find(parse(GitMergeMode.NONE, 1), "root");
+
+        assertThat(paths(root)).containsOnly("shared.txt", "README");
+        for (GitCommitFile file : root.getFiles()) {
+            assertEquals(SCMOperation.ADDED, file.getOperation());
+        }
+    }
+
+    @Test
+    public void shouldSkipMergeFilesByDefault() throws Exception {
+        List<GitCommit> commits = parse(GitMergeMode.NONE, 1);
+
+        assertEquals(1 + 3 * MERGES, commits.size());
+        for (GitCommit commit : commits) {
+            if (merges.contains(commit.getId())) {
+                assertThat(commit.getFiles()).isEmpty();
+            }
+        }
+    }
+
+    @Test
+    public void shouldDiffMergeAgainstFirstParent() throws Exception {
+        List<GitCommit> commits = parse(GitMergeMode.FIRST_PARENT, 1);
+
+        for (int i = 0; i < MERGES - 1; i++) {
+            GitCommit merge = findMerge(commits, i);
+            assertThat(paths(merge)).containsOnly("feature/F" + i + ".txt");
+            assertEquals(SCMOperation.ADDED, merge.getFiles().get(0).getOperation());
+        }
+        assertThat(paths(findMerge(commits, MERGES - 1))).containsOnly("feature/F" + (MERGES - 1) + ".txt", "shared.txt");
+    }
+
+    @Test
+    public void shouldReportOnlyConflictingChangesInCombinedMode() throws Exception {
+        List<GitCommit> commits = parse(GitMergeMode.COMBINED, 1);
+
+        for (int i = 0; i < MERGES - 1; i++) {
+            assertThat(findMerge(commits, i).getFiles()).isEmpty();
+        }
+        GitCommit evil = findMerge(commits, MERGES - 1);
+        assertThat(paths(evil)).containsOnly("shared.txt");
+        assertEquals(SCMOperation.MODIFIED, evil.getFiles().get(0).getOperation());
+    }
+
+    @Test
+    public void shouldMeasureChurnOfCombinedMergeAgainstFirstParent() throws Exception {
+        List<GitCommit> commits = new GitOnlineLogParser().parseEntries(gitDir,
+                GitParserOptions.options(null, null, 1, GitMergeMode.COMBINED, true));
+
+        GitCommitFile shared = findMerge(commits, MERGES - 1).getFiles().get(0);
+        assertEquals(Integer.valueOf(1), shared.getLinesAdded());
+        assertEquals(Integer.valueOf(1), shared.getLinesDeleted());
+    }
+
+    @Test
+    public void shouldGiveSameResultsWithManyThreads() throws Exception {
+        for (GitMergeMode mode : GitMergeMode.values()) {
+            List<GitCommit> expected = parse(mode, 1);
+            List<GitCommit> actual = parse(mode, 4);
+
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getId(), actual.get(i).getId());
+                assertEquals(paths(expected.get(i)), paths(actual.get(i)));
+            }
+        }
+    }
+
+    private List<GitCommit> parse(final GitMergeMode mode, final int threads) throws Exception {
+        return new GitOnlineLogParser().parseEntries(gitDir, GitParserOptions.options(null, null, threads, mode));
+    }
+
+    private void createHistory() throws Exception {
+        write("shared.txt", "base");
+        write("README", "readme");
+        commit("root");
+        git.branchCreate().setName("feature").call();
+        for (int i = 0; i < MERGES; i++) {
+            git.checkout().setName("feature").call();
+            write("feature/F" + i + ".txt", "feature " + i);
+            commit("feature " + i);
+            git.checkout().setName("master").call();
+            write("master/M" + i + ".txt", "master " + i);
+            commit("master " + i);
+            assertTrue(git.merge().include(git.getRepository().getRef("feature")).setFastForward(FastForwardMode.NO_FF)
+                    .call().getMergeStatus().isSuccessful());
+            merges.add(git.getRepository().resolve(Constants.HEAD).getName());
+        }
+        // redo the last merge with a change which is present in neither parent
+        ObjectId feature = git.getRepository().resolve("feature");
+        git.reset().setMode(ResetType.SOFT).setRef(Constants.HEAD + "~1").call();
+        git.getRepository().writeMergeHeads(Collections.singletonList(feature));
+        write("shared.txt", "changed in merge");
+        merges.set(MERGES - 1, commit("evil merge"));
+    }
+
+    private void write(final String path, final String content) throws Exception {
+        FileUtils.writeStringToFile(new File(workDir, path), content, Charsets.UTF_8.name());
+        git.add().addFilepattern(path).call();
+    }
+
+    private String commit(final String message) throws Exception {
+        return git.commit().setAuthor("Test", "test@impressivecode.org").setMessage(message).call().getName();
+    }
+
+    private GitCommit findMerge(final List<GitCommit> commits, final int merge) {
+        for (GitCommit commit : commits) {
+            if (commit.getId().equals(merges.get(merge))) {
+                return commit;
+            }
+        }
+        throw new AssertionError("Merge not found: " + merge);
+    }
+
+    private static GitCommit find(final List<GitCommit> commits, final String message) {
+        for (GitCommit commit : commits) {
+            if (commit.getMessage().trim().equals(message)) {
+                return commit;
+            }
+        }
+        throw new AssertionError("Commit not found: " + message);
+    }
+
+    private static List<String> paths(final GitCommit commit) {
+        List<String> paths = new ArrayList<String>();
+        for (GitCommitFile file : commit.getFiles()) {
+            paths.add(file.getPath());
+        }
+        return paths;
+    }
+}
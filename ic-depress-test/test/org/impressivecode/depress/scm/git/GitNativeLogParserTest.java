@@ -0,0 +1,159 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.impressivecode.depress.scm.SCMParserOptions.options;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.MergeCommand.FastForwardMode;
+import org.impressivecode.depress.scm.SCMExtensionsParser;
+import org.impressivecode.depress.scm.SCMOperation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+
+public class GitNativeLogParserTest {
+
+    private File workDir;
+    private Git git;
+
+    @Before
+    public void setUp() throws Exception {
+        workDir = File.createTempFile("temp-GitNativeLogParserTest-", Long.toString(System.nanoTime()));
+        workDir.delete();
+        git = Git.init().setDirectory(workDir).call();
+        write("src/org/a/A.java", "a");
+        write("docs/d.txt", "d");
+        commit("root\n\nfirst commit");
+        git.branchCreate().setName("side").call();
+        git.checkout().setName("side").call();
+        write("src/org/a/B.java", "b");
+        commit("side");
+        git.checkout().setName("master").call();
+        git.rm().addFilepattern("src/org/a/A.java").call();
+        write("src/org/a/C.java", "a");
+        commit("rename");
+        git.merge().include(git.getRepository().getRef("side")).setFastForward(FastForwardMode.NO_FF).call();
+        write("docs/d.txt", "changed");
+        commit("docs only");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        git.getRepository().close();
+        GitRepositoryPool.getInstance().evictIdle(0);
+        FileUtils.deleteDirectory(workDir);
+    }
+
+    @Test
+    public void shouldReadCommitsChangingAcceptedFiles() throws Exception {
+        List<GitCommit> commits = parse("org.a", ".java");
+
+        assertEquals(3, commits.size());
+        assertThat(messages(commits)).containsOnly("rename", "side", "rootfirst commit");
+        GitCommit rename = find(commits, "rename");
+        assertEquals(2, rename.getFiles().size());
+        assertEquals("src/org/a/A.java", rename.getFiles().get(0).getPath());
+        assertEquals(SCMOperation.DELETED, rename.getFiles().get(0).getOperation());
+        assertEquals("org.a.C", rename.getFiles().get(1).getJavaClass());
+        assertEquals(SCMOperation.ADDED, rename.getFiles().get(1).getOperation());
+        assertEquals("java", rename.getFiles().get(1).getExtension());
+        assertEquals("Test", rename.getAuthor());
+    }
+
+    @Test
+    public void shouldSkipJavaFilesOutsideOfPackage() throws Exception {
+        assertThat(parse("org.b", ".java")).isEmpty();
+    }
+
+    @Test
+    public void shouldReadOtherExtensions() throws Exception {
+        List<GitCommit> commits = parse(null, "txt");
+
+        assertThat(messages(commits)).containsOnly("docs only", "rootfirst commit");
+        GitCommitFile file = find(commits, "docs only").getFiles().get(0);
+        assertEquals("docs/d.txt", file.getPath());
+        assertEquals(SCMOperation.MODIFIED, file.getOperation());
+        assertEquals("", file.getJavaClass());
+    }
+
+    @Test
+    public void shouldReadFromGitDirectory() throws Exception {
+        List<GitCommit> commits = new GitNativeLogParser(options("org.a", SCMExtensionsParser.parseExtensions(".java")))
+        .parseEntries(new File(workDir, ".git").getPath());
+
+        assertEquals(3, commits.size());
+    }
+
+    @Test
+    public void shouldStopWhenHandlerRefuses() throws Exception {
+        final List<GitCommit> commits = new ArrayList<GitCommit>();
+        new GitNativeLogParser(options(null, SCMExtensionsParser.parseExtensions("*"))).parseEntries(workDir.getPath(),
+                new GitCommitHandler() {
+            @Override
+            public boolean handle(final GitCommit commit) {
+                commits.add(commit);
+                return false;
+            }
+        });
+
+        assertEquals(1, commits.size());
+        assertEquals("docs only", commits.get(0).getMessage());
+    }
+
+    private List<GitCommit> parse(final String packageName, final String extensions) throws Exception {
+        return new GitNativeLogParser(options(packageName, SCMExtensionsParser.parseExtensions(extensions)))
+        .parseEntries(workDir.getPath());
+    }
+
+    private void write(final String path, final String content) throws Exception {
+        FileUtils.writeStringToFile(new File(workDir, path), content, Charsets.UTF_8.name());
+        git.add().addFilepattern(path).call();
+    }
+
+    private void commit(final String message) throws Exception {
+        git.commit().setAuthor("Test", "test@impressivecode.org").setMessage(message).call();
+    }
+
+    private static List<String> messages(final List<GitCommit> commits) {
+        List<String> messages = new ArrayList<String>();
+        for (GitCommit commit : commits) {
+            messages.add(commit.getMessage());
+        }
+        return messages;
+    }
+
+    private static GitCommit find(final List<GitCommit> commits, final String message) {
+        for (GitCommit commit : commits) {
+            if (commit.getMessage().equals(message)) {
+                return commit;
+            }
+        }
+        throw new AssertionError("Commit not found: " + message);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.knime.core.node.NodeSettings;
+
+public class GitOfflineAdapterNodeModelTest {
+
+    @Test
+    public void shouldLoadSettingsSavedBeforeRepositorySource() throws Exception {
+        // given
+        NodeSettings settings = new NodeSettings("model");
+        settings.addString(GitOfflineAdapterNodeModel.GIT_FILENAME, "/tmp/git.log");
+        settings.addString(GitOfflineAdapterNodeModel.GIT_PACKAGENAME, "org.");
+        GitOfflineAdapterNodeModel model = new GitOfflineAdapterNodeModel();
+
+        // when
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+
+        // then
+        NodeSettings saved = new NodeSettings("model");
+        model.saveSettingsTo(saved);
+        assertEquals("/tmp/git.log", saved.getString(GitOfflineAdapterNodeModel.GIT_FILENAME));
+        assertEquals(GitOfflineAdapterNodeModel.GIT_SOURCE_LOG, saved.getString(GitOfflineAdapterNodeModel.GIT_SOURCE));
+        assertEquals(GitOfflineAdapterNodeModel.GIT_REPOSITORY_DEFAULT,
+                saved.getString(GitOfflineAdapterNodeModel.GIT_REPOSITORY));
+    }
+}
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import org.impressivecode.depress.scm.SCMOperation;
 import org.impressivecode.depress.scm.SCMParserOptions;
@@ -165,4 +166,30 @@ public class GitOfflineLogParserTest {
     public void shouldCommitWithPackageMatch() throws Exception {
     	assertThat(packageCommit("org.spring.").getFiles()).hasSize(0);
     }
+
+    @Test
+    public void shouldStreamCommitsToHandler() throws Exception {
+        final List<GitCommit> commits = new ArrayList<GitCommit>();
+        parser.parseEntries(logFilePath, new GitCommitHandler() {
+            @Override
+            public boolean handle(final GitCommit commit) {
+                commits.add(commit);
+                return true;
+            }
+        });
+        assertEquals(51, commits.size());
+    }
+
+    @Test
+    public void shouldStopStreamingWhenHandlerRefuses() throws Exception {
+        final List<GitCommit> commits = new ArrayList<GitCommit>();
+        parser.parseEntries(logFilePath, new GitCommitHandler() {
+            @Override
+            public boolean handle(final GitCommit commit) {
+                commits.add(commit);
+                return commits.size() < 3;
+            }
+        });
+        assertEquals(3, commits.size());
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand.ResetType;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.NodeSettings;
+
+public class GitOnlineAdapterNodeModelTest {
+
+    private File workDir;
+    private String gitDir;
+    private Git git;
+
+    @Before
+    public void setUp() throws Exception {
+        workDir = File.createTempFile("temp-GitOnlineAdapterNodeModelTest-", Long.toString(System.nanoTime()));
+        workDir.delete();
+        git = Git.init().setDirectory(workDir).call();
+        gitDir = new File(workDir, ".git").getPath();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        git.getRepository().close();
+        GitRepositoryPool.getInstance().evictIdle(0);
+        FileUtils.deleteDirectory(workDir);
+    }
+
+    @Test
+    public void shouldAppendNewCommitsToCachedHistory() throws Exception {
+        // given
+        GitOnlineAdapterNodeModel model = new GitOnlineAdapterNodeModel();
+        RevCommit first = commit("A.java", "first");
+        RevCommit second = commit("B.java", "second");
+        parse(model);
+        RevCommit third = commit("C.java", "third");
+
+        // when
+        List<String> ids = parse(model);
+
+        // then
+        assertEquals(ids(third, second, first), ids);
+    }
+
+    @Test
+    public void shouldDropCommitsRemovedFromHistory() throws Exception {
+        // given
+        GitOnlineAdapterNodeModel model = new GitOnlineAdapterNodeModel();
+        RevCommit first = commit("A.java", "first");
+        commit("B.java", "second");
+        parse(model);
+        // the second commit stays in the object database, but not in the branch
+        git.reset().setMode(ResetType.HARD).setRef(first.getName()).call();
+        RevCommit rewritten = commit("C.java", "rewritten second");
+
+        // when
+        List<String> ids = parse(model);
+
+        // then
+        assertEquals(ids(rewritten, first), ids);
+    }
+
+    @Test
+    public void shouldKeepDefaultsOfSettingsMissingInOlderWorkflows() throws Exception {
+        // given, keys of the first release only
+        NodeSettings settings = new NodeSettings("model");
+        settings.addString(GitOnlineAdapterNodeModel.GIT_REPOSITORY_ADDRESS, "/repo");
+        settings.addString(GitOnlineAdapterNodeModel.GIT_BRANCH, "master");
+        settings.addString(GitOnlineAdapterNodeModel.GIT_PACKAGENAME, "org.");
+        GitOnlineAdapterNodeModel model = new GitOnlineAdapterNodeModel();
+
+        // when
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+
+        // then
+        NodeSettings saved = new NodeSettings("model");
+        model.saveSettingsTo(saved);
+        assertEquals("/repo", saved.getString(GitOnlineAdapterNodeModel.GIT_REPOSITORY_ADDRESS));
+        assertEquals(false, saved.getBoolean(GitOnlineAdapterNodeModel.GIT_INCREMENTAL));
+        assertEquals(GitOnlineAdapterNodeModel.GIT_THREADS_DEFAULT, saved.getInt(GitOnlineAdapterNodeModel.GIT_THREADS));
+        assertEquals(GitOnlineAdapterNodeModel.GIT_PACKED_LIMIT_DEFAULT,
+                saved.getInt(GitOnlineAdapterNodeModel.GIT_PACKED_LIMIT));
+        assertEquals(GitOnlineAdapterNodeModel.GIT_DELTA_CACHE_DEFAULT,
+                saved.getInt(GitOnlineAdapterNodeModel.GIT_DELTA_CACHE));
+        assertEquals(GitOnlineAdapterNodeModel.GIT_MERGE_MODE_DEFAULT,
+                saved.getString(GitOnlineAdapterNodeModel.GIT_MERGE_MODE));
+        assertEquals(false, saved.getBoolean(GitOnlineAdapterNodeModel.GIT_CHURN));
+    }
+
+    private List<String> parse(final GitOnlineAdapterNodeModel model) throws Exception {
+        List<String> ids = new ArrayList<String>();
+        for (GitCommit commit : model.parseIncrementally(new GitOnlineLogParser(), gitDir,
+                GitParserOptions.options(null, null, 1, GitMergeMode.NONE, false))) {
+            ids.add(commit.getId());
+        }
+        return ids;
+    }
+
+    private static List<String> ids(final RevCommit... commits) {
+        List<String> ids = new ArrayList<String>();
+        for (RevCommit commit : commits) {
+            ids.add(commit.getName());
+        }
+        return ids;
+    }
+
+    private RevCommit commit(final String path, final String message) throws Exception {
+        FileUtils.writeStringToFile(new File(workDir, path), message, "UTF-8");
+        git.add().addFilepattern(path).call();
+        return git.commit().setAuthor("Test", "test@impressivecode.org").setMessage(message).call();
+    }
+}
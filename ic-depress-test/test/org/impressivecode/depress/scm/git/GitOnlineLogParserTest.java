@@ -209,4 +209,16 @@ public class GitOnlineLogParserTest {
     public void shouldGetCurrentBranch() throws Exception {
         assertEquals("dev", GitOnlineLogParser.getCurrentBranch(repoPath));
     }
+
+    @Test
+    public void shouldParseSameCommitsInParallel() throws Exception {
+        List<GitCommit> sequential = new GitOnlineLogParser().parseEntries(repoPath, options("org.", null));
+        List<GitCommit> parallel = new GitOnlineLogParser().parseEntries(repoPath, options("org.", null, 4));
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).getId(), parallel.get(i).getId());
+            assertEquals(sequential.get(i).getFiles().size(), parallel.get(i).getFiles().size());
+        }
+    }
 }
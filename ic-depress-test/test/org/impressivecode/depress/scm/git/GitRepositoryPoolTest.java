@@ -0,0 +1,106 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.git;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.NoHeadException;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GitRepositoryPoolTest {
+
+    private File workDir;
+    private String gitDir;
+    private GitRepositoryPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        workDir = File.createTempFile("temp-GitRepositoryPoolTest-", Long.toString(System.nanoTime()));
+        workDir.delete();
+        Git.init().setDirectory(workDir).call().getRepository().close();
+        gitDir = new File(workDir, ".git").getPath();
+        pool = new GitRepositoryPool(Long.MAX_VALUE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        pool.evictIdle(0);
+        FileUtils.deleteDirectory(workDir);
+    }
+
+    @Test
+    public void shouldReuseOpenedRepository() throws Exception {
+        Repository first = pool.acquire(gitDir);
+        pool.release(first);
+        Repository second = pool.acquire(gitDir + File.separator + "." + File.separator);
+        pool.release(second);
+
+        assertSame(first, second);
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void shouldEvictOnlyIdleRepositories() throws Exception {
+        Repository repository = pool.acquire(gitDir);
+        pool.evictIdle(0);
+        assertEquals(1, pool.size());
+
+        pool.release(repository);
+        pool.evictIdle(0);
+        assertEquals(0, pool.size());
+        Repository reopened = pool.acquire(gitDir);
+        pool.release(reopened);
+
+        assertNotSame(repository, reopened);
+    }
+
+    @Test
+    public void shouldKeepRepositoryUntilAllReferencesReleased() throws Exception {
+        Repository first = pool.acquire(gitDir);
+        Repository second = pool.acquire(gitDir);
+        pool.release(first);
+        pool.evictIdle(0);
+        assertEquals(1, pool.size());
+
+        pool.release(second);
+        pool.evictIdle(0);
+        assertEquals(0, pool.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectReleaseOfUnknownRepository() throws Exception {
+        Repository repository = pool.acquire(gitDir);
+        pool.release(repository);
+        pool.release(repository);
+    }
+
+    @Test(expected = NoHeadException.class)
+    public void shouldThrowOnNonExistingRepo() throws Exception {
+        pool.acquire("/some/fake/path/.git");
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.impressivecode.depress.scm.svn;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.impressivecode.depress.scm.SCMOperation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SVNHistoryCacheTest {
+
+    private File internDir;
+
+    @Before
+    public void setUp() throws IOException {
+        internDir = File.createTempFile("temp-SVNHistoryCacheTest-", Long.toString(System.nanoTime()));
+        internDir.delete();
+        internDir.mkdir();
+    }
+
+    @After
+    public void tearDown() {
+        new File(internDir, SVNHistoryCache.FILE_NAME).delete();
+        internDir.delete();
+    }
+
+    @Test
+    public void shouldReturnNullWhenNothingSaved() throws Exception {
+        assertNull(SVNHistoryCache.load(internDir));
+    }
+
+    @Test
+    public void shouldRestoreSavedCheckpoint() throws Exception {
+        SVNHistoryCache saved = new SVNHistoryCache("svn://repo", "org.", ".java");
+        saved.append(commits(), 42);
+        saved.save(internDir);
+
+        SVNHistoryCache cache = SVNHistoryCache.load(internDir);
+
+        assertEquals(42, cache.getLastRevision());
+        assertThat(cache.getCommits()).hasSize(1);
+        SVNCommit commit = cache.getCommits().get(0);
+        assertEquals("41", commit.getId());
+        assertEquals("Marek Majchrzak", commit.getAuthor());
+        assertEquals(new Date(1363636154000l), commit.getDate());
+        assertEquals("#9 base version", commit.getMessage());
+        assertThat(commit.getFiles()).hasSize(1);
+        assertEquals("/trunk/src/org/A.java", commit.getFiles().get(0).getPath());
+        assertEquals("org.A", commit.getFiles().get(0).getResourceName());
+        assertEquals(SCMOperation.ADDED, commit.getFiles().get(0).getOperation());
+    }
+
+    @Test
+    public void shouldMatchOnlySameSettings() throws Exception {
+        SVNHistoryCache cache = new SVNHistoryCache("svn://repo", null, ".java");
+
+        assertTrue(cache.matches("svn://repo", "", ".java"));
+        assertFalse(cache.matches("svn://repo", "org.", ".java"));
+        assertFalse(cache.matches("svn://repo", "", "*"));
+        assertFalse(cache.matches("svn://other", "", ".java"));
+    }
+
+    private List<SVNCommit> commits() {
+        SVNCommit commit = new SVNCommit();
+        commit.setId("41");
+        commit.setAuthor("Marek Majchrzak");
+        commit.setDate(new Date(1363636154000l));
+        commit.addToMessage("#9 base version");
+        SVNCommitFile file = new SVNCommitFile();
+        file.setPath("/trunk/src/org/A.java");
+        file.setResourceName("org.A");
+        file.setOperation(SCMOperation.ADDED);
+        commit.getFiles().add(file);
+        List<SVNCommit> commits = new ArrayList<SVNCommit>();
+        commits.add(commit);
+        return commits;
+    }
+}
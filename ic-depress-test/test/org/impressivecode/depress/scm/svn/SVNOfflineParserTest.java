@@ -3,11 +3,13 @@ package org.impressivecode.depress.scm.svn;
 import org.impressivecode.depress.scm.SCMParserOptions;
 import static org.fest.assertions.Assertions.assertThat;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
 
+import org.impressivecode.depress.scm.SCMDataHandler;
 import org.impressivecode.depress.scm.SCMDataType;
 import org.impressivecode.depress.scm.SCMExtensionParser;
 import org.impressivecode.depress.scm.SCMOperation;
@@ -23,7 +25,7 @@ public class SVNOfflineParserTest {
     private final static String logFilePathMerged = SVNOfflineParserTest.class.getResource("svn_merged.xml").getPath();
 
     @Test
-    public void shouldParseJavaEntries() throws JAXBException, CloneNotSupportedException {
+    public void shouldParseJavaEntries() throws IOException, XMLStreamException {
         // given
         ArrayList<String> extensionsToFilter = new ArrayList<>();
         extensionsToFilter.add(".java");
@@ -36,7 +38,7 @@ public class SVNOfflineParserTest {
     }
 
     @Test
-    public void shouldParseJavaEntriesMerged() throws JAXBException, CloneNotSupportedException {
+    public void shouldParseJavaEntriesMerged() throws IOException, XMLStreamException {
         // given
         ArrayList<String> extensionsToFilter = new ArrayList<>();
         extensionsToFilter.add(".java");
@@ -49,7 +51,7 @@ public class SVNOfflineParserTest {
     }
 
     @Test
-    public void shouldParseGivenEntry() throws JAXBException, CloneNotSupportedException {
+    public void shouldParseGivenEntry() throws IOException, XMLStreamException {
         // given
         ArrayList<String> extensionsToFilter = new ArrayList<>();
         extensionsToFilter.add(".j?va");
@@ -83,7 +85,7 @@ public class SVNOfflineParserTest {
     
     
     @Test
-    public void shouldParseAnyEntry() throws JAXBException, CloneNotSupportedException {
+    public void shouldParseAnyEntry() throws IOException, XMLStreamException {
         // given
         ArrayList<String> extensionsToFilter = new ArrayList<>();
         SCMParserOptions options = SCMParserOptions.options("org.", extensionsToFilter);
@@ -109,7 +111,7 @@ public class SVNOfflineParserTest {
     }
     
     @Test
-    public void shouldNotParseWithWrongPackage() throws JAXBException, CloneNotSupportedException {
+    public void shouldNotParseWithWrongPackage() throws IOException, XMLStreamException {
         // given
         ArrayList<String> extensionsToFilter = new ArrayList<>();
         extensionsToFilter.add("*");
@@ -128,7 +130,7 @@ public class SVNOfflineParserTest {
     }
     
     @Test
-    public void shouldParseNullPackage() throws JAXBException, CloneNotSupportedException {
+    public void shouldParseNullPackage() throws IOException, XMLStreamException {
         // given
         ArrayList<String> extensionsToFilter = new ArrayList<>();
         extensionsToFilter.add("*");
@@ -142,4 +144,44 @@ public class SVNOfflineParserTest {
         
     }
 
+    @Test
+    public void shouldStreamEntriesInLogOrder() throws IOException, XMLStreamException {
+        // given
+        ArrayList<String> extensionsToFilter = new ArrayList<>();
+        extensionsToFilter.add("*");
+        SCMExtensionParser parser = new SCMExtensionParser(SCMParserOptions.options(null, extensionsToFilter));
+        final List<SCMDataType> streamed = new ArrayList<>();
+        // when
+        parser.parseEntries(logFilePathMerged, new SCMDataHandler() {
+            @Override
+            public boolean handle(final SCMDataType entry) {
+                streamed.add(entry);
+                return true;
+            }
+        });
+        //then
+        List<SCMDataType> entries = parser.parseEntries(logFilePathMerged);
+        assertThat(streamed).hasSize(entries.size());
+        assertThat(streamed.get(0).getCommitID()).isEqualTo("928306");
+        assertThat(streamed.get(1).getCommitID()).isEqualTo("936295");
+    }
+
+    @Test
+    public void shouldStopStreamingWhenHandlerRefuses() throws IOException, XMLStreamException {
+        // given
+        ArrayList<String> extensionsToFilter = new ArrayList<>();
+        extensionsToFilter.add("*");
+        SCMExtensionParser parser = new SCMExtensionParser(SCMParserOptions.options(null, extensionsToFilter));
+        final List<SCMDataType> streamed = new ArrayList<>();
+        // when
+        parser.parseEntries(logFilePath, new SCMDataHandler() {
+            @Override
+            public boolean handle(final SCMDataType entry) {
+                streamed.add(entry);
+                return streamed.size() < 3;
+            }
+        });
+        //then
+        assertThat(streamed).hasSize(3);
+    }
 }
@@ -1,7 +1,159 @@
+/*
+ImpressiveCode Depress Framework
+Copyright (C) 2013  ImpressiveCode contributors
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
 package org.impressivecode.depress.scm.svn;
 
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.impressivecode.depress.scm.SCMParserOptions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmatesoft.svn.core.SVNException;
+import org.tmatesoft.svn.core.SVNURL;
+import org.tmatesoft.svn.core.internal.io.fs.FSRepositoryFactory;
+import org.tmatesoft.svn.core.io.ISVNEditor;
+import org.tmatesoft.svn.core.io.SVNRepository;
+import org.tmatesoft.svn.core.io.SVNRepositoryFactory;
+import org.tmatesoft.svn.core.io.diff.SVNDeltaGenerator;
+
+import com.google.common.base.Charsets;
 
 public class SVNOnlineParserTest {
-    //FIXME add junit tests with online repo
 
+    private static final int REVISIONS = 5;
+
+    private File repoDir;
+    private String repoUrl;
+
+    @Before
+    public void setUp() throws Exception {
+        repoDir = File.createTempFile("temp-SVNOnlineParserTest-", Long.toString(System.nanoTime()));
+        repoDir.delete();
+        FSRepositoryFactory.setup();
+        SVNURL url = SVNRepositoryFactory.createLocalRepository(repoDir, true, false);
+        SVNRepository repository = SVNRepositoryFactory.create(url);
+        try {
+            for (int revision = 1; revision <= REVISIONS; revision++) {
+                commit(repository, revision);
+            }
+        } finally {
+            repository.closeSession();
+        }
+        repoUrl = url.toString();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(repoDir);
+    }
+
+    @Test
+    public void shouldParseWholeLog() throws Exception {
+        List<SVNCommit> commits = new SVNOnlineLogParser().parseEntries(repoUrl, "", "", options("org."));
+
+        assertThat(commits).hasSize(REVISIONS);
+        SVNCommit commit = commits.get(2);
+        assertEquals("3", commit.getId());
+        assertEquals("#3 change", commit.getMessage());
+        assertThat(commit.getFiles()).hasSize(1);
+        assertEquals("/src/org/Class3.java", commit.getFiles().get(0).getPath());
+        assertEquals("org.Class3", commit.getFiles().get(0).getResourceName());
+    }
+
+    @Test
+    public void shouldReadLogInWindows() throws Exception {
+        RecordingHandler handler = new RecordingHandler();
+
+        new SVNOnlineLogParser().parseEntries(repoUrl, "", "", options("org."), 1, 2, handler);
+
+        assertThat(handler.commits).hasSize(REVISIONS);
+        assertThat(handler.checkpoints).containsExactly(2l, 4l, 5l);
+    }
+
+    @Test
+    public void shouldResumeFromGivenRevision() throws Exception {
+        RecordingHandler handler = new RecordingHandler();
+
+        new SVNOnlineLogParser().parseEntries(repoUrl, "", "", options("org."), 4, 10, handler);
+
+        assertThat(handler.commits).hasSize(2);
+        assertEquals("4", handler.commits.get(0).getId());
+        assertThat(handler.checkpoints).containsExactly(5l);
+    }
+
+    @Test
+    public void shouldReadNothingWhenUpToDate() throws Exception {
+        RecordingHandler handler = new RecordingHandler();
+
+        new SVNOnlineLogParser().parseEntries(repoUrl, "", "", options("org."), REVISIONS + 1, 10, handler);
+
+        assertThat(handler.commits).isEmpty();
+        assertThat(handler.checkpoints).isEmpty();
+    }
+
+    private SCMParserOptions options(final String packagePrefix) {
+        ArrayList<String> extensions = new ArrayList<String>();
+        extensions.add(".java");
+        return SCMParserOptions.options(packagePrefix, extensions);
+    }
+
+    private void commit(final SVNRepository repository, final int revision) throws SVNException {
+        String path = "src/org/Class" + revision + ".java";
+        ISVNEditor editor = repository.getCommitEditor("#" + revision + " change", null);
+        editor.openRoot(-1);
+        if (revision == 1) {
+            editor.addDir("src", null, -1);
+            editor.addDir("src/org", null, -1);
+        } else {
+            editor.openDir("src", -1);
+            editor.openDir("src/org", -1);
+        }
+        editor.addFile(path, null, -1);
+        editor.applyTextDelta(path, null);
+        String checksum = new SVNDeltaGenerator().sendDelta(path,
+                new ByteArrayInputStream(("class Class" + revision + " {}").getBytes(Charsets.UTF_8)), editor, true);
+        editor.closeFile(path, checksum);
+        editor.closeDir();
+        editor.closeDir();
+        editor.closeDir();
+        editor.closeEdit();
+    }
+
+    private static class RecordingHandler implements SVNCommitHandler {
+        private final List<SVNCommit> commits = new ArrayList<SVNCommit>();
+        private final List<Long> checkpoints = new ArrayList<Long>();
+
+        @Override
+        public void handle(final SVNCommit commit) {
+            commits.add(commit);
+        }
+
+        @Override
+        public void revisionsCompleted(final long revision) {
+            checkpoints.add(revision);
+        }
+    }
 }